@@ -0,0 +1,88 @@
+package household.benchmarks;
+
+import household.Bookshelf;
+import household.CoffeeTable;
+import household.Dishwasher;
+import household.Television;
+import household.Toaster;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the constructors of the five concrete item classes, including their validation chains.
+ * The attributes are read from fields so that the constructions cannot be folded into constants.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstructionBenchmark
+{
+    private String  name        = "Item1";
+    private String  brand       = "Brand4";
+    private double  priceCAD    = 100.0;
+    private String  color       = "Black";
+
+    /**
+     * Constructs a Television.
+     * @return The new item.
+     */
+    @Benchmark
+    public Television newTelevision()
+    {
+        return new Television(name, brand, priceCAD, color, true, 240, "WiFi", "AC", 50.0, "4k", 120, true);
+    }
+
+    /**
+     * Constructs a Dishwasher.
+     * @return The new item.
+     */
+    @Benchmark
+    public Dishwasher newDishwasher()
+    {
+        return new Dishwasher(name, brand, priceCAD, color, true, 120, "WiFi", "AC", 30, 3, "builtin");
+    }
+
+    /**
+     * Constructs a Toaster.
+     * @return The new item.
+     */
+    @Benchmark
+    public Toaster newToaster()
+    {
+        return new Toaster(name, brand, priceCAD, color, true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /**
+     * Constructs a Bookshelf.
+     * @return The new item.
+     */
+    @Benchmark
+    public Bookshelf newBookshelf()
+    {
+        return new Bookshelf(name, brand, priceCAD, color, false, true, "Wood", 5, "Oak");
+    }
+
+    /**
+     * Constructs a CoffeeTable.
+     * @return The new item.
+     */
+    @Benchmark
+    public CoffeeTable newCoffeeTable()
+    {
+        return new CoffeeTable(name, brand, priceCAD, color, false, true, "Metal", true, "Rectangle", 4, false);
+    }
+}
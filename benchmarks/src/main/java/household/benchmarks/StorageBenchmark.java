@@ -0,0 +1,298 @@
+package household.benchmarks;
+
+import household.Bookshelf;
+import household.CoffeeTable;
+import household.Dishwasher;
+import household.HouseholdObjects;
+import household.InventoryReportWriter;
+import household.StorageHouseholdObjects;
+import household.Television;
+import household.Toaster;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the StorageHouseholdObjects operations on inventories from 1K to 10M items.
+ * addItem and removeItem work through the inventory in batches of a thousand items per invocation and report the
+ * time of one item, so that no setup runs between invocations; their storages are set up once per iteration.
+ * addItem fills a new storage batch by batch and starts another once the whole inventory is in it, so the score
+ * includes the growth of the storage. removeItem removes a batch from a full storage, in random order, and adds
+ * it back, so the score is that of one removal and one add on a storage kept full.
+ * getNumberOfItems is timed per call and displayItems per report of the whole inventory.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageBenchmark
+{
+    /** The number of items added or removed by one invocation; every inventory size is a multiple of it. */
+    private static final int BATCH = 1000;
+
+    /**
+     * Adds the next batch of the inventory to a storage that is filling up.
+     * @param inventory The items to add.
+     * @param filling   The storage being filled.
+     * @return The storage, so that the adds are not optimized away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public StorageHouseholdObjects addItem(final Inventory inventory, final FillingStorage filling)
+    {
+        if(filling.next == inventory.size)
+        {
+            filling.storage = new StorageHouseholdObjects();
+            filling.next    = 0;
+        }
+
+        final StorageHouseholdObjects   storage = filling.storage;
+        final int                       end     = filling.next + BATCH;
+
+        for(int i = filling.next; i < end; i++)
+        {
+            storage.addItem(inventory.items[i]);
+        }
+
+        filling.next = end;
+        return storage;
+    }
+
+    /**
+     * Removes the next batch of the removal order from a full storage and adds it back.
+     * @param inventory The items to remove, in removal order.
+     * @param full      The full storage.
+     * @return The number of items removed.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int removeItem(final Inventory inventory, final FullStorage full)
+    {
+        final StorageHouseholdObjects   storage = full.storage;
+        final HouseholdObjects[]        order   = inventory.removalOrder;
+        final int                       start   = full.next;
+        final int                       end     = start + BATCH;
+        int removed = 0;
+
+        for(int i = start; i < end; i++)
+        {
+            if(storage.removeItem(order[i]))
+            {
+                removed++;
+            }
+        }
+
+        for(int i = start; i < end; i++)
+        {
+            storage.addItem(order[i]);
+        }
+
+        full.next = end == inventory.size ? 0 : end;
+        return removed;
+    }
+
+    /**
+     * Counts the items of a full storage.
+     * @param inventory The inventory holding the full storage.
+     * @return The number of items.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int getNumberOfItems(final Inventory inventory)
+    {
+        return inventory.filled.getNumberOfItems();
+    }
+
+    /**
+     * Writes the report of a full storage to an output that drops it.
+     * @param inventory The inventory holding the full storage.
+     * @return The number of characters written.
+     * @throws IOException Never, since the output cannot fail.
+     */
+    @Benchmark
+    public long displayItems(final Inventory inventory) throws IOException
+    {
+        final DiscardingAppendable out = new DiscardingAppendable();
+        inventory.filled.writeReport(new InventoryReportWriter(out));
+        return out.length;
+    }
+
+    /**
+     * Holds the items of one inventory size, in insertion and in removal order, and a storage holding them.
+     */
+    @State(Scope.Benchmark)
+    public static class Inventory
+    {
+        private static final long RANDOM_SEED = 42L;
+
+        /** The number of items in the inventory. */
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        private HouseholdObjects[]          items;
+        private HouseholdObjects[]          removalOrder;
+        private StorageHouseholdObjects     filled;
+
+        /**
+         * Creates the items and the full storage.
+         */
+        @Setup(Level.Trial)
+        public void create()
+        {
+            items           = createItems(size);
+            removalOrder    = shuffledCopy(items, new Random(RANDOM_SEED));
+            filled          = new StorageHouseholdObjects();
+
+            for(final HouseholdObjects item : items)
+            {
+                filled.addItem(item);
+            }
+        }
+    }
+
+    /**
+     * Holds a storage that addItem fills, new at the start of each iteration.
+     */
+    @State(Scope.Thread)
+    public static class FillingStorage
+    {
+        private StorageHouseholdObjects storage;
+        private int                     next;
+
+        /**
+         * Creates the empty storage.
+         */
+        @Setup(Level.Iteration)
+        public void create()
+        {
+            storage = new StorageHouseholdObjects();
+            next    = 0;
+        }
+    }
+
+    /**
+     * Holds a storage that is full at the start of each iteration and that removeItem keeps full.
+     */
+    @State(Scope.Thread)
+    public static class FullStorage
+    {
+        private StorageHouseholdObjects storage;
+        private int                     next;
+
+        /**
+         * Fills a new storage with every item of the inventory.
+         * @param inventory The items to fill the storage with.
+         */
+        @Setup(Level.Iteration)
+        public void fill(final Inventory inventory)
+        {
+            storage = new StorageHouseholdObjects();
+            next    = 0;
+
+            for(final HouseholdObjects item : inventory.items)
+            {
+                storage.addItem(item);
+            }
+        }
+    }
+
+    /*
+     * Creates an inventory mixing the five concrete item classes.
+     */
+    private static HouseholdObjects[] createItems(final int size)
+    {
+        final HouseholdObjects[] items = new HouseholdObjects[size];
+
+        for(int i = 0; i < size; i++)
+        {
+            final double price = 10.0 + (i % 1000);
+
+            switch(i % 5)
+            {
+                case 0:
+                    items[i] = new Television("Television" + i, "Brand4", price, "Black", true, 240, "WiFi", "AC", 50.0, "4k", 120, true);
+                    break;
+                case 1:
+                    items[i] = new Dishwasher("Dishwasher" + i, "Brand3", price, "White", true, 120, "WiFi", "AC", 30, 3, "builtin");
+                    break;
+                case 2:
+                    items[i] = new Toaster("Toaster" + i, "Brand5", price, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+                    break;
+                case 3:
+                    items[i] = new Bookshelf("Bookshelf" + i, "Brand1", price, "Brown", false, true, "Wood", 5, "Oak");
+                    break;
+                default:
+                    items[i] = new CoffeeTable("CoffeeTable" + i, "Brand2", price, "Black", false, true, "Metal", true, "Rectangle", 4, false);
+                    break;
+            }
+        }
+
+        return items;
+    }
+
+    /*
+     * Copies the items into a random order.
+     */
+    private static HouseholdObjects[] shuffledCopy(final HouseholdObjects[] items, final Random random)
+    {
+        final HouseholdObjects[] shuffled = items.clone();
+
+        for(int i = shuffled.length - 1; i > 0; i--)
+        {
+            final int j = random.nextInt(i + 1);
+            final HouseholdObjects swapped = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swapped;
+        }
+
+        return shuffled;
+    }
+
+    /*
+     * An output that drops everything written to it, so reports are measured without console cost.
+     */
+    private static final class DiscardingAppendable implements Appendable
+    {
+        private long length;
+
+        @Override
+        public Appendable append(final CharSequence csq)
+        {
+            length += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end)
+        {
+            length += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c)
+        {
+            length++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the secondary indexes of a storage on the type, brand and color of its items.
+ * Each index maps an attribute value to the IDs of the items with that value, in insertion order.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+class AttributeIndex implements StorageIndex
+{
+    private final Map<String, Set<Long>> idsByType;
+    private final Map<String, Set<Long>> idsByBrand;
+    private final Map<String, Set<Long>> idsByColor;
+
+    /**
+     * Constructs a new, empty AttributeIndex instance.
+     */
+    AttributeIndex()
+    {
+        idsByType   = new HashMap<>();
+        idsByBrand  = new HashMap<>();
+        idsByColor  = new HashMap<>();
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        addId(idsByType, item.getType(), itemId);
+        addId(idsByBrand, item.getHomeObjectBrand(), itemId);
+        addId(idsByColor, item.getHouseholdObjectColor(), itemId);
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        removeId(idsByType, item.getType(), itemId);
+        removeId(idsByBrand, item.getHomeObjectBrand(), itemId);
+        removeId(idsByColor, item.getHouseholdObjectColor(), itemId);
+    }
+
+    /**
+     * Finds the IDs of the items matching every given attribute.
+     * A null attribute matches any value. The smallest matching index is walked
+     * and checked against the others, so the cost follows the size of the result.
+     * @param type  The type to match, or null.
+     * @param brand The brand to match, or null.
+     * @param color The color to match, or null.
+     * @return The matching item IDs in insertion order, or null if every attribute is null.
+     */
+    List<Long> findIds(final String type,
+                       final String brand,
+                       final String color)
+    {
+        final List<Set<Long>> candidates = new ArrayList<>(3);
+
+        if(type != null)
+        {
+            candidates.add(idsByType.getOrDefault(type, Collections.emptySet()));
+        }
+
+        if(brand != null)
+        {
+            candidates.add(idsByBrand.getOrDefault(brand, Collections.emptySet()));
+        }
+
+        if(color != null)
+        {
+            candidates.add(idsByColor.getOrDefault(color, Collections.emptySet()));
+        }
+
+        if(candidates.isEmpty())
+        {
+            return null;
+        }
+
+        Set<Long> smallest = candidates.get(0);
+
+        for(final Set<Long> candidate : candidates)
+        {
+            if(candidate.size() < smallest.size())
+            {
+                smallest = candidate;
+            }
+        }
+
+        final List<Long> ids = new ArrayList<>(smallest.size());
+
+        for(final Long itemId : smallest)
+        {
+            if(containedInAll(candidates, itemId))
+            {
+                ids.add(itemId);
+            }
+        }
+
+        return ids;
+    }
+
+    /*
+     * Checks if an item ID is contained in every candidate set.
+     */
+    private static boolean containedInAll(final List<Set<Long>> candidates, final Long itemId)
+    {
+        for(final Set<Long> candidate : candidates)
+        {
+            if(!candidate.contains(itemId))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Adds an item ID under the given attribute value.
+     */
+    private static void addId(final Map<String, Set<Long>> index, final String value, final long itemId)
+    {
+        index.computeIfAbsent(value, key -> new LinkedHashSet<>()).add(itemId);
+    }
+
+    /*
+     * Removes an item ID from under the given attribute value, dropping empty entries.
+     */
+    private static void removeId(final Map<String, Set<Long>> index, final String value, final long itemId)
+    {
+        final Set<Long> ids = index.get(value);
+
+        if(ids != null)
+        {
+            ids.remove(itemId);
+
+            if(ids.isEmpty())
+            {
+                index.remove(value);
+            }
+        }
+    }
+}
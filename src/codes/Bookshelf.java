@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents a bookshelf, a furniture household item, with specific attributes in addition to common household attributes.
  * This class extends the HouseholdObjects class.
@@ -7,14 +9,11 @@
  */
 public class Bookshelf extends Furniture
 {
-    private final int     shelfCount;
-    private final String  shelfMaterial;
+    private final int           shelfCount;
+    private final ShelfMaterial shelfMaterial;
 
     private static final int MIN_SHELF_COUNT = 1;
     private static final int MAX_SHELF_COUNT = 8;
-    private static final String MATERIAL_OAK = "oak";
-    private static final String MATERIAL_CHESTNUT = "chestnut";
-    private static final String MATERIAL_MAHOGANY = "mahogany";
 
     /**
      * Constructs a new HouseholdObjects instance.
@@ -40,24 +39,68 @@ public class Bookshelf extends Furniture
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric, isAssemblyRequired, frameMaterial);
 
+        final ValidationResult result = checkAttributes(shelfCount, shelfMaterial);
+
+        if(!result.isValid())
+        {
+            result.enforce(shelfCount, shelfMaterial);
+        }
+
+        this.shelfCount     = shelfCount;
+        this.shelfMaterial  = ShelfMaterial.fromLabel(shelfMaterial);
+    }
+
+    /**
+     * Validates the attributes of a bookshelf without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param isAssemblyRequired   True if assembly is required, else False
+     * @param frameMaterial        The material of the frame
+     * @param shelfCount           The number of shelves.
+     * @param shelfMaterial        The material of the shelves.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String  householdObjectName,
+                                            final String  householdObjectBrand,
+                                            final double  priceCAD,
+                                            final String  householdObjectColor,
+                                            final boolean isElectric,
+                                            final boolean isAssemblyRequired,
+                                            final String  frameMaterial,
+                                            final int     shelfCount,
+                                            final String  shelfMaterial)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric,
+                                                 isAssemblyRequired, frameMaterial);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(shelfCount, shelfMaterial);
+    }
+
+    /*
+     * Checks the attributes specific to bookshelves.
+     */
+    private static ValidationResult checkAttributes(final int    shelfCount,
+                                                    final String shelfMaterial)
+    {
         if(shelfCount < MIN_SHELF_COUNT || shelfCount > MAX_SHELF_COUNT)
         {
-            throw new IllegalArgumentException("Invalid shelf count: " + shelfCount);
+            return ValidationResult.SHELF_COUNT;
         }
 
-        if(shelfMaterial != null &&
-                (
-                        !shelfMaterial.equalsIgnoreCase(MATERIAL_CHESTNUT)
-                        && !shelfMaterial.equalsIgnoreCase(MATERIAL_MAHOGANY)
-                        && !shelfMaterial.equalsIgnoreCase(MATERIAL_OAK)
-                )
-        )
+        if(shelfMaterial != null && ShelfMaterial.fromLabel(shelfMaterial) == null)
         {
-            throw new IllegalArgumentException("Invalid shelf material: " + shelfMaterial);
+            return ValidationResult.SHELF_MATERIAL;
         }
 
-        this.shelfCount     = shelfCount;
-        this.shelfMaterial  = shelfMaterial;
+        return ValidationResult.VALID;
     }
 
     /**
@@ -74,6 +117,15 @@ public class Bookshelf extends Furniture
      * @return The material of the shelves.
      */
     public String getShelfMaterial()
+    {
+        return shelfMaterial == null ? null : shelfMaterial.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the material of the shelves.
+     * @return The material of the shelves, or null if none was given.
+     */
+    public ShelfMaterial getShelfMaterialCode()
     {
         return shelfMaterial;
     }
@@ -88,4 +140,36 @@ public class Bookshelf extends Furniture
         return "Bookshelf";
     }
 
+    /**
+     * Checks if another object is a Bookshelf of the same runtime class that agrees on the furniture attributes,
+     * the shelf count and the shelf material.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Bookshelf that = (Bookshelf) other;
+
+        return shelfCount == that.shelfCount &&
+               shelfMaterial == that.shelfMaterial;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + shelfCount;
+        result = 31 * result + Objects.hashCode(shelfMaterial);
+        return result;
+    }
 }
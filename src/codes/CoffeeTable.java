@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents a coffee table, a furniture household item, with specific attributes in addition to common household attributes.
  * This class extends the Furniture class.
@@ -7,15 +9,11 @@
  */
 public class CoffeeTable extends Furniture
 {
-    private final boolean   hasStorage;
-    private final String    tableShape;
-    private final int       legCount;
-    private final boolean   isExtendable;
-
-    private static final String SHAPE_CIRCLE = "circle";
-    private static final String SHAPE_SQUARE = "square";
-    private static final String SHAPE_RECTANGLE = "rectangle";
-    private static final String SHAPE_OTHER = "other";
+    private final boolean       hasStorage;
+    private final TableShape    tableShape;
+    private final int           legCount;
+    private final boolean       isExtendable;
+
     private static final int MIN_LEGCOUNT = 1;
     private static final int MAX_LEGCOUNT = 4;
 
@@ -45,29 +43,76 @@ public class CoffeeTable extends Furniture
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric, isAssemblyRequired, frameMaterial);
 
-        if(tableShape != null &&
-                (
-                        !tableShape.equalsIgnoreCase(SHAPE_CIRCLE)
-                                && !tableShape.equalsIgnoreCase(SHAPE_SQUARE)
-                                && !tableShape.equalsIgnoreCase(SHAPE_RECTANGLE)
-                                && !tableShape.equalsIgnoreCase(SHAPE_OTHER)
-                )
-        )
-        {
-            throw new IllegalArgumentException("Invalid coffee table shape: " + tableShape);
-        }
+        final ValidationResult result = checkAttributes(tableShape, legCount);
 
-        if(legCount < MIN_LEGCOUNT || legCount > MAX_LEGCOUNT)
+        if(!result.isValid())
         {
-            throw new IllegalArgumentException("Invalid coffee table leg count: " + legCount);
+            result.enforce(tableShape, legCount);
         }
 
         this.hasStorage     = hasStorage;
-        this.tableShape     = tableShape;
+        this.tableShape     = TableShape.fromLabel(tableShape);
         this.legCount       = legCount;
         this.isExtendable   = isExtendable;
     }
 
+    /**
+     * Validates the attributes of a coffee table without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param isAssemblyRequired   True if assembly is required, else False
+     * @param frameMaterial        The material of the frame
+     * @param hasStorage           True if the coffee table has storage.
+     * @param tableShape           The shape of the coffee table.
+     * @param legCount             The number of legs.
+     * @param isExtendable         True if the coffee table is extendable.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String   householdObjectName,
+                                            final String   householdObjectBrand,
+                                            final double   priceCAD,
+                                            final String   householdObjectColor,
+                                            final boolean  isElectric,
+                                            final boolean  isAssemblyRequired,
+                                            final String   frameMaterial,
+                                            final boolean  hasStorage,
+                                            final String   tableShape,
+                                            final int      legCount,
+                                            final boolean  isExtendable)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric,
+                                                 isAssemblyRequired, frameMaterial);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(tableShape, legCount);
+    }
+
+    /*
+     * Checks the attributes specific to coffee tables.
+     */
+    private static ValidationResult checkAttributes(final String tableShape,
+                                                    final int    legCount)
+    {
+        if(tableShape != null && TableShape.fromLabel(tableShape) == null)
+        {
+            return ValidationResult.TABLE_SHAPE;
+        }
+
+        if(legCount < MIN_LEGCOUNT || legCount > MAX_LEGCOUNT)
+        {
+            return ValidationResult.LEG_COUNT;
+        }
+
+        return ValidationResult.VALID;
+    }
+
     /**
      * Checks if the coffee table has storage.
      * @return True if the coffee table has storage, false otherwise.
@@ -82,6 +127,15 @@ public class CoffeeTable extends Furniture
      * @return The shape of the coffee table.
      */
     public String getTableShape()
+    {
+        return tableShape == null ? null : tableShape.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the shape of the coffee table.
+     * @return The shape of the coffee table, or null if none was given.
+     */
+    public TableShape getTableShapeCode()
     {
         return tableShape;
     }
@@ -113,4 +167,41 @@ public class CoffeeTable extends Furniture
     {
         return "Coffee Table";
     }
+
+    /**
+     * Checks if another object is exactly a CoffeeTable, as compared by getClass(), with equal furniture attributes
+     * and the same storage, table shape, leg count and extendability.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final CoffeeTable that = (CoffeeTable) other;
+
+        return hasStorage == that.hasStorage &&
+               tableShape == that.tableShape &&
+               legCount == that.legCount &&
+               isExtendable == that.isExtendable;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + Boolean.hashCode(hasStorage);
+        result = 31 * result + Objects.hashCode(tableShape);
+        result = 31 * result + legCount;
+        result = 31 * result + Boolean.hashCode(isExtendable);
+        return result;
+    }
 }
@@ -0,0 +1,395 @@
+/**
+ * Represents a lightweight, reusable view of one item in a ColumnarStorageHouseholdObjects.
+ * The view reads every attribute directly from the columns of the storage. A view handed
+ * to a forEachItem action is moved from item to item, so it must not be kept.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ColumnarItemView implements HouseholdObjectView
+{
+    private final ColumnarStorageHouseholdObjects storage;
+    private int row;
+
+    /**
+     * Constructs a new ColumnarItemView instance over a storage.
+     * @param storage The storage to read from.
+     */
+    ColumnarItemView(final ColumnarStorageHouseholdObjects storage)
+    {
+        this.storage = storage;
+    }
+
+    /*
+     * Points the view at another row of the storage.
+     */
+    void moveTo(final int row)
+    {
+        this.row = row;
+    }
+
+    /**
+     * Gets the ID of the item.
+     * @return The item ID.
+     */
+    public long getItemId()
+    {
+        return storage.itemIdAt(row);
+    }
+
+    @Override
+    public String getHouseholdObjectName()
+    {
+        return storage.nameAt(row);
+    }
+
+    @Override
+    public String getHomeObjectBrand()
+    {
+        return storage.brandAt(row);
+    }
+
+    @Override
+    public double getPriceCAD()
+    {
+        return storage.priceAt(row);
+    }
+
+    @Override
+    public String getHouseholdObjectColor()
+    {
+        return storage.colorAt(row);
+    }
+
+    @Override
+    public boolean isElectric()
+    {
+        return storage.electricAt(row);
+    }
+
+    @Override
+    public String getType()
+    {
+        return storage.kindAt(row).getTypeName();
+    }
+
+    /**
+     * Gets the voltage requirement of the electronics.
+     * @return The voltage requirement of the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public int getVoltageV()
+    {
+        return electronics().voltages[storage.subRowAt(row)];
+    }
+
+    /**
+     * Gets the type of connectivity of the electronics.
+     * @return The type of connectivity of the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public String getItemConnectivity()
+    {
+        return label(Connectivity.fromCode(electronics().connectivity[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the type of power source for the electronics.
+     * @return The type of power source for the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public String getPowerSource()
+    {
+        return label(PowerSource.fromCode(electronics().powerSources[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the size of the television screen in inches.
+     * @return The size of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public double getScreenSizeInches()
+    {
+        return television().screenSizes[storage.subRowAt(row)];
+    }
+
+    /**
+     * Gets the resolution of the television screen.
+     * @return The resolution of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public String getResolution()
+    {
+        return label(Resolution.fromCode(television().resolutions[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the refresh rate of the television screen.
+     * @return The refresh rate of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public int getRefreshRateHz()
+    {
+        return television().refreshRates[storage.subRowAt(row)];
+    }
+
+    /**
+     * Checks if the television is a smart TV.
+     * @return true if the television is a smart TV, false otherwise.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public boolean isSmartTv()
+    {
+        return television().smartTvs.get(storage.subRowAt(row));
+    }
+
+    /**
+     * Gets the width of the dishwasher in inches.
+     * @return The width of the dishwasher.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public int getDishwasherWidthInches()
+    {
+        return dishwasher().widths[storage.subRowAt(row)];
+    }
+
+    /**
+     * Gets the number of racks in the dishwasher.
+     * @return The number of racks.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public int getNumberOfRacks()
+    {
+        return dishwasher().rackCounts[storage.subRowAt(row)];
+    }
+
+    /**
+     * Gets the type of dishwasher.
+     * @return The type of dishwasher.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public String getDishwasherType()
+    {
+        return label(DishwasherType.fromCode(dishwasher().types[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the minutes required for toasting bagels.
+     * @return The minutes required for toasting bagels.
+     * @throws IllegalStateException If the item is not a toaster.
+     */
+    public int getToastBagelMinutes()
+    {
+        return toaster().toastMinutes[storage.subRowAt(row)];
+    }
+
+    /**
+     * Checks if the toaster has a defrost function.
+     * @return True if the toaster has a defrost function, false otherwise.
+     * @throws IllegalStateException If the item is not a toaster.
+     */
+    public boolean isHasDefrostFunction()
+    {
+        return toaster().defrost.get(storage.subRowAt(row));
+    }
+
+    /**
+     * Checks if assembly is required for the furniture.
+     * @return True if assembly is required, false otherwise.
+     * @throws IllegalStateException If the item is not furniture.
+     */
+    public boolean isAssemblyRequired()
+    {
+        return furniture().assembly.get(storage.subRowAt(row));
+    }
+
+    /**
+     * Gets the material of the furniture frame.
+     * @return The material of the furniture frame.
+     * @throws IllegalStateException If the item is not furniture.
+     */
+    public String getFrameMaterial()
+    {
+        return label(FrameMaterial.fromCode(furniture().frameMaterials[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the number of shelves in the bookshelf.
+     * @return The number of shelves.
+     * @throws IllegalStateException If the item is not a bookshelf.
+     */
+    public int getShelfCount()
+    {
+        return bookshelf().shelfCounts[storage.subRowAt(row)];
+    }
+
+    /**
+     * Gets the material of the shelves.
+     * @return The material of the shelves.
+     * @throws IllegalStateException If the item is not a bookshelf.
+     */
+    public String getShelfMaterial()
+    {
+        return label(ShelfMaterial.fromCode(bookshelf().shelfMaterials[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Checks if the coffee table has storage.
+     * @return True if the coffee table has storage, false otherwise.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public boolean hasStorage()
+    {
+        return coffeeTable().storage.get(storage.subRowAt(row));
+    }
+
+    /**
+     * Gets the shape of the coffee table.
+     * @return The shape of the coffee table.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public String getTableShape()
+    {
+        return label(TableShape.fromCode(coffeeTable().shapes[storage.subRowAt(row)]));
+    }
+
+    /**
+     * Gets the number of legs of the coffee table.
+     * @return The number of legs.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public int getLegCount()
+    {
+        return coffeeTable().legCounts[storage.subRowAt(row)];
+    }
+
+    /**
+     * Checks if the coffee table is extendable.
+     * @return True if the coffee table is extendable, false otherwise.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public boolean isExtendable()
+    {
+        return coffeeTable().extendable.get(storage.subRowAt(row));
+    }
+
+    /**
+     * Creates a HouseholdObjects instance holding the attributes of the viewed item.
+     * @return A new household object of the same class as the stored item.
+     */
+    public HouseholdObjects toHouseholdObject()
+    {
+        switch(storage.kindAt(row))
+        {
+            case ELECTRONICS:
+                return new Electronics(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                       getVoltageV(), getItemConnectivity(), getPowerSource());
+            case FURNITURE:
+                return new Furniture(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                     isAssemblyRequired(), getFrameMaterial());
+            case TELEVISION:
+                return new Television(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                      getVoltageV(), getItemConnectivity(), getPowerSource(),
+                                      getScreenSizeInches(), getResolution(), getRefreshRateHz(), isSmartTv());
+            case DISHWASHER:
+                return new Dishwasher(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                      getVoltageV(), getItemConnectivity(), getPowerSource(),
+                                      getDishwasherWidthInches(), getNumberOfRacks(), getDishwasherType());
+            case TOASTER:
+                return new Toaster(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                   getVoltageV(), getItemConnectivity(), getPowerSource(),
+                                   getToastBagelMinutes(), isHasDefrostFunction());
+            case BOOKSHELF:
+                return new Bookshelf(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                     isAssemblyRequired(), getFrameMaterial(), getShelfCount(), getShelfMaterial());
+            case COFFEE_TABLE:
+                return new CoffeeTable(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric(),
+                                       isAssemblyRequired(), getFrameMaterial(),
+                                       hasStorage(), getTableShape(), getLegCount(), isExtendable());
+            default:
+                return new HouseholdObjects(getHouseholdObjectName(), getHomeObjectBrand(), getPriceCAD(), getHouseholdObjectColor(), isElectric());
+        }
+    }
+
+    /*
+     * Gets the label of an enumerated attribute, or null if it has no value.
+     */
+    private static String label(final LabeledValue value)
+    {
+        if(value == null)
+        {
+            return null;
+        }
+
+        return value.getLabel();
+    }
+
+    /*
+     * Checks that the viewed item has the expected kind.
+     */
+    private void checkKind(final ItemKind expected)
+    {
+        final ItemKind kind = storage.kindAt(row);
+        final boolean matches;
+
+        if(expected == ItemKind.ELECTRONICS)
+        {
+            matches = kind.isElectronics();
+        }
+        else if(expected == ItemKind.FURNITURE)
+        {
+            matches = kind.isFurniture();
+        }
+        else
+        {
+            matches = kind == expected;
+        }
+
+        if(!matches)
+        {
+            throw new IllegalStateException("Attribute not available for type: " + kind.getTypeName());
+        }
+    }
+
+    private ColumnarStorageHouseholdObjects.ElectronicsColumns electronics()
+    {
+        checkKind(ItemKind.ELECTRONICS);
+        return (ColumnarStorageHouseholdObjects.ElectronicsColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.TelevisionColumns television()
+    {
+        checkKind(ItemKind.TELEVISION);
+        return (ColumnarStorageHouseholdObjects.TelevisionColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.DishwasherColumns dishwasher()
+    {
+        checkKind(ItemKind.DISHWASHER);
+        return (ColumnarStorageHouseholdObjects.DishwasherColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.ToasterColumns toaster()
+    {
+        checkKind(ItemKind.TOASTER);
+        return (ColumnarStorageHouseholdObjects.ToasterColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.FurnitureColumns furniture()
+    {
+        checkKind(ItemKind.FURNITURE);
+        return (ColumnarStorageHouseholdObjects.FurnitureColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.BookshelfColumns bookshelf()
+    {
+        checkKind(ItemKind.BOOKSHELF);
+        return (ColumnarStorageHouseholdObjects.BookshelfColumns) storage.groupAt(row);
+    }
+
+    private ColumnarStorageHouseholdObjects.CoffeeTableColumns coffeeTable()
+    {
+        checkKind(ItemKind.COFFEE_TABLE);
+        return (ColumnarStorageHouseholdObjects.CoffeeTableColumns) storage.groupAt(row);
+    }
+}
@@ -0,0 +1,638 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * Represents a storage for household objects that keeps their attributes in columns
+ * instead of keeping one object per item.
+ * Common attributes are held in primitive arrays, brands and colors are dictionary encoded,
+ * booleans are held in bit sets, and the attributes of each subclass are held in a column group
+ * of their own. Items are read through lightweight ColumnarItemView flyweights.
+ * Every stored item is given a stable item ID, and items are kept in insertion order.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ColumnarStorageHouseholdObjects
+{
+    private static final int INITIAL_CAPACITY   = 16;
+    private static final int MIN_COMPACT_ROWS   = 64;
+
+    private long[]                  itemIds;
+    private byte[]                  kinds;
+    private String[]                names;
+    private double[]                prices;
+    private int[]                   brandCodes;
+    private int[]                   colorCodes;
+    private int[]                   subRows;
+    private final BitSet            electric;
+    private final BitSet            live;
+    private final StringDictionary  brands;
+    private final StringDictionary  colors;
+    private final ColumnGroup[]     groups;
+    private int                     rowCount;
+    private int                     numberOfItems;
+    private long                    nextItemId;
+
+    /**
+     * Constructs a new ColumnarStorageHouseholdObjects instance.
+     */
+    public ColumnarStorageHouseholdObjects()
+    {
+        itemIds     = new long[INITIAL_CAPACITY];
+        kinds       = new byte[INITIAL_CAPACITY];
+        names       = new String[INITIAL_CAPACITY];
+        prices      = new double[INITIAL_CAPACITY];
+        brandCodes  = new int[INITIAL_CAPACITY];
+        colorCodes  = new int[INITIAL_CAPACITY];
+        subRows     = new int[INITIAL_CAPACITY];
+        electric    = new BitSet();
+        live        = new BitSet();
+        brands      = new StringDictionary();
+        colors      = new StringDictionary();
+        groups      = new ColumnGroup[ItemKind.values().length];
+
+        groups[ItemKind.ELECTRONICS.ordinal()]  = new ElectronicsColumns();
+        groups[ItemKind.FURNITURE.ordinal()]    = new FurnitureColumns();
+        groups[ItemKind.TELEVISION.ordinal()]   = new TelevisionColumns();
+        groups[ItemKind.DISHWASHER.ordinal()]   = new DishwasherColumns();
+        groups[ItemKind.TOASTER.ordinal()]      = new ToasterColumns();
+        groups[ItemKind.BOOKSHELF.ordinal()]    = new BookshelfColumns();
+        groups[ItemKind.COFFEE_TABLE.ordinal()] = new CoffeeTableColumns();
+    }
+
+    /**
+     * Adds a household object to the storage, copying its attributes into the columns.
+     * @param item The household object to add.
+     * @return The ID of the stored item.
+     * @throws NullPointerException     If the item is null.
+     * @throws IllegalArgumentException If the item is not one of the known classes.
+     */
+    public long addItem(final HouseholdObjects item)
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        final ItemKind kind = ItemKind.of(item);
+
+        if(rowCount == itemIds.length)
+        {
+            growRows(rowCount * 2);
+        }
+
+        final int row       = rowCount;
+        final long itemId   = nextItemId++;
+
+        itemIds[row]    = itemId;
+        kinds[row]      = (byte) kind.ordinal();
+        names[row]      = item.getHouseholdObjectName();
+        prices[row]     = item.getPriceCAD();
+        brandCodes[row] = brands.encode(item.getHomeObjectBrand());
+        colorCodes[row] = colors.encode(item.getHouseholdObjectColor());
+        electric.set(row, item.isElectric());
+        live.set(row);
+
+        final ColumnGroup group = groups[kind.ordinal()];
+
+        if(group == null)
+        {
+            subRows[row] = -1;
+        }
+        else
+        {
+            subRows[row] = group.append(item);
+        }
+
+        rowCount++;
+        numberOfItems++;
+        return itemId;
+    }
+
+    /**
+     * Removes the household object with the given ID from the storage.
+     * @param itemId The ID of the household object to remove.
+     * @return True if an item with that ID was stored, false otherwise.
+     */
+    public boolean removeItemById(final long itemId)
+    {
+        final int row = findRow(itemId);
+
+        if(row < 0)
+        {
+            return false;
+        }
+
+        live.clear(row);
+        electric.clear(row);
+        prices[row] = 0.0;
+        names[row]  = null;
+        numberOfItems--;
+
+        if(rowCount >= MIN_COMPACT_ROWS && numberOfItems < rowCount / 2)
+        {
+            compact();
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the household object with the given ID.
+     * @param itemId The ID of the household object.
+     * @return A view of the household object, or null if no item with that ID is stored.
+     */
+    public ColumnarItemView findItem(final long itemId)
+    {
+        final int row = findRow(itemId);
+
+        if(row < 0)
+        {
+            return null;
+        }
+
+        final ColumnarItemView view = new ColumnarItemView(this);
+        view.moveTo(row);
+        return view;
+    }
+
+    /**
+     * Passes every stored household object to an action, in insertion order.
+     * A single view is reused for every item, so the action must not keep a reference to it.
+     * @param action The action to perform on each item.
+     */
+    public void forEachItem(final Consumer<? super ColumnarItemView> action)
+    {
+        final ColumnarItemView view = new ColumnarItemView(this);
+
+        for(int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1))
+        {
+            view.moveTo(row);
+            action.accept(view);
+        }
+    }
+
+    /**
+     * Gets the total price in CAD of all stored household objects, scanning only the price column.
+     * @return The total price in CAD.
+     */
+    public double getTotalPriceCAD()
+    {
+        double total = 0.0;
+
+        for(int row = 0; row < rowCount; row++)
+        {
+            total += prices[row];
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the number of stored household objects that are electrically powered.
+     * @return The number of electric items.
+     */
+    public int countElectricItems()
+    {
+        return electric.cardinality();
+    }
+
+    /**
+     * Displays all household objects stored in the storage.
+     */
+    public void displayItems()
+    {
+        try
+        {
+            writeReport(new InventoryReportWriter(System.out));
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the report line of every stored household object, in insertion order, then flushes the writer.
+     * @param writer The report writer to write to.
+     * @throws IOException If the report cannot be written.
+     */
+    public void writeReport(final InventoryReportWriter writer) throws IOException
+    {
+        final ColumnarItemView view = new ColumnarItemView(this);
+
+        for(int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1))
+        {
+            view.moveTo(row);
+            writer.writeItem(view);
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Gets the number of household objects stored in the storage.
+     * @return The number of household objects stored.
+     */
+    public int getNumberOfItems()
+    {
+        return numberOfItems;
+    }
+
+    long itemIdAt(final int row)
+    {
+        return itemIds[row];
+    }
+
+    ItemKind kindAt(final int row)
+    {
+        return ItemKind.fromOrdinal(kinds[row]);
+    }
+
+    String nameAt(final int row)
+    {
+        return names[row];
+    }
+
+    String brandAt(final int row)
+    {
+        return brands.decode(brandCodes[row]);
+    }
+
+    double priceAt(final int row)
+    {
+        return prices[row];
+    }
+
+    String colorAt(final int row)
+    {
+        return colors.decode(colorCodes[row]);
+    }
+
+    boolean electricAt(final int row)
+    {
+        return electric.get(row);
+    }
+
+    int subRowAt(final int row)
+    {
+        return subRows[row];
+    }
+
+    ColumnGroup groupAt(final int row)
+    {
+        return groups[kinds[row]];
+    }
+
+    /*
+     * Finds the row of a live item. Item IDs increase with the row, so a binary search is enough.
+     */
+    private int findRow(final long itemId)
+    {
+        final int row = Arrays.binarySearch(itemIds, 0, rowCount, itemId);
+
+        if(row < 0 || !live.get(row))
+        {
+            return -1;
+        }
+
+        return row;
+    }
+
+    /*
+     * Grows the common columns to the given capacity.
+     */
+    private void growRows(final int capacity)
+    {
+        itemIds     = Arrays.copyOf(itemIds, capacity);
+        kinds       = Arrays.copyOf(kinds, capacity);
+        names       = Arrays.copyOf(names, capacity);
+        prices      = Arrays.copyOf(prices, capacity);
+        brandCodes  = Arrays.copyOf(brandCodes, capacity);
+        colorCodes  = Arrays.copyOf(colorCodes, capacity);
+        subRows     = Arrays.copyOf(subRows, capacity);
+    }
+
+    /*
+     * Closes the gaps left by removed items in every column, keeping insertion order.
+     * Rows only ever move towards the front, so the columns can be rewritten in place.
+     */
+    private void compact()
+    {
+        final int[] groupSizes = new int[groups.length];
+        int target = 0;
+
+        for(int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1))
+        {
+            final int kind          = kinds[row];
+            final ColumnGroup group = groups[kind];
+
+            if(group != null)
+            {
+                final int subRow = groupSizes[kind]++;
+                group.move(subRows[row], subRow);
+                subRows[row] = subRow;
+            }
+
+            itemIds[target]     = itemIds[row];
+            kinds[target]       = kinds[row];
+            names[target]       = names[row];
+            prices[target]      = prices[row];
+            brandCodes[target]  = brandCodes[row];
+            colorCodes[target]  = colorCodes[row];
+            subRows[target]     = subRows[row];
+            electric.set(target, electric.get(row));
+            target++;
+        }
+
+        for(int kind = 0; kind < groups.length; kind++)
+        {
+            if(groups[kind] != null)
+            {
+                groups[kind].size = groupSizes[kind];
+            }
+        }
+
+        Arrays.fill(names, target, rowCount, null);
+        Arrays.fill(prices, target, rowCount, 0.0);
+        electric.clear(target, rowCount);
+        live.clear();
+        live.set(0, target);
+        rowCount = target;
+    }
+
+    /*
+     * Holds the columns of the attributes that one subclass adds to the common ones.
+     */
+    abstract static class ColumnGroup
+    {
+        int size;
+
+        /*
+         * Appends the subclass attributes of an item and returns their row in the group.
+         */
+        final int append(final HouseholdObjects item)
+        {
+            if(size == capacity())
+            {
+                resize(Math.max(INITIAL_CAPACITY, size * 2));
+            }
+
+            store(size, item);
+            return size++;
+        }
+
+        abstract int capacity();
+
+        abstract void resize(int capacity);
+
+        abstract void store(int row, HouseholdObjects item);
+
+        abstract void move(int from, int to);
+    }
+
+    static class ElectronicsColumns extends ColumnGroup
+    {
+        int[]   voltages        = new int[0];
+        byte[]  connectivity    = new byte[0];
+        byte[]  powerSources    = new byte[0];
+
+        @Override
+        int capacity()
+        {
+            return voltages.length;
+        }
+
+        @Override
+        void resize(final int capacity)
+        {
+            voltages        = Arrays.copyOf(voltages, capacity);
+            connectivity    = Arrays.copyOf(connectivity, capacity);
+            powerSources    = Arrays.copyOf(powerSources, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            final Electronics electronics = (Electronics) item;
+            voltages[row]       = electronics.getVoltageV();
+            connectivity[row]   = LabelDictionary.codeOf(electronics.getItemConnectivityCode());
+            powerSources[row]   = LabelDictionary.codeOf(electronics.getPowerSourceCode());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            voltages[to]        = voltages[from];
+            connectivity[to]    = connectivity[from];
+            powerSources[to]    = powerSources[from];
+        }
+    }
+
+    static final class TelevisionColumns extends ElectronicsColumns
+    {
+        double[]        screenSizes     = new double[0];
+        byte[]          resolutions     = new byte[0];
+        short[]         refreshRates    = new short[0];
+        final BitSet    smartTvs        = new BitSet();
+
+        @Override
+        void resize(final int capacity)
+        {
+            super.resize(capacity);
+            screenSizes     = Arrays.copyOf(screenSizes, capacity);
+            resolutions     = Arrays.copyOf(resolutions, capacity);
+            refreshRates    = Arrays.copyOf(refreshRates, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            super.store(row, item);
+            final Television television = (Television) item;
+            screenSizes[row]    = television.getScreenSizeInches();
+            resolutions[row]    = LabelDictionary.codeOf(television.getResolutionCode());
+            refreshRates[row]   = (short) television.getRefreshRateHz();
+            smartTvs.set(row, television.isSmartTv());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            super.move(from, to);
+            screenSizes[to]     = screenSizes[from];
+            resolutions[to]     = resolutions[from];
+            refreshRates[to]    = refreshRates[from];
+            smartTvs.set(to, smartTvs.get(from));
+        }
+    }
+
+    static final class DishwasherColumns extends ElectronicsColumns
+    {
+        byte[]  widths      = new byte[0];
+        byte[]  rackCounts  = new byte[0];
+        byte[]  types       = new byte[0];
+
+        @Override
+        void resize(final int capacity)
+        {
+            super.resize(capacity);
+            widths      = Arrays.copyOf(widths, capacity);
+            rackCounts  = Arrays.copyOf(rackCounts, capacity);
+            types       = Arrays.copyOf(types, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            super.store(row, item);
+            final Dishwasher dishwasher = (Dishwasher) item;
+            widths[row]     = (byte) dishwasher.getDishwasherWidthInches();
+            rackCounts[row] = (byte) dishwasher.getNumberOfRacks();
+            types[row]      = LabelDictionary.codeOf(dishwasher.getDishwasherTypeCode());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            super.move(from, to);
+            widths[to]      = widths[from];
+            rackCounts[to]  = rackCounts[from];
+            types[to]       = types[from];
+        }
+    }
+
+    static final class ToasterColumns extends ElectronicsColumns
+    {
+        byte[]          toastMinutes    = new byte[0];
+        final BitSet    defrost         = new BitSet();
+
+        @Override
+        void resize(final int capacity)
+        {
+            super.resize(capacity);
+            toastMinutes = Arrays.copyOf(toastMinutes, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            super.store(row, item);
+            final Toaster toaster = (Toaster) item;
+            toastMinutes[row] = (byte) toaster.getToastBagelMinutes();
+            defrost.set(row, toaster.isHasDefrostFunction());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            super.move(from, to);
+            toastMinutes[to] = toastMinutes[from];
+            defrost.set(to, defrost.get(from));
+        }
+    }
+
+    static class FurnitureColumns extends ColumnGroup
+    {
+        byte[]          frameMaterials  = new byte[0];
+        final BitSet    assembly        = new BitSet();
+
+        @Override
+        int capacity()
+        {
+            return frameMaterials.length;
+        }
+
+        @Override
+        void resize(final int capacity)
+        {
+            frameMaterials = Arrays.copyOf(frameMaterials, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            final Furniture furniture = (Furniture) item;
+            frameMaterials[row] = LabelDictionary.codeOf(furniture.getFrameMaterialCode());
+            assembly.set(row, furniture.isAssemblyRequired());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            frameMaterials[to] = frameMaterials[from];
+            assembly.set(to, assembly.get(from));
+        }
+    }
+
+    static final class BookshelfColumns extends FurnitureColumns
+    {
+        byte[]  shelfCounts     = new byte[0];
+        byte[]  shelfMaterials  = new byte[0];
+
+        @Override
+        void resize(final int capacity)
+        {
+            super.resize(capacity);
+            shelfCounts     = Arrays.copyOf(shelfCounts, capacity);
+            shelfMaterials  = Arrays.copyOf(shelfMaterials, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            super.store(row, item);
+            final Bookshelf bookshelf = (Bookshelf) item;
+            shelfCounts[row]    = (byte) bookshelf.getShelfCount();
+            shelfMaterials[row] = LabelDictionary.codeOf(bookshelf.getShelfMaterialCode());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            super.move(from, to);
+            shelfCounts[to]     = shelfCounts[from];
+            shelfMaterials[to]  = shelfMaterials[from];
+        }
+    }
+
+    static final class CoffeeTableColumns extends FurnitureColumns
+    {
+        byte[]          shapes      = new byte[0];
+        byte[]          legCounts   = new byte[0];
+        final BitSet    storage     = new BitSet();
+        final BitSet    extendable  = new BitSet();
+
+        @Override
+        void resize(final int capacity)
+        {
+            super.resize(capacity);
+            shapes      = Arrays.copyOf(shapes, capacity);
+            legCounts   = Arrays.copyOf(legCounts, capacity);
+        }
+
+        @Override
+        void store(final int row, final HouseholdObjects item)
+        {
+            super.store(row, item);
+            final CoffeeTable coffeeTable = (CoffeeTable) item;
+            shapes[row]     = LabelDictionary.codeOf(coffeeTable.getTableShapeCode());
+            legCounts[row]  = (byte) coffeeTable.getLegCount();
+            storage.set(row, coffeeTable.hasStorage());
+            extendable.set(row, coffeeTable.isExtendable());
+        }
+
+        @Override
+        void move(final int from, final int to)
+        {
+            super.move(from, to);
+            shapes[to]      = shapes[from];
+            legCounts[to]   = legCounts[from];
+            storage.set(to, storage.get(from));
+            extendable.set(to, extendable.get(from));
+        }
+    }
+}
@@ -0,0 +1,417 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents a storage for household objects that can be shared between threads.
+ * Items are kept in concurrent maps, reads never block, and iteration is weakly consistent:
+ * it never throws ConcurrentModificationException and sees the items in insertion order,
+ * including some or all of the changes made while it runs.
+ * Every stored item is given a stable item ID. Adding or removing an item changes its ID mapping and its entry
+ * under the ID together, under one of a fixed set of locks striped by item, so writers of different items rarely meet.
+ * A storage recovered from an InventoryJournal is durable: every change is journaled before the call that made it returns,
+ * and writers that commit at the same time share one fsync.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ConcurrentStorageHouseholdObjects
+{
+    private static final int ITEM_LOCK_STRIPES = 64;
+
+    private final ConcurrentNavigableMap<Long, HouseholdObjects>    itemsById;
+    private final ConcurrentMap<ItemKey, Long>                      idsByItem;
+    private final AtomicLong                                        nextItemId;
+    private final LongAdder                                         numberOfItems;
+    private final ReentrantLock[]                                   itemLocks;
+    private final ReentrantLock                                     journalLock;
+    private InventoryJournal                                        journal;
+
+    /**
+     * Constructs a new ConcurrentStorageHouseholdObjects instance.
+     */
+    public ConcurrentStorageHouseholdObjects()
+    {
+        itemsById       = new ConcurrentSkipListMap<>();
+        idsByItem       = new ConcurrentHashMap<>();
+        nextItemId      = new AtomicLong();
+        numberOfItems   = new LongAdder();
+        itemLocks       = new ReentrantLock[ITEM_LOCK_STRIPES];
+        journalLock     = new ReentrantLock();
+
+        for(int i = 0; i < itemLocks.length; i++)
+        {
+            itemLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds a household object to the storage.
+     * Adding an item that is already stored has no effect.
+     * @param item The household object to add.
+     * @return The ID of the stored item.
+     * @throws NullPointerException If the item is null.
+     */
+    public long addItem(final HouseholdObjects item)
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        if(journal != null)
+        {
+            return addJournaled(item);
+        }
+
+        final ItemKey       key     = new ItemKey(item);
+        final ReentrantLock lock    = lockOf(item);
+        lock.lock();
+
+        try
+        {
+            final Long existingId = idsByItem.get(key);
+
+            if(existingId != null)
+            {
+                return existingId;
+            }
+
+            final long itemId = nextItemId.getAndIncrement();
+            itemsById.put(itemId, item);
+            idsByItem.put(key, itemId);
+            numberOfItems.increment();
+            return itemId;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a household object from the storage.
+     * @param item The household object to remove.
+     * @return True if the item was stored, false otherwise.
+     */
+    public boolean removeItem(final HouseholdObjects item)
+    {
+        if(item == null)
+        {
+            return false;
+        }
+
+        return removeMapping(item, StorageHouseholdObjects.NO_ITEM_ID);
+    }
+
+    /**
+     * Removes the household object with the given ID from the storage.
+     * @param itemId The ID of the household object to remove.
+     * @return True if an item with that ID was stored, false otherwise.
+     */
+    public boolean removeItemById(final long itemId)
+    {
+        final HouseholdObjects item = itemsById.get(itemId);
+
+        if(item == null)
+        {
+            return false;
+        }
+
+        return removeMapping(item, itemId);
+    }
+
+    /**
+     * Checks if a household object is stored in the storage.
+     * @param item The household object to look for.
+     * @return True if the item is stored, false otherwise.
+     */
+    public boolean containsItem(final HouseholdObjects item)
+    {
+        final Long itemId = idsByItem.get(new ItemKey(item));
+        return itemId != null && itemsById.containsKey(itemId);
+    }
+
+    /**
+     * Gets the household object with the given ID.
+     * @param itemId The ID of the household object.
+     * @return The household object, or null if no item with that ID is stored.
+     */
+    public HouseholdObjects getItemById(final long itemId)
+    {
+        return itemsById.get(itemId);
+    }
+
+    /**
+     * Gets the ID of a stored household object.
+     * @param item The household object.
+     * @return The ID of the item, or StorageHouseholdObjects.NO_ITEM_ID if the item is not stored.
+     */
+    public long getItemId(final HouseholdObjects item)
+    {
+        final Long itemId = idsByItem.get(new ItemKey(item));
+
+        if(itemId == null || !itemsById.containsKey(itemId))
+        {
+            return StorageHouseholdObjects.NO_ITEM_ID;
+        }
+
+        return itemId;
+    }
+
+    /**
+     * Gets a point-in-time copy of the stored household objects, in insertion order.
+     * @return The stored household objects.
+     */
+    public List<HouseholdObjects> snapshot()
+    {
+        return new ArrayList<>(itemsById.values());
+    }
+
+    /**
+     * Fetches a page of household objects in insertion order.
+     * Each fetch costs a logarithmic seek plus the size of the page, takes no lock and never blocks writers.
+     * The token records the last item returned, so it stays valid while other threads add or remove items:
+     * the next page starts with the first item added after it that is still stored.
+     * @param token    The token returned with the previous page, or null for the first page.
+     * @param pageSize The largest number of items to return.
+     * @return The page, with the token of the next page if more items followed it.
+     * @throws IllegalArgumentException If the page size is not positive, or the token is malformed or not in insertion order.
+     */
+    public ItemPage fetchPage(final String token, final int pageSize)
+    {
+        if(pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+        }
+
+        final long afterId = token == null ? Long.MIN_VALUE : PageCursor.decode(token, PageOrder.INSERTION).getItemId();
+        final Iterator<Map.Entry<Long, HouseholdObjects>> following = itemsById.tailMap(afterId, false).entrySet().iterator();
+        final List<HouseholdObjects> page = new ArrayList<>(Math.min(pageSize, getNumberOfItems()));
+        Map.Entry<Long, HouseholdObjects> last = null;
+
+        while(page.size() < pageSize && following.hasNext())
+        {
+            last = following.next();
+            page.add(last.getValue());
+        }
+
+        String nextToken = null;
+
+        if(last != null && following.hasNext())
+        {
+            nextToken = new PageCursor(PageOrder.INSERTION, last.getKey(), last.getValue()).encode();
+        }
+
+        return new ItemPage(page, nextToken);
+    }
+
+    /**
+     * Displays all household objects stored in the storage.
+     * Items added or removed while the display runs may or may not be shown.
+     */
+    public void displayItems()
+    {
+        try
+        {
+            writeReport(new InventoryReportWriter(System.out));
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the report line of every stored household object, in insertion order, then flushes the writer.
+     * Items added or removed while the report is written may or may not be included.
+     * @param writer The report writer to write to.
+     * @throws IOException If the report cannot be written.
+     */
+    public void writeReport(final InventoryReportWriter writer) throws IOException
+    {
+        writer.writeItems(itemsById.values());
+        writer.flush();
+    }
+
+    /**
+     * Gets the number of household objects stored in the storage.
+     * The count never blocks; while writes are in flight it may briefly lag behind them.
+     * @return The number of household objects stored.
+     */
+    public int getNumberOfItems()
+    {
+        return (int) Math.max(0L, numberOfItems.sum());
+    }
+
+    /*
+     * Restores an item under its saved ID. Only used while the storage is being recovered.
+     */
+    void restoreItem(final long itemId, final HouseholdObjects item)
+    {
+        idsByItem.put(new ItemKey(item), itemId);
+        itemsById.put(itemId, item);
+        numberOfItems.increment();
+    }
+
+    /*
+     * Restores the ID that the next added item will get, so that IDs are never reused.
+     */
+    void restoreNextItemId(final long itemId)
+    {
+        nextItemId.accumulateAndGet(itemId, Math::max);
+    }
+
+    /*
+     * Attaches the journal that every later change is appended to.
+     */
+    void attachJournal(final InventoryJournal newJournal)
+    {
+        if(journal != null)
+        {
+            throw new IllegalStateException("Journal already attached");
+        }
+
+        journal = newJournal;
+    }
+
+    /*
+     * Adds an item and waits until its journal record is durable. IDs are given out in journal order,
+     * and the record is appended before the item becomes visible, so a remove is always journaled after its add.
+     * The locks are ReentrantLocks rather than monitors so that virtual threads waiting on them are not pinned.
+     */
+    private long addJournaled(final HouseholdObjects item)
+    {
+        final ItemKey       key     = new ItemKey(item);
+        final ReentrantLock lock    = lockOf(item);
+        final long          itemId;
+        final long          ticket;
+
+        journalLock.lock();
+        lock.lock();
+
+        try
+        {
+            final Long existingId = idsByItem.get(key);
+
+            if(existingId != null)
+            {
+                return existingId;
+            }
+
+            itemId = nextItemId.getAndIncrement();
+            ticket = journal.appendAdd(itemId, item);
+            itemsById.put(itemId, item);
+            idsByItem.put(key, itemId);
+            numberOfItems.increment();
+        }
+        finally
+        {
+            lock.unlock();
+            journalLock.unlock();
+        }
+
+        commit(ticket);
+        return itemId;
+    }
+
+    /*
+     * Removes an item and its ID together under the item's lock, so a concurrent add of the same item either
+     * sees it still stored or stores it again under a new ID. The ID mapping goes first, so once the item can
+     * no longer be found by its ID, no add can hand that ID out again.
+     * If an expected ID is given, the item is only removed while it is stored under that ID.
+     */
+    private boolean removeMapping(final HouseholdObjects item, final long expectedId)
+    {
+        final ItemKey       key     = new ItemKey(item);
+        final ReentrantLock lock    = lockOf(item);
+        final long          itemId;
+
+        lock.lock();
+
+        try
+        {
+            final Long storedId = idsByItem.get(key);
+
+            if(storedId == null || (expectedId != StorageHouseholdObjects.NO_ITEM_ID && storedId != expectedId))
+            {
+                return false;
+            }
+
+            itemId = storedId;
+            idsByItem.remove(key);
+            itemsById.remove(itemId);
+            numberOfItems.decrement();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        if(journal != null)
+        {
+            commit(journal.appendRemove(itemId));
+        }
+
+        return true;
+    }
+
+    /*
+     * Gets the lock that guards the ID mapping of an item.
+     */
+    private ReentrantLock lockOf(final HouseholdObjects item)
+    {
+        final int hash = System.identityHashCode(item);
+        return itemLocks[(hash ^ (hash >>> 16)) & (ITEM_LOCK_STRIPES - 1)];
+    }
+
+    /*
+     * Waits until the journal record with the given ticket is durable.
+     */
+    private void commit(final long ticket)
+    {
+        try
+        {
+            journal.commit(ticket);
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Wraps an item so that the map compares items by identity.
+     */
+    private static final class ItemKey
+    {
+        private final HouseholdObjects item;
+
+        private ItemKey(final HouseholdObjects item)
+        {
+            this.item = item;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return other instanceof ItemKey && ((ItemKey) other).item == item;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(item);
+        }
+    }
+}
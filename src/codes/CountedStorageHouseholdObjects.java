@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents a storage for household objects that counts identical units instead of storing each one.
+ * Items are identical when they are equal, that is of the same class with equal attributes.
+ * The first unit of each distinct item is kept and every later identical unit only raises its quantity,
+ * so memory grows with the number of distinct items rather than the number of units.
+ * Distinct items are kept in the order they were first added.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class CountedStorageHouseholdObjects
+{
+    private final Map<HouseholdObjects, Quantity>   quantities;
+    private int                                     numberOfItems;
+
+    /**
+     * Constructs a new CountedStorageHouseholdObjects instance.
+     */
+    public CountedStorageHouseholdObjects()
+    {
+        quantities = new LinkedHashMap<>();
+    }
+
+    /**
+     * Adds one unit of a household object to the storage.
+     * @param item The household object to add.
+     * @return The number of identical units stored after the add.
+     * @throws NullPointerException If the item is null.
+     */
+    public int addItem(final HouseholdObjects item)
+    {
+        return addItems(item, 1);
+    }
+
+    /**
+     * Adds a number of identical units of a household object to the storage.
+     * @param item     The household object to add.
+     * @param quantity The number of units to add.
+     * @return The number of identical units stored after the add.
+     * @throws NullPointerException     If the item is null.
+     * @throws IllegalArgumentException If the quantity is not positive.
+     * @throws ArithmeticException      If the number of units would overflow an int.
+     */
+    public int addItems(final HouseholdObjects item, final int quantity)
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Invalid quantity: " + quantity);
+        }
+
+        final int total = Math.addExact(numberOfItems, quantity);
+        Quantity stored = quantities.get(item);
+
+        if(stored == null)
+        {
+            stored = new Quantity();
+            quantities.put(item, stored);
+        }
+
+        stored.units += quantity;
+        numberOfItems = total;
+        return stored.units;
+    }
+
+    /**
+     * Removes one unit of a household object from the storage.
+     * @param item The household object to remove, or any item equal to it.
+     * @return True if a unit was stored, false otherwise.
+     */
+    public boolean removeItem(final HouseholdObjects item)
+    {
+        return removeItems(item, 1) == 1;
+    }
+
+    /**
+     * Removes up to a number of units of a household object from the storage.
+     * @param item     The household object to remove, or any item equal to it.
+     * @param quantity The largest number of units to remove.
+     * @return The number of units removed.
+     * @throws IllegalArgumentException If the quantity is not positive.
+     */
+    public int removeItems(final HouseholdObjects item, final int quantity)
+    {
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Invalid quantity: " + quantity);
+        }
+
+        final Quantity stored = quantities.get(item);
+
+        if(stored == null)
+        {
+            return 0;
+        }
+
+        final int removed = Math.min(quantity, stored.units);
+        stored.units -= removed;
+        numberOfItems -= removed;
+
+        if(stored.units == 0)
+        {
+            quantities.remove(item);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Checks if at least one unit of a household object is stored.
+     * @param item The household object to look for, or any item equal to it.
+     * @return True if the item is stored, false otherwise.
+     */
+    public boolean containsItem(final HouseholdObjects item)
+    {
+        return quantities.containsKey(item);
+    }
+
+    /**
+     * Gets the number of stored units of a household object.
+     * @param item The household object, or any item equal to it.
+     * @return The number of units, or 0 if the item is not stored.
+     */
+    public int getQuantity(final HouseholdObjects item)
+    {
+        final Quantity stored = quantities.get(item);
+        return stored == null ? 0 : stored.units;
+    }
+
+    /**
+     * Displays every distinct household object stored in the storage with its quantity.
+     */
+    public void displayItems()
+    {
+        try
+        {
+            writeReport(new InventoryReportWriter(System.out));
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the report line of every distinct household object with its quantity, in the order they were
+     * first added, then flushes the writer.
+     * @param writer The report writer to write to.
+     * @throws IOException If the report cannot be written.
+     */
+    public void writeReport(final InventoryReportWriter writer) throws IOException
+    {
+        for(final Map.Entry<HouseholdObjects, Quantity> entry : quantities.entrySet())
+        {
+            writer.writeItem(entry.getKey(), entry.getValue().units);
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Gets the number of household object units stored in the storage.
+     * @return The total number of units stored.
+     */
+    public int getNumberOfItems()
+    {
+        return numberOfItems;
+    }
+
+    /**
+     * Gets the number of distinct household objects stored in the storage.
+     * @return The number of distinct items stored.
+     */
+    public int getNumberOfDistinctItems()
+    {
+        return quantities.size();
+    }
+
+    /*
+     * Holds the number of stored units of one distinct item.
+     */
+    private static final class Quantity
+    {
+        private int units;
+    }
+}
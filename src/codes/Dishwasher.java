@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents a dishwasher, an electronic household item, with specific attributes in addition to common household attributes.
  * This class extends Electronics class.
@@ -9,14 +11,12 @@ public class Dishwasher extends Electronics
 {
     private final int dishwasherWidthInches;
     private final int numberOfRacks;
-    private final String dishwasherType;
+    private final DishwasherType dishwasherType;
 
     private static final int MIN_DISHWASHER_WIDTH = 24;
     private static final int MAX_DISHWASHER_WIDTH = 42;
     private static final int MIN_NUMBER_OF_RACKS = 2;
     private static final int MAX_NUMBER_OF_RACKS = 3;
-    private static final String TYPE_BUILTIN = "builtin";
-    private static final String TYPE_PORTABLE = "portable";
 
     /**
      * Constructs a new Dishwasher instance.
@@ -48,24 +48,84 @@ public class Dishwasher extends Electronics
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric, voltageV, itemConnectivity, powerSource);
 
+        final ValidationResult result = checkAttributes(dishwasherWidthInches, numberOfRacks, dishwasherType);
+
+        if(!result.isValid())
+        {
+            result.enforce(dishwasherWidthInches, numberOfRacks, dishwasherType);
+        }
+
+        this.dishwasherWidthInches  = dishwasherWidthInches;
+        this.numberOfRacks          = numberOfRacks;
+        this.dishwasherType         = DishwasherType.fromLabel(dishwasherType);
+    }
+
+    /**
+     * Validates the attributes of a dishwasher without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param voltageV             The voltage requirement of the electronics.
+     * @param itemConnectivity     The type of connectivity of the electronics.
+     * @param powerSource          The type of power source for the electronics.
+     * @param dishwasherWidthInches The width of the dishwasher in inches.
+     * @param numberOfRacks         The number of racks in the dishwasher.
+     * @param dishwasherType        The type of dishwasher.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String  householdObjectName,
+                                            final String  householdObjectBrand,
+                                            final double  priceCAD,
+                                            final String  householdObjectColor,
+                                            final boolean isElectric,
+                                            final int     voltageV,
+                                            final String  itemConnectivity,
+                                            final String  powerSource,
+                                            final int     dishwasherWidthInches,
+                                            final int     numberOfRacks,
+                                            final String  dishwasherType)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric,
+                                                 voltageV, itemConnectivity, powerSource);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(dishwasherWidthInches, numberOfRacks, dishwasherType);
+    }
+
+    /*
+     * Checks the attributes specific to dishwashers.
+     */
+    private static ValidationResult checkAttributes(final int    dishwasherWidthInches,
+                                                    final int    numberOfRacks,
+                                                    final String dishwasherType)
+    {
         if(dishwasherWidthInches < MIN_DISHWASHER_WIDTH || dishwasherWidthInches > MAX_DISHWASHER_WIDTH)
         {
-            throw new IllegalArgumentException("Invalid dishwasher width: " + dishwasherWidthInches + " inches");
+            return ValidationResult.DISHWASHER_WIDTH;
         }
 
         if(numberOfRacks < MIN_NUMBER_OF_RACKS || numberOfRacks > MAX_NUMBER_OF_RACKS)
         {
-            throw new IllegalArgumentException("Invalid number of racks: " + numberOfRacks);
+            return ValidationResult.RACK_COUNT;
         }
 
-        if(!dishwasherType.equalsIgnoreCase(TYPE_BUILTIN) && !dishwasherType.equalsIgnoreCase(TYPE_PORTABLE))
+        if(dishwasherType == null)
         {
-            throw new IllegalArgumentException("Invalid dishwasher type: " + dishwasherType);
+            return ValidationResult.DISHWASHER_TYPE_NULL;
         }
 
-        this.dishwasherWidthInches  = dishwasherWidthInches;
-        this.numberOfRacks          = numberOfRacks;
-        this.dishwasherType         = dishwasherType;
+        if(DishwasherType.fromLabel(dishwasherType) == null)
+        {
+            return ValidationResult.DISHWASHER_TYPE;
+        }
+
+        return ValidationResult.VALID;
     }
 
     /**
@@ -92,6 +152,15 @@ public class Dishwasher extends Electronics
      * @return The type of dishwasher.
      */
     public String getDishwasherType()
+    {
+        return dishwasherType.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the type of dishwasher.
+     * @return The type of dishwasher.
+     */
+    public DishwasherType getDishwasherTypeCode()
     {
         return dishwasherType;
     }
@@ -105,4 +174,39 @@ public class Dishwasher extends Electronics
     {
         return "Dishwasher";
     }
+
+    /**
+     * Checks if another object is a Dishwasher of the same runtime class with the same electronics attributes,
+     * width, number of racks and dishwasher type.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Dishwasher that = (Dishwasher) other;
+
+        return dishwasherWidthInches == that.dishwasherWidthInches &&
+               numberOfRacks == that.numberOfRacks &&
+               dishwasherType == that.dishwasherType;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + dishwasherWidthInches;
+        result = 31 * result + numberOfRacks;
+        result = 31 * result + Objects.hashCode(dishwasherType);
+        return result;
+    }
 }
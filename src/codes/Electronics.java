@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents an electronic household item with specific attributes in addition to common household attributes.
  * This class extends HouseHoldObjects class.
@@ -7,18 +9,12 @@
  */
 public class Electronics extends HouseholdObjects
 {
-    private final int    voltageV;
-    private final String itemConnectivity;
-    private final String powerSource;
-
-    private static final int    MIN_VOLTAGE            = 0;
-    private static final int    MAX_VOLTAGE            = 250;
-    private static final String CONNECTIVITY_BLUETOOTH = "bluetooth";
-    private static final String CONNECTIVITY_WIFI      = "wifi";
-    private static final String CONNECTIVITY_NA        = "n/a";
-    private static final String POWER_SOURCE_AC        = "ac";
-    private static final String POWER_SOURCE_BATTERY   = "battery";
-    private static final String POWER_SOURCE_OTHER     = "other";
+    private final int          voltageV;
+    private final Connectivity itemConnectivity;
+    private final PowerSource  powerSource;
+
+    private static final int MIN_VOLTAGE = 0;
+    private static final int MAX_VOLTAGE = 250;
 
     /**
      * Constructs a new HouseholdObjects instance.
@@ -44,30 +40,72 @@ public class Electronics extends HouseholdObjects
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric);
 
+        final ValidationResult result = checkAttributes(voltageV, itemConnectivity, powerSource);
+
+        if(!result.isValid())
+        {
+            result.enforce(voltageV, itemConnectivity, powerSource);
+        }
+
+        this.voltageV           = voltageV;
+        this.itemConnectivity   = Connectivity.fromLabel(itemConnectivity);
+        this.powerSource        = PowerSource.fromLabel(powerSource);
+    }
+
+    /**
+     * Validates the attributes of an electronic household object without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param voltageV             The voltage requirement of the electronics.
+     * @param itemConnectivity     The type of connectivity of the electronics.
+     * @param powerSource          The type of power source for the electronics.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String   householdObjectName,
+                                            final String   householdObjectBrand,
+                                            final double   priceCAD,
+                                            final String   householdObjectColor,
+                                            final boolean  isElectric,
+                                            final int      voltageV,
+                                            final String   itemConnectivity,
+                                            final String   powerSource)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(voltageV, itemConnectivity, powerSource);
+    }
+
+    /*
+     * Checks the attributes specific to electronics.
+     */
+    private static ValidationResult checkAttributes(final int    voltageV,
+                                                    final String itemConnectivity,
+                                                    final String powerSource)
+    {
         if(voltageV < MIN_VOLTAGE || voltageV > MAX_VOLTAGE)
         {
-            throw new IllegalArgumentException("Invalid voltage: " + voltageV);
+            return ValidationResult.VOLTAGE;
         }
 
-        if(itemConnectivity != null &&
-                !itemConnectivity.equalsIgnoreCase(CONNECTIVITY_BLUETOOTH) &&
-                !itemConnectivity.equalsIgnoreCase(CONNECTIVITY_WIFI) &&
-                !itemConnectivity.equalsIgnoreCase(CONNECTIVITY_NA))
+        if(itemConnectivity != null && Connectivity.fromLabel(itemConnectivity) == null)
         {
-            throw new IllegalArgumentException("Invalid electronic connectivity: " + itemConnectivity);
+            return ValidationResult.CONNECTIVITY;
         }
 
-        if(powerSource != null &&
-                !powerSource.equalsIgnoreCase(POWER_SOURCE_AC) &&
-                !powerSource.equalsIgnoreCase(POWER_SOURCE_BATTERY) &&
-                !powerSource.equalsIgnoreCase(POWER_SOURCE_OTHER))
+        if(powerSource != null && PowerSource.fromLabel(powerSource) == null)
         {
-            throw new IllegalArgumentException("Invalid power source" + powerSource);
+            return ValidationResult.POWER_SOURCE;
         }
 
-        this.voltageV           = voltageV;
-        this.itemConnectivity   = itemConnectivity;
-        this.powerSource        = powerSource;
+        return ValidationResult.VALID;
     }
 
     /**
@@ -84,6 +122,15 @@ public class Electronics extends HouseholdObjects
      * @return The type of connectivity of the electronics.
      */
     public String getItemConnectivity()
+    {
+        return itemConnectivity == null ? null : itemConnectivity.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the type of connectivity of the electronics.
+     * @return The type of connectivity, or null if none was given.
+     */
+    public Connectivity getItemConnectivityCode()
     {
         return itemConnectivity;
     }
@@ -93,6 +140,15 @@ public class Electronics extends HouseholdObjects
      * @return The type of power source for the electronics.
      */
     public String getPowerSource()
+    {
+        return powerSource == null ? null : powerSource.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the type of power source for the electronics.
+     * @return The type of power source, or null if none was given.
+     */
+    public PowerSource getPowerSourceCode()
     {
         return powerSource;
     }
@@ -106,4 +162,40 @@ public class Electronics extends HouseholdObjects
     {
         return "Electronics";
     }
+
+    /**
+     * Checks if another object is an electronic item of exactly the same class, getClass() included, whose
+     * household attributes, voltage, connectivity and power source are all equal.
+     * A Television is therefore never equal to a plain Electronics, even when their shared attributes match.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Electronics that = (Electronics) other;
+
+        return voltageV == that.voltageV &&
+               itemConnectivity == that.itemConnectivity &&
+               powerSource == that.powerSource;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + voltageV;
+        result = 31 * result + Objects.hashCode(itemConnectivity);
+        result = 31 * result + Objects.hashCode(powerSource);
+        return result;
+    }
 }
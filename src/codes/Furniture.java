@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents a furniture household item with specific attributes in addition to common household attributes.
  * This class extends HouseHoldObjects class.
@@ -7,12 +9,8 @@
  */
 public class Furniture extends HouseholdObjects
 {
-    private final boolean isAssemblyRequired;
-    private final String  frameMaterial;
-
-    private static final String FRAME_WOOD  = "wood";
-    private static final String FRAME_METAL = "metal";
-    private static final String FRAME_OTHER = "other";
+    private final boolean       isAssemblyRequired;
+    private final FrameMaterial frameMaterial;
 
     /**
      * Constructs a new HouseholdObjects instance.
@@ -36,18 +34,57 @@ public class Furniture extends HouseholdObjects
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric);
 
-        if(frameMaterial != null &&
-                (
-                        !frameMaterial.equalsIgnoreCase(FRAME_WOOD)
-                        && !frameMaterial.equalsIgnoreCase(FRAME_METAL)
-                )
-        )
+        final ValidationResult result = checkAttributes(frameMaterial);
+
+        if(!result.isValid())
         {
-            throw new IllegalArgumentException("Invalid frame material: " + frameMaterial);
+            result.enforce(frameMaterial);
         }
 
         this.isAssemblyRequired = isAssemblyRequired;
-        this.frameMaterial      = frameMaterial;
+        this.frameMaterial      = FrameMaterial.fromLabel(frameMaterial);
+    }
+
+    /**
+     * Validates the attributes of a furniture household object without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param isAssemblyRequired   True if assembly is required, else False
+     * @param frameMaterial        The material of the frame
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String  householdObjectName,
+                                            final String  householdObjectBrand,
+                                            final double  priceCAD,
+                                            final String  householdObjectColor,
+                                            final boolean isElectric,
+                                            final boolean isAssemblyRequired,
+                                            final String  frameMaterial)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(frameMaterial);
+    }
+
+    /*
+     * Checks the attributes specific to furniture.
+     */
+    private static ValidationResult checkAttributes(final String frameMaterial)
+    {
+        if(frameMaterial != null && FrameMaterial.fromLabel(frameMaterial) == null)
+        {
+            return ValidationResult.FRAME_MATERIAL;
+        }
+
+        return ValidationResult.VALID;
     }
 
     /**
@@ -64,6 +101,15 @@ public class Furniture extends HouseholdObjects
      * @return The material of the furniture frame.
      */
     public String getFrameMaterial()
+    {
+        return frameMaterial == null ? null : frameMaterial.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the material of the furniture frame.
+     * @return The material of the furniture frame, or null if none was given.
+     */
+    public FrameMaterial getFrameMaterialCode()
     {
         return frameMaterial;
     }
@@ -77,4 +123,37 @@ public class Furniture extends HouseholdObjects
     {
         return "Furniture";
     }
+
+    /**
+     * Checks if another object is a piece of furniture of exactly the same class, compared with getClass(), with
+     * the same household attributes, the same assembly requirement and the same frame material.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Furniture that = (Furniture) other;
+
+        return isAssemblyRequired == that.isAssemblyRequired &&
+               frameMaterial == that.frameMaterial;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + Boolean.hashCode(isAssemblyRequired);
+        result = 31 * result + Objects.hashCode(frameMaterial);
+        return result;
+    }
 }
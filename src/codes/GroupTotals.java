@@ -0,0 +1,54 @@
+/**
+ * Represents the count and total price of one group of an aggregate merged across partitions.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class GroupTotals
+{
+    private long    count;
+    private double  totalPriceCAD;
+
+    /**
+     * Constructs a new, empty GroupTotals instance.
+     */
+    GroupTotals()
+    {
+    }
+
+    /*
+     * Adds the totals of the same group in another partition.
+     */
+    void merge(final long partitionCount, final double partitionTotalPriceCAD)
+    {
+        count           += partitionCount;
+        totalPriceCAD   += partitionTotalPriceCAD;
+    }
+
+    /**
+     * Gets the number of items in the group.
+     * @return The count.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the total price of the items in the group.
+     * @return The total price in CAD.
+     */
+    public double getTotalPriceCAD()
+    {
+        return totalPriceCAD;
+    }
+
+    /**
+     * Gets the average price of the items in the group.
+     * @return The average price in CAD, or NaN if the group is empty.
+     */
+    public double getAveragePriceCAD()
+    {
+        return count == 0 ? Double.NaN : totalPriceCAD / count;
+    }
+}
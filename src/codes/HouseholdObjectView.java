@@ -0,0 +1,46 @@
+/**
+ * Represents a read-only view of the common attributes of a household object.
+ * HouseholdObjects implements this view directly, and storages that do not keep
+ * HouseholdObjects instances hand out lightweight views that read the same attributes.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public interface HouseholdObjectView
+{
+    /**
+     * Gets the name of the household object.
+     * @return The name of the household object.
+     */
+    String getHouseholdObjectName();
+
+    /**
+     * Gets the brand of the household object.
+     * @return The brand of the household object.
+     */
+    String getHomeObjectBrand();
+
+    /**
+     * Gets the price in CAD of the household object.
+     * @return The price in CAD of the household object.
+     */
+    double getPriceCAD();
+
+    /**
+     * Gets the color of the household object.
+     * @return The color of the household object.
+     */
+    String getHouseholdObjectColor();
+
+    /**
+     * Checks if the household object is electrically powered.
+     * @return True if the household object is electrically powered, false otherwise.
+     */
+    boolean isElectric();
+
+    /**
+     * Gets the type of the household object.
+     * @return The type of the household object.
+     */
+    String getType();
+}
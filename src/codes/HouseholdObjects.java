@@ -4,7 +4,7 @@
  * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
  * @version 1.0
  */
-public class HouseholdObjects
+public class HouseholdObjects implements HouseholdObjectView
 {
     private final String    householdObjectName;
     private final String    householdObjectBrand;
@@ -32,47 +32,83 @@ public class HouseholdObjects
                             final double  priceCAD,
                             final String  householdObjectColor,
                             final boolean isElectric)
+    {
+        final ValidationResult result = checkAttributes(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor);
+
+        if(!result.isValid())
+        {
+            result.enforce(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor);
+        }
+
+        this.householdObjectName    = householdObjectName;
+        this.householdObjectBrand   = householdObjectBrand;
+        this.priceCAD               = priceCAD;
+        this.householdObjectColor   = householdObjectColor;
+        this.isElectric             = isElectric;
+    }
+
+    /**
+     * Validates the attributes of a household object without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String  householdObjectName,
+                                            final String  householdObjectBrand,
+                                            final double  priceCAD,
+                                            final String  householdObjectColor,
+                                            final boolean isElectric)
+    {
+        return checkAttributes(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor);
+    }
+
+    /*
+     * Checks the attributes common to every household object.
+     */
+    private static ValidationResult checkAttributes(final String householdObjectName,
+                                                    final String householdObjectBrand,
+                                                    final double priceCAD,
+                                                    final String householdObjectColor)
     {
         if(householdObjectName == null)
         {
-            throw new NullPointerException("Invalid item name: null");
+            return ValidationResult.NAME_NULL;
         }
 
         if(householdObjectName.length() < MIN_ITEM_NAME || householdObjectName.length() > MAX_ITEM_NAME)
         {
-            throw new IllegalArgumentException("Invalid item name: " + householdObjectName);
+            return ValidationResult.NAME_LENGTH;
         }
 
         if(householdObjectBrand == null)
         {
-            throw new NullPointerException("Invalid item brand: null");
+            return ValidationResult.BRAND_NULL;
         }
 
         if(householdObjectBrand.length() < MIN_ITEM_NAME || householdObjectBrand.length() > MAX_ITEM_NAME)
         {
-            throw new IllegalArgumentException("Invalid item brand: " + householdObjectBrand);
+            return ValidationResult.BRAND_LENGTH;
         }
 
         if(priceCAD <= MIN_PRICE_CAD)
         {
-            throw new IllegalArgumentException("Invalid price: " + priceCAD);
+            return ValidationResult.PRICE;
         }
 
         if(householdObjectColor == null)
         {
-            throw new NullPointerException("Invalid item color: null");
+            return ValidationResult.COLOR_NULL;
         }
 
         if(householdObjectColor.length() < MIN_ITEM_NAME || householdObjectColor.length() > MAX_ITEM_NAME)
         {
-            throw new IllegalArgumentException("Invalid item color: " + householdObjectColor);
+            return ValidationResult.COLOR_LENGTH;
         }
 
-        this.householdObjectName    = householdObjectName;
-        this.householdObjectBrand   = householdObjectBrand;
-        this.priceCAD               = priceCAD;
-        this.householdObjectColor   = householdObjectColor;
-        this.isElectric             = isElectric;
+        return ValidationResult.VALID;
     }
 
     /**
@@ -128,4 +164,47 @@ public class HouseholdObjects
     {
         return "Home Object";
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if another object is a household object of the same class with equal attributes.
+     * Two equal items are interchangeable units of the same product.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(this == other)
+        {
+            return true;
+        }
+
+        if(other == null || getClass() != other.getClass())
+        {
+            return false;
+        }
+
+        final HouseholdObjects that = (HouseholdObjects) other;
+
+        return isElectric == that.isElectric &&
+               Double.compare(priceCAD, that.priceCAD) == 0 &&
+               householdObjectName.equals(that.householdObjectName) &&
+               householdObjectBrand.equals(that.householdObjectBrand) &&
+               householdObjectColor.equals(that.householdObjectColor);
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = householdObjectName.hashCode();
+        result = 31 * result + householdObjectBrand.hashCode();
+        result = 31 * result + Double.hashCode(priceCAD);
+        result = 31 * result + householdObjectColor.hashCode();
+        result = 31 * result + Boolean.hashCode(isElectric);
+        return result;
+    }
+}
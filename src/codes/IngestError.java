@@ -0,0 +1,120 @@
+/**
+ * Represents a record that was rejected during a bulk ingestion.
+ * A record is rejected either because it could not be read as an item spec, or because the item it
+ * describes broke a validation rule, in which case the ValidationResult names the rule.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class IngestError
+{
+    /**
+     * The reasons a record is rejected.
+     */
+    public enum Reason
+    {
+        /** The record was null. */
+        SPEC_NULL("spec", "Invalid item spec"),
+        /** The record has the wrong number of fields for its type. */
+        FIELD_COUNT("fields", "Invalid field count"),
+        /** A numeric field is not a number, or does not fit its type. */
+        NUMBER("fields", "Invalid number"),
+        /** A boolean field is neither "true" nor "false". */
+        BOOLEAN("fields", "Invalid boolean"),
+        /** The record is longer than a connection can buffer. */
+        RECORD_LENGTH("record", "Record too long"),
+        /** The record was read, but its item broke a validation rule. */
+        INVALID_ITEM(null, null);
+
+        private final String field;
+        private final String description;
+
+        Reason(final String field, final String description)
+        {
+            this.field          = field;
+            this.description    = description;
+        }
+
+        /**
+         * Gets the part of the record that could not be read.
+         * @return The part of the record, or null for INVALID_ITEM.
+         */
+        public String getField()
+        {
+            return field;
+        }
+
+        /**
+         * Gets a short description of the reason, without the offending value.
+         * @return The description, or null for INVALID_ITEM.
+         */
+        public String getDescription()
+        {
+            return description;
+        }
+    }
+
+    private final int               recordIndex;
+    private final Reason            reason;
+    private final ValidationResult  result;
+
+    /**
+     * Constructs a new IngestError instance for a record that could not be read.
+     * @param recordIndex The position of the rejected record in the batch.
+     * @param reason      The reason the record could not be read.
+     */
+    IngestError(final int recordIndex, final Reason reason)
+    {
+        this.recordIndex    = recordIndex;
+        this.reason         = reason;
+        this.result         = null;
+    }
+
+    /**
+     * Constructs a new IngestError instance for a record whose item broke a validation rule.
+     * @param recordIndex The position of the rejected record in the batch.
+     * @param result      The rule the item broke.
+     */
+    IngestError(final int recordIndex, final ValidationResult result)
+    {
+        this.recordIndex    = recordIndex;
+        this.reason         = Reason.INVALID_ITEM;
+        this.result         = result;
+    }
+
+    /**
+     * Gets the position of the rejected record in the batch.
+     * @return The record index.
+     */
+    public int getRecordIndex()
+    {
+        return recordIndex;
+    }
+
+    /**
+     * Gets the reason the record was rejected.
+     * @return The reason, INVALID_ITEM if the item broke a validation rule.
+     */
+    public Reason getReason()
+    {
+        return reason;
+    }
+
+    /**
+     * Gets the rule the item broke.
+     * @return The validation result, or null if the record could not be read.
+     */
+    public ValidationResult getResult()
+    {
+        return result;
+    }
+
+    /**
+     * Gets the reason the record was rejected.
+     * @return The rejection message.
+     */
+    public String getMessage()
+    {
+        return result == null ? reason.getDescription() : result.getDescription();
+    }
+}
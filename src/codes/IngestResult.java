@@ -0,0 +1,43 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk ingestion: how many records were added and which were rejected.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class IngestResult
+{
+    private final int               addedCount;
+    private final List<IngestError> errors;
+
+    /**
+     * Constructs a new IngestResult instance.
+     * @param addedCount The number of records added to the storage.
+     * @param errors     The rejected records, in batch order.
+     */
+    IngestResult(final int addedCount, final List<IngestError> errors)
+    {
+        this.addedCount = addedCount;
+        this.errors     = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the number of records added to the storage.
+     * @return The number of added records.
+     */
+    public int getAddedCount()
+    {
+        return addedCount;
+    }
+
+    /**
+     * Gets the rejected records, in batch order.
+     * @return The ingestion errors.
+     */
+    public List<IngestError> getErrors()
+    {
+        return errors;
+    }
+}
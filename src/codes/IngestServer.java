@@ -0,0 +1,558 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Represents a network endpoint that ingests a stream of item records into a storage.
+ * Clients connect over TCP and send one ItemSpec line per record, such as "Toaster|Name|Brand|...",
+ * each ended by a newline. Each connection is served on its own virtual thread, which parses and validates
+ * its records and answers every rejected record at once with "ERR record-number description".
+ * Valid items are queued and written to the storage in micro-batches by a single writer, which takes
+ * whatever has been queued, up to a batch size, so batches grow with the load and no item waits for a timer.
+ * A record still unterminated when the client closes its output is taken as the last record. If the storage fails
+ * to store a batch, each of its items that was not stored is rejected to its client as "ERR record-number description".
+ * When a client closes its output, the server answers "DONE stored rejected" once all of its items are stored,
+ * then closes the connection.
+ * Memory stays bounded however many clients connect: each connection holds one small line buffer, records
+ * longer than the buffer are rejected, and the queue has a fixed capacity, so readers wait when the writer
+ * falls behind and push back on their clients through TCP.
+ * The latency from receiving a record to storing it is recorded in a histogram.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class IngestServer implements Closeable
+{
+    /** The longest record accepted, in bytes, including its newline. */
+    public static final int MAX_RECORD_BYTES = 512;
+
+    private static final int    MAX_BATCH_SIZE  = 1024;
+    private static final int    QUEUE_CAPACITY  = 65536;
+    private static final int    ACCEPT_BACKLOG  = 4096;
+    private static final long   POLL_MILLIS     = 100;
+
+    private final StorageHouseholdObjects   storage;
+    private final ReentrantLock             storageLock;
+    private final ServerSocketChannel       server;
+    private final BlockingQueue<Pending>    queue;
+    private final Set<Connection>           connections;
+    private final LatencyHistogram          latency;
+    private final LongAdder                 storedCount;
+    private final LongAdder                 rejectedCount;
+    private final Thread                    writer;
+    private volatile boolean                closed;
+
+    /**
+     * Constructs a new IngestServer instance and starts accepting connections on the loopback address.
+     * @param storage The storage to ingest into, which must only be used through read afterwards.
+     * @param port    The port to listen on, or 0 for any free port.
+     * @throws NullPointerException If the storage is null.
+     * @throws IOException          If the port cannot be bound.
+     */
+    public IngestServer(final StorageHouseholdObjects storage, final int port) throws IOException
+    {
+        if(storage == null)
+        {
+            throw new NullPointerException("Invalid storage: null");
+        }
+
+        this.storage        = storage;
+        this.storageLock    = new ReentrantLock();
+        this.server         = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                                                              ACCEPT_BACKLOG);
+        this.queue          = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.connections    = ConcurrentHashMap.newKeySet();
+        this.latency        = new LatencyHistogram();
+        this.storedCount    = new LongAdder();
+        this.rejectedCount  = new LongAdder();
+        this.writer         = Thread.ofPlatform().name("ingest-writer-" + getPort()).daemon().start(this::writeBatches);
+
+        Thread.ofVirtual().name("ingest-server-" + getPort()).start(this::accept);
+    }
+
+    /**
+     * Runs a query on the storage while no batch is being written.
+     * @param query The query to run.
+     * @param <R>   The type of the result of the query.
+     * @return The result of the query.
+     */
+    public <R> R read(final Function<? super StorageHouseholdObjects, ? extends R> query)
+    {
+        storageLock.lock();
+
+        try
+        {
+            return query.apply(storage);
+        }
+        finally
+        {
+            storageLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return The port.
+     */
+    public int getPort()
+    {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of open connections.
+     * @return The number of connections.
+     */
+    public int getNumberOfConnections()
+    {
+        return connections.size();
+    }
+
+    /**
+     * Gets the number of items stored.
+     * @return The number of stored items.
+     */
+    public long getStoredCount()
+    {
+        return storedCount.sum();
+    }
+
+    /**
+     * Gets the number of records rejected.
+     * @return The number of rejected records.
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Gets a summary of the latency from receiving a record to storing its item.
+     * @return The ingest latency summary.
+     */
+    public LatencySummary getIngestLatency()
+    {
+        return latency.summarize();
+    }
+
+    /**
+     * Stops accepting connections, closes every open connection, and stores the items already queued.
+     * @throws IOException If the server cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        server.close();
+
+        for(final Connection connection : connections)
+        {
+            connection.channel.close();
+        }
+
+        try
+        {
+            writer.join();
+        }
+        catch(final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Accepts connections until the server is closed, serving each on a new virtual thread.
+     */
+    private void accept()
+    {
+        try
+        {
+            while(true)
+            {
+                final Connection connection = new Connection(server.accept(), read(StorageHouseholdObjects::getMetrics));
+                connections.add(connection);
+                Thread.ofVirtual().start(() -> serve(connection));
+            }
+        }
+        catch(final ClosedChannelException e)
+        {
+            // The server was closed.
+        }
+        catch(final IOException e)
+        {
+            System.err.println("Ingest server stopped accepting connections: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Reads the records of one connection until the client closes its output, then waits for its items
+     * to be stored and answers with the totals.
+     */
+    private void serve(final Connection connection)
+    {
+        try(SocketChannel channel = connection.channel)
+        {
+            final ByteBuffer    buffer      = ByteBuffer.allocate(MAX_RECORD_BYTES);
+            boolean             skipping    = false;
+
+            while(channel.read(buffer) >= 0)
+            {
+                final byte[]    bytes       = buffer.array();
+                int             lineStart   = 0;
+
+                for(int i = 0; i < buffer.position(); i++)
+                {
+                    if(bytes[i] == '\n')
+                    {
+                        if(!skipping)
+                        {
+                            receive(connection, bytes, lineStart, i);
+                        }
+
+                        skipping    = false;
+                        lineStart   = i + 1;
+                    }
+                }
+
+                if(lineStart == 0 && !buffer.hasRemaining())
+                {
+                    if(!skipping)
+                    {
+                        connection.records++;
+                        connection.countRejection(IngestError.Reason.RECORD_LENGTH);
+                        reject(connection, IngestError.Reason.RECORD_LENGTH.getDescription());
+                    }
+
+                    skipping    = true;
+                    lineStart   = buffer.position();
+                }
+
+                buffer.flip().position(lineStart);
+                buffer.compact();
+                reportStorageFailures(connection);
+            }
+
+            if(buffer.position() > 0 && !skipping)
+            {
+                receive(connection, buffer.array(), 0, buffer.position());
+            }
+
+            connection.awaitStored();
+            reportStorageFailures(connection);
+            connection.write("DONE " + connection.stored.get() + " " + connection.rejected + "\n");
+        }
+        catch(final IOException e)
+        {
+            // The client went away or the server was closed.
+        }
+        finally
+        {
+            connections.remove(connection);
+        }
+    }
+
+    /*
+     * Parses and validates one record, queueing its item or answering its rejection.
+     */
+    private void receive(final Connection connection,
+                         final byte[]     bytes,
+                         final int        start,
+                         final int        end) throws IOException
+    {
+        final long                  receivedNanos   = System.nanoTime();
+        final int                   length          = end > start && bytes[end - 1] == '\r' ? end - start - 1 : end - start;
+        final ItemSpec              spec            = ItemSpec.parse(new String(bytes, start, length, StandardCharsets.UTF_8));
+        final IngestError.Reason    reason          = spec.checkFields();
+
+        connection.records++;
+
+        if(reason != null)
+        {
+            connection.countRejection(reason);
+            reject(connection, reason.getDescription());
+            return;
+        }
+
+        final ValidationResult result = spec.validate();
+
+        if(!result.isValid())
+        {
+            connection.countRejection(result);
+            reject(connection, result.getDescription());
+            return;
+        }
+
+        final Pending pending = new Pending(connection, connection.records, spec.build(), receivedNanos);
+        connection.outstanding.incrementAndGet();
+
+        try
+        {
+            while(!queue.offer(pending, POLL_MILLIS, TimeUnit.MILLISECONDS))
+            {
+                if(closed)
+                {
+                    throw new ClosedChannelException();
+                }
+            }
+        }
+        catch(final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ClosedChannelException();
+        }
+    }
+
+    /*
+     * Answers the rejection of the current record of a connection.
+     */
+    private void reject(final Connection connection, final String description) throws IOException
+    {
+        connection.rejected++;
+        rejectedCount.increment();
+        connection.write("ERR " + connection.records + " " + description + "\n");
+    }
+
+    /*
+     * Answers the records of a connection that the writer failed to store, counting them as rejected.
+     */
+    private void reportStorageFailures(final Connection connection) throws IOException
+    {
+        String failure;
+
+        while((failure = connection.storageFailures.poll()) != null)
+        {
+            connection.rejected++;
+            connection.write(failure);
+        }
+    }
+
+    /*
+     * Writes the queued items to the storage in batches until the server is closed and the queue is empty.
+     * If the storage fails partway through a batch, the items it did store are counted as stored and the rest
+     * are handed back to their connections as failed records.
+     */
+    private void writeBatches()
+    {
+        final List<Pending>             batch   = new ArrayList<>(MAX_BATCH_SIZE);
+        final List<HouseholdObjects>    items   = new ArrayList<>(MAX_BATCH_SIZE);
+
+        while(true)
+        {
+            final Pending first;
+
+            try
+            {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch(final InterruptedException e)
+            {
+                return;
+            }
+
+            if(first == null)
+            {
+                if(closed)
+                {
+                    return;
+                }
+
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+            for(final Pending pending : batch)
+            {
+                items.add(pending.item);
+            }
+
+            String failure = null;
+            storageLock.lock();
+
+            try
+            {
+                storage.addAll(items);
+            }
+            catch(final RuntimeException e)
+            {
+                failure = "Storage failed: " + e.getMessage();
+                markStored(batch);
+            }
+            finally
+            {
+                storageLock.unlock();
+            }
+
+            final long  now     = System.nanoTime();
+            int         stored  = 0;
+
+            for(final Pending pending : batch)
+            {
+                if(failure == null || pending.stored)
+                {
+                    latency.record(now - pending.receivedNanos);
+                    pending.connection.stored.incrementAndGet();
+                    stored++;
+                }
+                else
+                {
+                    rejectedCount.increment();
+                    pending.connection.storageFailures.add("ERR " + pending.record + " " + failure + "\n");
+                }
+
+                pending.connection.release();
+            }
+
+            storedCount.add(stored);
+
+            batch.clear();
+            items.clear();
+        }
+    }
+
+    /*
+     * Finds which items of a failed batch the storage did store. Called with the storage lock held.
+     */
+    private void markStored(final List<Pending> batch)
+    {
+        for(final Pending pending : batch)
+        {
+            pending.stored = storage.containsItem(pending.item);
+        }
+    }
+
+    /*
+     * Holds the state of one client connection. The record and rejection counts are only used by the
+     * connection's own thread; the stored and outstanding counts and the storage failures are also updated
+     * by the writer, and the failures are answered by the connection's thread.
+     */
+    private static final class Connection
+    {
+        private final SocketChannel         channel;
+        private final InventoryMetrics      metrics;
+        private final AtomicInteger         stored;
+        private final AtomicInteger         outstanding;
+        private final Queue<String>         storageFailures;
+        private volatile Thread             waiter;
+        private int                         records;
+        private int                         rejected;
+
+        private Connection(final SocketChannel channel, final InventoryMetrics metrics)
+        {
+            this.channel            = channel;
+            this.metrics            = metrics;
+            this.stored             = new AtomicInteger();
+            this.outstanding        = new AtomicInteger();
+            this.storageFailures    = new ConcurrentLinkedQueue<>();
+        }
+
+        /*
+         * Counts a record that could not be read, if the storage had metrics when the connection was accepted.
+         */
+        private void countRejection(final IngestError.Reason reason)
+        {
+            if(metrics != null)
+            {
+                metrics.recordRejection(reason);
+            }
+        }
+
+        /*
+         * Counts an item rejected by validation, if the storage had metrics when the connection was accepted.
+         */
+        private void countRejection(final ValidationResult result)
+        {
+            if(metrics != null)
+            {
+                metrics.recordRejection(result);
+            }
+        }
+
+        /*
+         * Writes an answer to the client.
+         */
+        private void write(final String answer) throws IOException
+        {
+            final ByteBuffer bytes = ByteBuffer.wrap(answer.getBytes(StandardCharsets.UTF_8));
+
+            while(bytes.hasRemaining())
+            {
+                channel.write(bytes);
+            }
+        }
+
+        /*
+         * Waits until every queued item of the connection has been written to the storage.
+         */
+        private void awaitStored()
+        {
+            waiter = Thread.currentThread();
+
+            while(outstanding.get() > 0)
+            {
+                LockSupport.park(this);
+            }
+        }
+
+        /*
+         * Marks one queued item as written, waking the connection if it was the last one it waits for.
+         */
+        private void release()
+        {
+            if(outstanding.decrementAndGet() == 0)
+            {
+                final Thread waiting = waiter;
+
+                if(waiting != null)
+                {
+                    LockSupport.unpark(waiting);
+                }
+            }
+        }
+    }
+
+    /*
+     * Holds a valid item waiting to be stored, with the connection and record number it came from and the time
+     * it was received. Whether it was stored is only filled in when its batch fails.
+     */
+    private static final class Pending
+    {
+        private final Connection        connection;
+        private final int               record;
+        private final HouseholdObjects  item;
+        private final long              receivedNanos;
+        private boolean                 stored;
+
+        private Pending(final Connection        connection,
+                        final int               record,
+                        final HouseholdObjects  item,
+                        final long              receivedNanos)
+        {
+            this.connection     = connection;
+            this.record         = record;
+            this.item           = item;
+            this.receivedNanos  = receivedNanos;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Represents one change to a storage: a household object was added or removed.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class InventoryChange
+{
+    /**
+     * The kinds of change.
+     */
+    public enum Kind
+    {
+        /** The item was added to the storage. */
+        ADDED,
+        /** The item was removed from the storage. */
+        REMOVED
+    }
+
+    private final Kind              kind;
+    private final long              itemId;
+    private final HouseholdObjects  item;
+
+    /**
+     * Constructs a new InventoryChange instance.
+     * @param kind   The kind of change.
+     * @param itemId The ID of the changed item.
+     * @param item   The changed household object.
+     */
+    InventoryChange(final Kind kind, final long itemId, final HouseholdObjects item)
+    {
+        this.kind   = kind;
+        this.itemId = itemId;
+        this.item   = item;
+    }
+
+    /**
+     * Gets the kind of change.
+     * @return The kind of change.
+     */
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    /**
+     * Gets the ID of the changed item.
+     * @return The item ID.
+     */
+    public long getItemId()
+    {
+        return itemId;
+    }
+
+    /**
+     * Gets the changed household object.
+     * @return The household object.
+     */
+    public HouseholdObjects getItem()
+    {
+        return item;
+    }
+}
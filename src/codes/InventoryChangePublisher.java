@@ -0,0 +1,299 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a publisher of the changes made to a storage, in the order they were made.
+ * Every subscriber has its own buffer. The storage only appends to the buffers and never waits for a
+ * subscriber; changes are delivered on an executor as batches, one batch per requested item, so a
+ * subscriber that falls behind receives fewer, larger batches. A subscriber that falls so far behind that
+ * its buffer overflows is cancelled and receives onError.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class InventoryChangePublisher implements Flow.Publisher<List<InventoryChange>>, StorageIndex
+{
+    /** The largest number of changes delivered in one batch. */
+    public static final int MAX_BATCH_SIZE  = 256;
+    /** The largest number of undelivered changes buffered for one subscriber. */
+    public static final int BUFFER_CAPACITY = 1 << 16;
+
+    private final Executor                          executor;
+    private final List<ChangeSubscription>          subscriptions;
+    private volatile boolean                        closed;
+
+    /**
+     * Constructs a new InventoryChangePublisher instance.
+     * @param executor The executor that delivers the batches.
+     */
+    InventoryChangePublisher(final Executor executor)
+    {
+        this.executor       = executor;
+        this.subscriptions  = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Subscribes to the changes made from now on.
+     * @param subscriber The subscriber.
+     * @throws NullPointerException If the subscriber is null.
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super List<InventoryChange>> subscriber)
+    {
+        Objects.requireNonNull(subscriber, "Invalid subscriber: null");
+
+        final ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+
+        if(closed)
+        {
+            subscription.complete();
+        }
+        else
+        {
+            subscriptions.add(subscription);
+        }
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        publish(new InventoryChange(InventoryChange.Kind.ADDED, itemId, item));
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        publish(new InventoryChange(InventoryChange.Kind.REMOVED, itemId, item));
+    }
+
+    /**
+     * Gets the number of active subscribers.
+     * @return The number of subscribers.
+     */
+    public int getNumberOfSubscribers()
+    {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops publishing. Every subscriber receives the changes already buffered, then onComplete.
+     */
+    public void close()
+    {
+        closed = true;
+
+        for(final ChangeSubscription subscription : subscriptions)
+        {
+            subscription.complete();
+        }
+
+        subscriptions.clear();
+    }
+
+    /*
+     * Buffers a change for every subscriber.
+     */
+    private void publish(final InventoryChange change)
+    {
+        if(subscriptions.isEmpty())
+        {
+            return;
+        }
+
+        for(final ChangeSubscription subscription : subscriptions)
+        {
+            subscription.offer(change);
+        }
+    }
+
+    /*
+     * Buffers the changes of one subscriber and delivers them in batches as it requests them.
+     * Delivery runs on the executor, one drain at a time, so the subscriber is never signalled concurrently.
+     */
+    private final class ChangeSubscription implements Flow.Subscription, Runnable
+    {
+        private final Flow.Subscriber<? super List<InventoryChange>>    subscriber;
+        private final Queue<InventoryChange>                            buffer;
+        private final AtomicInteger                                     buffered;
+        private final AtomicLong                                        demand;
+        private final AtomicInteger                                     pendingDrains;
+        private volatile boolean                                        cancelled;
+        private volatile boolean                                        completed;
+        private volatile boolean                                        overflowed;
+        private volatile Throwable                                      failure;
+
+        private ChangeSubscription(final Flow.Subscriber<? super List<InventoryChange>> subscriber)
+        {
+            this.subscriber     = subscriber;
+            this.buffer         = new ConcurrentLinkedQueue<>();
+            this.buffered       = new AtomicInteger();
+            this.demand         = new AtomicLong();
+            this.pendingDrains  = new AtomicInteger();
+        }
+
+        @Override
+        public void request(final long count)
+        {
+            if(count <= 0)
+            {
+                failure = new IllegalArgumentException("Invalid request count: " + count);
+            }
+            else
+            {
+                demand.accumulateAndGet(count, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        /*
+         * Buffers a change without waiting. If the buffer is full, the subscription is marked as overflowed instead.
+         */
+        void offer(final InventoryChange change)
+        {
+            if(cancelled || overflowed)
+            {
+                return;
+            }
+
+            if(buffered.incrementAndGet() > BUFFER_CAPACITY)
+            {
+                overflowed = true;
+                subscriptions.remove(this);
+            }
+            else
+            {
+                buffer.offer(change);
+            }
+
+            scheduleDrain();
+        }
+
+        /*
+         * Marks the subscription as complete once the buffered changes are delivered.
+         */
+        void complete()
+        {
+            completed = true;
+            scheduleDrain();
+        }
+
+        /*
+         * Schedules a drain unless one is already scheduled or running; a running drain then loops once more.
+         */
+        private void scheduleDrain()
+        {
+            if(pendingDrains.getAndIncrement() == 0)
+            {
+                try
+                {
+                    executor.execute(this);
+                }
+                catch(final RejectedExecutionException e)
+                {
+                    cancel();
+                }
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            int missed = 1;
+
+            do
+            {
+                drain();
+                missed = pendingDrains.addAndGet(-missed);
+            }
+            while(missed != 0);
+        }
+
+        /*
+         * Delivers as many batches as the subscriber has requested, then any terminal signal.
+         */
+        private void drain()
+        {
+            if(cancelled)
+            {
+                buffer.clear();
+                return;
+            }
+
+            if(failure != null)
+            {
+                terminate(failure);
+                return;
+            }
+
+            if(overflowed)
+            {
+                terminate(new IllegalStateException("Change buffer overflow: subscriber fell more than "
+                                                    + BUFFER_CAPACITY + " changes behind"));
+                return;
+            }
+
+            while(demand.get() > 0 && !buffer.isEmpty() && !cancelled)
+            {
+                final List<InventoryChange> batch = new ArrayList<>(Math.min(buffered.get(), MAX_BATCH_SIZE));
+                InventoryChange change;
+
+                while(batch.size() < MAX_BATCH_SIZE && (change = buffer.poll()) != null)
+                {
+                    batch.add(change);
+                }
+
+                buffered.addAndGet(-batch.size());
+
+                if(demand.get() != Long.MAX_VALUE)
+                {
+                    demand.decrementAndGet();
+                }
+
+                try
+                {
+                    subscriber.onNext(batch);
+                }
+                catch(final RuntimeException e)
+                {
+                    cancel();
+                    buffer.clear();
+                    return;
+                }
+            }
+
+            if(completed && buffer.isEmpty() && !cancelled)
+            {
+                cancelled = true;
+                subscriber.onComplete();
+            }
+        }
+
+        /*
+         * Cancels the subscription and signals an error to the subscriber.
+         */
+        private void terminate(final Throwable error)
+        {
+            cancel();
+            buffer.clear();
+            subscriber.onError(error);
+        }
+    }
+}
@@ -0,0 +1,554 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Represents an append-only write-ahead journal that makes a storage durable.
+ * The journal directory holds a snapshot and a journal file. Every add and remove is appended
+ * to the journal as a compact binary record, and a change is durable once the call that made it returns.
+ * Writers that commit at the same time share one write and one fsync: the first waiting writer
+ * flushes every record appended so far and the others wait for it, so throughput grows with the
+ * number of concurrent writers and with the size of bulk adds.
+ * On recovery the snapshot is loaded, the journal is replayed over it, and the result is written
+ * back as a new snapshot so the journal starts empty. A record torn by a crash is detected by its
+ * checksum and dropped along with everything after it.
+ * Journals and snapshots of version 1 are still replayed, and since recovery rewrites both, a directory
+ * written by an older version is migrated to the current one the first time it is recovered.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class InventoryJournal implements Closeable, StorageIndex
+{
+    /** The name of the snapshot file in the journal directory. */
+    public static final String SNAPSHOT_FILE = "inventory.snapshot";
+    /** The name of the journal file in the journal directory. */
+    public static final String JOURNAL_FILE  = "inventory.journal";
+
+    private static final int    MAGIC           = 0x48484F4A;
+    private static final short  FORMAT_VERSION  = 2;
+    private static final short  OLDEST_VERSION  = 1;
+    private static final int    HEADER_BYTES    = Integer.BYTES + Short.BYTES;
+    private static final int    RECORD_HEADER   = Integer.BYTES + Integer.BYTES;
+    private static final int    BUFFER_BYTES    = 1 << 20;
+    private static final int    MAX_ENTRY_BYTES = RECORD_HEADER + 1 + Long.BYTES + ItemRecordFormat.MAX_RECORD_BYTES;
+    private static final String TEMP_SUFFIX     = ".tmp";
+
+    private static final byte OP_ADD    = 1;
+    private static final byte OP_REMOVE = 2;
+
+    private final Path              directory;
+    private final FileChannel       channel;
+    private final ItemRecordFormat  format;
+    private final CRC32             checksum;
+    private final ReentrantLock     lock;
+    private final Condition         flushed;
+    private ByteBuffer              pending;
+    private ByteBuffer              spare;
+    private long                    appendedCount;
+    private long                    durableCount;
+    private boolean                 flushing;
+    private IOException             failure;
+    private boolean                 recovered;
+    private StorageHouseholdObjects storage;
+
+    private InventoryJournal(final Path directory, final FileChannel channel)
+    {
+        this.directory  = directory;
+        this.channel    = channel;
+        this.format     = new ItemRecordFormat(false);
+        this.checksum   = new CRC32();
+        this.lock       = new ReentrantLock();
+        this.flushed    = lock.newCondition();
+        this.pending    = ByteBuffer.allocate(BUFFER_BYTES);
+        this.spare      = ByteBuffer.allocate(BUFFER_BYTES);
+    }
+
+    /**
+     * Opens the journal in a directory, creating the directory and the journal file if needed.
+     * Nothing is read until a storage is recovered.
+     * @param directory The journal directory.
+     * @return The open journal.
+     * @throws IOException If the directory or the journal file cannot be opened.
+     */
+    public static InventoryJournal open(final Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        return new InventoryJournal(directory, FileChannel.open(directory.resolve(JOURNAL_FILE),
+                                                                StandardOpenOption.CREATE,
+                                                                StandardOpenOption.READ,
+                                                                StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Recovers the saved storage and journals every later change made to it.
+     * The storage must only be used by one thread at a time.
+     * @return The recovered storage.
+     * @throws IOException           If the snapshot or the journal cannot be read, or the compacted state cannot be written.
+     * @throws IllegalStateException If a storage has already been recovered from this journal.
+     */
+    public StorageHouseholdObjects recover() throws IOException
+    {
+        final StorageHouseholdObjects recoveredStorage = load();
+        recoveredStorage.attachJournal(this);
+        storage = recoveredStorage;
+        return recoveredStorage;
+    }
+
+    /**
+     * Recovers the saved storage as a storage that can be shared between threads, and journals every later change made to it.
+     * @return The recovered storage.
+     * @throws IOException           If the snapshot or the journal cannot be read, or the compacted state cannot be written.
+     * @throws IllegalStateException If a storage has already been recovered from this journal.
+     */
+    public ConcurrentStorageHouseholdObjects recoverConcurrent() throws IOException
+    {
+        final StorageHouseholdObjects           loaded              = load();
+        final ConcurrentStorageHouseholdObjects recoveredStorage    = new ConcurrentStorageHouseholdObjects();
+
+        for(int slot = 0; slot < loaded.getSlotCount(); slot++)
+        {
+            final HouseholdObjects item = loaded.getItemAtSlot(slot);
+
+            if(item != null)
+            {
+                recoveredStorage.restoreItem(loaded.getItemIdAtSlot(slot), item);
+            }
+        }
+
+        recoveredStorage.restoreNextItemId(loaded.getNextItemId());
+        recoveredStorage.attachJournal(this);
+        return recoveredStorage;
+    }
+
+    /**
+     * Writes the current state of the recovered storage as a new snapshot and empties the journal.
+     * The storage must not be modified while it is compacted.
+     * @throws IOException           If the snapshot cannot be written.
+     * @throws IllegalStateException If no single-threaded storage has been recovered from this journal.
+     */
+    public void compact() throws IOException
+    {
+        if(storage == null)
+        {
+            throw new IllegalStateException("No storage to compact");
+        }
+
+        sync();
+        writeSnapshot(storage);
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        appendAdd(itemId, item);
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        appendRemove(itemId);
+    }
+
+    /**
+     * Appends the record of an added item. The record is durable once a later commit covering it returns.
+     * @param itemId The ID of the added item.
+     * @param item   The added household object.
+     * @return The commit ticket of the record.
+     * @throws IllegalArgumentException If the item is not one of the known classes. Nothing is appended.
+     */
+    long appendAdd(final long itemId, final HouseholdObjects item)
+    {
+        ItemKind.of(item);
+        lock.lock();
+
+        try
+        {
+            final int start = reserve();
+
+            try
+            {
+                pending.put(OP_ADD);
+                pending.putLong(itemId);
+                format.write(pending, item);
+            }
+            catch(final RuntimeException e)
+            {
+                pending.position(start);
+                throw e;
+            }
+
+            return seal(start);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the record of a removed item. The record is durable once a later commit covering it returns.
+     * @param itemId The ID of the removed item.
+     * @return The commit ticket of the record.
+     */
+    long appendRemove(final long itemId)
+    {
+        lock.lock();
+
+        try
+        {
+            final int start = reserve();
+            pending.put(OP_REMOVE);
+            pending.putLong(itemId);
+            return seal(start);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every record appended so far is durable.
+     * @throws IOException If the journal cannot be written.
+     */
+    void sync() throws IOException
+    {
+        final long ticket;
+        lock.lock();
+
+        try
+        {
+            ticket = appendedCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        commit(ticket);
+    }
+
+    /**
+     * Waits until the record with the given ticket, and every record before it, is durable.
+     * If no other writer is flushing, this writer flushes every pending record in one write and one fsync;
+     * otherwise it waits for the running flush and checks again.
+     * @param ticket The commit ticket returned when the record was appended.
+     * @throws IOException If the journal cannot be written.
+     */
+    void commit(final long ticket) throws IOException
+    {
+        lock.lock();
+
+        try
+        {
+            while(durableCount < ticket)
+            {
+                if(failure != null)
+                {
+                    throw new IOException("Journal write failed", failure);
+                }
+
+                if(flushing)
+                {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+
+                flush();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the pending records and closes the journal file.
+     * @throws IOException If the pending records cannot be written.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            sync();
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+
+    /*
+     * Loads the snapshot, replays the journal over it and compacts the result. Called once per journal.
+     */
+    private StorageHouseholdObjects load() throws IOException
+    {
+        if(recovered)
+        {
+            throw new IllegalStateException("Journal already recovered");
+        }
+
+        recovered = true;
+
+        final Path                      snapshot    = directory.resolve(SNAPSHOT_FILE);
+        final StorageHouseholdObjects   loaded      = new StorageHouseholdObjects();
+
+        if(Files.exists(snapshot))
+        {
+            InventorySnapshot.readInto(loaded, snapshot);
+        }
+
+        replay(loaded);
+        writeSnapshot(loaded);
+        return loaded;
+    }
+
+    /*
+     * Applies the valid records of the journal file to a storage. Adds already covered by the
+     * snapshot are skipped and removes are idempotent, so a journal left over from an interrupted
+     * compaction replays safely.
+     */
+    private void replay(final StorageHouseholdObjects target) throws IOException
+    {
+        final long size = channel.size();
+
+        if(size == 0)
+        {
+            return;
+        }
+
+        if(size > Integer.MAX_VALUE)
+        {
+            throw new IOException("Invalid journal: too large to map");
+        }
+
+        final ByteBuffer        buffer      = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        final long              snapshotEnd = target.getNextItemId();
+
+        if(size < HEADER_BYTES || buffer.getInt() != MAGIC)
+        {
+            throw new IOException("Invalid journal: " + directory.resolve(JOURNAL_FILE));
+        }
+
+        final short version = buffer.getShort();
+
+        if(version < OLDEST_VERSION || version > FORMAT_VERSION)
+        {
+            throw new IOException("Invalid journal version: " + version);
+        }
+
+        final ItemRecordFormat reader = new ItemRecordFormat(false, version);
+
+        while(buffer.remaining() >= RECORD_HEADER)
+        {
+            final int length    = buffer.getInt();
+            final int expected  = buffer.getInt();
+
+            if(length <= 0 || length > buffer.remaining())
+            {
+                break;
+            }
+
+            final ByteBuffer payload = buffer.slice(buffer.position(), length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+
+            if((int) checksum.getValue() != expected)
+            {
+                break;
+            }
+
+            buffer.position(buffer.position() + length);
+
+            try
+            {
+                apply(target, payload, reader, snapshotEnd);
+            }
+            catch(final BufferUnderflowException | IllegalArgumentException | NullPointerException e)
+            {
+                throw new IOException("Invalid journal record: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /*
+     * Applies one journal record to a storage.
+     */
+    private static void apply(final StorageHouseholdObjects target,
+                              final ByteBuffer payload,
+                              final ItemRecordFormat reader,
+                              final long snapshotEnd)
+    {
+        final byte op       = payload.get();
+        final long itemId   = payload.getLong();
+
+        if(op == OP_ADD)
+        {
+            final HouseholdObjects item = reader.read(payload);
+
+            if(itemId >= snapshotEnd)
+            {
+                target.restoreItem(itemId, item);
+            }
+        }
+        else if(op == OP_REMOVE)
+        {
+            target.removeItemById(itemId);
+        }
+        else
+        {
+            throw new IllegalArgumentException("Invalid journal operation: " + op);
+        }
+    }
+
+    /*
+     * Writes a snapshot of a storage next to the journal, then replaces the old snapshot with it and
+     * empties the journal. The snapshot is forced to disk before it replaces the old one.
+     */
+    private void writeSnapshot(final StorageHouseholdObjects source) throws IOException
+    {
+        final Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        final Path temp     = directory.resolve(SNAPSHOT_FILE + TEMP_SUFFIX);
+
+        InventorySnapshot.write(source, temp);
+
+        try(FileChannel written = FileChannel.open(temp, StandardOpenOption.WRITE))
+        {
+            written.force(true);
+        }
+
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putShort(FORMAT_VERSION);
+        header.flip();
+
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+        channel.position(HEADER_BYTES);
+    }
+
+    /*
+     * Makes room for one more record in the pending buffer and returns the position of its header.
+     * A full buffer is written out directly when no flush is running, or grown otherwise. Called with the lock held.
+     */
+    private int reserve()
+    {
+        if(pending.remaining() < MAX_ENTRY_BYTES)
+        {
+            if(!flushing && failure == null)
+            {
+                try
+                {
+                    pending.flip();
+                    writeFully(pending);
+                }
+                catch(final IOException e)
+                {
+                    failure = e;
+                }
+
+                pending.clear();
+            }
+            else
+            {
+                final ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+        }
+
+        final int start = pending.position();
+        pending.position(start + RECORD_HEADER);
+        return start;
+    }
+
+    /*
+     * Fills in the length and checksum of the record started at the given position and returns its ticket.
+     * Called with the lock held.
+     */
+    private long seal(final int start)
+    {
+        final int payloadStart  = start + RECORD_HEADER;
+        final int length        = pending.position() - payloadStart;
+
+        checksum.reset();
+        checksum.update(pending.array(), pending.arrayOffset() + payloadStart, length);
+        pending.putInt(start, length);
+        pending.putInt(start + Integer.BYTES, (int) checksum.getValue());
+        return ++appendedCount;
+    }
+
+    /*
+     * Writes and forces every pending record, releasing the lock while the disk is busy so that
+     * other writers can keep appending. Called with the lock held and no flush running.
+     */
+    private void flush()
+    {
+        final ByteBuffer    batch       = pending;
+        final long          batchCount  = appendedCount;
+
+        pending     = spare;
+        spare       = null;
+        flushing    = true;
+        lock.unlock();
+
+        IOException error = null;
+
+        try
+        {
+            batch.flip();
+            writeFully(batch);
+            channel.force(false);
+        }
+        catch(final IOException e)
+        {
+            error = e;
+        }
+        finally
+        {
+            lock.lock();
+        }
+
+        batch.clear();
+        spare       = batch;
+        flushing    = false;
+
+        if(error != null)
+        {
+            failure = error;
+        }
+        else if(failure == null)
+        {
+            durableCount = batchCount;
+        }
+
+        flushed.signalAll();
+    }
+
+    /*
+     * Writes the whole buffer to the end of the journal file.
+     */
+    private void writeFully(final ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+}
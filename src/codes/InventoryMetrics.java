@@ -0,0 +1,246 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Represents the operation metrics of one storage: striped counters of adds and removes, latency
+ * histograms of adds, bulk adds, removes and reports, the current number of items, and counters of
+ * the records rejected while ingesting into the storage, keyed by the validation rule broken or the
+ * reason the record could not be read. Items rejected by a constructor are not counted.
+ * A storage without metrics only pays for one null check per operation.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class InventoryMetrics implements InventoryMetricsMXBean
+{
+    /** The JMX domain the metrics are registered under. */
+    public static final String JMX_DOMAIN = "householdobjects";
+
+    private final StorageHouseholdObjects   storage;
+    private final ObjectName                objectName;
+    private final LongAdder                 addCount;
+    private final LongAdder                 removeCount;
+    private final LatencyHistogram          addLatency;
+    private final LatencyHistogram          bulkAddLatency;
+    private final LatencyHistogram          removeLatency;
+    private final LatencyHistogram          reportLatency;
+    private final LongAdder[]               rejections;
+    private final LongAdder[]               unreadable;
+
+    /**
+     * Constructs a new InventoryMetrics instance.
+     * @param storage The storage being measured.
+     * @param name    The name the metrics are registered under.
+     * @throws IllegalArgumentException If the name cannot be used in a JMX object name.
+     */
+    InventoryMetrics(final StorageHouseholdObjects storage, final String name)
+    {
+        try
+        {
+            this.objectName = new ObjectName(JMX_DOMAIN + ":type=InventoryMetrics,name=" + ObjectName.quote(name));
+        }
+        catch(final JMException e)
+        {
+            throw new IllegalArgumentException("Invalid metrics name: " + name, e);
+        }
+
+        this.storage        = storage;
+        this.addCount       = new LongAdder();
+        this.removeCount    = new LongAdder();
+        this.addLatency     = new LatencyHistogram();
+        this.bulkAddLatency = new LatencyHistogram();
+        this.removeLatency  = new LatencyHistogram();
+        this.reportLatency  = new LatencyHistogram();
+        this.rejections     = newRejectionCounters(ValidationResult.values().length);
+        this.unreadable     = newRejectionCounters(IngestError.Reason.values().length);
+    }
+
+    /**
+     * Gets the name the metrics are registered under in JMX.
+     * @return The object name.
+     */
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    @Override
+    public int getNumberOfItems()
+    {
+        return storage.getNumberOfItems();
+    }
+
+    @Override
+    public long getAddCount()
+    {
+        return addCount.sum();
+    }
+
+    @Override
+    public long getRemoveCount()
+    {
+        return removeCount.sum();
+    }
+
+    @Override
+    public LatencySummary getAddLatency()
+    {
+        return addLatency.summarize();
+    }
+
+    @Override
+    public LatencySummary getBulkAddLatency()
+    {
+        return bulkAddLatency.summarize();
+    }
+
+    @Override
+    public LatencySummary getRemoveLatency()
+    {
+        return removeLatency.summarize();
+    }
+
+    @Override
+    public LatencySummary getReportLatency()
+    {
+        return reportLatency.summarize();
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts()
+    {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+
+        for(final ValidationResult result : ValidationResult.values())
+        {
+            final long count = rejections[result.ordinal()].sum();
+
+            if(count > 0)
+            {
+                counts.put(result.getDescription() + " (" + result.getField() + ")", count);
+            }
+        }
+
+        for(final IngestError.Reason reason : IngestError.Reason.values())
+        {
+            final long count = unreadable[reason.ordinal()].sum();
+
+            if(count > 0)
+            {
+                counts.put(reason.getDescription() + " (" + reason.getField() + ")", count);
+            }
+        }
+
+        return counts;
+    }
+
+    /*
+     * Records a single add.
+     */
+    void recordAdd(final long nanos)
+    {
+        addCount.increment();
+        addLatency.record(nanos);
+    }
+
+    /*
+     * Records a bulk add of a number of items.
+     */
+    void recordBulkAdd(final int added, final long nanos)
+    {
+        addCount.add(added);
+        bulkAddLatency.record(nanos);
+    }
+
+    /*
+     * Records a remove, successful or not.
+     */
+    void recordRemove(final boolean removed, final long nanos)
+    {
+        if(removed)
+        {
+            removeCount.increment();
+        }
+
+        removeLatency.record(nanos);
+    }
+
+    /*
+     * Records a full report.
+     */
+    void recordReport(final long nanos)
+    {
+        reportLatency.record(nanos);
+    }
+
+    /*
+     * Records an ingested item rejected by validation. Only called on the rejection path, so accepted items pay nothing.
+     */
+    void recordRejection(final ValidationResult result)
+    {
+        rejections[result.ordinal()].increment();
+    }
+
+    /*
+     * Records an ingested record that could not be read.
+     */
+    void recordRejection(final IngestError.Reason reason)
+    {
+        unreadable[reason.ordinal()].increment();
+    }
+
+    /*
+     * Registers the metrics with the platform MBean server.
+     */
+    void register()
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        }
+        catch(final JMException e)
+        {
+            throw new IllegalStateException("Metrics already registered: " + objectName, e);
+        }
+    }
+
+    /*
+     * Unregisters the metrics from the platform MBean server, if they are registered.
+     */
+    void unregister()
+    {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try
+        {
+            if(server.isRegistered(objectName))
+            {
+                server.unregisterMBean(objectName);
+            }
+        }
+        catch(final JMException e)
+        {
+            throw new IllegalStateException("Metrics cannot be unregistered: " + objectName, e);
+        }
+    }
+
+    /*
+     * Creates a number of counters, one per validation rule or reason.
+     */
+    private static LongAdder[] newRejectionCounters(final int count)
+    {
+        final LongAdder[] counters = new LongAdder[count];
+
+        for(int i = 0; i < counters.length; i++)
+        {
+            counters[i] = new LongAdder();
+        }
+
+        return counters;
+    }
+}
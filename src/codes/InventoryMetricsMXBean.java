@@ -0,0 +1,58 @@
+import java.util.Map;
+
+/**
+ * Represents the management interface of the metrics of one storage, as published over JMX.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public interface InventoryMetricsMXBean
+{
+    /**
+     * Gets the number of household objects currently stored.
+     * @return The number of items.
+     */
+    int getNumberOfItems();
+
+    /**
+     * Gets the number of items added since the metrics were enabled.
+     * @return The number of adds.
+     */
+    long getAddCount();
+
+    /**
+     * Gets the number of items removed since the metrics were enabled.
+     * @return The number of removes.
+     */
+    long getRemoveCount();
+
+    /**
+     * Gets the latencies of single adds.
+     * @return The add latency summary.
+     */
+    LatencySummary getAddLatency();
+
+    /**
+     * Gets the latencies of bulk adds, one value per call.
+     * @return The bulk add latency summary.
+     */
+    LatencySummary getBulkAddLatency();
+
+    /**
+     * Gets the latencies of removes.
+     * @return The remove latency summary.
+     */
+    LatencySummary getRemoveLatency();
+
+    /**
+     * Gets the durations of full reports, including displayItems.
+     * @return The report duration summary.
+     */
+    LatencySummary getReportLatency();
+
+    /**
+     * Gets the number of records rejected while ingesting into the storage, per broken validation rule or unreadable part.
+     * @return The rejection counts keyed by description and field, for example "Invalid voltage (voltageV)".
+     */
+    Map<String, Long> getRejectionCounts();
+}
@@ -0,0 +1,184 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a writer of inventory reports.
+ * Report lines are built in a reusable buffer without per-item string concatenation,
+ * and the buffer is handed to the output once every configured number of lines.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class InventoryReportWriter implements Flushable
+{
+    /** The number of lines buffered before the output is written to, unless configured otherwise. */
+    public static final int DEFAULT_FLUSH_BATCH = 1024;
+
+    private static final String NAME_LABEL      = "Household Object Name: ";
+    private static final String TYPE_LABEL      = ", Household Object Type: ";
+    private static final String QUANTITY_LABEL  = ", Quantity: ";
+    private static final String LINE_SEPARATOR  = System.lineSeparator();
+    private static final int    MIN_FLUSH_BATCH = 1;
+    private static final int    LINE_CAPACITY   = 96;
+
+    private final Appendable    out;
+    private final StringBuilder buffer;
+    private final int           flushBatch;
+    private int                 bufferedLines;
+
+    /**
+     * Constructs a new InventoryReportWriter instance with the default flush batch.
+     * @param out The output to write the report to.
+     * @throws NullPointerException If the output is null.
+     */
+    public InventoryReportWriter(final Appendable out)
+    {
+        this(out, DEFAULT_FLUSH_BATCH);
+    }
+
+    /**
+     * Constructs a new InventoryReportWriter instance.
+     * @param out        The output to write the report to.
+     * @param flushBatch The number of lines to buffer before writing to the output.
+     * @throws NullPointerException     If the output is null.
+     * @throws IllegalArgumentException If the flush batch is less than one.
+     */
+    public InventoryReportWriter(final Appendable out, final int flushBatch)
+    {
+        if(out == null)
+        {
+            throw new NullPointerException("Invalid report output: null");
+        }
+
+        if(flushBatch < MIN_FLUSH_BATCH)
+        {
+            throw new IllegalArgumentException("Invalid flush batch: " + flushBatch);
+        }
+
+        this.out        = out;
+        this.flushBatch = flushBatch;
+        this.buffer     = new StringBuilder(Math.min(flushBatch, DEFAULT_FLUSH_BATCH) * LINE_CAPACITY);
+    }
+
+    /**
+     * Creates a new InventoryReportWriter instance that writes UTF-8 text to a stream.
+     * This is a factory rather than a constructor because a PrintStream is both an OutputStream and an Appendable,
+     * so an overloaded constructor would make calls such as new InventoryReportWriter(System.out, 64) ambiguous.
+     * @param out        The stream to write the report to.
+     * @param flushBatch The number of lines to buffer before writing to the stream.
+     * @return The report writer.
+     * @throws NullPointerException     If the stream is null.
+     * @throws IllegalArgumentException If the flush batch is less than one.
+     */
+    public static InventoryReportWriter forStream(final OutputStream out, final int flushBatch)
+    {
+        return new InventoryReportWriter(new OutputStreamWriter(requireStream(out), StandardCharsets.UTF_8), flushBatch);
+    }
+
+    /**
+     * Writes the report line of one household object.
+     * @param item The household object to report.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeItem(final HouseholdObjectView item) throws IOException
+    {
+        buffer.append(NAME_LABEL)
+              .append(item.getHouseholdObjectName())
+              .append(TYPE_LABEL)
+              .append(item.getType())
+              .append(LINE_SEPARATOR);
+        lineWritten();
+    }
+
+    /**
+     * Writes the report line of a number of identical units of one household object.
+     * @param item     The household object to report.
+     * @param quantity The number of units.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeItem(final HouseholdObjectView item, final int quantity) throws IOException
+    {
+        buffer.append(NAME_LABEL)
+              .append(item.getHouseholdObjectName())
+              .append(TYPE_LABEL)
+              .append(item.getType())
+              .append(QUANTITY_LABEL)
+              .append(quantity)
+              .append(LINE_SEPARATOR);
+        lineWritten();
+    }
+
+    /**
+     * Writes the report lines of several household objects.
+     * @param items The household objects to report.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeItems(final Iterable<? extends HouseholdObjectView> items) throws IOException
+    {
+        for(final HouseholdObjectView item : items)
+        {
+            writeItem(item);
+        }
+    }
+
+    /**
+     * Writes a free-form line to the report.
+     * @param line The line to write, without a line separator.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeLine(final CharSequence line) throws IOException
+    {
+        buffer.append(line).append(LINE_SEPARATOR);
+        lineWritten();
+    }
+
+    /**
+     * Writes the buffered lines to the output and flushes it if it can be flushed.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        if(buffer.length() > 0)
+        {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+
+        bufferedLines = 0;
+
+        if(out instanceof Flushable)
+        {
+            ((Flushable) out).flush();
+        }
+    }
+
+    /*
+     * Counts a buffered line and flushes once a full batch is buffered.
+     */
+    private void lineWritten() throws IOException
+    {
+        bufferedLines++;
+
+        if(bufferedLines >= flushBatch)
+        {
+            flush();
+        }
+    }
+
+    /*
+     * Checks that a stream is not null before it is wrapped.
+     */
+    private static OutputStream requireStream(final OutputStream out)
+    {
+        if(out == null)
+        {
+            throw new NullPointerException("Invalid report output: null");
+        }
+
+        return out;
+    }
+}
@@ -0,0 +1,154 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves and loads the contents of a StorageHouseholdObjects as a compact binary snapshot.
+ * A snapshot is a versioned header followed by one type-tagged record per item, in insertion order.
+ * Records keep their item IDs, so IDs stay stable across a save and load, and each distinct
+ * string is written once. Snapshots are written in a single sequential pass and read through
+ * a memory-mapped file.
+ * Snapshots of version 1, written before whole numbers and string codes became varints, are still read;
+ * saving the loaded storage again writes them in the current version.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class InventorySnapshot
+{
+    /** The version of the snapshot format written by this class. */
+    public static final short FORMAT_VERSION = 2;
+    /** The oldest version of the snapshot format that can still be read. */
+    public static final short OLDEST_READABLE_VERSION = 1;
+
+    private static final int MAGIC          = 0x48484F53;
+    private static final int BUFFER_BYTES   = 1 << 20;
+
+    private InventorySnapshot()
+    {
+    }
+
+    /**
+     * Writes a snapshot of a storage to a file, replacing the file if it exists.
+     * @param storage The storage to save.
+     * @param file    The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(final StorageHouseholdObjects storage, final Path file) throws IOException
+    {
+        final ItemRecordFormat format = new ItemRecordFormat(true);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            buffer.putInt(MAGIC);
+            buffer.putShort(FORMAT_VERSION);
+            buffer.putInt(storage.getNumberOfItems());
+            buffer.putLong(storage.getNextItemId());
+
+            for(int slot = 0; slot < storage.getSlotCount(); slot++)
+            {
+                final HouseholdObjects item = storage.getItemAtSlot(slot);
+
+                if(item != null)
+                {
+                    if(buffer.remaining() < Long.BYTES + ItemRecordFormat.MAX_RECORD_BYTES)
+                    {
+                        drain(channel, buffer);
+                    }
+
+                    buffer.putLong(storage.getItemIdAtSlot(slot));
+                    format.write(buffer, item);
+                }
+            }
+
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads a snapshot into a new storage.
+     * @param file The file to read.
+     * @return A storage holding the saved items under their saved IDs.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static StorageHouseholdObjects read(final Path file) throws IOException
+    {
+        final StorageHouseholdObjects storage = new StorageHouseholdObjects();
+        readInto(storage, file);
+        return storage;
+    }
+
+    /**
+     * Reads a snapshot into an empty storage.
+     * @param storage The empty storage to fill.
+     * @param file    The file to read.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    static void readInto(final StorageHouseholdObjects storage, final Path file) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException("Invalid snapshot: too large to map: " + file);
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if(buffer.getInt() != MAGIC)
+            {
+                throw new IOException("Invalid snapshot: " + file);
+            }
+
+            final short version = buffer.getShort();
+
+            if(version < OLDEST_READABLE_VERSION || version > FORMAT_VERSION)
+            {
+                throw new IOException("Invalid snapshot version: " + version);
+            }
+
+            final ItemRecordFormat format = new ItemRecordFormat(true, version);
+
+            final int itemCount     = buffer.getInt();
+            final long nextItemId   = buffer.getLong();
+            storage.ensureCapacity(itemCount);
+
+            for(int i = 0; i < itemCount; i++)
+            {
+                final long itemId = buffer.getLong();
+                storage.restoreItem(itemId, format.read(buffer));
+            }
+
+            storage.restoreNextItemId(nextItemId);
+        }
+        catch(final BufferUnderflowException e)
+        {
+            throw new IOException("Invalid snapshot: truncated: " + file, e);
+        }
+        catch(final IllegalArgumentException | NullPointerException e)
+        {
+            throw new IOException("Invalid snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Writes the buffered bytes to the channel and clears the buffer.
+     */
+    private static void drain(final FileChannel channel, final ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
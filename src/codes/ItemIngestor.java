@@ -0,0 +1,140 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Represents the bulk ingestion of item specs into a storage.
+ * Specs are validated and built in parallel on a fork-join pool. A record that cannot be read or fails validation is
+ * reported with an IngestError, without an exception being thrown, and does not abort the batch. The valid items are then added to the storage
+ * in one pre-sized operation, in batch order.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class ItemIngestor
+{
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private ItemIngestor()
+    {
+    }
+
+    /**
+     * Builds the items of a batch of specs and adds the valid ones to a storage.
+     * @param storage The storage to add the items to.
+     * @param specs   The specs to ingest.
+     * @param pool    The pool to build the items on.
+     * @return The number of added items and the rejected records.
+     */
+    static IngestResult ingest(final StorageHouseholdObjects storage,
+                               final List<ItemSpec> specs,
+                               final ForkJoinPool pool)
+    {
+        final ItemSpec[]            batch       = specs.toArray(new ItemSpec[0]);
+        final HouseholdObjects[]    built       = new HouseholdObjects[batch.length];
+        final IngestError[]         rejections  = new IngestError[batch.length];
+
+        pool.invoke(new BuildTask(batch, built, rejections, storage.getMetrics(), 0, batch.length));
+
+        final List<HouseholdObjects>    valid   = new ArrayList<>(batch.length);
+        final List<IngestError>         errors  = new ArrayList<>();
+
+        for(int i = 0; i < batch.length; i++)
+        {
+            if(built[i] != null)
+            {
+                valid.add(built[i]);
+            }
+            else
+            {
+                errors.add(rejections[i]);
+            }
+        }
+
+        storage.addAll(valid);
+        return new IngestResult(valid.size(), errors);
+    }
+
+    /*
+     * Builds a range of specs, splitting the range in half until it is small enough to build directly.
+     */
+    @SuppressWarnings("serial")
+    private static final class BuildTask extends RecursiveAction
+    {
+        private final ItemSpec[]            specs;
+        private final HouseholdObjects[]    built;
+        private final IngestError[]         rejections;
+        private final InventoryMetrics      metrics;
+        private final int                   from;
+        private final int                   to;
+
+        private BuildTask(final ItemSpec[] specs,
+                          final HouseholdObjects[] built,
+                          final IngestError[] rejections,
+                          final InventoryMetrics metrics,
+                          final int from,
+                          final int to)
+        {
+            this.specs      = specs;
+            this.built      = built;
+            this.rejections = rejections;
+            this.metrics    = metrics;
+            this.from       = from;
+            this.to         = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(to - from <= SEQUENTIAL_THRESHOLD)
+            {
+                for(int i = from; i < to; i++)
+                {
+                    build(i);
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new BuildTask(specs, built, rejections, metrics, from, middle),
+                      new BuildTask(specs, built, rejections, metrics, middle, to));
+        }
+
+        /*
+         * Validates and builds one spec, recording the reason if it is rejected and counting it if the storage has metrics.
+         */
+        private void build(final int index)
+        {
+            final ItemSpec              spec    = specs[index];
+            final IngestError.Reason    reason  = spec == null ? IngestError.Reason.SPEC_NULL : spec.checkFields();
+
+            if(reason != null)
+            {
+                if(metrics != null)
+                {
+                    metrics.recordRejection(reason);
+                }
+
+                rejections[index] = new IngestError(index, reason);
+                return;
+            }
+
+            final ValidationResult result = spec.validate();
+
+            if(result.isValid())
+            {
+                built[index] = spec.build();
+            }
+            else
+            {
+                if(metrics != null)
+                {
+                    metrics.recordRejection(result);
+                }
+
+                rejections[index] = new IngestError(index, result);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Represents the concrete classes of the household object hierarchy.
+ * Storages and formats that do not keep HouseholdObjects instances use the kind
+ * to know which attributes an item carries.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+enum ItemKind
+{
+    HOUSEHOLD_OBJECT("Home Object"),
+    ELECTRONICS("Electronics"),
+    FURNITURE("Furniture"),
+    TELEVISION("Television"),
+    DISHWASHER("Dishwasher"),
+    TOASTER("Toaster"),
+    BOOKSHELF("Bookshelf"),
+    COFFEE_TABLE("Coffee Table");
+
+    private static final ItemKind[] KINDS = values();
+
+    private final String typeName;
+
+    ItemKind(final String typeName)
+    {
+        this.typeName = typeName;
+    }
+
+    /**
+     * Gets the type of the items of this kind, as returned by getType().
+     * @return The type name.
+     */
+    String getTypeName()
+    {
+        return typeName;
+    }
+
+    /**
+     * Checks if items of this kind extend Electronics.
+     * @return True for electronics kinds, false otherwise.
+     */
+    boolean isElectronics()
+    {
+        return this == ELECTRONICS || this == TELEVISION || this == DISHWASHER || this == TOASTER;
+    }
+
+    /**
+     * Checks if items of this kind extend Furniture.
+     * @return True for furniture kinds, false otherwise.
+     */
+    boolean isFurniture()
+    {
+        return this == FURNITURE || this == BOOKSHELF || this == COFFEE_TABLE;
+    }
+
+    /**
+     * Gets the kind with the given ordinal.
+     * @param ordinal The ordinal of the kind.
+     * @return The item kind.
+     * @throws IllegalArgumentException If no kind has that ordinal.
+     */
+    static ItemKind fromOrdinal(final int ordinal)
+    {
+        if(ordinal < 0 || ordinal >= KINDS.length)
+        {
+            throw new IllegalArgumentException("Invalid item kind: " + ordinal);
+        }
+
+        return KINDS[ordinal];
+    }
+
+    /**
+     * Finds the kind whose type name matches, ignoring case and spaces.
+     * @param typeName The type name, as returned by getType().
+     * @return The matching item kind, or null if the name is null or unknown.
+     */
+    static ItemKind fromTypeName(final String typeName)
+    {
+        if(typeName == null)
+        {
+            return null;
+        }
+
+        for(final ItemKind kind : KINDS)
+        {
+            if(kind.typeName.equalsIgnoreCase(typeName) ||
+                    kind.typeName.replace(" ", "").equalsIgnoreCase(typeName))
+            {
+                return kind;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the kind of a household object.
+     * @param item The household object.
+     * @return The item kind.
+     * @throws IllegalArgumentException If the item is not one of the known classes.
+     */
+    static ItemKind of(final HouseholdObjects item)
+    {
+        final Class<?> itemClass = item.getClass();
+
+        if(itemClass == Television.class)
+        {
+            return TELEVISION;
+        }
+
+        if(itemClass == Dishwasher.class)
+        {
+            return DISHWASHER;
+        }
+
+        if(itemClass == Toaster.class)
+        {
+            return TOASTER;
+        }
+
+        if(itemClass == Bookshelf.class)
+        {
+            return BOOKSHELF;
+        }
+
+        if(itemClass == CoffeeTable.class)
+        {
+            return COFFEE_TABLE;
+        }
+
+        if(itemClass == Electronics.class)
+        {
+            return ELECTRONICS;
+        }
+
+        if(itemClass == Furniture.class)
+        {
+            return FURNITURE;
+        }
+
+        if(itemClass == HouseholdObjects.class)
+        {
+            return HOUSEHOLD_OBJECT;
+        }
+
+        throw new IllegalArgumentException("Unsupported item class: " + itemClass.getName());
+    }
+}
@@ -0,0 +1,55 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents one page of the items of a storage, with the token to fetch the next page.
+ * The token records the position after the last item of the page rather than an offset, so it stays
+ * valid when items are added or removed between fetches: the next page starts with the first item
+ * that follows that position at the time it is fetched.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ItemPage
+{
+    private final List<HouseholdObjects>    items;
+    private final String                    nextToken;
+
+    /**
+     * Constructs a new ItemPage instance.
+     * @param items     The items of the page.
+     * @param nextToken The token of the next page, or null if this is the last page.
+     */
+    ItemPage(final List<HouseholdObjects> items, final String nextToken)
+    {
+        this.items      = Collections.unmodifiableList(items);
+        this.nextToken  = nextToken;
+    }
+
+    /**
+     * Gets the items of the page.
+     * @return An unmodifiable list of the items, in page order.
+     */
+    public List<HouseholdObjects> getItems()
+    {
+        return items;
+    }
+
+    /**
+     * Gets the token of the next page.
+     * @return The resume token, or null if this is the last page.
+     */
+    public String getNextToken()
+    {
+        return nextToken;
+    }
+
+    /**
+     * Checks if there is a page after this one.
+     * @return True if more items followed this page when it was fetched, false otherwise.
+     */
+    public boolean hasNextPage()
+    {
+        return nextToken != null;
+    }
+}
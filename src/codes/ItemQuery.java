@@ -0,0 +1,325 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Represents a query over the items of a storage, built from filter and map stages.
+ * Queries are immutable; every stage returns a new query and nothing is evaluated until
+ * a terminal operation such as count or toList is called.
+ * All stages are fused into one pass, so no intermediate lists are built. Large storages are
+ * split into slot ranges that are evaluated in parallel on a fork-join pool, and small ones
+ * are evaluated sequentially on the calling thread.
+ * The storage must not be modified while a terminal operation runs, and the stages must be safe
+ * to call from several threads.
+ *
+ * @param <T> The type of the values produced by the query.
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ItemQuery<T>
+{
+    private static final int PARALLEL_THRESHOLD = 16384;
+    private static final int MIN_RANGE_SLOTS    = 4096;
+    private static final int RANGES_PER_THREAD  = 4;
+
+    private final StorageHouseholdObjects   storage;
+    private final Stage<T>                  stage;
+    private final ForkJoinPool              pool;
+
+    private ItemQuery(final StorageHouseholdObjects storage,
+                      final Stage<T>                stage,
+                      final ForkJoinPool            pool)
+    {
+        this.storage    = storage;
+        this.stage      = stage;
+        this.pool       = pool;
+    }
+
+    /**
+     * Creates a query over every item of a storage.
+     * @param storage The storage to query.
+     * @return A query producing every stored item.
+     */
+    static ItemQuery<HouseholdObjects> over(final StorageHouseholdObjects storage)
+    {
+        return new ItemQuery<>(storage, sink -> sink::accept, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Keeps only the values that match a predicate.
+     * @param predicate The predicate to match.
+     * @return The filtered query.
+     * @throws NullPointerException If the predicate is null.
+     */
+    public ItemQuery<T> filter(final Predicate<? super T> predicate)
+    {
+        Objects.requireNonNull(predicate, "Invalid predicate: null");
+        return new ItemQuery<>(storage, sink -> stage.wrap(value ->
+        {
+            if(predicate.test(value))
+            {
+                sink.accept(value);
+            }
+        }), pool);
+    }
+
+    /**
+     * Keeps only the values of a class, such as Television, and casts them to it.
+     * @param type The class to keep.
+     * @param <R>  The type of the kept values.
+     * @return The filtered query.
+     * @throws NullPointerException If the class is null.
+     */
+    public <R> ItemQuery<R> ofType(final Class<R> type)
+    {
+        Objects.requireNonNull(type, "Invalid type: null");
+        return new ItemQuery<>(storage, sink -> stage.wrap(value ->
+        {
+            if(type.isInstance(value))
+            {
+                sink.accept(type.cast(value));
+            }
+        }), pool);
+    }
+
+    /**
+     * Projects every value through a function.
+     * @param mapper The function to apply.
+     * @param <R>    The type of the projected values.
+     * @return The projected query.
+     * @throws NullPointerException If the function is null.
+     */
+    public <R> ItemQuery<R> map(final Function<? super T, ? extends R> mapper)
+    {
+        Objects.requireNonNull(mapper, "Invalid mapper: null");
+        return new ItemQuery<>(storage, sink -> stage.wrap(value -> sink.accept(mapper.apply(value))), pool);
+    }
+
+    /**
+     * Evaluates the query on a given fork-join pool instead of the common pool.
+     * @param forkJoinPool The pool to evaluate the query on.
+     * @return The query, evaluated on the given pool.
+     * @throws NullPointerException If the pool is null.
+     */
+    public ItemQuery<T> withPool(final ForkJoinPool forkJoinPool)
+    {
+        return new ItemQuery<>(storage, stage, Objects.requireNonNull(forkJoinPool, "Invalid pool: null"));
+    }
+
+    /**
+     * Counts the values produced by the query.
+     * @return The number of values.
+     */
+    public long count()
+    {
+        return evaluate(new CountSink<T>()).count;
+    }
+
+    /**
+     * Sums a numeric attribute of the values produced by the query.
+     * @param attribute The attribute to sum, such as getPriceCAD.
+     * @return The sum of the attribute.
+     * @throws NullPointerException If the attribute is null.
+     */
+    public double sum(final ToDoubleFunction<? super T> attribute)
+    {
+        Objects.requireNonNull(attribute, "Invalid attribute: null");
+        return evaluate(new SumSink<T>(attribute)).sum;
+    }
+
+    /**
+     * Collects the values produced by the query, in storage order.
+     * @return The values.
+     */
+    public List<T> toList()
+    {
+        return evaluate(new ListSink<T>()).values;
+    }
+
+    /*
+     * Runs the query into a sink, in parallel when the storage is large enough.
+     */
+    private <S extends ResultSink<T, S>> S evaluate(final S sink)
+    {
+        final int slotCount = storage.getSlotCount();
+
+        if(storage.getNumberOfItems() < PARALLEL_THRESHOLD || pool.getParallelism() < 2)
+        {
+            scan(sink, 0, slotCount);
+            return sink;
+        }
+
+        final int rangeSlots = Math.max(MIN_RANGE_SLOTS, slotCount / (pool.getParallelism() * RANGES_PER_THREAD));
+        return pool.invoke(new RangeTask<>(sink, 0, slotCount, rangeSlots));
+    }
+
+    /*
+     * Pushes the items of a slot range through the fused stages into a sink.
+     */
+    private void scan(final Consumer<? super T> sink, final int from, final int to)
+    {
+        final Consumer<HouseholdObjects> head = stage.wrap(sink);
+
+        for(int slot = from; slot < to; slot++)
+        {
+            final HouseholdObjects item = storage.getItemAtSlot(slot);
+
+            if(item != null)
+            {
+                head.accept(item);
+            }
+        }
+    }
+
+    /*
+     * Fuses the stages of a query: wraps a downstream sink into a consumer of stored items.
+     */
+    private interface Stage<T>
+    {
+        Consumer<HouseholdObjects> wrap(Consumer<? super T> sink);
+    }
+
+    /*
+     * Accumulates the result of a terminal operation over one slot range.
+     */
+    private interface ResultSink<T, S extends ResultSink<T, S>> extends Consumer<T>
+    {
+        /*
+         * Creates an empty sink of the same kind.
+         */
+        S empty();
+
+        /*
+         * Appends the result of the following slot range.
+         */
+        void combine(S next);
+    }
+
+    /*
+     * Evaluates a slot range, splitting it in half until it is small enough to scan directly.
+     */
+    @SuppressWarnings("serial")
+    private final class RangeTask<S extends ResultSink<T, S>> extends RecursiveTask<S>
+    {
+        private final S     sink;
+        private final int   from;
+        private final int   to;
+        private final int   rangeSlots;
+
+        private RangeTask(final S sink, final int from, final int to, final int rangeSlots)
+        {
+            this.sink       = sink;
+            this.from       = from;
+            this.to         = to;
+            this.rangeSlots = rangeSlots;
+        }
+
+        @Override
+        protected S compute()
+        {
+            if(to - from <= rangeSlots)
+            {
+                scan(sink, from, to);
+                return sink;
+            }
+
+            final int           middle  = (from + to) >>> 1;
+            final RangeTask<S>  right   = new RangeTask<>(sink.empty(), middle, to, rangeSlots);
+
+            right.fork();
+            final S left = new RangeTask<>(sink, from, middle, rangeSlots).compute();
+            left.combine(right.join());
+            return left;
+        }
+    }
+
+    /*
+     * Counts values.
+     */
+    private static final class CountSink<T> implements ResultSink<T, CountSink<T>>
+    {
+        private long count;
+
+        @Override
+        public void accept(final T value)
+        {
+            count++;
+        }
+
+        @Override
+        public CountSink<T> empty()
+        {
+            return new CountSink<>();
+        }
+
+        @Override
+        public void combine(final CountSink<T> next)
+        {
+            count += next.count;
+        }
+    }
+
+    /*
+     * Sums a numeric attribute of values.
+     */
+    private static final class SumSink<T> implements ResultSink<T, SumSink<T>>
+    {
+        private final ToDoubleFunction<? super T>   attribute;
+        private double                              sum;
+
+        private SumSink(final ToDoubleFunction<? super T> attribute)
+        {
+            this.attribute = attribute;
+        }
+
+        @Override
+        public void accept(final T value)
+        {
+            sum += attribute.applyAsDouble(value);
+        }
+
+        @Override
+        public SumSink<T> empty()
+        {
+            return new SumSink<>(attribute);
+        }
+
+        @Override
+        public void combine(final SumSink<T> next)
+        {
+            sum += next.sum;
+        }
+    }
+
+    /*
+     * Collects values in order.
+     */
+    private static final class ListSink<T> implements ResultSink<T, ListSink<T>>
+    {
+        private final List<T> values = new ArrayList<>();
+
+        @Override
+        public void accept(final T value)
+        {
+            values.add(value);
+        }
+
+        @Override
+        public ListSink<T> empty()
+        {
+            return new ListSink<>();
+        }
+
+        @Override
+        public void combine(final ListSink<T> next)
+        {
+            values.addAll(next.values);
+        }
+    }
+}
@@ -0,0 +1,486 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the binary record format of one household object.
+ * A record starts with a one-byte kind tag followed by the common attributes and the attributes
+ * of the item's class. Booleans are packed into flag bytes, enumerated attributes are stored
+ * as one-byte codes, and whole-number attributes and string references are stored as varints,
+ * seven bits per byte with the high bit marking that more bytes follow, so small values take one byte.
+ * Names are always written in full. Brands and colors repeat across items, so when sharing is enabled
+ * they are written once and referred to by dictionary index afterwards, and a reader must then see
+ * the records in write order.
+ * Strings are encoded straight into the buffer and decoded through a reused scratch array, so
+ * a record is written without allocating and read without allocating anything but its new strings.
+ * One instance encodes or decodes one stream of records.
+ * Records of the first layout, which stored whole numbers as one or two fixed bytes and string codes as
+ * four-byte ints, can still be read by an instance made for that version; records are always written in
+ * the current layout.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class ItemRecordFormat
+{
+    /** The largest number of bytes a single record can take. */
+    static final int MAX_RECORD_BYTES = 1024;
+    /** The record layout written by this class. */
+    static final int CURRENT_VERSION  = 2;
+    /** The first record layout, with fixed-width numbers and string codes, which can still be read. */
+    static final int LEGACY_VERSION   = 1;
+
+    private static final int NULL_STRING        = 0;
+    private static final int NEW_STRING         = 1;
+    private static final int FIRST_REFERENCE    = 2;
+    private static final int MAX_STRING_BYTES   = 4 * 30;
+    private static final int MAX_VARINT_BYTES   = 5;
+    private static final int LEGACY_NULL_STRING = -1;
+    private static final int LEGACY_NEW_STRING  = -2;
+
+    private static final int FLAG_ELECTRIC          = 1;
+    private static final int FLAG_ASSEMBLY_REQUIRED = 1 << 1;
+    private static final int FLAG_SMART_TV          = 1 << 2;
+    private static final int FLAG_DEFROST           = 1 << 3;
+    private static final int FLAG_STORAGE           = 1 << 4;
+    private static final int FLAG_EXTENDABLE        = 1 << 5;
+
+    private final boolean           shareStrings;
+    private final boolean           legacy;
+    private final StringDictionary  writtenStrings;
+    private final List<String>      readStrings;
+    private final byte[]            scratch;
+
+    /**
+     * Constructs a new ItemRecordFormat instance.
+     * @param shareStrings True to write each distinct string once per stream, false to write every string in full.
+     */
+    ItemRecordFormat(final boolean shareStrings)
+    {
+        this(shareStrings, CURRENT_VERSION);
+    }
+
+    /**
+     * Constructs a new ItemRecordFormat instance for records of a given layout version.
+     * @param shareStrings True to write each distinct string once per stream, false to write every string in full.
+     * @param version      The layout version of the records, CURRENT_VERSION or LEGACY_VERSION.
+     * @throws IllegalArgumentException If the version is not supported.
+     */
+    ItemRecordFormat(final boolean shareStrings, final int version)
+    {
+        if(version != CURRENT_VERSION && version != LEGACY_VERSION)
+        {
+            throw new IllegalArgumentException("Invalid record version: " + version);
+        }
+
+        this.shareStrings   = shareStrings;
+        this.legacy         = version == LEGACY_VERSION;
+        this.writtenStrings = new StringDictionary();
+        this.readStrings    = new ArrayList<>();
+        this.scratch        = new byte[MAX_STRING_BYTES];
+    }
+
+    /**
+     * Writes the record of a household object.
+     * @param out  The buffer to write to, with at least MAX_RECORD_BYTES remaining.
+     * @param item The household object to write.
+     * @throws IllegalArgumentException If the item is not one of the known classes.
+     * @throws IllegalStateException    If this instance reads the legacy layout.
+     */
+    void write(final ByteBuffer out, final HouseholdObjects item)
+    {
+        if(legacy)
+        {
+            throw new IllegalStateException("Records are only written in version " + CURRENT_VERSION);
+        }
+
+        final ItemKind kind = ItemKind.of(item);
+        int flags = item.isElectric() ? FLAG_ELECTRIC : 0;
+
+        out.put((byte) kind.ordinal());
+        writeString(out, item.getHouseholdObjectName(), false);
+        writeString(out, item.getHomeObjectBrand(), shareStrings);
+        out.putDouble(item.getPriceCAD());
+        writeString(out, item.getHouseholdObjectColor(), shareStrings);
+
+        if(kind.isElectronics())
+        {
+            final Electronics electronics = (Electronics) item;
+            putVarint(out, electronics.getVoltageV());
+            out.put(LabelDictionary.codeOf(electronics.getItemConnectivityCode()));
+            out.put(LabelDictionary.codeOf(electronics.getPowerSourceCode()));
+        }
+
+        if(kind.isFurniture())
+        {
+            final Furniture furniture = (Furniture) item;
+            flags |= furniture.isAssemblyRequired() ? FLAG_ASSEMBLY_REQUIRED : 0;
+            out.put(LabelDictionary.codeOf(furniture.getFrameMaterialCode()));
+        }
+
+        switch(kind)
+        {
+            case TELEVISION:
+                final Television television = (Television) item;
+                flags |= television.isSmartTv() ? FLAG_SMART_TV : 0;
+                out.putDouble(television.getScreenSizeInches());
+                out.put(LabelDictionary.codeOf(television.getResolutionCode()));
+                putVarint(out, television.getRefreshRateHz());
+                break;
+            case DISHWASHER:
+                final Dishwasher dishwasher = (Dishwasher) item;
+                putVarint(out, dishwasher.getDishwasherWidthInches());
+                putVarint(out, dishwasher.getNumberOfRacks());
+                out.put(LabelDictionary.codeOf(dishwasher.getDishwasherTypeCode()));
+                break;
+            case TOASTER:
+                final Toaster toaster = (Toaster) item;
+                flags |= toaster.isHasDefrostFunction() ? FLAG_DEFROST : 0;
+                putVarint(out, toaster.getToastBagelMinutes());
+                break;
+            case BOOKSHELF:
+                final Bookshelf bookshelf = (Bookshelf) item;
+                putVarint(out, bookshelf.getShelfCount());
+                out.put(LabelDictionary.codeOf(bookshelf.getShelfMaterialCode()));
+                break;
+            case COFFEE_TABLE:
+                final CoffeeTable coffeeTable = (CoffeeTable) item;
+                flags |= coffeeTable.hasStorage() ? FLAG_STORAGE : 0;
+                flags |= coffeeTable.isExtendable() ? FLAG_EXTENDABLE : 0;
+                out.put(LabelDictionary.codeOf(coffeeTable.getTableShapeCode()));
+                putVarint(out, coffeeTable.getLegCount());
+                break;
+            default:
+                break;
+        }
+
+        out.put((byte) flags);
+    }
+
+    /**
+     * Reads the record of a household object, running the constructor validation of its class.
+     * @param in The buffer to read from.
+     * @return The household object.
+     * @throws IllegalArgumentException If the record is malformed or fails validation.
+     * @throws java.nio.BufferUnderflowException If the record is truncated.
+     */
+    HouseholdObjects read(final ByteBuffer in)
+    {
+        final ItemKind kind     = ItemKind.fromOrdinal(in.get());
+        final String name       = readString(in, false);
+        final String brand      = readString(in, shareStrings);
+        final double price      = in.getDouble();
+        final String color      = readString(in, shareStrings);
+
+        int     voltage         = 0;
+        String  connectivity    = null;
+        String  powerSource     = null;
+        String  frameMaterial   = null;
+
+        if(kind.isElectronics())
+        {
+            voltage         = getNumber(in, Short.BYTES);
+            connectivity    = label(Connectivity.fromCode(in.get()));
+            powerSource     = label(PowerSource.fromCode(in.get()));
+        }
+
+        if(kind.isFurniture())
+        {
+            frameMaterial = label(FrameMaterial.fromCode(in.get()));
+        }
+
+        switch(kind)
+        {
+            case TELEVISION:
+            {
+                final double screenSize = in.getDouble();
+                final String resolution = label(Resolution.fromCode(in.get()));
+                final int refreshRate   = getNumber(in, Short.BYTES);
+                final int flags         = in.get();
+                return new Television(name, brand, price, color, has(flags, FLAG_ELECTRIC), voltage, connectivity, powerSource,
+                                      screenSize, resolution, refreshRate, has(flags, FLAG_SMART_TV));
+            }
+            case DISHWASHER:
+            {
+                final int width             = getNumber(in, Byte.BYTES);
+                final int racks             = getNumber(in, Byte.BYTES);
+                final String dishwasherType = label(DishwasherType.fromCode(in.get()));
+                final int flags             = in.get();
+                return new Dishwasher(name, brand, price, color, has(flags, FLAG_ELECTRIC), voltage, connectivity, powerSource,
+                                      width, racks, dishwasherType);
+            }
+            case TOASTER:
+            {
+                final int minutes   = getNumber(in, Byte.BYTES);
+                final int flags     = in.get();
+                return new Toaster(name, brand, price, color, has(flags, FLAG_ELECTRIC), voltage, connectivity, powerSource,
+                                   minutes, has(flags, FLAG_DEFROST));
+            }
+            case BOOKSHELF:
+            {
+                final int shelves           = getNumber(in, Byte.BYTES);
+                final String shelfMaterial  = label(ShelfMaterial.fromCode(in.get()));
+                final int flags             = in.get();
+                return new Bookshelf(name, brand, price, color, has(flags, FLAG_ELECTRIC), has(flags, FLAG_ASSEMBLY_REQUIRED), frameMaterial,
+                                     shelves, shelfMaterial);
+            }
+            case COFFEE_TABLE:
+            {
+                final String shape  = label(TableShape.fromCode(in.get()));
+                final int legs      = getNumber(in, Byte.BYTES);
+                final int flags     = in.get();
+                return new CoffeeTable(name, brand, price, color, has(flags, FLAG_ELECTRIC), has(flags, FLAG_ASSEMBLY_REQUIRED), frameMaterial,
+                                       has(flags, FLAG_STORAGE), shape, legs, has(flags, FLAG_EXTENDABLE));
+            }
+            case ELECTRONICS:
+            {
+                final int flags = in.get();
+                return new Electronics(name, brand, price, color, has(flags, FLAG_ELECTRIC), voltage, connectivity, powerSource);
+            }
+            case FURNITURE:
+            {
+                final int flags = in.get();
+                return new Furniture(name, brand, price, color, has(flags, FLAG_ELECTRIC), has(flags, FLAG_ASSEMBLY_REQUIRED), frameMaterial);
+            }
+            default:
+            {
+                final int flags = in.get();
+                return new HouseholdObjects(name, brand, price, color, has(flags, FLAG_ELECTRIC));
+            }
+        }
+    }
+
+    /*
+     * Writes a string as a reference to an earlier one, or in full as UTF-8 preceded by its length.
+     */
+    private void writeString(final ByteBuffer out, final String value, final boolean shared)
+    {
+        if(value == null)
+        {
+            putVarint(out, NULL_STRING);
+            return;
+        }
+
+        if(shared)
+        {
+            final int code = writtenStrings.find(value);
+
+            if(code != StringDictionary.NULL_CODE)
+            {
+                putVarint(out, FIRST_REFERENCE + code);
+                return;
+            }
+
+            writtenStrings.encode(value);
+        }
+
+        putVarint(out, NEW_STRING);
+        putVarint(out, utf8Length(value));
+        putUtf8(out, value);
+    }
+
+    /*
+     * Reads a string written by writeString.
+     */
+    private String readString(final ByteBuffer in, final boolean shared)
+    {
+        final int code = legacy ? legacyStringCode(in.getInt()) : getVarint(in);
+
+        if(code == NULL_STRING)
+        {
+            return null;
+        }
+
+        if(code != NEW_STRING)
+        {
+            final int index = code - FIRST_REFERENCE;
+
+            if(index < 0 || index >= readStrings.size())
+            {
+                throw new IllegalArgumentException("Invalid string reference: " + index);
+            }
+
+            return readStrings.get(index);
+        }
+
+        final int length = legacy ? in.get() & 0xFF : getVarint(in);
+
+        if(length < 0 || length > MAX_STRING_BYTES)
+        {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+
+        in.get(scratch, 0, length);
+        final String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+
+        if(shared)
+        {
+            readStrings.add(value);
+        }
+
+        return value;
+    }
+
+    /*
+     * Maps a string code of the legacy layout, where -1 meant null, -2 a new string and any other value an index,
+     * to the code of the current layout.
+     */
+    private static int legacyStringCode(final int code)
+    {
+        if(code == LEGACY_NULL_STRING)
+        {
+            return NULL_STRING;
+        }
+
+        if(code == LEGACY_NEW_STRING)
+        {
+            return NEW_STRING;
+        }
+
+        return code < 0 ? code : FIRST_REFERENCE + code;
+    }
+
+    /*
+     * Reads a whole-number attribute: a varint, or in the legacy layout a signed short or byte.
+     */
+    private int getNumber(final ByteBuffer in, final int legacyBytes)
+    {
+        if(!legacy)
+        {
+            return getVarint(in);
+        }
+
+        return legacyBytes == Short.BYTES ? in.getShort() : in.get();
+    }
+
+    /*
+     * Writes an int as an unsigned varint. Negative values take the full five bytes.
+     */
+    private static void putVarint(final ByteBuffer out, final int value)
+    {
+        int remaining = value;
+
+        while((remaining & ~0x7F) != 0)
+        {
+            out.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        out.put((byte) remaining);
+    }
+
+    /*
+     * Reads an int written by putVarint.
+     */
+    private static int getVarint(final ByteBuffer in)
+    {
+        int value = 0;
+
+        for(int i = 0; i < MAX_VARINT_BYTES; i++)
+        {
+            final int b = in.get();
+            value |= (b & 0x7F) << (7 * i);
+
+            if(b >= 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid varint: longer than " + MAX_VARINT_BYTES + " bytes");
+    }
+
+    /*
+     * Gets the number of bytes putUtf8 writes for a string.
+     */
+    private static int utf8Length(final String value)
+    {
+        int length = 0;
+
+        for(int i = 0; i < value.length(); i++)
+        {
+            final char c = value.charAt(i);
+
+            if(c < 0x80)
+            {
+                length += 1;
+            }
+            else if(c < 0x800)
+            {
+                length += 2;
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                length += 4;
+                i++;
+            }
+            else if(Character.isSurrogate(c))
+            {
+                length += 1;
+            }
+            else
+            {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    /*
+     * Writes a string as UTF-8 straight into the buffer, replacing unpaired surrogates with '?' as
+     * String.getBytes does.
+     */
+    private static void putUtf8(final ByteBuffer out, final String value)
+    {
+        for(int i = 0; i < value.length(); i++)
+        {
+            final char c = value.charAt(i);
+
+            if(c < 0x80)
+            {
+                out.put((byte) c);
+            }
+            else if(c < 0x800)
+            {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            }
+            else if(Character.isSurrogate(c))
+            {
+                out.put((byte) '?');
+            }
+            else
+            {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /*
+     * Gets the label of an enumerated attribute, or null if it has no value.
+     */
+    private static String label(final LabeledValue value)
+    {
+        return value == null ? null : value.getLabel();
+    }
+
+    /*
+     * Checks if a flag is set.
+     */
+    private static boolean has(final int flags, final int flag)
+    {
+        return (flags & flag) != 0;
+    }
+}
@@ -0,0 +1,357 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the raw specification of one household object, as read from an import source.
+ * A spec holds the type name of the item and its attributes as text, in the order of the
+ * constructor parameters of that type. Empty attributes are treated as missing (null).
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ItemSpec
+{
+    /** The delimiter used between the fields of a spec line, unless given otherwise. */
+    public static final char DEFAULT_DELIMITER = '|';
+
+    private static final String TRUE    = "true";
+    private static final String FALSE   = "false";
+
+    private static final Pattern DECIMAL = Pattern.compile("\\s*[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?\\s*");
+    private static final Pattern INTEGER = Pattern.compile("[+-]?\\d{1,10}");
+
+    private static final char DECIMAL_FIELD = 'D';
+    private static final char INTEGER_FIELD = 'I';
+    private static final char BOOLEAN_FIELD = 'B';
+
+    private final String    type;
+    private final String[]  fields;
+
+    /**
+     * Constructs a new ItemSpec instance.
+     * @param type   The type of the item, as returned by getType(), for example "Coffee Table".
+     * @param fields The attributes of the item, in constructor parameter order.
+     * @throws NullPointerException If the type or the fields are null.
+     */
+    public ItemSpec(final String type, final String... fields)
+    {
+        if(type == null)
+        {
+            throw new NullPointerException("Invalid item type: null");
+        }
+
+        if(fields == null)
+        {
+            throw new NullPointerException("Invalid item fields: null");
+        }
+
+        this.type   = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a spec from a delimited line whose first field is the type.
+     * @param line      The line to parse.
+     * @param delimiter The character separating the fields.
+     * @return The parsed spec.
+     * @throws NullPointerException If the line is null.
+     */
+    public static ItemSpec parse(final String line, final char delimiter)
+    {
+        if(line == null)
+        {
+            throw new NullPointerException("Invalid spec line: null");
+        }
+
+        final List<String> parts = new ArrayList<>();
+        int start = 0;
+
+        for(int i = 0; i <= line.length(); i++)
+        {
+            if(i == line.length() || line.charAt(i) == delimiter)
+            {
+                parts.add(line.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+
+        return new ItemSpec(parts.get(0), parts.subList(1, parts.size()).toArray(new String[0]));
+    }
+
+    /**
+     * Parses a spec from a line delimited with DEFAULT_DELIMITER.
+     * @param line The line to parse.
+     * @return The parsed spec.
+     * @throws NullPointerException If the line is null.
+     */
+    public static ItemSpec parse(final String line)
+    {
+        return parse(line, DEFAULT_DELIMITER);
+    }
+
+    /**
+     * Gets the type of the item.
+     * @return The type of the item.
+     */
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * Checks that every field of the spec can be read as the type its position requires, without throwing.
+     * A spec of an unknown type is left to validate().
+     * @return The first reason the fields cannot be read, or null if they can all be read.
+     */
+    public IngestError.Reason checkFields()
+    {
+        final ItemKind kind = ItemKind.fromTypeName(type);
+
+        if(kind == null)
+        {
+            return null;
+        }
+
+        final String format = fieldFormat(kind);
+
+        if(fields.length != format.length())
+        {
+            return IngestError.Reason.FIELD_COUNT;
+        }
+
+        for(int i = 0; i < fields.length; i++)
+        {
+            final char fieldType = format.charAt(i);
+
+            if((fieldType == DECIMAL_FIELD && !isDecimal(fields[i]))
+               || (fieldType == INTEGER_FIELD && !isInteger(fields[i])))
+            {
+                return IngestError.Reason.NUMBER;
+            }
+
+            if(fieldType == BOOLEAN_FIELD && !isBoolean(fields[i]))
+            {
+                return IngestError.Reason.BOOLEAN;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Validates the spec without building the item and without throwing for a broken rule.
+     * The fields must be readable, which checkFields() tells without throwing.
+     * @return VALID if build() would succeed, otherwise the first rule the spec breaks.
+     * @throws IllegalArgumentException If the number of fields is wrong or a field cannot be read.
+     */
+    public ValidationResult validate()
+    {
+        final ItemKind kind = ItemKind.fromTypeName(type);
+
+        if(kind == null)
+        {
+            return ValidationResult.ITEM_TYPE;
+        }
+
+        checkFieldCount(kind);
+
+        switch(kind)
+        {
+            case ELECTRONICS:
+                return Electronics.validate(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7));
+            case FURNITURE:
+                return Furniture.validate(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6));
+            case TELEVISION:
+                return Television.validate(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                           decimal(8), text(9), integer(10), bool(11));
+            case DISHWASHER:
+                return Dishwasher.validate(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                           integer(8), integer(9), text(10));
+            case TOASTER:
+                return Toaster.validate(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                        integer(8), bool(9));
+            case BOOKSHELF:
+                return Bookshelf.validate(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6),
+                                          integer(7), text(8));
+            case COFFEE_TABLE:
+                return CoffeeTable.validate(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6),
+                                            bool(7), text(8), integer(9), bool(10));
+            default:
+                return HouseholdObjects.validate(text(0), text(1), decimal(2), text(3), bool(4));
+        }
+    }
+
+    /**
+     * Constructs the household object described by this spec, running the full constructor validation.
+     * @return The household object.
+     * @throws NullPointerException     If a required attribute is missing.
+     * @throws IllegalArgumentException If the type is unknown, the number of attributes is wrong,
+     *                                  or an attribute fails parsing or validation.
+     */
+    public HouseholdObjects build()
+    {
+        final ItemKind kind = ItemKind.fromTypeName(type);
+
+        if(kind == null)
+        {
+            throw new IllegalArgumentException("Invalid item type: " + type);
+        }
+
+        checkFieldCount(kind);
+
+        switch(kind)
+        {
+            case ELECTRONICS:
+                return new Electronics(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7));
+            case FURNITURE:
+                return new Furniture(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6));
+            case TELEVISION:
+                return new Television(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                      decimal(8), text(9), integer(10), bool(11));
+            case DISHWASHER:
+                return new Dishwasher(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                      integer(8), integer(9), text(10));
+            case TOASTER:
+                return new Toaster(text(0), text(1), decimal(2), text(3), bool(4), integer(5), text(6), text(7),
+                                   integer(8), bool(9));
+            case BOOKSHELF:
+                return new Bookshelf(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6),
+                                     integer(7), text(8));
+            case COFFEE_TABLE:
+                return new CoffeeTable(text(0), text(1), decimal(2), text(3), bool(4), bool(5), text(6),
+                                       bool(7), text(8), integer(9), bool(10));
+            default:
+                return new HouseholdObjects(text(0), text(1), decimal(2), text(3), bool(4));
+        }
+    }
+
+    /*
+     * Checks that the spec has as many fields as its kind has attributes.
+     */
+    private void checkFieldCount(final ItemKind kind)
+    {
+        if(fields.length != fieldFormat(kind).length())
+        {
+            throw new IllegalArgumentException("Invalid field count for " + type + ": " + fields.length);
+        }
+    }
+
+    /*
+     * Gets a text attribute, treating an empty attribute as missing.
+     */
+    private String text(final int index)
+    {
+        final String field = fields[index];
+
+        if(field == null || field.isEmpty())
+        {
+            return null;
+        }
+
+        return field;
+    }
+
+    /*
+     * Gets a decimal attribute.
+     */
+    private double decimal(final int index)
+    {
+        if(!isDecimal(fields[index]))
+        {
+            throw new IllegalArgumentException("Invalid number: " + fields[index]);
+        }
+
+        return Double.parseDouble(fields[index]);
+    }
+
+    /*
+     * Gets an integer attribute.
+     */
+    private int integer(final int index)
+    {
+        if(!isInteger(fields[index]))
+        {
+            throw new IllegalArgumentException("Invalid number: " + fields[index]);
+        }
+
+        return Integer.parseInt(fields[index]);
+    }
+
+    /*
+     * Gets a boolean attribute, accepting only "true" or "false" in any case.
+     */
+    private boolean bool(final int index)
+    {
+        final String field = fields[index];
+
+        if(TRUE.equalsIgnoreCase(field))
+        {
+            return true;
+        }
+
+        if(FALSE.equalsIgnoreCase(field))
+        {
+            return false;
+        }
+
+        throw new IllegalArgumentException("Invalid boolean: " + field);
+    }
+
+    /*
+     * Gets the types of the attributes of a kind, one character per attribute in constructor order:
+     * T for text, D for decimal, I for integer and B for boolean.
+     */
+    private static String fieldFormat(final ItemKind kind)
+    {
+        switch(kind)
+        {
+            case ELECTRONICS:
+                return "TTDTBITT";
+            case FURNITURE:
+                return "TTDTBBT";
+            case TELEVISION:
+                return "TTDTBITTDTIB";
+            case DISHWASHER:
+                return "TTDTBITTIIT";
+            case TOASTER:
+                return "TTDTBITTIB";
+            case BOOKSHELF:
+                return "TTDTBBTIT";
+            case COFFEE_TABLE:
+                return "TTDTBBTBTIB";
+            default:
+                return "TTDTB";
+        }
+    }
+
+    /*
+     * Checks that a field is a plain decimal number, without parsing it.
+     */
+    private static boolean isDecimal(final String field)
+    {
+        return field != null && DECIMAL.matcher(field).matches();
+    }
+
+    /*
+     * Checks that a field is a number that fits in an int, without throwing.
+     */
+    private static boolean isInteger(final String field)
+    {
+        if(field == null || !INTEGER.matcher(field).matches())
+        {
+            return false;
+        }
+
+        final long value = Long.parseLong(field);
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    /*
+     * Checks that a field is "true" or "false" in any case.
+     */
+    private static boolean isBoolean(final String field)
+    {
+        return TRUE.equalsIgnoreCase(field) || FALSE.equalsIgnoreCase(field);
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads household objects from a stream written by an ItemStreamWriter.
+ * The stream is read into one reused buffer, refilled whenever less than a whole record of the largest size is left,
+ * so batches of any size are read in constant memory. Every item read runs the constructor
+ * validation of its class.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ItemStreamReader implements Closeable
+{
+    private final InputStream       in;
+    private final ItemRecordFormat  format;
+    private final ByteBuffer        buffer;
+    private boolean                 endOfStream;
+    private long                    itemCount;
+
+    /**
+     * Constructs a new ItemStreamReader instance and reads the header of the stream.
+     * @param in The stream to read from, which is closed with the reader.
+     * @throws NullPointerException If the stream is null.
+     * @throws IOException          If the stream cannot be read or is not an item stream.
+     */
+    public ItemStreamReader(final InputStream in) throws IOException
+    {
+        if(in == null)
+        {
+            throw new NullPointerException("Invalid stream: null");
+        }
+
+        this.in     = in;
+        this.format = new ItemRecordFormat(true);
+        this.buffer = ByteBuffer.allocate(ItemStreamWriter.BUFFER_BYTES).limit(0);
+
+        fill();
+
+        if(buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != ItemStreamWriter.MAGIC)
+        {
+            throw new IOException("Invalid item stream");
+        }
+
+        final short version = buffer.getShort();
+
+        if(version != ItemStreamWriter.FORMAT_VERSION)
+        {
+            throw new IOException("Invalid item stream version: " + version);
+        }
+    }
+
+    /**
+     * Reads the next household object.
+     * @return The household object, or null at the end of the stream.
+     * @throws EOFException If the stream ends within a record.
+     * @throws IOException  If the stream cannot be read or holds an invalid record.
+     */
+    public HouseholdObjects read() throws IOException
+    {
+        if(buffer.remaining() < ItemRecordFormat.MAX_RECORD_BYTES)
+        {
+            fill();
+        }
+
+        if(!buffer.hasRemaining())
+        {
+            return null;
+        }
+
+        try
+        {
+            final HouseholdObjects item = format.read(buffer);
+            itemCount++;
+            return item;
+        }
+        catch(final BufferUnderflowException e)
+        {
+            throw new EOFException("Invalid item stream: truncated after " + itemCount + " items");
+        }
+        catch(final IllegalArgumentException | NullPointerException e)
+        {
+            throw new IOException("Invalid item stream: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads up to a given number of household objects, such as a batch to hand to StorageHouseholdObjects.addAll.
+     * @param maxItems The largest number of items to read.
+     * @return The household objects read, in stream order, which is empty at the end of the stream.
+     * @throws IllegalArgumentException If the number of items is not positive.
+     * @throws IOException              If the stream cannot be read or holds an invalid record.
+     */
+    public List<HouseholdObjects> readBatch(final int maxItems) throws IOException
+    {
+        if(maxItems < 1)
+        {
+            throw new IllegalArgumentException("Invalid batch size: " + maxItems);
+        }
+
+        final List<HouseholdObjects> batch = new ArrayList<>(Math.min(maxItems, ItemStreamWriter.BUFFER_BYTES));
+        HouseholdObjects item;
+
+        while(batch.size() < maxItems && (item = read()) != null)
+        {
+            batch.add(item);
+        }
+
+        return batch;
+    }
+
+    /**
+     * Gets the number of household objects read so far.
+     * @return The number of items.
+     */
+    public long getItemCount()
+    {
+        return itemCount;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+    /*
+     * Moves the unread bytes to the start of the buffer and reads from the stream until a whole record
+     * of the largest size is buffered or the stream ends.
+     */
+    private void fill() throws IOException
+    {
+        buffer.compact();
+
+        while(!endOfStream && buffer.position() < ItemRecordFormat.MAX_RECORD_BYTES)
+        {
+            final int read = in.read(buffer.array(), buffer.position(), buffer.remaining());
+
+            if(read < 0)
+            {
+                endOfStream = true;
+            }
+            else
+            {
+                buffer.position(buffer.position() + read);
+            }
+        }
+
+        buffer.flip();
+    }
+}
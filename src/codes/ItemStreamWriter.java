@@ -0,0 +1,127 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes household objects to a stream in the compact binary item format, to be read back by an ItemStreamReader.
+ * A stream is a versioned header followed by one type-tagged record per item, in write order, and ends with
+ * the stream. Each distinct brand and color is written once per stream and referred to afterwards.
+ * Records are encoded into one reused buffer, which is only written out when it fills up or on flush,
+ * so batches of any size are written in constant memory.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class ItemStreamWriter implements Closeable, Flushable
+{
+    /** The version of the stream format written by this class. */
+    public static final short FORMAT_VERSION = 1;
+
+    static final int MAGIC          = 0x48484F49;
+    static final int BUFFER_BYTES   = 1 << 16;
+
+    private final OutputStream      out;
+    private final ItemRecordFormat  format;
+    private final ByteBuffer        buffer;
+    private long                    itemCount;
+
+    /**
+     * Constructs a new ItemStreamWriter instance and starts the stream with its header.
+     * @param out The stream to write to, which is closed with the writer.
+     * @throws NullPointerException If the stream is null.
+     */
+    public ItemStreamWriter(final OutputStream out)
+    {
+        if(out == null)
+        {
+            throw new NullPointerException("Invalid stream: null");
+        }
+
+        this.out    = out;
+        this.format = new ItemRecordFormat(true);
+        this.buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(FORMAT_VERSION);
+    }
+
+    /**
+     * Writes a household object.
+     * @param item The household object to write.
+     * @throws NullPointerException If the item is null.
+     * @throws IOException          If the stream cannot be written.
+     */
+    public void write(final HouseholdObjects item) throws IOException
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        if(buffer.remaining() < ItemRecordFormat.MAX_RECORD_BYTES)
+        {
+            drain();
+        }
+
+        format.write(buffer, item);
+        itemCount++;
+    }
+
+    /**
+     * Writes a batch of household objects in order.
+     * @param items The household objects to write.
+     * @throws NullPointerException If the batch is or contains null.
+     * @throws IOException          If the stream cannot be written.
+     */
+    public void writeAll(final Iterable<? extends HouseholdObjects> items) throws IOException
+    {
+        for(final HouseholdObjects item : items)
+        {
+            write(item);
+        }
+    }
+
+    /**
+     * Gets the number of household objects written so far.
+     * @return The number of items.
+     */
+    public long getItemCount()
+    {
+        return itemCount;
+    }
+
+    /**
+     * Writes out the buffered records and flushes the stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes out the buffered records and closes the stream.
+     * @throws IOException If the stream cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try(out)
+        {
+            drain();
+        }
+    }
+
+    /*
+     * Writes the buffered bytes to the stream and clears the buffer.
+     */
+    private void drain() throws IOException
+    {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+}
@@ -0,0 +1,98 @@
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents the lookup table of an enumerated attribute.
+ * Labels are matched case-insensitively with a single hash lookup for the common spellings,
+ * and each value can be stored as a one-byte code.
+ *
+ * @param <E> The enum holding the values of the attribute.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class LabelDictionary<E extends Enum<E> & LabeledValue>
+{
+    /** The code used for a missing value. */
+    static final byte NULL_CODE = -1;
+
+    private final Map<String, E>    valuesByLabel;
+    private final E[]               values;
+
+    /**
+     * Constructs a new LabelDictionary instance.
+     * @param values The values of the attribute, in ordinal order.
+     */
+    LabelDictionary(final E[] values)
+    {
+        this.values         = values;
+        this.valuesByLabel  = new HashMap<>();
+
+        for(final E value : values)
+        {
+            final String label = value.getLabel();
+            valuesByLabel.put(label, value);
+            valuesByLabel.put(label.toLowerCase(Locale.ROOT), value);
+            valuesByLabel.put(label.toUpperCase(Locale.ROOT), value);
+        }
+    }
+
+    /**
+     * Finds the value with the given label, ignoring case.
+     * @param label The label to look up.
+     * @return The matching value, or null if the label is null or unknown.
+     */
+    E fromLabel(final String label)
+    {
+        if(label == null)
+        {
+            return null;
+        }
+
+        final E value = valuesByLabel.get(label);
+
+        if(value != null)
+        {
+            return value;
+        }
+
+        return valuesByLabel.get(label.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Finds the value with the given code.
+     * @param code The code of the value, or NULL_CODE.
+     * @return The matching value, or null for NULL_CODE.
+     * @throws IllegalArgumentException If no value has that code.
+     */
+    E fromCode(final int code)
+    {
+        if(code == NULL_CODE)
+        {
+            return null;
+        }
+
+        if(code < 0 || code >= values.length)
+        {
+            throw new IllegalArgumentException("Invalid attribute code: " + code);
+        }
+
+        return values[code];
+    }
+
+    /**
+     * Gets the one-byte code of a value.
+     * @param value The value, or null.
+     * @return The code of the value, or NULL_CODE for null.
+     */
+    static byte codeOf(final Enum<?> value)
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+
+        return (byte) value.ordinal();
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Represents a value of an enumerated attribute that has a canonical label.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public interface LabeledValue
+{
+    /**
+     * Gets the canonical label of the value.
+     * @return The label.
+     */
+    String getLabel();
+}
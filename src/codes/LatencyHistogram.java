@@ -0,0 +1,132 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a lock-free histogram of latencies in nanoseconds.
+ * Values below 16 ns get their own bucket; above that every power of two is split into 16 buckets,
+ * so any recorded value is reported within 1/16 (6.25%) of its true value, from nanoseconds up to
+ * centuries, in a fixed array of counters.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS    = 4;
+    private static final int SUB_BUCKETS        = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT       = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray   counts;
+    private final LongAdder         totalNanos;
+    private final LongAdder         count;
+    private final LongAccumulator   maxNanos;
+
+    /**
+     * Constructs a new, empty LatencyHistogram instance.
+     */
+    LatencyHistogram()
+    {
+        counts      = new AtomicLongArray(BUCKET_COUNT);
+        totalNanos  = new LongAdder();
+        count       = new LongAdder();
+        maxNanos    = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * Records one latency.
+     * @param nanos The latency in nanoseconds; negative values are recorded as zero.
+     */
+    void record(final long nanos)
+    {
+        final long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalNanos.add(value);
+        count.increment();
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Gets a summary of the latencies recorded so far.
+     * Recording may continue while the summary is taken, so its figures can differ by the few values recorded meanwhile.
+     * @return The summary.
+     */
+    LatencySummary summarize()
+    {
+        final long[]    snapshot    = new long[BUCKET_COUNT];
+        long            total       = 0;
+
+        for(int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+        {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+
+        final long recorded = count.sum();
+        final double mean = recorded == 0 ? 0.0 : (double) totalNanos.sum() / recorded;
+
+        return new LatencySummary(total,
+                                  mean,
+                                  percentile(snapshot, total, 0.50),
+                                  percentile(snapshot, total, 0.90),
+                                  percentile(snapshot, total, 0.99),
+                                  percentile(snapshot, total, 0.999),
+                                  maxNanos.get());
+    }
+
+    /*
+     * Gets the bucket of a non-negative value.
+     */
+    private static int bucketOf(final long value)
+    {
+        if(value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+
+        final int exponent  = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /*
+     * Gets the highest value that falls into a bucket.
+     */
+    private static long highestValueOf(final int bucket)
+    {
+        if(bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+
+        final int   exponent    = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long  lowest      = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /*
+     * Gets the value at a percentile of a bucket snapshot.
+     */
+    private static long percentile(final long[] snapshot, final long total, final double fraction)
+    {
+        if(total == 0)
+        {
+            return 0;
+        }
+
+        final long  rank    = Math.max(1L, (long) Math.ceil(fraction * total));
+        long        seen    = 0;
+
+        for(int bucket = 0; bucket < snapshot.length; bucket++)
+        {
+            seen += snapshot[bucket];
+
+            if(seen >= rank)
+            {
+                return highestValueOf(bucket);
+            }
+        }
+
+        return highestValueOf(snapshot.length - 1);
+    }
+}
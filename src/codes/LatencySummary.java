@@ -0,0 +1,107 @@
+/**
+ * Represents a point-in-time summary of the latencies of one operation, in nanoseconds.
+ * Percentiles are accurate to within 1/16 of the true value.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class LatencySummary
+{
+    private final long      count;
+    private final double    meanNanos;
+    private final long      p50Nanos;
+    private final long      p90Nanos;
+    private final long      p99Nanos;
+    private final long      p999Nanos;
+    private final long      maxNanos;
+
+    /**
+     * Constructs a new LatencySummary instance.
+     * @param count     The number of recorded operations.
+     * @param meanNanos The mean latency.
+     * @param p50Nanos  The median latency.
+     * @param p90Nanos  The 90th percentile latency.
+     * @param p99Nanos  The 99th percentile latency.
+     * @param p999Nanos The 99.9th percentile latency.
+     * @param maxNanos  The highest latency.
+     */
+    LatencySummary(final long   count,
+                   final double meanNanos,
+                   final long   p50Nanos,
+                   final long   p90Nanos,
+                   final long   p99Nanos,
+                   final long   p999Nanos,
+                   final long   maxNanos)
+    {
+        this.count      = count;
+        this.meanNanos  = meanNanos;
+        this.p50Nanos   = p50Nanos;
+        this.p90Nanos   = p90Nanos;
+        this.p99Nanos   = p99Nanos;
+        this.p999Nanos  = p999Nanos;
+        this.maxNanos   = maxNanos;
+    }
+
+    /**
+     * Gets the number of recorded operations.
+     * @return The count.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the mean latency.
+     * @return The mean in nanoseconds.
+     */
+    public double getMeanNanos()
+    {
+        return meanNanos;
+    }
+
+    /**
+     * Gets the median latency.
+     * @return The median in nanoseconds.
+     */
+    public long getP50Nanos()
+    {
+        return p50Nanos;
+    }
+
+    /**
+     * Gets the 90th percentile latency.
+     * @return The 90th percentile in nanoseconds.
+     */
+    public long getP90Nanos()
+    {
+        return p90Nanos;
+    }
+
+    /**
+     * Gets the 99th percentile latency.
+     * @return The 99th percentile in nanoseconds.
+     */
+    public long getP99Nanos()
+    {
+        return p99Nanos;
+    }
+
+    /**
+     * Gets the 99.9th percentile latency.
+     * @return The 99.9th percentile in nanoseconds.
+     */
+    public long getP999Nanos()
+    {
+        return p999Nanos;
+    }
+
+    /**
+     * Gets the highest latency.
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos()
+    {
+        return maxNanos;
+    }
+}
@@ -0,0 +1,525 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Represents a name-ordered index of the items in a storage.
+ * Items are ordered by name, then by item ID, so paging in name order costs a logarithmic
+ * seek plus the size of the page.
+ * Case-insensitive prefix and substring search can be enabled on top of the order. Searching works on the
+ * trigrams of the distinct lower-cased names rather than on the items. Each name is indexed behind an anchor
+ * character, so a prefix is searched as the anchor followed by the prefix, and a search costs about the number
+ * of names sharing the rarest trigram of the text rather than the size of the storage.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+class NameIndex implements StorageIndex
+{
+    private static final int    TRIGRAM_LENGTH      = 3;
+    private static final char   PADDING             = '\0';
+    private static final char   ANCHOR              = '\u0001';
+    private static final int    MIN_REBUILD_NAMES   = 1024;
+    private static final int    INITIAL_NAMES       = 16;
+
+    private final NavigableMap<NameKey, HouseholdObjects>   items;
+    private Map<String, FoldedName>                         foldedNames;
+    private Map<Long, Integer>                              trigramSlots;
+    private long[]                                          trigrams;
+    private Postings[]                                      postings;
+    private int                                             trigramCount;
+    private volatile long[]                                 sortedTrigrams;
+    private FoldedName[]                                    namesById;
+    private int                                             nameCount;
+    private int                                             deadNames;
+
+    /**
+     * Constructs a new, empty NameIndex instance.
+     */
+    NameIndex()
+    {
+        items = new TreeMap<>();
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        final String name = item.getHouseholdObjectName();
+        items.put(new NameKey(name, itemId), item);
+
+        if(foldedNames != null)
+        {
+            addName(name);
+        }
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        final String name = item.getHouseholdObjectName();
+
+        if(items.remove(new NameKey(name, itemId)) != null && foldedNames != null)
+        {
+            removeName(name);
+        }
+    }
+
+    /**
+     * Iterates over the items that follow a position, in ascending name order.
+     * @param name   The name at the position, or null to start from the first item.
+     * @param itemId The item ID at the position.
+     * @return An iterator over the following items.
+     */
+    Iterator<HouseholdObjects> itemsAfter(final String name, final long itemId)
+    {
+        if(name == null)
+        {
+            return items.values().iterator();
+        }
+
+        return items.tailMap(new NameKey(name, itemId), false).values().iterator();
+    }
+
+    /**
+     * Enables prefix and substring search, indexing the names of the items already in the index.
+     */
+    void enableSearch()
+    {
+        if(foldedNames == null)
+        {
+            foldedNames = new HashMap<>();
+            namesById   = new FoldedName[INITIAL_NAMES];
+            clearTrigrams();
+
+            for(final NameKey key : items.keySet())
+            {
+                addName(key.name);
+            }
+        }
+    }
+
+    /**
+     * Checks if prefix and substring search is enabled.
+     * @return True if search is enabled.
+     */
+    boolean isSearchEnabled()
+    {
+        return foldedNames != null;
+    }
+
+    /**
+     * Finds the items whose name starts with a prefix, ignoring case.
+     * Search must be enabled.
+     * @param prefix The prefix to look for.
+     * @param limit  The largest number of items to return.
+     * @return The matching items, grouped by name.
+     */
+    List<HouseholdObjects> findByPrefix(final String prefix, final int limit)
+    {
+        return find(ANCHOR + fold(prefix), limit);
+    }
+
+    /**
+     * Finds the items whose name contains a text, ignoring case.
+     * Search must be enabled.
+     * @param text  The text to look for.
+     * @param limit The largest number of items to return.
+     * @return The matching items, grouped by name.
+     */
+    List<HouseholdObjects> findBySubstring(final String text, final int limit)
+    {
+        final String folded = fold(text);
+        return find(folded.isEmpty() ? String.valueOf(ANCHOR) : folded, limit);
+    }
+
+    /*
+     * Finds the items whose indexed name contains a pattern, by intersecting the names listed under
+     * each trigram of the pattern and checking the names left.
+     */
+    private List<HouseholdObjects> find(final String pattern, final int limit)
+    {
+        if(pattern.length() < TRIGRAM_LENGTH)
+        {
+            return findShort(pattern, limit);
+        }
+
+        final Postings[] lists = new Postings[pattern.length() - TRIGRAM_LENGTH + 1];
+
+        for(int start = 0; start < lists.length; start++)
+        {
+            lists[start] = postingsOf(trigram(pattern, start));
+
+            if(lists[start] == null)
+            {
+                return new ArrayList<>();
+            }
+        }
+
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+
+        final List<HouseholdObjects>    matches = new ArrayList<>();
+        final int[]                     cursors = new int[lists.length];
+        final Postings                  rarest  = lists[0];
+
+        for(int i = 0; i < rarest.size; i++)
+        {
+            final int           nameId  = rarest.ids[i];
+            final FoldedName    name    = namesById[nameId];
+
+            if(name != null &&
+                    containsAll(lists, cursors, nameId) &&
+                    name.indexed.contains(pattern) &&
+                    collect(name, matches, limit))
+            {
+                break;
+            }
+        }
+
+        return matches;
+    }
+
+    /*
+     * Finds the items whose indexed name contains a pattern of one or two characters. Every name is indexed
+     * with padding after its last character, so each of its positions starts a trigram, and the names containing
+     * the pattern are those listed under the trigrams that start with it, which are adjacent in trigram order.
+     */
+    private List<HouseholdObjects> findShort(final String pattern, final int limit)
+    {
+        final long                      lowest  = trigram(pattern, 0);
+        final long                      highest = lowest | (-1L >>> (Long.SIZE - Character.SIZE * (TRIGRAM_LENGTH - pattern.length())));
+        final long[]                    sorted  = sortedTrigrams();
+        final int                       found   = Arrays.binarySearch(sorted, lowest);
+        final List<HouseholdObjects>    matches = new ArrayList<>();
+        final Set<Integer>              seen    = new HashSet<>();
+
+        for(int key = found < 0 ? -found - 1 : found; key < sorted.length && sorted[key] <= highest; key++)
+        {
+            final Postings list = postingsOf(sorted[key]);
+
+            for(int i = 0; i < list.size; i++)
+            {
+                final FoldedName name = namesById[list.ids[i]];
+
+                if(name != null && seen.add(name.id) && collect(name, matches, limit))
+                {
+                    return matches;
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /*
+     * Checks if every posting list contains a name ID. The IDs are checked in ascending order,
+     * so each list is only searched from where the previous check stopped.
+     */
+    private static boolean containsAll(final Postings[] lists, final int[] cursors, final int nameId)
+    {
+        for(int list = 1; list < lists.length; list++)
+        {
+            final int found = Arrays.binarySearch(lists[list].ids, cursors[list], lists[list].size, nameId);
+
+            if(found < 0)
+            {
+                cursors[list] = -found - 1;
+                return false;
+            }
+
+            cursors[list] = found;
+        }
+
+        return true;
+    }
+
+    /*
+     * Adds the items of every spelling of a lower-cased name to the matches.
+     * Returns true if the limit has been reached.
+     */
+    private boolean collect(final FoldedName name, final List<HouseholdObjects> matches, final int limit)
+    {
+        for(final String spelling : name.spellings)
+        {
+            for(final HouseholdObjects item : itemsNamed(spelling))
+            {
+                if(matches.size() == limit)
+                {
+                    return true;
+                }
+
+                matches.add(item);
+            }
+        }
+
+        return matches.size() == limit;
+    }
+
+    /*
+     * Gets the items with exactly the given name, in item ID order.
+     */
+    private Collection<HouseholdObjects> itemsNamed(final String name)
+    {
+        return items.subMap(new NameKey(name, Long.MIN_VALUE), true, new NameKey(name, Long.MAX_VALUE), true).values();
+    }
+
+    /*
+     * Counts one more item under a name, indexing the lower-cased name if it is new.
+     */
+    private void addName(final String name)
+    {
+        final String    folded  = fold(name);
+        FoldedName      entry   = foldedNames.get(folded);
+
+        if(entry == null)
+        {
+            entry = new FoldedName(folded);
+            foldedNames.put(folded, entry);
+            indexName(entry);
+        }
+
+        entry.itemCount++;
+
+        if(!Arrays.asList(entry.spellings).contains(name))
+        {
+            entry.spellings = Arrays.copyOf(entry.spellings, entry.spellings.length + 1);
+            entry.spellings[entry.spellings.length - 1] = name;
+        }
+    }
+
+    /*
+     * Counts one less item under a name, dropping the lower-cased name once no item has it.
+     * Dropped names stay in the trigram lists until they outnumber the live names, when the lists are rebuilt.
+     */
+    private void removeName(final String name)
+    {
+        final String        folded  = fold(name);
+        final FoldedName    entry   = foldedNames.get(folded);
+
+        entry.itemCount--;
+
+        if(itemsNamed(name).isEmpty())
+        {
+            final List<String> spellings = new ArrayList<>(Arrays.asList(entry.spellings));
+            spellings.remove(name);
+            entry.spellings = spellings.toArray(new String[0]);
+        }
+
+        if(entry.itemCount == 0)
+        {
+            foldedNames.remove(folded);
+            namesById[entry.id] = null;
+            deadNames++;
+
+            if(deadNames >= MIN_REBUILD_NAMES && deadNames > nameCount - deadNames)
+            {
+                rebuildTrigrams();
+            }
+        }
+    }
+
+    /*
+     * Gives a lower-cased name the next name ID and lists it under each of its trigrams.
+     */
+    private void indexName(final FoldedName name)
+    {
+        if(nameCount == namesById.length)
+        {
+            namesById = Arrays.copyOf(namesById, nameCount * 2);
+        }
+
+        name.id = nameCount;
+        namesById[nameCount++] = name;
+
+        for(int start = 0; start < name.indexed.length(); start++)
+        {
+            final long      key     = trigram(name.indexed, start);
+            final Integer   slot    = trigramSlots.get(key);
+
+            if(slot != null)
+            {
+                postings[slot].add(name.id);
+                continue;
+            }
+
+            if(trigramCount == trigrams.length)
+            {
+                trigrams = Arrays.copyOf(trigrams, trigramCount * 2);
+                postings = Arrays.copyOf(postings, trigramCount * 2);
+            }
+
+            trigrams[trigramCount]  = key;
+            postings[trigramCount]  = new Postings();
+            postings[trigramCount].add(name.id);
+            trigramSlots.put(key, trigramCount++);
+            sortedTrigrams          = null;
+        }
+    }
+
+    /*
+     * Gets the names listed under a trigram, or null if no name has it.
+     */
+    private Postings postingsOf(final long trigram)
+    {
+        final Integer slot = trigramSlots.get(trigram);
+        return slot == null ? null : postings[slot];
+    }
+
+    /*
+     * Gets every trigram in ascending order, sorting them again only after a new one has been added.
+     * Readers sharing a read lock may sort at the same time; each publishes a complete array through the volatile field.
+     */
+    private long[] sortedTrigrams()
+    {
+        long[] sorted = sortedTrigrams;
+
+        if(sorted == null)
+        {
+            sorted = Arrays.copyOf(trigrams, trigramCount);
+            Arrays.sort(sorted);
+            sortedTrigrams = sorted;
+        }
+
+        return sorted;
+    }
+
+    /*
+     * Removes every trigram.
+     */
+    private void clearTrigrams()
+    {
+        trigramSlots    = new HashMap<>();
+        trigrams        = new long[INITIAL_NAMES];
+        postings        = new Postings[INITIAL_NAMES];
+        trigramCount    = 0;
+        sortedTrigrams  = null;
+    }
+
+    /*
+     * Renumbers the live names in their original order and lists them under their trigrams again.
+     */
+    private void rebuildTrigrams()
+    {
+        final FoldedName[] live = new FoldedName[nameCount - deadNames];
+        int next = 0;
+
+        for(int id = 0; id < nameCount; id++)
+        {
+            if(namesById[id] != null)
+            {
+                live[next++] = namesById[id];
+            }
+        }
+
+        clearTrigrams();
+        namesById   = new FoldedName[Math.max(INITIAL_NAMES, live.length * 2)];
+        nameCount   = 0;
+        deadNames   = 0;
+
+        for(final FoldedName name : live)
+        {
+            indexName(name);
+        }
+    }
+
+    /*
+     * Packs the three characters of a string starting at a position into one key, preserving their order.
+     * Positions past the end of the string are taken as padding, which sorts before every character.
+     */
+    private static long trigram(final String text, final int start)
+    {
+        long key = 0;
+
+        for(int i = start; i < start + TRIGRAM_LENGTH; i++)
+        {
+            key = (key << Character.SIZE) | (i < text.length() ? text.charAt(i) : PADDING);
+        }
+
+        return key;
+    }
+
+    /*
+     * Lower-cases a name the same way for indexing and searching.
+     */
+    private static String fold(final String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Orders items by name, breaking ties by item ID.
+     */
+    private static final class NameKey implements Comparable<NameKey>
+    {
+        private final String    name;
+        private final long      itemId;
+
+        private NameKey(final String name, final long itemId)
+        {
+            this.name   = name;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public int compareTo(final NameKey other)
+        {
+            final int byName = name.compareTo(other.name);
+
+            if(byName != 0)
+            {
+                return byName;
+            }
+
+            return Long.compare(itemId, other.itemId);
+        }
+    }
+
+    /*
+     * Holds a lower-cased name, indexed behind an anchor that marks its start, with the spellings it was added under and the number of items that have it.
+     */
+    private static final class FoldedName
+    {
+        private final String        indexed;
+        private String[]            spellings;
+        private int                 id;
+        private int                 itemCount;
+
+        private FoldedName(final String folded)
+        {
+            this.indexed    = ANCHOR + folded;
+            this.spellings  = new String[0];
+        }
+    }
+
+    /*
+     * Holds the IDs of the names containing a trigram, in ascending order and without repeats.
+     */
+    private static final class Postings
+    {
+        private int[]   ids     = new int[2];
+        private int     size;
+
+        private void add(final int nameId)
+        {
+            if(size > 0 && ids[size - 1] == nameId)
+            {
+                return;
+            }
+
+            if(size == ids.length)
+            {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            ids[size++] = nameId;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a lightweight, reusable view of one item in an OffHeapStorageHouseholdObjects.
+ * Numbers, booleans and enumerated attributes are read directly from the off-heap record;
+ * names are decoded from the string arena when asked for. A view handed to a forEachItem
+ * action is moved from item to item, so it must not be kept.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class OffHeapItemView implements HouseholdObjectView
+{
+    private final OffHeapStorageHouseholdObjects storage;
+    private ByteBuffer  segment;
+    private int         base;
+
+    /**
+     * Constructs a new OffHeapItemView instance over a storage.
+     * @param storage The storage to read from.
+     */
+    OffHeapItemView(final OffHeapStorageHouseholdObjects storage)
+    {
+        this.storage = storage;
+    }
+
+    /*
+     * Points the view at another row of the storage.
+     */
+    void moveTo(final int row)
+    {
+        segment = storage.segmentOf(row);
+        base    = storage.offsetOf(row);
+    }
+
+    /**
+     * Gets the ID of the item.
+     * @return The item ID.
+     */
+    public long getItemId()
+    {
+        return segment.getLong(base + OffHeapStorageHouseholdObjects.OFFSET_ITEM_ID);
+    }
+
+    @Override
+    public String getHouseholdObjectName()
+    {
+        return storage.readString(segment.getInt(base + OffHeapStorageHouseholdObjects.OFFSET_NAME));
+    }
+
+    @Override
+    public String getHomeObjectBrand()
+    {
+        return storage.brand(segment.getInt(base + OffHeapStorageHouseholdObjects.OFFSET_BRAND));
+    }
+
+    @Override
+    public double getPriceCAD()
+    {
+        return segment.getDouble(base + OffHeapStorageHouseholdObjects.OFFSET_PRICE);
+    }
+
+    @Override
+    public String getHouseholdObjectColor()
+    {
+        return storage.color(segment.getInt(base + OffHeapStorageHouseholdObjects.OFFSET_COLOR));
+    }
+
+    @Override
+    public boolean isElectric()
+    {
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_ELECTRIC);
+    }
+
+    @Override
+    public String getType()
+    {
+        return kind().getTypeName();
+    }
+
+    /**
+     * Gets the voltage requirement of the electronics.
+     * @return The voltage requirement of the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public int getVoltageV()
+    {
+        checkKind(ItemKind.ELECTRONICS);
+        return segment.getShort(base + OffHeapStorageHouseholdObjects.OFFSET_VOLTAGE);
+    }
+
+    /**
+     * Gets the type of connectivity of the electronics.
+     * @return The type of connectivity of the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public String getItemConnectivity()
+    {
+        checkKind(ItemKind.ELECTRONICS);
+        return label(Connectivity.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_CONNECTIVITY)));
+    }
+
+    /**
+     * Gets the type of power source for the electronics.
+     * @return The type of power source for the electronics.
+     * @throws IllegalStateException If the item is not electronics.
+     */
+    public String getPowerSource()
+    {
+        checkKind(ItemKind.ELECTRONICS);
+        return label(PowerSource.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_POWER_SOURCE)));
+    }
+
+    /**
+     * Gets the size of the television screen in inches.
+     * @return The size of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public double getScreenSizeInches()
+    {
+        checkKind(ItemKind.TELEVISION);
+        return segment.getDouble(base + OffHeapStorageHouseholdObjects.OFFSET_SCREEN_SIZE);
+    }
+
+    /**
+     * Gets the resolution of the television screen.
+     * @return The resolution of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public String getResolution()
+    {
+        checkKind(ItemKind.TELEVISION);
+        return label(Resolution.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_SUBTYPE_CODE)));
+    }
+
+    /**
+     * Gets the refresh rate of the television screen.
+     * @return The refresh rate of the television screen.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public int getRefreshRateHz()
+    {
+        checkKind(ItemKind.TELEVISION);
+        return segment.getShort(base + OffHeapStorageHouseholdObjects.OFFSET_REFRESH_RATE);
+    }
+
+    /**
+     * Checks if the television is a smart TV.
+     * @return true if the television is a smart TV, false otherwise.
+     * @throws IllegalStateException If the item is not a television.
+     */
+    public boolean isSmartTv()
+    {
+        checkKind(ItemKind.TELEVISION);
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_SMART_TV);
+    }
+
+    /**
+     * Gets the width of the dishwasher in inches.
+     * @return The width of the dishwasher.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public int getDishwasherWidthInches()
+    {
+        checkKind(ItemKind.DISHWASHER);
+        return segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_SMALL_COUNT);
+    }
+
+    /**
+     * Gets the number of racks in the dishwasher.
+     * @return The number of racks.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public int getNumberOfRacks()
+    {
+        checkKind(ItemKind.DISHWASHER);
+        return segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_RACK_COUNT);
+    }
+
+    /**
+     * Gets the type of dishwasher.
+     * @return The type of dishwasher.
+     * @throws IllegalStateException If the item is not a dishwasher.
+     */
+    public String getDishwasherType()
+    {
+        checkKind(ItemKind.DISHWASHER);
+        return label(DishwasherType.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_SUBTYPE_CODE)));
+    }
+
+    /**
+     * Gets the minutes required for toasting bagels.
+     * @return The minutes required for toasting bagels.
+     * @throws IllegalStateException If the item is not a toaster.
+     */
+    public int getToastBagelMinutes()
+    {
+        checkKind(ItemKind.TOASTER);
+        return segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_SMALL_COUNT);
+    }
+
+    /**
+     * Checks if the toaster has a defrost function.
+     * @return True if the toaster has a defrost function, false otherwise.
+     * @throws IllegalStateException If the item is not a toaster.
+     */
+    public boolean isHasDefrostFunction()
+    {
+        checkKind(ItemKind.TOASTER);
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_DEFROST);
+    }
+
+    /**
+     * Checks if assembly is required for the furniture.
+     * @return True if assembly is required, false otherwise.
+     * @throws IllegalStateException If the item is not furniture.
+     */
+    public boolean isAssemblyRequired()
+    {
+        checkKind(ItemKind.FURNITURE);
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_ASSEMBLY_REQUIRED);
+    }
+
+    /**
+     * Gets the material of the furniture frame.
+     * @return The material of the furniture frame.
+     * @throws IllegalStateException If the item is not furniture.
+     */
+    public String getFrameMaterial()
+    {
+        checkKind(ItemKind.FURNITURE);
+        return label(FrameMaterial.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_FRAME_MATERIAL)));
+    }
+
+    /**
+     * Gets the number of shelves in the bookshelf.
+     * @return The number of shelves.
+     * @throws IllegalStateException If the item is not a bookshelf.
+     */
+    public int getShelfCount()
+    {
+        checkKind(ItemKind.BOOKSHELF);
+        return segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_SMALL_COUNT);
+    }
+
+    /**
+     * Gets the material of the shelves.
+     * @return The material of the shelves.
+     * @throws IllegalStateException If the item is not a bookshelf.
+     */
+    public String getShelfMaterial()
+    {
+        checkKind(ItemKind.BOOKSHELF);
+        return label(ShelfMaterial.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_SUBTYPE_CODE)));
+    }
+
+    /**
+     * Checks if the coffee table has storage.
+     * @return True if the coffee table has storage, false otherwise.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public boolean hasStorage()
+    {
+        checkKind(ItemKind.COFFEE_TABLE);
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_STORAGE);
+    }
+
+    /**
+     * Gets the shape of the coffee table.
+     * @return The shape of the coffee table.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public String getTableShape()
+    {
+        checkKind(ItemKind.COFFEE_TABLE);
+        return label(TableShape.fromCode(code(OffHeapStorageHouseholdObjects.OFFSET_SUBTYPE_CODE)));
+    }
+
+    /**
+     * Gets the number of legs of the coffee table.
+     * @return The number of legs.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public int getLegCount()
+    {
+        checkKind(ItemKind.COFFEE_TABLE);
+        return segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_SMALL_COUNT);
+    }
+
+    /**
+     * Checks if the coffee table is extendable.
+     * @return True if the coffee table is extendable, false otherwise.
+     * @throws IllegalStateException If the item is not a coffee table.
+     */
+    public boolean isExtendable()
+    {
+        checkKind(ItemKind.COFFEE_TABLE);
+        return hasFlag(OffHeapStorageHouseholdObjects.FLAG_EXTENDABLE);
+    }
+
+    /*
+     * Gets the kind of the viewed item.
+     */
+    private ItemKind kind()
+    {
+        return ItemKind.fromOrdinal(segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_KIND));
+    }
+
+    /*
+     * Gets the enumerated attribute code stored at an offset of the record.
+     */
+    private int code(final int offset)
+    {
+        return segment.get(base + offset);
+    }
+
+    /*
+     * Checks whether a flag is set on the viewed item.
+     */
+    private boolean hasFlag(final int flag)
+    {
+        return (segment.get(base + OffHeapStorageHouseholdObjects.OFFSET_FLAGS) & flag) != 0;
+    }
+
+    /*
+     * Gets the label of an enumerated attribute, or null if it has no value.
+     */
+    private static String label(final LabeledValue value)
+    {
+        if(value == null)
+        {
+            return null;
+        }
+
+        return value.getLabel();
+    }
+
+    /*
+     * Checks that the viewed item has the expected kind.
+     */
+    private void checkKind(final ItemKind expected)
+    {
+        final ItemKind kind = kind();
+        final boolean matches;
+
+        if(expected == ItemKind.ELECTRONICS)
+        {
+            matches = kind.isElectronics();
+        }
+        else if(expected == ItemKind.FURNITURE)
+        {
+            matches = kind.isFurniture();
+        }
+        else
+        {
+            matches = kind == expected;
+        }
+
+        if(!matches)
+        {
+            throw new IllegalStateException("Attribute not available for type: " + kind.getTypeName());
+        }
+    }
+}
@@ -0,0 +1,442 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Represents a storage for household objects that keeps its items outside the Java heap.
+ * Each item is a fixed-width record in a direct or memory-mapped segment, names are kept in a
+ * side arena of variable-length strings, and brands and colors are dictionary encoded. Items are
+ * read through reusable OffHeapItemView flyweights, so the heap does not grow with the inventory.
+ * Every stored item is given a stable item ID, and items are kept in insertion order. The space
+ * of removed items is not reclaimed.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class OffHeapStorageHouseholdObjects implements AutoCloseable
+{
+    static final int RECORD_BYTES           = 48;
+    static final int OFFSET_ITEM_ID         = 0;
+    static final int OFFSET_PRICE           = 8;
+    static final int OFFSET_SCREEN_SIZE     = 16;
+    static final int OFFSET_NAME            = 24;
+    static final int OFFSET_BRAND           = 28;
+    static final int OFFSET_COLOR           = 32;
+    static final int OFFSET_KIND            = 36;
+    static final int OFFSET_FLAGS           = 37;
+    static final int OFFSET_CONNECTIVITY    = 38;
+    static final int OFFSET_POWER_SOURCE    = 39;
+    static final int OFFSET_FRAME_MATERIAL  = 40;
+    static final int OFFSET_SUBTYPE_CODE    = 41;
+    static final int OFFSET_SMALL_COUNT     = 42;
+    static final int OFFSET_RACK_COUNT      = 43;
+    static final int OFFSET_VOLTAGE         = 44;
+    static final int OFFSET_REFRESH_RATE    = 46;
+
+    static final int FLAG_LIVE              = 1;
+    static final int FLAG_ELECTRIC          = 1 << 1;
+    static final int FLAG_ASSEMBLY_REQUIRED = 1 << 2;
+    static final int FLAG_SMART_TV          = 1 << 3;
+    static final int FLAG_DEFROST           = 1 << 4;
+    static final int FLAG_STORAGE           = 1 << 5;
+    static final int FLAG_EXTENDABLE        = 1 << 6;
+
+    private static final int SEGMENT_SHIFT          = 16;
+    private static final int SEGMENT_RECORDS        = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK           = SEGMENT_RECORDS - 1;
+    private static final int ARENA_SEGMENT_BYTES    = 1 << 22;
+    private static final int MAX_STRING_BYTES       = 255;
+
+    private final Path              directory;
+    private final List<ByteBuffer>  recordSegments;
+    private final List<ByteBuffer>  arenaSegments;
+    private final StringDictionary  brands;
+    private final StringDictionary  colors;
+    private int                     rowCount;
+    private int                     numberOfItems;
+    private long                    nextItemId;
+    private long                    arenaBytes;
+
+    /**
+     * Constructs a new OffHeapStorageHouseholdObjects instance backed by direct memory.
+     */
+    public OffHeapStorageHouseholdObjects()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a new OffHeapStorageHouseholdObjects instance backed by memory-mapped files.
+     * The storage creates its segment files in the directory and overwrites any it finds there.
+     * @param directory The directory to keep the segment files in, or null to use direct memory.
+     */
+    public OffHeapStorageHouseholdObjects(final Path directory)
+    {
+        this.directory      = directory;
+        this.recordSegments = new ArrayList<>();
+        this.arenaSegments  = new ArrayList<>();
+        this.brands         = new StringDictionary();
+        this.colors         = new StringDictionary();
+    }
+
+    /**
+     * Adds a household object to the storage, copying its attributes into an off-heap record.
+     * @param item The household object to add.
+     * @return The ID of the stored item.
+     * @throws NullPointerException     If the item is null.
+     * @throws IllegalArgumentException If the item is not one of the known classes.
+     * @throws UncheckedIOException     If a new segment file cannot be mapped.
+     */
+    public long addItem(final HouseholdObjects item)
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        final ItemKind kind = ItemKind.of(item);
+
+        if(rowCount >> SEGMENT_SHIFT == recordSegments.size())
+        {
+            recordSegments.add(allocate("records-" + recordSegments.size(), SEGMENT_RECORDS * RECORD_BYTES));
+        }
+
+        final int row           = rowCount;
+        final long itemId       = nextItemId++;
+        final ByteBuffer buffer = segmentOf(row);
+        final int base          = offsetOf(row);
+        int flags = FLAG_LIVE | (item.isElectric() ? FLAG_ELECTRIC : 0);
+
+        buffer.putLong(base + OFFSET_ITEM_ID, itemId);
+        buffer.putDouble(base + OFFSET_PRICE, item.getPriceCAD());
+        buffer.putInt(base + OFFSET_NAME, appendString(item.getHouseholdObjectName()));
+        buffer.putInt(base + OFFSET_BRAND, brands.encode(item.getHomeObjectBrand()));
+        buffer.putInt(base + OFFSET_COLOR, colors.encode(item.getHouseholdObjectColor()));
+        buffer.put(base + OFFSET_KIND, (byte) kind.ordinal());
+
+        if(kind.isElectronics())
+        {
+            final Electronics electronics = (Electronics) item;
+            buffer.putShort(base + OFFSET_VOLTAGE, (short) electronics.getVoltageV());
+            buffer.put(base + OFFSET_CONNECTIVITY, LabelDictionary.codeOf(electronics.getItemConnectivityCode()));
+            buffer.put(base + OFFSET_POWER_SOURCE, LabelDictionary.codeOf(electronics.getPowerSourceCode()));
+        }
+
+        if(kind.isFurniture())
+        {
+            final Furniture furniture = (Furniture) item;
+            flags |= furniture.isAssemblyRequired() ? FLAG_ASSEMBLY_REQUIRED : 0;
+            buffer.put(base + OFFSET_FRAME_MATERIAL, LabelDictionary.codeOf(furniture.getFrameMaterialCode()));
+        }
+
+        switch(kind)
+        {
+            case TELEVISION:
+                final Television television = (Television) item;
+                flags |= television.isSmartTv() ? FLAG_SMART_TV : 0;
+                buffer.putDouble(base + OFFSET_SCREEN_SIZE, television.getScreenSizeInches());
+                buffer.put(base + OFFSET_SUBTYPE_CODE, LabelDictionary.codeOf(television.getResolutionCode()));
+                buffer.putShort(base + OFFSET_REFRESH_RATE, (short) television.getRefreshRateHz());
+                break;
+            case DISHWASHER:
+                final Dishwasher dishwasher = (Dishwasher) item;
+                buffer.put(base + OFFSET_SUBTYPE_CODE, LabelDictionary.codeOf(dishwasher.getDishwasherTypeCode()));
+                buffer.put(base + OFFSET_SMALL_COUNT, (byte) dishwasher.getDishwasherWidthInches());
+                buffer.put(base + OFFSET_RACK_COUNT, (byte) dishwasher.getNumberOfRacks());
+                break;
+            case TOASTER:
+                final Toaster toaster = (Toaster) item;
+                flags |= toaster.isHasDefrostFunction() ? FLAG_DEFROST : 0;
+                buffer.put(base + OFFSET_SMALL_COUNT, (byte) toaster.getToastBagelMinutes());
+                break;
+            case BOOKSHELF:
+                final Bookshelf bookshelf = (Bookshelf) item;
+                buffer.put(base + OFFSET_SUBTYPE_CODE, LabelDictionary.codeOf(bookshelf.getShelfMaterialCode()));
+                buffer.put(base + OFFSET_SMALL_COUNT, (byte) bookshelf.getShelfCount());
+                break;
+            case COFFEE_TABLE:
+                final CoffeeTable coffeeTable = (CoffeeTable) item;
+                flags |= coffeeTable.hasStorage() ? FLAG_STORAGE : 0;
+                flags |= coffeeTable.isExtendable() ? FLAG_EXTENDABLE : 0;
+                buffer.put(base + OFFSET_SUBTYPE_CODE, LabelDictionary.codeOf(coffeeTable.getTableShapeCode()));
+                buffer.put(base + OFFSET_SMALL_COUNT, (byte) coffeeTable.getLegCount());
+                break;
+            default:
+                break;
+        }
+
+        buffer.put(base + OFFSET_FLAGS, (byte) flags);
+        rowCount++;
+        numberOfItems++;
+        return itemId;
+    }
+
+    /**
+     * Removes the household object with the given ID from the storage.
+     * @param itemId The ID of the household object to remove.
+     * @return True if an item with that ID was stored, false otherwise.
+     */
+    public boolean removeItemById(final long itemId)
+    {
+        final int row = findRow(itemId);
+
+        if(row < 0)
+        {
+            return false;
+        }
+
+        final ByteBuffer buffer = segmentOf(row);
+        final int flagsOffset   = offsetOf(row) + OFFSET_FLAGS;
+        buffer.put(flagsOffset, (byte) (buffer.get(flagsOffset) & ~FLAG_LIVE));
+        numberOfItems--;
+        return true;
+    }
+
+    /**
+     * Finds the household object with the given ID.
+     * @param itemId The ID of the household object.
+     * @return A view of the household object, or null if no item with that ID is stored.
+     */
+    public OffHeapItemView findItem(final long itemId)
+    {
+        final int row = findRow(itemId);
+
+        if(row < 0)
+        {
+            return null;
+        }
+
+        final OffHeapItemView view = new OffHeapItemView(this);
+        view.moveTo(row);
+        return view;
+    }
+
+    /**
+     * Passes every stored household object to an action, in insertion order.
+     * A single view is reused for every item, so the action must not keep a reference to it.
+     * @param action The action to perform on each item.
+     */
+    public void forEachItem(final Consumer<? super OffHeapItemView> action)
+    {
+        final OffHeapItemView view = new OffHeapItemView(this);
+
+        for(int row = 0; row < rowCount; row++)
+        {
+            if(isLive(row))
+            {
+                view.moveTo(row);
+                action.accept(view);
+            }
+        }
+    }
+
+    /**
+     * Gets the total price in CAD of all stored household objects.
+     * @return The total price in CAD.
+     */
+    public double getTotalPriceCAD()
+    {
+        double total = 0.0;
+
+        for(int row = 0; row < rowCount; row++)
+        {
+            if(isLive(row))
+            {
+                total += segmentOf(row).getDouble(offsetOf(row) + OFFSET_PRICE);
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Displays all household objects stored in the storage.
+     */
+    public void displayItems()
+    {
+        try
+        {
+            writeReport(new InventoryReportWriter(System.out));
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the report line of every stored household object, in insertion order, then flushes the writer.
+     * @param writer The report writer to write to.
+     * @throws IOException If the report cannot be written.
+     */
+    public void writeReport(final InventoryReportWriter writer) throws IOException
+    {
+        final OffHeapItemView view = new OffHeapItemView(this);
+
+        for(int row = 0; row < rowCount; row++)
+        {
+            if(isLive(row))
+            {
+                view.moveTo(row);
+                writer.writeItem(view);
+            }
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Gets the number of household objects stored in the storage.
+     * @return The number of household objects stored.
+     */
+    public int getNumberOfItems()
+    {
+        return numberOfItems;
+    }
+
+    /**
+     * Releases the segments of the storage. The storage must not be used afterwards.
+     */
+    @Override
+    public void close()
+    {
+        recordSegments.clear();
+        arenaSegments.clear();
+        rowCount        = 0;
+        numberOfItems   = 0;
+    }
+
+    ByteBuffer segmentOf(final int row)
+    {
+        return recordSegments.get(row >>> SEGMENT_SHIFT);
+    }
+
+    int offsetOf(final int row)
+    {
+        return (row & SEGMENT_MASK) * RECORD_BYTES;
+    }
+
+    String brand(final int code)
+    {
+        return brands.decode(code);
+    }
+
+    String color(final int code)
+    {
+        return colors.decode(code);
+    }
+
+    /*
+     * Reads a string from the arena.
+     */
+    String readString(final int reference)
+    {
+        final ByteBuffer segment    = arenaSegments.get(reference / ARENA_SEGMENT_BYTES);
+        final int offset            = reference % ARENA_SEGMENT_BYTES;
+        final int length            = segment.get(offset) & 0xFF;
+        final byte[] bytes          = new byte[length];
+        segment.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Appends a string to the arena, as its length followed by its UTF-8 bytes, and returns its position.
+     */
+    private int appendString(final String value)
+    {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if(bytes.length > MAX_STRING_BYTES)
+        {
+            throw new IllegalArgumentException("Invalid string length: " + bytes.length);
+        }
+
+        final int needed = bytes.length + 1;
+
+        if(arenaBytes + needed > (long) arenaSegments.size() * ARENA_SEGMENT_BYTES)
+        {
+            arenaBytes = (long) arenaSegments.size() * ARENA_SEGMENT_BYTES;
+            arenaSegments.add(allocate("strings-" + arenaSegments.size(), ARENA_SEGMENT_BYTES));
+        }
+
+        if(arenaBytes + needed > Integer.MAX_VALUE)
+        {
+            throw new IllegalStateException("String arena is full");
+        }
+
+        final int reference         = (int) arenaBytes;
+        final ByteBuffer segment    = arenaSegments.get(arenaSegments.size() - 1);
+        final int offset            = reference % ARENA_SEGMENT_BYTES;
+        segment.put(offset, (byte) bytes.length);
+        segment.put(offset + 1, bytes);
+        arenaBytes += needed;
+        return reference;
+    }
+
+    /*
+     * Checks if the record in a row belongs to a stored item.
+     */
+    private boolean isLive(final int row)
+    {
+        return (segmentOf(row).get(offsetOf(row) + OFFSET_FLAGS) & FLAG_LIVE) != 0;
+    }
+
+    /*
+     * Finds the row of a live item. Item IDs increase with the row, so a binary search is enough.
+     */
+    private int findRow(final long itemId)
+    {
+        int low = 0;
+        int high = rowCount - 1;
+
+        while(low <= high)
+        {
+            final int middle = (low + high) >>> 1;
+            final long middleId = segmentOf(middle).getLong(offsetOf(middle) + OFFSET_ITEM_ID);
+
+            if(middleId < itemId)
+            {
+                low = middle + 1;
+            }
+            else if(middleId > itemId)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return isLive(middle) ? middle : -1;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Allocates a segment in direct memory, or maps it from a file in the backing directory.
+     */
+    private ByteBuffer allocate(final String name, final int bytes)
+    {
+        if(directory == null)
+        {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+
+        try(FileChannel channel = FileChannel.open(directory.resolve(name + ".seg"),
+                                                   StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                   StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
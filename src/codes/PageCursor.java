@@ -0,0 +1,136 @@
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Represents the position after the last item of a page, and its encoding as an opaque resume token.
+ * A position is the sort key of the item in the page order: its ID, its price and ID, or its name and ID.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class PageCursor
+{
+    private final PageOrder order;
+    private final long      itemId;
+    private final double    priceCAD;
+    private final String    name;
+
+    /**
+     * Constructs a new PageCursor instance positioned after an item.
+     * @param order  The page order.
+     * @param itemId The ID of the item.
+     * @param item   The household object.
+     */
+    PageCursor(final PageOrder order, final long itemId, final HouseholdObjectView item)
+    {
+        this(order, itemId, item.getPriceCAD(), item.getHouseholdObjectName());
+    }
+
+    private PageCursor(final PageOrder order, final long itemId, final double priceCAD, final String name)
+    {
+        this.order      = order;
+        this.itemId     = itemId;
+        this.priceCAD   = priceCAD;
+        this.name       = name;
+    }
+
+    /**
+     * Decodes a resume token.
+     * @param token    The token to decode.
+     * @param expected The page order the token must belong to.
+     * @return The decoded position.
+     * @throws IllegalArgumentException If the token is malformed or belongs to another order.
+     */
+    static PageCursor decode(final String token, final PageOrder expected)
+    {
+        final ByteBuffer buffer;
+
+        try
+        {
+            buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+        }
+        catch(final IllegalArgumentException | NullPointerException e)
+        {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+
+        try
+        {
+            final int ordinal = buffer.get();
+
+            if(ordinal != expected.ordinal())
+            {
+                throw new IllegalArgumentException("Invalid page token for " + expected + " order: " + token);
+            }
+
+            final long itemId = buffer.getLong();
+
+            switch(expected)
+            {
+                case PRICE:
+                    return new PageCursor(expected, itemId, buffer.getDouble(), null);
+                case NAME:
+                    final byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    return new PageCursor(expected, itemId, 0.0, new String(bytes, StandardCharsets.UTF_8));
+                default:
+                    return new PageCursor(expected, itemId, 0.0, null);
+            }
+        }
+        catch(final BufferUnderflowException e)
+        {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+    }
+
+    /**
+     * Encodes the position as a URL-safe resume token.
+     * @return The token.
+     */
+    String encode()
+    {
+        final byte[] nameBytes = order == PageOrder.NAME ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES + Double.BYTES + nameBytes.length);
+
+        buffer.put((byte) order.ordinal());
+        buffer.putLong(itemId);
+
+        if(order == PageOrder.PRICE)
+        {
+            buffer.putDouble(priceCAD);
+        }
+
+        buffer.put(nameBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    /**
+     * Gets the ID of the item the position follows.
+     * @return The item ID.
+     */
+    long getItemId()
+    {
+        return itemId;
+    }
+
+    /**
+     * Gets the price of the item the position follows, for price order.
+     * @return The price in CAD.
+     */
+    double getPriceCAD()
+    {
+        return priceCAD;
+    }
+
+    /**
+     * Gets the name of the item the position follows, for name order.
+     * @return The name.
+     */
+    String getName()
+    {
+        return name;
+    }
+}
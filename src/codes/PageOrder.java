@@ -0,0 +1,15 @@
+/**
+ * Represents the order in which the items of a storage are paged.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public enum PageOrder
+{
+    /** The order in which the items were added. */
+    INSERTION,
+    /** Ascending price, then insertion order for equal prices. */
+    PRICE,
+    /** Ascending name, then insertion order for equal names. */
+    NAME
+}
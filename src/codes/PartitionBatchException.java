@@ -0,0 +1,34 @@
+/**
+ * Thrown by PartitionRouter.addAll when a partition fails partway through its part of a batch.
+ * The items stored before the failure keep their IDs, so the exception carries the global ID of every item
+ * in the batch, with StorageHouseholdObjects.NO_ITEM_ID for the items that were not stored.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class PartitionBatchException extends IllegalStateException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final long[] itemIds;
+
+    /**
+     * Constructs a new PartitionBatchException instance.
+     * @param message The failure reported by the partition.
+     * @param itemIds The global ID of each item of the batch, in batch order.
+     */
+    PartitionBatchException(final String message, final long[] itemIds)
+    {
+        super(message);
+        this.itemIds = itemIds.clone();
+    }
+
+    /**
+     * Gets the global ID of each item of the batch.
+     * @return The IDs in batch order, with StorageHouseholdObjects.NO_ITEM_ID for the items that were not stored.
+     */
+    public long[] getItemIds()
+    {
+        return itemIds.clone();
+    }
+}
@@ -0,0 +1,304 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents one end of a connection between a partition router and a partition server.
+ * Messages are frames of a length, a one-byte code and a payload. Frames are built in an output buffer
+ * and only sent on flush, so several frames can be pipelined in one write, and are read one at a time
+ * into an input buffer. Items are encoded with an ItemRecordFormat per direction, so each distinct brand
+ * and color crosses the connection once.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+final class PartitionConnection implements Closeable
+{
+    /**
+     * Adds a batch of items: [int count][records], answered with [int count][long item IDs][string failure].
+     * If the storage fails partway, the items not stored get NO_ITEM_ID and the failure message is given, otherwise it is null.
+     */
+    static final byte ADD_ITEMS     = 1;
+    /** Removes a batch of item IDs: [int count][long item IDs], answered with [int count][byte removed flags]. */
+    static final byte REMOVE_ITEMS  = 2;
+    /** Gets an item: [long item ID], answered with [byte present][record]. */
+    static final byte GET_ITEM      = 3;
+    /** Counts the items, answered with [int count]. */
+    static final byte COUNT_ITEMS   = 4;
+    /** Finds items by attributes: [string type][string brand][string color], answered with [int count][records]. */
+    static final byte FIND_ITEMS    = 5;
+    /** Reads a standard aggregate: [string name], answered with [int groups][string key][long count][double total]. */
+    static final byte AGGREGATE     = 6;
+
+    /** Answers a request that succeeded, followed by its result. */
+    static final byte OK            = 0;
+    /** Answers a request that failed, followed by [string message]. */
+    static final byte FAILED        = 1;
+
+    private static final int INITIAL_BUFFER_BYTES   = 64 * 1024;
+    private static final int FRAME_HEADER_BYTES     = Integer.BYTES;
+    private static final int NULL_STRING            = -1;
+
+    private final SocketChannel     channel;
+    private final ItemRecordFormat  writer;
+    private final ItemRecordFormat  reader;
+    private ByteBuffer              out;
+    private ByteBuffer              in;
+    private int                     frameStart;
+
+    /**
+     * Constructs a new PartitionConnection instance over a connected channel.
+     * @param channel The connected, blocking channel.
+     */
+    PartitionConnection(final SocketChannel channel)
+    {
+        this.channel    = channel;
+        this.writer     = new ItemRecordFormat(true);
+        this.reader     = new ItemRecordFormat(true);
+        this.out        = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+        this.in         = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+    }
+
+    /**
+     * Starts a frame in the output buffer.
+     * @param code The code of the frame.
+     */
+    void beginFrame(final byte code)
+    {
+        ensureCapacity(FRAME_HEADER_BYTES + 1);
+        frameStart = out.position();
+        out.putInt(0);
+        out.put(code);
+    }
+
+    /**
+     * Ends the frame started last by writing its length.
+     */
+    void endFrame()
+    {
+        out.putInt(frameStart, out.position() - frameStart - FRAME_HEADER_BYTES);
+    }
+
+    /**
+     * Sends every frame in the output buffer.
+     * @throws IOException If the frames cannot be sent.
+     */
+    void flush() throws IOException
+    {
+        out.flip();
+
+        while(out.hasRemaining())
+        {
+            channel.write(out);
+        }
+
+        out.clear();
+    }
+
+    /**
+     * Writes a byte.
+     * @param value The byte to write.
+     */
+    void putByte(final byte value)
+    {
+        ensureCapacity(Byte.BYTES);
+        out.put(value);
+    }
+
+    /**
+     * Writes an int.
+     * @param value The int to write.
+     */
+    void putInt(final int value)
+    {
+        ensureCapacity(Integer.BYTES);
+        out.putInt(value);
+    }
+
+    /**
+     * Writes a long.
+     * @param value The long to write.
+     */
+    void putLong(final long value)
+    {
+        ensureCapacity(Long.BYTES);
+        out.putLong(value);
+    }
+
+    /**
+     * Writes a double.
+     * @param value The double to write.
+     */
+    void putDouble(final double value)
+    {
+        ensureCapacity(Double.BYTES);
+        out.putDouble(value);
+    }
+
+    /**
+     * Writes a string, which may be null, as its UTF-8 length and bytes.
+     * @param value The string to write.
+     */
+    void putString(final String value)
+    {
+        if(value == null)
+        {
+            putInt(NULL_STRING);
+            return;
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(Integer.BYTES + bytes.length);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Writes the record of an item.
+     * @param item The household object to write.
+     */
+    void putItem(final HouseholdObjects item)
+    {
+        ensureCapacity(ItemRecordFormat.MAX_RECORD_BYTES);
+        writer.write(out, item);
+    }
+
+    /**
+     * Reads the next frame into the input buffer.
+     * @return The code of the frame.
+     * @throws EOFException If the other end closed the connection.
+     * @throws IOException  If the frame cannot be read.
+     */
+    byte receive() throws IOException
+    {
+        in.clear().limit(FRAME_HEADER_BYTES + 1);
+        fill();
+
+        final int length = in.getInt(0);
+
+        if(length < 1)
+        {
+            throw new IOException("Invalid frame length: " + length);
+        }
+
+        if(in.capacity() < FRAME_HEADER_BYTES + length)
+        {
+            final ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(FRAME_HEADER_BYTES + length, in.capacity() * 2));
+            larger.put(in.flip());
+            in = larger;
+        }
+
+        in.limit(FRAME_HEADER_BYTES + length);
+        fill();
+        in.flip().position(FRAME_HEADER_BYTES);
+        return in.get();
+    }
+
+    /**
+     * Checks if the payload of the last frame received has been read to its end.
+     * @return True if nothing of the frame is left unread, false otherwise.
+     */
+    boolean isFrameRead()
+    {
+        return !in.hasRemaining();
+    }
+
+    /**
+     * Reads a byte.
+     * @return The byte read.
+     */
+    byte getByte()
+    {
+        return in.get();
+    }
+
+    /**
+     * Reads an int.
+     * @return The int read.
+     */
+    int getInt()
+    {
+        return in.getInt();
+    }
+
+    /**
+     * Reads a long.
+     * @return The long read.
+     */
+    long getLong()
+    {
+        return in.getLong();
+    }
+
+    /**
+     * Reads a double.
+     * @return The double read.
+     */
+    double getDouble()
+    {
+        return in.getDouble();
+    }
+
+    /**
+     * Reads a string written by putString.
+     * @return The string, or null.
+     */
+    String getString()
+    {
+        final int length = in.getInt();
+
+        if(length == NULL_STRING)
+        {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the record of an item written by putItem.
+     * @return The household object.
+     */
+    HouseholdObjects getItem()
+    {
+        return reader.read(in);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /*
+     * Reads from the channel until the input buffer reaches its limit.
+     */
+    private void fill() throws IOException
+    {
+        while(in.hasRemaining())
+        {
+            if(channel.read(in) < 0)
+            {
+                throw new EOFException("Connection closed");
+            }
+        }
+    }
+
+    /*
+     * Grows the output buffer so that the given number of bytes can be written, keeping what is written.
+     */
+    private void ensureCapacity(final int bytes)
+    {
+        if(out.remaining() < bytes)
+        {
+            final ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(out.capacity() * 2, out.position() + bytes));
+            larger.put(out.flip());
+            out = larger;
+        }
+    }
+}
@@ -0,0 +1,574 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Represents the client side of a partitioned inventory, routing calls to a fixed set of partition servers.
+ * An item is stored on the partition chosen by its hash code, and its global item ID is its item ID within
+ * the partition times the number of partitions plus the partition number, so the partition of an ID is the ID
+ * modulo the number of partitions and every partition owns one residue class of IDs.
+ * Batched calls send one request per partition and pipeline them: every request is sent before any answer is
+ * read, so a batch costs one round trip however many partitions it spans. Counts, finds and aggregates fan out
+ * to every partition in the same way and merge the answers.
+ * Calls from several threads take turns on the connections. A partition that answers with a failure leaves the
+ * connections in step, so its failure is thrown once every answer has been read and the router stays usable. An I/O
+ * failure can leave requests sent and answers unread, so it closes every connection and every later call fails.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class PartitionRouter implements Closeable
+{
+    private final PartitionConnection[] partitions;
+    private final ReentrantLock         lock;
+    private String                      failure;
+    private IOException                 broken;
+
+    /**
+     * Constructs a new PartitionRouter instance connected to every partition.
+     * The partitions must always be given in the same order, since it decides where items are stored.
+     * @param addresses The addresses of the partition servers, in partition order.
+     * @throws IllegalArgumentException If no address is given.
+     * @throws IOException              If a partition cannot be reached.
+     */
+    public PartitionRouter(final List<InetSocketAddress> addresses) throws IOException
+    {
+        if(addresses.isEmpty())
+        {
+            throw new IllegalArgumentException("Invalid partitions: none");
+        }
+
+        this.partitions = new PartitionConnection[addresses.size()];
+        this.lock       = new ReentrantLock();
+
+        try
+        {
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                final SocketChannel channel = SocketChannel.open(addresses.get(partition));
+                channel.socket().setTcpNoDelay(true);
+                partitions[partition] = new PartitionConnection(channel);
+            }
+        }
+        catch(final IOException e)
+        {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a household object to its partition.
+     * @param item The household object to add.
+     * @return The global ID of the stored item.
+     * @throws NullPointerException     If the item is null.
+     * @throws IllegalArgumentException If the item is not one of the known classes.
+     * @throws IOException              If a partition cannot be reached.
+     */
+    public long addItem(final HouseholdObjects item) throws IOException
+    {
+        return addAll(List.of(item))[0];
+    }
+
+    /**
+     * Adds a batch of household objects, sending one request to each partition involved.
+     * Every item is checked before anything is sent, so a batch refused for a bad item leaves the router usable.
+     * @param newItems The household objects to add.
+     * @return The global ID of each stored item, in the order of the batch.
+     * @throws NullPointerException     If the list is or contains null.
+     * @throws IllegalArgumentException If an item is not one of the known classes.
+     * @throws PartitionBatchException  If a partition failed to store some of its items, with the IDs of those stored.
+     * @throws IOException              If a partition cannot be reached.
+     */
+    public long[] addAll(final List<? extends HouseholdObjects> newItems) throws IOException
+    {
+        final int[] targets = new int[newItems.size()];
+        final int[] counts  = new int[partitions.length];
+
+        for(int i = 0; i < targets.length; i++)
+        {
+            final HouseholdObjects item = newItems.get(i);
+
+            if(item == null)
+            {
+                throw new NullPointerException("Invalid item: null");
+            }
+
+            ItemKind.of(item);
+            targets[i] = Math.floorMod(item.hashCode(), partitions.length);
+            counts[targets[i]]++;
+        }
+
+        final long[] itemIds = new long[targets.length];
+        Arrays.fill(itemIds, StorageHouseholdObjects.NO_ITEM_ID);
+
+        return exchange(() ->
+        {
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                if(counts[partition] > 0)
+                {
+                    final PartitionConnection connection = partitions[partition];
+                    connection.beginFrame(PartitionConnection.ADD_ITEMS);
+                    connection.putInt(counts[partition]);
+
+                    for(int i = 0; i < targets.length; i++)
+                    {
+                        if(targets[i] == partition)
+                        {
+                            connection.putItem(newItems.get(i));
+                        }
+                    }
+
+                    connection.endFrame();
+                    connection.flush();
+                }
+            }
+
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                if(counts[partition] > 0)
+                {
+                    final PartitionConnection connection = receive(partition);
+
+                    if(connection == null)
+                    {
+                        continue;
+                    }
+
+                    connection.getInt();
+
+                    for(int i = 0; i < targets.length; i++)
+                    {
+                        if(targets[i] == partition)
+                        {
+                            itemIds[i] = globalId(connection.getLong(), partition);
+                        }
+                    }
+
+                    keepFailure(partition, connection.getString());
+                }
+            }
+
+            return itemIds;
+        }, message -> new PartitionBatchException(message, itemIds));
+    }
+
+    /**
+     * Removes the household object with the given global ID from its partition.
+     * @param itemId The global ID of the household object to remove.
+     * @return True if an item with that ID was stored, false otherwise.
+     * @throws IOException If a partition cannot be reached.
+     */
+    public boolean removeItemById(final long itemId) throws IOException
+    {
+        return removeAllById(new long[] {itemId})[0];
+    }
+
+    /**
+     * Removes a batch of household objects by global ID, sending one request to each partition involved.
+     * @param itemIds The global IDs of the household objects to remove.
+     * @return Whether each item was stored, in the order of the batch.
+     * @throws IOException If a partition cannot be reached.
+     */
+    public boolean[] removeAllById(final long[] itemIds) throws IOException
+    {
+        final boolean[] removed = new boolean[itemIds.length];
+        final int[]     counts  = new int[partitions.length];
+
+        for(final long itemId : itemIds)
+        {
+            if(itemId >= 0)
+            {
+                counts[partitionOf(itemId)]++;
+            }
+        }
+
+        return exchange(() ->
+        {
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                if(counts[partition] > 0)
+                {
+                    final PartitionConnection connection = partitions[partition];
+                    connection.beginFrame(PartitionConnection.REMOVE_ITEMS);
+                    connection.putInt(counts[partition]);
+
+                    for(final long itemId : itemIds)
+                    {
+                        if(itemId >= 0 && partitionOf(itemId) == partition)
+                        {
+                            connection.putLong(itemId / partitions.length);
+                        }
+                    }
+
+                    connection.endFrame();
+                    connection.flush();
+                }
+            }
+
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                if(counts[partition] > 0)
+                {
+                    final PartitionConnection connection = receive(partition);
+
+                    if(connection == null)
+                    {
+                        continue;
+                    }
+
+                    connection.getInt();
+
+                    for(int i = 0; i < itemIds.length; i++)
+                    {
+                        if(itemIds[i] >= 0 && partitionOf(itemIds[i]) == partition)
+                        {
+                            removed[i] = connection.getByte() != 0;
+                        }
+                    }
+                }
+            }
+
+            return removed;
+        }, IllegalStateException::new);
+    }
+
+    /**
+     * Gets the household object with the given global ID from its partition.
+     * @param itemId The global ID of the household object.
+     * @return The household object, or null if no item with that ID is stored.
+     * @throws IOException If a partition cannot be reached.
+     */
+    public HouseholdObjects getItemById(final long itemId) throws IOException
+    {
+        if(itemId < 0)
+        {
+            return null;
+        }
+
+        final int partition = partitionOf(itemId);
+
+        return exchange(() ->
+        {
+            final PartitionConnection connection = partitions[partition];
+            connection.beginFrame(PartitionConnection.GET_ITEM);
+            connection.putLong(itemId / partitions.length);
+            connection.endFrame();
+            connection.flush();
+
+            if(receive(partition) == null)
+            {
+                return null;
+            }
+
+            return connection.getByte() == 0 ? null : connection.getItem();
+        }, IllegalStateException::new);
+    }
+
+    /**
+     * Gets the number of household objects stored on every partition.
+     * @return The total number of items.
+     * @throws IOException If a partition cannot be reached.
+     */
+    public long getNumberOfItems() throws IOException
+    {
+        return exchange(() ->
+        {
+            long numberOfItems = 0;
+            sendToAll(PartitionConnection.COUNT_ITEMS, null);
+
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                final PartitionConnection connection = receive(partition);
+
+                if(connection != null)
+                {
+                    numberOfItems += connection.getInt();
+                }
+            }
+
+            return numberOfItems;
+        }, IllegalStateException::new);
+    }
+
+    /**
+     * Finds the household objects matching every given attribute on every partition.
+     * A null attribute matches any value.
+     * @param type  The type to match, as returned by getType(), or null.
+     * @param brand The brand to match, or null.
+     * @param color The color to match, or null.
+     * @return The matching household objects, grouped by partition and in insertion order within each partition.
+     * @throws IOException If a partition cannot be reached.
+     */
+    public List<HouseholdObjects> findItems(final String type,
+                                            final String brand,
+                                            final String color) throws IOException
+    {
+        return exchange(() ->
+        {
+            final List<HouseholdObjects> matches = new ArrayList<>();
+            sendToAll(PartitionConnection.FIND_ITEMS, new String[] {type, brand, color});
+
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                final PartitionConnection connection = receive(partition);
+
+                if(connection == null)
+                {
+                    continue;
+                }
+
+                final int count = connection.getInt();
+
+                for(int i = 0; i < count; i++)
+                {
+                    matches.add(connection.getItem());
+                }
+            }
+
+            return matches;
+        }, IllegalStateException::new);
+    }
+
+    /**
+     * Gets a standard aggregate merged across every partition.
+     * @param name The name of the aggregate, one of the StorageHouseholdObjects.AGGREGATE_BY_ constants.
+     * @return The totals of each group, by the group key as a string.
+     * @throws IllegalStateException If a partition does not know the aggregate.
+     * @throws IOException           If a partition cannot be reached.
+     */
+    public Map<String, GroupTotals> aggregate(final String name) throws IOException
+    {
+        return exchange(() ->
+        {
+            final Map<String, GroupTotals> groups = new HashMap<>();
+            sendToAll(PartitionConnection.AGGREGATE, new String[] {name});
+
+            for(int partition = 0; partition < partitions.length; partition++)
+            {
+                final PartitionConnection connection = receive(partition);
+
+                if(connection == null)
+                {
+                    continue;
+                }
+
+                final int count = connection.getInt();
+
+                for(int i = 0; i < count; i++)
+                {
+                    final String key = connection.getString();
+                    groups.computeIfAbsent(key, k -> new GroupTotals()).merge(connection.getLong(), connection.getDouble());
+                }
+            }
+
+            return groups;
+        }, IllegalStateException::new);
+    }
+
+    /**
+     * Gets the number of partitions.
+     * @return The number of partitions.
+     */
+    public int getNumberOfPartitions()
+    {
+        return partitions.length;
+    }
+
+    /**
+     * Closes the connection to every partition. Every later call fails.
+     * @throws IOException If a connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        lock.lock();
+
+        try
+        {
+            if(broken == null)
+            {
+                broken = new IOException("Partition router closed");
+            }
+
+            closeConnections();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Runs one call on the connections, taking turns with the calls of other threads.
+     * A failure answered by a partition is thrown once the call has read every answer, through the given factory.
+     * Any other exception may have left answers unread, so it closes every connection and marks the router broken.
+     */
+    private <R> R exchange(final Exchange<R>                                    call,
+                           final Function<String, ? extends RuntimeException>   failureType) throws IOException
+    {
+        lock.lock();
+
+        try
+        {
+            if(broken != null)
+            {
+                throw new IOException("Partition router unusable: " + broken.getMessage(), broken);
+            }
+
+            failure = null;
+            final R result;
+
+            try
+            {
+                result = call.run();
+            }
+            catch(final IOException | RuntimeException e)
+            {
+                broken = e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+                closeQuietly();
+                throw e;
+            }
+
+            if(failure != null)
+            {
+                final String message = failure;
+                failure = null;
+                throw failureType.apply(message);
+            }
+
+            return result;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Closes every open connection, throwing the last failure to close one once all have been tried.
+     */
+    private void closeConnections() throws IOException
+    {
+        IOException closeFailure = null;
+
+        for(final PartitionConnection connection : partitions)
+        {
+            if(connection != null)
+            {
+                try
+                {
+                    connection.close();
+                }
+                catch(final IOException e)
+                {
+                    closeFailure = e;
+                }
+            }
+        }
+
+        if(closeFailure != null)
+        {
+            throw closeFailure;
+        }
+    }
+
+    /*
+     * Closes every open connection after a failure, which is already being thrown.
+     */
+    private void closeQuietly()
+    {
+        try
+        {
+            closeConnections();
+        }
+        catch(final IOException e)
+        {
+            broken.addSuppressed(e);
+        }
+    }
+
+    /*
+     * Sends the same request, with optional string arguments, to every partition before any answer is read.
+     */
+    private void sendToAll(final byte code, final String[] arguments) throws IOException
+    {
+        for(final PartitionConnection connection : partitions)
+        {
+            connection.beginFrame(code);
+
+            if(arguments != null)
+            {
+                for(final String argument : arguments)
+                {
+                    connection.putString(argument);
+                }
+            }
+
+            connection.endFrame();
+            connection.flush();
+        }
+    }
+
+    /*
+     * Reads the answer of a partition and leaves its result ready to read.
+     * Returns null if the request failed, keeping the first failure to be thrown once every answer has been
+     * read, so the connections stay in step.
+     */
+    private PartitionConnection receive(final int partition) throws IOException
+    {
+        final PartitionConnection connection = partitions[partition];
+
+        if(connection.receive() == PartitionConnection.OK)
+        {
+            return connection;
+        }
+
+        keepFailure(partition, connection.getString());
+        return null;
+    }
+
+    /*
+     * Keeps the failure reported by a partition, if any, unless an earlier one is already kept.
+     */
+    private void keepFailure(final int partition, final String message)
+    {
+        if(message != null && failure == null)
+        {
+            failure = "Partition " + partition + " failed: " + message;
+        }
+    }
+
+    /*
+     * Gets the global ID of an item ID within a partition, keeping NO_ITEM_ID.
+     */
+    private long globalId(final long localId, final int partition)
+    {
+        return localId < 0 ? StorageHouseholdObjects.NO_ITEM_ID : localId * partitions.length + partition;
+    }
+
+    /*
+     * Gets the partition that owns a global item ID.
+     */
+    private int partitionOf(final long itemId)
+    {
+        return (int) (itemId % partitions.length);
+    }
+
+    /*
+     * One call on the connections, which sends its requests and reads every answer.
+     */
+    private interface Exchange<R>
+    {
+        R run() throws IOException;
+    }
+}
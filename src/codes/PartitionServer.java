@@ -0,0 +1,360 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents one partition of a partitioned inventory, serving a StorageHouseholdObjects to partition
+ * routers over local TCP.
+ * Each connection is served on its own virtual thread, which answers the requests of its router in the
+ * order they arrive, so a router can pipeline several requests before reading the answers. Requests
+ * from different connections take turns on the storage.
+ * The server can be run as its own process with a port and, to make the partition durable,
+ * a journal directory; it stops when its standard input is closed.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class PartitionServer implements Closeable
+{
+    private final StorageHouseholdObjects   storage;
+    private final ServerSocketChannel       server;
+    private final ReentrantLock             storageLock;
+    private final Set<PartitionConnection>  connections;
+
+    /**
+     * Constructs a new PartitionServer instance and starts accepting connections on the loopback address.
+     * @param storage The storage of the partition, which must not be used directly afterwards.
+     * @param port    The port to listen on, or 0 for any free port.
+     * @throws NullPointerException If the storage is null.
+     * @throws IOException          If the port cannot be bound.
+     */
+    public PartitionServer(final StorageHouseholdObjects storage, final int port) throws IOException
+    {
+        if(storage == null)
+        {
+            throw new NullPointerException("Invalid storage: null");
+        }
+
+        this.storage        = storage;
+        this.server         = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.storageLock    = new ReentrantLock();
+        this.connections    = ConcurrentHashMap.newKeySet();
+
+        Thread.ofVirtual().name("partition-server-" + getPort()).start(this::accept);
+    }
+
+    /**
+     * Runs a partition server as its own process until its standard input is closed.
+     * The first argument is the port to listen on, 0 for any free port, and the optional second argument
+     * is the directory of the journal the partition is recovered from and journaled to.
+     * The port the server listens on is printed once it accepts connections.
+     * @param args The port and, optionally, the journal directory.
+     * @throws IOException If the port cannot be bound or the journal cannot be recovered.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        if(args.length < 1 || args.length > 2)
+        {
+            System.err.println("Usage: java PartitionServer <port> [journal directory]");
+            System.exit(2);
+        }
+
+        final InventoryJournal          journal = args.length == 2 ? InventoryJournal.open(Path.of(args[1])) : null;
+        final StorageHouseholdObjects   storage = journal == null ? new StorageHouseholdObjects() : journal.recover();
+
+        try(PartitionServer server = new PartitionServer(storage, Integer.parseInt(args[0])))
+        {
+            System.out.println("Partition listening on port " + server.getPort());
+            System.out.flush();
+
+            while(System.in.read() >= 0)
+            {
+                // Wait for the standard input to be closed.
+            }
+        }
+        finally
+        {
+            if(journal != null)
+            {
+                journal.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return The port.
+     */
+    public int getPort()
+    {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes every open connection.
+     * @throws IOException If the server cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        server.close();
+
+        for(final PartitionConnection connection : connections)
+        {
+            connection.close();
+        }
+    }
+
+    /*
+     * Accepts connections until the server is closed, serving each on a new virtual thread.
+     */
+    private void accept()
+    {
+        try
+        {
+            while(true)
+            {
+                final SocketChannel channel = server.accept();
+                channel.socket().setTcpNoDelay(true);
+
+                final PartitionConnection connection = new PartitionConnection(channel);
+                connections.add(connection);
+                Thread.ofVirtual().start(() -> serve(connection));
+            }
+        }
+        catch(final ClosedChannelException e)
+        {
+            // The server was closed.
+        }
+        catch(final IOException e)
+        {
+            System.err.println("Partition stopped accepting connections: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Answers the requests of one connection until it is closed.
+     */
+    private void serve(final PartitionConnection connection)
+    {
+        try(connection)
+        {
+            boolean inStep = true;
+
+            while(inStep)
+            {
+                final byte code = connection.receive();
+
+                storageLock.lock();
+
+                try
+                {
+                    answer(code, connection);
+                }
+                catch(final RuntimeException e)
+                {
+                    connection.beginFrame(PartitionConnection.FAILED);
+                    connection.putString(String.valueOf(e.getMessage()));
+                    connection.endFrame();
+
+                    // A request that failed before its frame was read to the end may have skipped strings that
+                    // the router will refer to later, so the connection is closed rather than left out of step.
+                    inStep = connection.isFrameRead();
+                }
+                finally
+                {
+                    storageLock.unlock();
+                }
+
+                connection.flush();
+            }
+        }
+        catch(final EOFException | ClosedChannelException e)
+        {
+            // The router or the server closed the connection.
+        }
+        catch(final IOException e)
+        {
+            System.err.println("Partition connection failed: " + e.getMessage());
+        }
+        finally
+        {
+            connections.remove(connection);
+        }
+    }
+
+    /*
+     * Runs one request on the storage and writes its answer.
+     * The answer is only started once the request has succeeded, so a failure leaves nothing half written.
+     */
+    private void answer(final byte code, final PartitionConnection connection)
+    {
+        switch(code)
+        {
+            case PartitionConnection.ADD_ITEMS:
+                addItems(connection);
+                break;
+            case PartitionConnection.REMOVE_ITEMS:
+                removeItems(connection);
+                break;
+            case PartitionConnection.GET_ITEM:
+                getItem(connection);
+                break;
+            case PartitionConnection.COUNT_ITEMS:
+                connection.beginFrame(PartitionConnection.OK);
+                connection.putInt(storage.getNumberOfItems());
+                break;
+            case PartitionConnection.FIND_ITEMS:
+                findItems(connection);
+                break;
+            case PartitionConnection.AGGREGATE:
+                aggregate(connection);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown request: " + code);
+        }
+
+        connection.endFrame();
+    }
+
+    /*
+     * Adds a batch of items and answers with their item IDs.
+     * The whole batch is decoded before the storage is touched, so a storage failure never leaves part of the
+     * frame unread. If the storage fails partway, the answer gives the IDs of the items stored so far, the ID of
+     * the failing item if it was stored anyway, such as when only its journal write failed, and the failure.
+     */
+    private void addItems(final PartitionConnection connection)
+    {
+        final int                   count   = connection.getInt();
+        final HouseholdObjects[]    batch   = new HouseholdObjects[count];
+        final long[]                itemIds = new long[count];
+        String                      failure = null;
+        int                         stored  = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            batch[i] = connection.getItem();
+        }
+
+        try
+        {
+            while(stored < count)
+            {
+                itemIds[stored] = storage.addItem(batch[stored]);
+                stored++;
+            }
+        }
+        catch(final RuntimeException e)
+        {
+            failure = String.valueOf(e.getMessage());
+
+            for(int i = stored; i < count; i++)
+            {
+                itemIds[i] = storage.getItemId(batch[i]);
+            }
+        }
+
+        connection.beginFrame(PartitionConnection.OK);
+        connection.putInt(count);
+
+        for(final long itemId : itemIds)
+        {
+            connection.putLong(itemId);
+        }
+
+        connection.putString(failure);
+    }
+
+    /*
+     * Removes a batch of item IDs and answers whether each was stored.
+     */
+    private void removeItems(final PartitionConnection connection)
+    {
+        final int       count   = connection.getInt();
+        final boolean[] removed = new boolean[count];
+
+        for(int i = 0; i < count; i++)
+        {
+            removed[i] = storage.removeItemById(connection.getLong());
+        }
+
+        connection.beginFrame(PartitionConnection.OK);
+        connection.putInt(count);
+
+        for(final boolean flag : removed)
+        {
+            connection.putByte((byte) (flag ? 1 : 0));
+        }
+    }
+
+    /*
+     * Answers with the item stored under an item ID, if any.
+     */
+    private void getItem(final PartitionConnection connection)
+    {
+        final HouseholdObjects item = storage.getItemById(connection.getLong());
+
+        connection.beginFrame(PartitionConnection.OK);
+        connection.putByte((byte) (item == null ? 0 : 1));
+
+        if(item != null)
+        {
+            connection.putItem(item);
+        }
+    }
+
+    /*
+     * Answers with the items matching a type, brand and color, any of which may be null.
+     */
+    private void findItems(final PartitionConnection connection)
+    {
+        final String                    type    = connection.getString();
+        final String                    brand   = connection.getString();
+        final String                    color   = connection.getString();
+        final List<HouseholdObjects>    matches = storage.findItems(type, brand, color);
+
+        connection.beginFrame(PartitionConnection.OK);
+        connection.putInt(matches.size());
+
+        for(final HouseholdObjects item : matches)
+        {
+            connection.putItem(item);
+        }
+    }
+
+    /*
+     * Answers with the groups of a standard aggregate, enabling the standard aggregates on first use.
+     */
+    private void aggregate(final PartitionConnection connection)
+    {
+        final String name = connection.getString();
+        storage.enableStandardAggregates();
+
+        final PriceAggregate<?> aggregate = storage.getAggregate(name);
+
+        if(aggregate == null)
+        {
+            throw new IllegalArgumentException("Unknown aggregate: " + name);
+        }
+
+        connection.beginFrame(PartitionConnection.OK);
+        connection.putInt(aggregate.getKeys().size());
+
+        for(final Object key : aggregate.getKeys())
+        {
+            connection.putString(String.valueOf(key));
+            connection.putLong(aggregate.getCount(key));
+            connection.putDouble(aggregate.getTotalPriceCAD(key));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Represents the type of power source of an electronic household item.
+ * Labels are accepted in any case and every item shares the canonical label of its value.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public enum PowerSource implements LabeledValue
+{
+    AC("AC"),
+    BATTERY("Battery"),
+    OTHER("Other");
+
+    private static final LabelDictionary<PowerSource> DICTIONARY = new LabelDictionary<>(values());
+
+    private final String label;
+
+    PowerSource(final String label)
+    {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return label;
+    }
+
+    /**
+     * Finds the value with the given label, ignoring case.
+     * @param label The label to look up.
+     * @return The matching value, or null if the label is null or unknown.
+     */
+    public static PowerSource fromLabel(final String label)
+    {
+        return DICTIONARY.fromLabel(label);
+    }
+
+    /**
+     * Finds the value with the given one-byte code.
+     * @param code The code of the value, or LabelDictionary.NULL_CODE.
+     * @return The matching value, or null for the null code.
+     */
+    static PowerSource fromCode(final int code)
+    {
+        return DICTIONARY.fromCode(code);
+    }
+}
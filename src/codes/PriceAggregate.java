@@ -0,0 +1,180 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Represents the count, total price and average price of the items in a storage, grouped by a key.
+ * The group of an item is given by a key function, such as its type, its brand, or a subclass attribute.
+ * Items whose key is null are left out of every group, so a key function may ignore the items it does not apply to.
+ * The aggregate is kept up to date on every change to the storage, so every query runs in constant time.
+ *
+ * @param <K> The type of the group keys.
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class PriceAggregate<K> implements StorageIndex
+{
+    private final String                                            name;
+    private final Function<? super HouseholdObjects, ? extends K>   keyFunction;
+    private final Map<K, Group>                                     groups;
+
+    /**
+     * Constructs a new, empty PriceAggregate instance.
+     * @param name        The name of the aggregate.
+     * @param keyFunction The function giving the group key of an item, or null to leave the item out.
+     * @throws NullPointerException If any of the parameters are null.
+     */
+    PriceAggregate(final String                                         name,
+                   final Function<? super HouseholdObjects, ? extends K> keyFunction)
+    {
+        this.name           = Objects.requireNonNull(name, "Invalid aggregate name: null");
+        this.keyFunction    = Objects.requireNonNull(keyFunction, "Invalid key function: null");
+        this.groups         = new HashMap<>();
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        final K key = keyFunction.apply(item);
+
+        if(key != null)
+        {
+            groups.computeIfAbsent(key, k -> new Group()).add(item.getPriceCAD());
+        }
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        final K key = keyFunction.apply(item);
+
+        if(key != null)
+        {
+            final Group group = groups.get(key);
+
+            if(group != null && group.remove(item.getPriceCAD()))
+            {
+                groups.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the aggregate.
+     * @return The name of the aggregate.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the keys of every non-empty group.
+     * @return An unmodifiable view of the group keys.
+     */
+    public Set<K> getKeys()
+    {
+        return Collections.unmodifiableSet(groups.keySet());
+    }
+
+    /**
+     * Gets the number of items in a group.
+     * @param key The group key.
+     * @return The number of items in the group, or 0 if the group is empty.
+     */
+    public long getCount(final Object key)
+    {
+        final Group group = groups.get(key);
+        return group == null ? 0 : group.count;
+    }
+
+    /**
+     * Gets the total price of the items in a group.
+     * @param key The group key.
+     * @return The total price in CAD, or 0 if the group is empty.
+     */
+    public double getTotalPriceCAD(final Object key)
+    {
+        final Group group = groups.get(key);
+        return group == null ? 0.0 : group.total();
+    }
+
+    /**
+     * Gets the average price of the items in a group.
+     * @param key The group key.
+     * @return The average price in CAD, or NaN if the group is empty.
+     */
+    public double getAveragePriceCAD(final Object key)
+    {
+        final Group group = groups.get(key);
+        return group == null ? Double.NaN : group.total() / group.count;
+    }
+
+    /*
+     * Holds the running count and price total of one group.
+     * The total is compensated so that repeated adds and removes do not accumulate rounding error.
+     */
+    private static final class Group
+    {
+        private long    count;
+        private double  sum;
+        private double  compensation;
+
+        /*
+         * Adds a price to the group.
+         */
+        void add(final double priceCAD)
+        {
+            count++;
+            accumulate(priceCAD);
+        }
+
+        /*
+         * Removes a price from the group, and returns true if the group is now empty.
+         */
+        boolean remove(final double priceCAD)
+        {
+            count--;
+
+            if(count == 0)
+            {
+                sum          = 0.0;
+                compensation = 0.0;
+                return true;
+            }
+
+            accumulate(-priceCAD);
+            return false;
+        }
+
+        /*
+         * Gets the compensated total of the group.
+         */
+        double total()
+        {
+            return sum + compensation;
+        }
+
+        /*
+         * Adds a value to the running sum using Neumaier summation.
+         */
+        private void accumulate(final double value)
+        {
+            final double next = sum + value;
+
+            if(Math.abs(sum) >= Math.abs(value))
+            {
+                compensation += (sum - next) + value;
+            }
+            else
+            {
+                compensation += (value - next) + sum;
+            }
+
+            sum = next;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents a price-ordered index of the items in a storage.
+ * Items are ordered by price, then by item ID, both across all types and within each type,
+ * so range, floor, ceiling and top-N queries run in logarithmic time plus the size of the result.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+class PriceIndex implements StorageIndex
+{
+    private final NavigableMap<PriceKey, HouseholdObjects>              allItems;
+    private final Map<String, NavigableMap<PriceKey, HouseholdObjects>> itemsByType;
+
+    /**
+     * Constructs a new, empty PriceIndex instance.
+     */
+    PriceIndex()
+    {
+        allItems    = new TreeMap<>();
+        itemsByType = new HashMap<>();
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        final PriceKey key = new PriceKey(item.getPriceCAD(), itemId);
+        allItems.put(key, item);
+        itemsByType.computeIfAbsent(item.getType(), type -> new TreeMap<>()).put(key, item);
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        final PriceKey key = new PriceKey(item.getPriceCAD(), itemId);
+        allItems.remove(key);
+
+        final NavigableMap<PriceKey, HouseholdObjects> typeItems = itemsByType.get(item.getType());
+
+        if(typeItems != null)
+        {
+            typeItems.remove(key);
+
+            if(typeItems.isEmpty())
+            {
+                itemsByType.remove(item.getType());
+            }
+        }
+    }
+
+    /**
+     * Finds the items priced within a range, in ascending price order.
+     * @param type     The type to match, or null for every type.
+     * @param minPrice The lowest price, inclusive.
+     * @param maxPrice The highest price, inclusive.
+     * @return The matching household objects.
+     */
+    List<HouseholdObjects> findInRange(final String type,
+                                       final double minPrice,
+                                       final double maxPrice)
+    {
+        if(minPrice > maxPrice)
+        {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(itemsFor(type).subMap(new PriceKey(minPrice, Long.MIN_VALUE), true,
+                                                     new PriceKey(maxPrice, Long.MAX_VALUE), true).values());
+    }
+
+    /**
+     * Finds the most expensive item priced at or below the given price.
+     * @param type  The type to match, or null for every type.
+     * @param price The price to look up.
+     * @return The matching household object, or null if there is none.
+     */
+    HouseholdObjects findFloor(final String type, final double price)
+    {
+        final Map.Entry<PriceKey, HouseholdObjects> entry = itemsFor(type).floorEntry(new PriceKey(price, Long.MAX_VALUE));
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Finds the cheapest item priced at or above the given price.
+     * @param type  The type to match, or null for every type.
+     * @param price The price to look up.
+     * @return The matching household object, or null if there is none.
+     */
+    HouseholdObjects findCeiling(final String type, final double price)
+    {
+        final Map.Entry<PriceKey, HouseholdObjects> entry = itemsFor(type).ceilingEntry(new PriceKey(price, Long.MIN_VALUE));
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Finds the first items in ascending or descending price order.
+     * @param type       The type to match, or null for every type.
+     * @param count      The maximum number of items to return.
+     * @param descending True for the most expensive items, false for the cheapest.
+     * @return The matching household objects, in the requested order.
+     */
+    List<HouseholdObjects> findTop(final String type,
+                                   final int count,
+                                   final boolean descending)
+    {
+        final NavigableMap<PriceKey, HouseholdObjects> ordered;
+
+        if(descending)
+        {
+            ordered = itemsFor(type).descendingMap();
+        }
+        else
+        {
+            ordered = itemsFor(type);
+        }
+
+        final List<HouseholdObjects> top = new ArrayList<>(Math.min(Math.max(count, 0), ordered.size()));
+        final Iterator<HouseholdObjects> iterator = ordered.values().iterator();
+
+        while(top.size() < count && iterator.hasNext())
+        {
+            top.add(iterator.next());
+        }
+
+        return top;
+    }
+
+    /**
+     * Iterates over the items that follow a position, in ascending price order.
+     * @param priceCAD The price at the position.
+     * @param itemId   The item ID at the position, or Long.MIN_VALUE to include every item at that price.
+     * @return An iterator over the following items.
+     */
+    Iterator<HouseholdObjects> itemsAfter(final double priceCAD, final long itemId)
+    {
+        return allItems.tailMap(new PriceKey(priceCAD, itemId), false).values().iterator();
+    }
+
+    /*
+     * Gets the ordered items of a type, or of every type when the type is null.
+     */
+    private NavigableMap<PriceKey, HouseholdObjects> itemsFor(final String type)
+    {
+        if(type == null)
+        {
+            return allItems;
+        }
+
+        final NavigableMap<PriceKey, HouseholdObjects> typeItems = itemsByType.get(type);
+
+        if(typeItems == null)
+        {
+            return new TreeMap<>();
+        }
+
+        return typeItems;
+    }
+
+    /*
+     * Orders items by price, breaking ties by item ID.
+     */
+    private static final class PriceKey implements Comparable<PriceKey>
+    {
+        private final double priceCAD;
+        private final long   itemId;
+
+        private PriceKey(final double priceCAD, final long itemId)
+        {
+            this.priceCAD   = priceCAD;
+            this.itemId     = itemId;
+        }
+
+        @Override
+        public int compareTo(final PriceKey other)
+        {
+            final int byPrice = Double.compare(priceCAD, other.priceCAD);
+
+            if(byPrice != 0)
+            {
+                return byPrice;
+            }
+
+            return Long.compare(itemId, other.itemId);
+        }
+    }
+}
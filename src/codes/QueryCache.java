@@ -0,0 +1,346 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Represents a cache of query results in front of a storage, bounded to a number of entries.
+ * A query is named by a key and defined by the type of the items it reads, a filter on those items
+ * and an optional function turning the matching items into a result. When the cache is full the least
+ * recently used result is evicted.
+ * Invalidation is precise: an added or removed item only invalidates the results of queries whose type
+ * it is an instance of and whose filter it matches, since no other result can change. Cached queries are
+ * grouped by type, so a change only tests the filters of the queries of its item's type.
+ * The cache is kept up to date by the storage and, like the storage, must not be used from several threads.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public final class QueryCache implements StorageIndex
+{
+    private final StorageHouseholdObjects            storage;
+    private final int                                maxEntries;
+    private final LinkedHashMap<String, Entry<?>>    entries;
+    private final Map<Class<?>, Set<Entry<?>>>       entriesByType;
+    private final Map<Class<?>, List<Set<Entry<?>>>> bucketsByItemClass;
+    private long                                     hitCount;
+    private long                                     missCount;
+    private long                                     evictionCount;
+    private long                                     invalidationCount;
+
+    /**
+     * Constructs a new, empty QueryCache instance.
+     * @param storage    The storage the queries run against.
+     * @param maxEntries The largest number of results to keep.
+     * @throws IllegalArgumentException If the maximum number of entries is not positive.
+     */
+    QueryCache(final StorageHouseholdObjects storage, final int maxEntries)
+    {
+        if(maxEntries <= 0)
+        {
+            throw new IllegalArgumentException("Invalid maximum number of entries: " + maxEntries);
+        }
+
+        this.storage            = storage;
+        this.maxEntries         = maxEntries;
+        this.entries            = new LinkedHashMap<>(16, 0.75f, true);
+        this.entriesByType      = new HashMap<>();
+        this.bucketsByItemClass = new HashMap<>();
+    }
+
+    /**
+     * Gets the items of a type matching a filter, from the cache if the query is cached.
+     * @param key    The key naming the query; the same key must always name the same query.
+     * @param type   The type of the items to read.
+     * @param filter The filter the items must match.
+     * @param <T>    The type of the items.
+     * @return An unmodifiable list of the matching items, in insertion order.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the key already names a query on another type.
+     */
+    public <T> List<T> find(final String               key,
+                            final Class<T>             type,
+                            final Predicate<? super T> filter)
+    {
+        return find(key, type, filter, Function.identity());
+    }
+
+    /**
+     * Gets the result of a function of the items of a type matching a filter, from the cache if the query is cached.
+     * The function is only called on a miss, and its result is shared by every later hit, so it must not be modified.
+     * @param key      The key naming the query; the same key must always name the same query.
+     * @param type     The type of the items to read.
+     * @param filter   The filter the items must match.
+     * @param finisher The function turning the unmodifiable list of matching items, in insertion order, into the result.
+     * @param <T>      The type of the items.
+     * @param <R>      The type of the result.
+     * @return The result of the query.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the key already names a query on another type.
+     */
+    public <T, R> R find(final String                                   key,
+                         final Class<T>                                 type,
+                         final Predicate<? super T>                     filter,
+                         final Function<? super List<T>, ? extends R>   finisher)
+    {
+        Objects.requireNonNull(key, "Invalid query key: null");
+        Objects.requireNonNull(type, "Invalid query type: null");
+        Objects.requireNonNull(filter, "Invalid query filter: null");
+        Objects.requireNonNull(finisher, "Invalid query finisher: null");
+
+        final Entry<?> cached = entries.get(key);
+
+        if(cached != null)
+        {
+            if(cached.type != type)
+            {
+                throw new IllegalArgumentException("Query already cached with another type: " + key);
+            }
+
+            hitCount++;
+
+            @SuppressWarnings("unchecked")
+            final R result = (R) cached.result;
+            return result;
+        }
+
+        missCount++;
+
+        final List<T> matches = Collections.unmodifiableList(storage.query().ofType(type).filter(filter).toList());
+        final R result = finisher.apply(matches);
+        final Entry<T> entry = new Entry<>(key, type, filter, result);
+
+        entries.put(key, entry);
+        bucket(type).add(entry);
+
+        if(entries.size() > maxEntries)
+        {
+            final Iterator<Entry<?>> eldest = entries.values().iterator();
+            final Entry<?> evicted = eldest.next();
+
+            eldest.remove();
+            entriesByType.get(evicted.type).remove(evicted);
+            evictionCount++;
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the cached result of a query.
+     * @param key The key naming the query.
+     * @return True if a result was cached, false otherwise.
+     */
+    public boolean invalidate(final String key)
+    {
+        final Entry<?> entry = entries.remove(key);
+
+        if(entry == null)
+        {
+            return false;
+        }
+
+        entriesByType.get(entry.type).remove(entry);
+        invalidationCount++;
+        return true;
+    }
+
+    /**
+     * Removes every cached result. The statistics are kept.
+     */
+    public void clear()
+    {
+        invalidationCount += entries.size();
+        entries.clear();
+
+        for(final Set<Entry<?>> bucket : entriesByType.values())
+        {
+            bucket.clear();
+        }
+    }
+
+    @Override
+    public void itemAdded(final long itemId, final HouseholdObjects item)
+    {
+        invalidateMatching(item);
+    }
+
+    @Override
+    public void itemRemoved(final long itemId, final HouseholdObjects item)
+    {
+        invalidateMatching(item);
+    }
+
+    /**
+     * Gets the largest number of results the cache keeps.
+     * @return The maximum number of entries.
+     */
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the number of results currently cached.
+     * @return The number of entries.
+     */
+    public int getNumberOfEntries()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of queries answered from the cache.
+     * @return The number of hits.
+     */
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of queries that had to be evaluated against the storage.
+     * @return The number of misses.
+     */
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * Gets the fraction of queries answered from the cache.
+     * @return The hit rate, between 0 and 1, or NaN if no query has been made.
+     */
+    public double getHitRate()
+    {
+        final long requests = hitCount + missCount;
+        return requests == 0 ? Double.NaN : (double) hitCount / requests;
+    }
+
+    /**
+     * Gets the number of results evicted to make room for newer ones.
+     * @return The number of evictions.
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of results removed because a change to the storage could affect them, or on request.
+     * @return The number of invalidations.
+     */
+    public long getInvalidationCount()
+    {
+        return invalidationCount;
+    }
+
+    /*
+     * Removes the cached results of every query whose type the item is an instance of and whose filter it matches.
+     */
+    private void invalidateMatching(final HouseholdObjects item)
+    {
+        if(entries.isEmpty())
+        {
+            return;
+        }
+
+        for(final Set<Entry<?>> bucket : bucketsFor(item.getClass()))
+        {
+            final Iterator<Entry<?>> candidates = bucket.iterator();
+
+            while(candidates.hasNext())
+            {
+                final Entry<?> entry = candidates.next();
+
+                if(entry.matches(item))
+                {
+                    candidates.remove();
+                    entries.remove(entry.key);
+                    invalidationCount++;
+                }
+            }
+        }
+    }
+
+    /*
+     * Gets the set of cached queries on a type, creating it if needed.
+     * A new type forgets the buckets resolved for each item class, since the new one may apply to them.
+     */
+    private Set<Entry<?>> bucket(final Class<?> type)
+    {
+        Set<Entry<?>> bucket = entriesByType.get(type);
+
+        if(bucket == null)
+        {
+            bucket = new HashSet<>();
+            entriesByType.put(type, bucket);
+            bucketsByItemClass.clear();
+        }
+
+        return bucket;
+    }
+
+    /*
+     * Gets the sets of cached queries on every type an item class is assignable to.
+     */
+    private List<Set<Entry<?>>> bucketsFor(final Class<?> itemClass)
+    {
+        List<Set<Entry<?>>> buckets = bucketsByItemClass.get(itemClass);
+
+        if(buckets == null)
+        {
+            buckets = new ArrayList<>();
+
+            for(final Map.Entry<Class<?>, Set<Entry<?>>> typeBucket : entriesByType.entrySet())
+            {
+                if(typeBucket.getKey().isAssignableFrom(itemClass))
+                {
+                    buckets.add(typeBucket.getValue());
+                }
+            }
+
+            bucketsByItemClass.put(itemClass, buckets);
+        }
+
+        return buckets;
+    }
+
+    /*
+     * Holds the cached result of one query together with the type and filter that define it.
+     */
+    private static final class Entry<T>
+    {
+        private final String                key;
+        private final Class<T>              type;
+        private final Predicate<? super T>  filter;
+        private final Object                result;
+
+        private Entry(final String               key,
+                      final Class<T>             type,
+                      final Predicate<? super T> filter,
+                      final Object               result)
+        {
+            this.key    = key;
+            this.type   = type;
+            this.filter = filter;
+            this.result = result;
+        }
+
+        /*
+         * Checks if the item is among the items the query reads, so that adding or removing it changes the result.
+         */
+        private boolean matches(final HouseholdObjects item)
+        {
+            return filter.test(type.cast(item));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Represents the resolution of a television.
+ * Labels are accepted in any case and every item shares the canonical label of its value.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public enum Resolution implements LabeledValue
+{
+    FULL_HD("1080p"),
+    ULTRA_HD("4k");
+
+    private static final LabelDictionary<Resolution> DICTIONARY = new LabelDictionary<>(values());
+
+    private final String label;
+
+    Resolution(final String label)
+    {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel()
+    {
+        return label;
+    }
+
+    /**
+     * Finds the value with the given label, ignoring case.
+     * @param label The label to look up.
+     * @return The matching value, or null if the label is null or unknown.
+     */
+    public static Resolution fromLabel(final String label)
+    {
+        return DICTIONARY.fromLabel(label);
+    }
+
+    /**
+     * Finds the value with the given one-byte code.
+     * @param code The code of the value, or LabelDictionary.NULL_CODE.
+     * @return The matching value, or null for the null code.
+     */
+    static Resolution fromCode(final int code)
+    {
+        return DICTIONARY.fromCode(code);
+    }
+}
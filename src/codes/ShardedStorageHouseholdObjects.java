@@ -0,0 +1,404 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Represents one logical storage for household objects partitioned into shards by a key, such as a
+ * household or a location. Each shard is a StorageHouseholdObjects with its own indexes and its own
+ * read-write lock, so writes to one shard never wait for another, and a shard can be dropped or
+ * replaced without touching the others.
+ * Item IDs are given by each shard, so an item is identified by its shard key together with its item ID.
+ * Queries over every shard are scattered to a fork-join pool and gathered once every shard has answered.
+ * Each shard is read under its read lock as it is when the query reaches it, so a query over every shard
+ * may see a change to one shard and miss a change made at the same time to another.
+ * Queries run concurrently with other queries on the same shard and must only read. Indexes that a query
+ * needs, such as the price or name index for paged reads and name search, must be enabled when the shard is
+ * created, through the shard setup; a read never enables them.
+ *
+ * @param <K> The type of the shard keys.
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ShardedStorageHouseholdObjects<K>
+{
+    private final ConcurrentMap<K, Shard>                       shards;
+    private final Consumer<? super StorageHouseholdObjects>     shardSetup;
+    private final ForkJoinPool                                  pool;
+
+    /**
+     * Constructs a new ShardedStorageHouseholdObjects instance whose shards have no optional indexes,
+     * queried on the common fork-join pool.
+     */
+    public ShardedStorageHouseholdObjects()
+    {
+        this(storage -> { }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new ShardedStorageHouseholdObjects instance.
+     * @param shardSetup The setup applied to every new or loaded shard before it is used, such as enabling indexes.
+     * @param pool       The pool that runs the queries over every shard.
+     * @throws NullPointerException If any of the parameters are null.
+     */
+    public ShardedStorageHouseholdObjects(final Consumer<? super StorageHouseholdObjects> shardSetup,
+                                          final ForkJoinPool                              pool)
+    {
+        this.shards     = new ConcurrentHashMap<>();
+        this.shardSetup = Objects.requireNonNull(shardSetup, "Invalid shard setup: null");
+        this.pool       = Objects.requireNonNull(pool, "Invalid pool: null");
+    }
+
+    /**
+     * Adds a household object to a shard, creating the shard if needed.
+     * @param shardKey The key of the shard.
+     * @param item     The household object to add.
+     * @return The ID of the stored item within the shard.
+     * @throws NullPointerException If any of the parameters are null.
+     */
+    public long addItem(final K shardKey, final HouseholdObjects item)
+    {
+        return write(shardKey, storage -> storage.addItem(item));
+    }
+
+    /**
+     * Adds every household object of a collection to a shard, creating the shard if needed.
+     * The items are added under one lock acquisition.
+     * @param shardKey The key of the shard.
+     * @param newItems The household objects to add.
+     * @throws NullPointerException If the shard key or the collection is null, or the collection contains null.
+     */
+    public void addAll(final K shardKey, final Collection<? extends HouseholdObjects> newItems)
+    {
+        write(shardKey, storage ->
+        {
+            storage.addAll(newItems);
+            return null;
+        });
+    }
+
+    /**
+     * Removes a household object from a shard.
+     * @param shardKey The key of the shard.
+     * @param item     The household object to remove.
+     * @return True if the item was stored in the shard, false otherwise.
+     */
+    public boolean removeItem(final K shardKey, final HouseholdObjects item)
+    {
+        final Boolean removed = writeExisting(shardKey, storage -> storage.removeItem(item));
+        return removed != null && removed;
+    }
+
+    /**
+     * Removes the household object with the given ID from a shard.
+     * @param shardKey The key of the shard.
+     * @param itemId   The ID of the household object within the shard.
+     * @return True if an item with that ID was stored in the shard, false otherwise.
+     */
+    public boolean removeItemById(final K shardKey, final long itemId)
+    {
+        final Boolean removed = writeExisting(shardKey, storage -> storage.removeItemById(itemId));
+        return removed != null && removed;
+    }
+
+    /**
+     * Gets the household object with the given ID in a shard.
+     * @param shardKey The key of the shard.
+     * @param itemId   The ID of the household object within the shard.
+     * @return The household object, or null if no item with that ID is stored in the shard.
+     */
+    public HouseholdObjects getItemById(final K shardKey, final long itemId)
+    {
+        final Shard shard = shardKey == null ? null : shards.get(shardKey);
+        return shard == null ? null : shard.read(storage -> storage.getItemById(itemId));
+    }
+
+    /**
+     * Runs a query on every shard in parallel and gathers the results.
+     * The query runs under the read lock of each shard and must only read it.
+     * @param query The query to run on each shard.
+     * @param <R>   The type of the result of the query.
+     * @return The result of the query on each shard, by shard key.
+     * @throws NullPointerException If the query is null.
+     */
+    public <R> Map<K, R> gather(final Function<? super StorageHouseholdObjects, ? extends R> query)
+    {
+        Objects.requireNonNull(query, "Invalid query: null");
+
+        final List<K>               keys    = new ArrayList<>();
+        final List<ForkJoinTask<R>> tasks   = new ArrayList<>();
+
+        for(final Map.Entry<K, Shard> entry : shards.entrySet())
+        {
+            final Shard shard = entry.getValue();
+            keys.add(entry.getKey());
+            tasks.add(pool.submit(() -> shard.read(query)));
+        }
+
+        final Map<K, R> results = new HashMap<>();
+
+        for(int i = 0; i < tasks.size(); i++)
+        {
+            results.put(keys.get(i), tasks.get(i).join());
+        }
+
+        return results;
+    }
+
+    /**
+     * Finds the household objects matching every given attribute in every shard.
+     * A null attribute matches any value. Shards whose attribute indexes are enabled by the shard setup
+     * answer from their indexes.
+     * @param type  The type to match, as returned by getType(), or null.
+     * @param brand The brand to match, or null.
+     * @param color The color to match, or null.
+     * @return The matching household objects, grouped by shard and in insertion order within each shard.
+     */
+    public List<HouseholdObjects> findItems(final String type,
+                                            final String brand,
+                                            final String color)
+    {
+        final List<HouseholdObjects> matches = new ArrayList<>();
+
+        for(final List<HouseholdObjects> shardMatches : gather(storage -> storage.findItems(type, brand, color)).values())
+        {
+            matches.addAll(shardMatches);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Drops a shard and every item in it. Writes to the shard key made afterwards go to a new, empty shard.
+     * Waits for the operations already running on the shard to finish.
+     * @param shardKey The key of the shard.
+     * @return The storage of the dropped shard, or null if there was no such shard.
+     */
+    public StorageHouseholdObjects dropShard(final K shardKey)
+    {
+        final Shard dropped = shardKey == null ? null : shards.remove(shardKey);
+
+        if(dropped == null)
+        {
+            return null;
+        }
+
+        dropped.retire();
+        return dropped.storage;
+    }
+
+    /**
+     * Replaces the contents of a shard, for example with a storage recovered from a snapshot.
+     * The shard setup is applied to the new contents, which must not be used directly afterwards.
+     * Waits for the operations already running on the replaced shard to finish.
+     * @param shardKey The key of the shard.
+     * @param contents The storage holding the new contents of the shard.
+     * @return The storage of the replaced shard, or null if there was no such shard.
+     * @throws NullPointerException If any of the parameters are null.
+     */
+    public StorageHouseholdObjects loadShard(final K shardKey, final StorageHouseholdObjects contents)
+    {
+        Objects.requireNonNull(shardKey, "Invalid shard key: null");
+        Objects.requireNonNull(contents, "Invalid shard contents: null");
+
+        shardSetup.accept(contents);
+
+        final Shard replaced = shards.put(shardKey, new Shard(contents));
+
+        if(replaced == null)
+        {
+            return null;
+        }
+
+        replaced.retire();
+        return replaced.storage;
+    }
+
+    /**
+     * Gets the keys of every shard.
+     * @return An unmodifiable view of the shard keys.
+     */
+    public Set<K> getShardKeys()
+    {
+        return Collections.unmodifiableSet(shards.keySet());
+    }
+
+    /**
+     * Gets the number of household objects stored in a shard.
+     * @param shardKey The key of the shard.
+     * @return The number of items in the shard, or 0 if there is no such shard.
+     */
+    public int getNumberOfItems(final K shardKey)
+    {
+        final Shard shard = shardKey == null ? null : shards.get(shardKey);
+        return shard == null ? 0 : shard.read(StorageHouseholdObjects::getNumberOfItems);
+    }
+
+    /**
+     * Gets the number of household objects stored in every shard.
+     * @return The total number of items.
+     */
+    public long getNumberOfItems()
+    {
+        long numberOfItems = 0;
+
+        for(final Shard shard : shards.values())
+        {
+            numberOfItems += shard.read(StorageHouseholdObjects::getNumberOfItems);
+        }
+
+        return numberOfItems;
+    }
+
+    /*
+     * Runs an operation on a shard under its write lock, creating the shard if needed.
+     * A shard dropped or replaced while waiting for the lock is looked up again.
+     */
+    private <R> R write(final K shardKey, final Function<? super StorageHouseholdObjects, ? extends R> operation)
+    {
+        Objects.requireNonNull(shardKey, "Invalid shard key: null");
+
+        while(true)
+        {
+            final Shard shard = shards.computeIfAbsent(shardKey, key -> newShard());
+            final Shard.Result<R> result = shard.write(operation);
+
+            if(result != null)
+            {
+                return result.value;
+            }
+        }
+    }
+
+    /*
+     * Runs an operation on a shard under its write lock, if the shard exists.
+     * Returns null if there is no such shard.
+     */
+    private <R> R writeExisting(final K shardKey, final Function<? super StorageHouseholdObjects, ? extends R> operation)
+    {
+        if(shardKey == null)
+        {
+            return null;
+        }
+
+        while(true)
+        {
+            final Shard shard = shards.get(shardKey);
+
+            if(shard == null)
+            {
+                return null;
+            }
+
+            final Shard.Result<R> result = shard.write(operation);
+
+            if(result != null)
+            {
+                return result.value;
+            }
+        }
+    }
+
+    /*
+     * Creates an empty shard with the shard setup applied.
+     */
+    private Shard newShard()
+    {
+        final StorageHouseholdObjects storage = new StorageHouseholdObjects();
+        shardSetup.accept(storage);
+        return new Shard(storage);
+    }
+
+    /*
+     * Holds the storage of one shard with the lock guarding it.
+     * A retired shard has been dropped or replaced; writers that reach it look the shard up again.
+     */
+    private static final class Shard
+    {
+        private final StorageHouseholdObjects   storage;
+        private final ReentrantReadWriteLock    lock;
+        private boolean                         retired;
+
+        private Shard(final StorageHouseholdObjects storage)
+        {
+            this.storage    = storage;
+            this.lock       = new ReentrantReadWriteLock();
+        }
+
+        /*
+         * Runs a query under the read lock.
+         */
+        private <R> R read(final Function<? super StorageHouseholdObjects, ? extends R> query)
+        {
+            lock.readLock().lock();
+
+            try
+            {
+                return query.apply(storage);
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+        /*
+         * Runs an operation under the write lock.
+         * Returns null without running it if the shard is retired.
+         */
+        private <R> Result<R> write(final Function<? super StorageHouseholdObjects, ? extends R> operation)
+        {
+            lock.writeLock().lock();
+
+            try
+            {
+                return retired ? null : new Result<>(operation.apply(storage));
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /*
+         * Marks the shard retired once the operations running on it have finished.
+         */
+        private void retire()
+        {
+            lock.writeLock().lock();
+
+            try
+            {
+                retired = true;
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /*
+         * Holds the result of an operation, which may itself be null.
+         */
+        private static final class Result<R>
+        {
+            private final R value;
+
+            private Result(final R value)
+            {
+                this.value = value;
+            }
+        }
+    }
+}
@@ -1,43 +1,829 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * Represents a storage for household objects.
  * It allows adding, removing, and displaying household objects.
  * This class can store objects of any class that extends HouseholdObjects.
+ * Every stored item is given a stable item ID, and items are kept in insertion order.
+ * Removal, lookup and containment checks are backed by hash indexes and run in constant time.
+ * Optional secondary indexes on type, brand and color can be enabled for filtered lookups,
+ * and an optional price index answers range, floor, ceiling and top-N price queries.
+ * Price aggregates grouped by type, brand, electric power or any other key are maintained on every change,
+ * and ad-hoc queries without an index are evaluated as fused, parallel scans.
+ * A storage recovered from an InventoryJournal is durable: every change is journaled before the call that made it returns.
+ * Changes can be followed through a Flow publisher that never blocks the storage.
+ * Large inventories can be read page by page, in insertion, price or name order, with resume tokens,
+ * and searched by name prefix or substring without a scan.
+ * Operation counts and latencies can be published over JMX; when they are not enabled they cost one null check per operation.
+ * Repeated queries can be answered from a bounded cache that only the changes affecting a result invalidate.
  *
  * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
  * @version 1.0
  */
 
 public class StorageHouseholdObjects {
-    private List<HouseholdObjects> items;
+    /** The item ID returned when an item is not stored. */
+    public static final long NO_ITEM_ID = -1L;
+
+    /** The name of the aggregate grouped by getType(). */
+    public static final String AGGREGATE_BY_TYPE     = "type";
+    /** The name of the aggregate grouped by getHomeObjectBrand(). */
+    public static final String AGGREGATE_BY_BRAND    = "brand";
+    /** The name of the aggregate grouped by isElectric(). */
+    public static final String AGGREGATE_BY_ELECTRIC = "electric";
+
+    private static final int   INITIAL_CAPACITY     = 16;
+    private static final int   MIN_COMPACT_SLOTS    = 64;
+    private static final int   ITERATOR_PAGE_SIZE   = 256;
+    private static final float HASH_LOAD_FACTOR     = 0.75f;
+
+    private HouseholdObjects[]                          items;
+    private long[]                                      itemIds;
+    private int                                         slotCount;
+    private int                                         numberOfItems;
+    private long                                        nextItemId;
+    private Map<Long, Integer>                          slotsById;
+    private Map<HouseholdObjects, Long>                 idsByItem;
+    private final List<StorageIndex>                    indexes;
+    private AttributeIndex                              attributeIndex;
+    private PriceIndex                                  priceIndex;
+    private NameIndex                                   nameIndex;
+    private final Map<String, PriceAggregate<?>>        aggregates;
+    private InventoryJournal                            journal;
+    private InventoryChangePublisher                    changePublisher;
+    private InventoryMetrics                            metrics;
+    private QueryCache                                  queryCache;
 
     /**
      * Constructs a new StorageHouseholdObjects instance.
      */
     public StorageHouseholdObjects()
     {
-        items = new ArrayList<>();
+        items       = new HouseholdObjects[INITIAL_CAPACITY];
+        itemIds     = new long[INITIAL_CAPACITY];
+        slotsById   = new HashMap<>();
+        idsByItem   = new IdentityHashMap<>();
+        indexes     = new ArrayList<>();
+        aggregates  = new HashMap<>();
     }
 
     /**
      * Adds a household object to the storage.
+     * Adding an item that is already stored has no effect.
+     * If an index or the journal refuses the item, the storage is left unchanged.
      * @param item The household object to add.
+     * @return The ID of the stored item.
+     * @throws NullPointerException If the item is null.
+     */
+    public long addItem(final HouseholdObjects item)
+    {
+        final InventoryMetrics measured = metrics;
+
+        if(measured == null)
+        {
+            return insertItem(item);
+        }
+
+        final long start    = System.nanoTime();
+        final long itemId   = insertItem(item);
+        measured.recordAdd(System.nanoTime() - start);
+        return itemId;
+    }
+
+    /*
+     * Adds an item, returning the ID it is stored under.
+     */
+    private long insertItem(final HouseholdObjects item)
+    {
+        if(item == null)
+        {
+            throw new NullPointerException("Invalid item: null");
+        }
+
+        final Long existingId = idsByItem.get(item);
+
+        if(existingId != null)
+        {
+            return existingId;
+        }
+
+        final long itemId = nextItemId++;
+        appendSlot(itemId, item);
+        syncJournal();
+        return itemId;
+    }
+
+    /**
+     * Adds several household objects to the storage in one operation.
+     * The backing structures are grown once for the whole batch instead of item by item.
+     * Items that are already stored are skipped.
+     * If an index or the journal refuses an item, the items before it stay added and the rest are not added.
+     * @param newItems The household objects to add, in the order they should be stored.
+     * @throws NullPointerException If the collection or any of its items is null.
+     */
+    public void addAll(final Collection<? extends HouseholdObjects> newItems)
+    {
+        final InventoryMetrics measured = metrics;
+
+        if(measured == null)
+        {
+            insertAll(newItems);
+            return;
+        }
+
+        final long start    = System.nanoTime();
+        final int  before   = numberOfItems;
+        insertAll(newItems);
+        measured.recordBulkAdd(numberOfItems - before, System.nanoTime() - start);
+    }
+
+    /*
+     * Adds a collection of items with one pre-sizing step. If an item is refused, the items before it stay added.
+     */
+    private void insertAll(final Collection<? extends HouseholdObjects> newItems)
+    {
+        for(final HouseholdObjects item : newItems)
+        {
+            if(item == null)
+            {
+                throw new NullPointerException("Invalid item: null");
+            }
+        }
+
+        ensureCapacity(newItems.size());
+
+        try
+        {
+            for(final HouseholdObjects item : newItems)
+            {
+                if(!idsByItem.containsKey(item))
+                {
+                    appendSlot(nextItemId++, item);
+                }
+            }
+        }
+        finally
+        {
+            syncJournal();
+        }
+    }
+
+    /**
+     * Builds and validates a batch of item specs in parallel on the common fork-join pool,
+     * then adds the valid items to the storage in batch order.
+     * A record that fails is reported in the result and does not abort the batch.
+     * @param specs The specs of the items to add.
+     * @return The number of added items and the rejected records.
+     * @throws NullPointerException If the list of specs is null.
      */
-    public void addItem(final HouseholdObjects item)
+    public IngestResult ingest(final List<ItemSpec> specs)
     {
-        items.add(item);
+        return ingest(specs, ForkJoinPool.commonPool());
     }
 
+    /**
+     * Builds and validates a batch of item specs in parallel on the given fork-join pool,
+     * then adds the valid items to the storage in batch order.
+     * A record that fails is reported in the result and does not abort the batch.
+     * @param specs The specs of the items to add.
+     * @param pool  The pool to build the items on.
+     * @return The number of added items and the rejected records.
+     * @throws NullPointerException If the list of specs or the pool is null.
+     */
+    public IngestResult ingest(final List<ItemSpec> specs, final ForkJoinPool pool)
+    {
+        if(specs == null)
+        {
+            throw new NullPointerException("Invalid item specs: null");
+        }
+
+        if(pool == null)
+        {
+            throw new NullPointerException("Invalid pool: null");
+        }
+
+        return ItemIngestor.ingest(this, specs, pool);
+    }
 
     /**
      * Removes a household object from the storage.
      * @param item The household object to remove.
+     * @return True if the item was stored, false otherwise.
+     */
+    public boolean removeItem(final HouseholdObjects item)
+    {
+        final Long itemId = idsByItem.get(item);
+
+        if(itemId == null)
+        {
+            return false;
+        }
+
+        return removeItemById(itemId);
+    }
+
+    /**
+     * Removes the household object with the given ID from the storage.
+     * @param itemId The ID of the household object to remove.
+     * @return True if an item with that ID was stored, false otherwise.
+     */
+    public boolean removeItemById(final long itemId)
+    {
+        final InventoryMetrics measured = metrics;
+
+        if(measured == null)
+        {
+            return deleteItemById(itemId);
+        }
+
+        final long      start   = System.nanoTime();
+        final boolean   removed = deleteItemById(itemId);
+        measured.recordRemove(removed, System.nanoTime() - start);
+        return removed;
+    }
+
+    /*
+     * Removes the item with the given ID, returning true if it was stored.
+     */
+    private boolean deleteItemById(final long itemId)
+    {
+        final Integer slot = slotsById.remove(itemId);
+
+        if(slot == null)
+        {
+            return false;
+        }
+
+        final HouseholdObjects item = items[slot];
+        idsByItem.remove(item);
+        items[slot] = null;
+        numberOfItems--;
+
+        for(final StorageIndex index : indexes)
+        {
+            index.itemRemoved(itemId, item);
+        }
+
+        if(slotCount >= MIN_COMPACT_SLOTS && numberOfItems < slotCount / 2)
+        {
+            compact();
+        }
+
+        syncJournal();
+        return true;
+    }
+
+    /**
+     * Checks if a household object is stored in the storage.
+     * @param item The household object to look for.
+     * @return True if the item is stored, false otherwise.
+     */
+    public boolean containsItem(final HouseholdObjects item)
+    {
+        return idsByItem.containsKey(item);
+    }
+
+    /**
+     * Gets the household object with the given ID.
+     * @param itemId The ID of the household object.
+     * @return The household object, or null if no item with that ID is stored.
+     */
+    public HouseholdObjects getItemById(final long itemId)
+    {
+        final Integer slot = slotsById.get(itemId);
+
+        if(slot == null)
+        {
+            return null;
+        }
+
+        return items[slot];
+    }
+
+    /**
+     * Gets the ID of a stored household object.
+     * @param item The household object.
+     * @return The ID of the item, or NO_ITEM_ID if the item is not stored.
+     */
+    public long getItemId(final HouseholdObjects item)
+    {
+        final Long itemId = idsByItem.get(item);
+
+        if(itemId == null)
+        {
+            return NO_ITEM_ID;
+        }
+
+        return itemId;
+    }
+
+    /**
+     * Enables the secondary indexes on type, brand and color.
+     * The indexes are built from the current contents and maintained on every later change.
+     */
+    public void enableAttributeIndexes()
+    {
+        if(attributeIndex == null)
+        {
+            attributeIndex = new AttributeIndex();
+            registerIndex(attributeIndex);
+        }
+    }
+
+    /**
+     * Finds the household objects matching every given attribute.
+     * A null attribute matches any value. When the attribute indexes are enabled the cost
+     * follows the size of the result, otherwise every stored item is checked.
+     * @param type  The type to match, as returned by getType(), or null.
+     * @param brand The brand to match, or null.
+     * @param color The color to match, or null.
+     * @return The matching household objects in insertion order.
+     */
+    public List<HouseholdObjects> findItems(final String type,
+                                            final String brand,
+                                            final String color)
+    {
+        final List<Long> ids;
+
+        if(attributeIndex == null)
+        {
+            ids = null;
+        }
+        else
+        {
+            ids = attributeIndex.findIds(type, brand, color);
+        }
+
+        if(ids == null)
+        {
+            final List<HouseholdObjects> matches = new ArrayList<>();
+
+            for(int slot = 0; slot < slotCount; slot++)
+            {
+                final HouseholdObjects item = items[slot];
+
+                if(item != null &&
+                        (type == null || type.equals(item.getType())) &&
+                        (brand == null || brand.equals(item.getHomeObjectBrand())) &&
+                        (color == null || color.equals(item.getHouseholdObjectColor())))
+                {
+                    matches.add(item);
+                }
+            }
+
+            return matches;
+        }
+
+        final List<HouseholdObjects> matches = new ArrayList<>(ids.size());
+
+        for(final Long itemId : ids)
+        {
+            matches.add(items[slotsById.get(itemId)]);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Enables the price index.
+     * The index is built from the current contents and maintained on every later change.
+     */
+    public void enablePriceIndex()
+    {
+        if(priceIndex == null)
+        {
+            priceIndex = new PriceIndex();
+            registerIndex(priceIndex);
+        }
+    }
+
+    /**
+     * Finds the household objects priced within a range, cheapest first.
+     * Without the price index every stored item is checked and only the matches are sorted.
+     * @param type     The type to match, as returned by getType(), or null for every type.
+     * @param minPrice The lowest price in CAD, inclusive.
+     * @param maxPrice The highest price in CAD, inclusive.
+     * @return The matching household objects in ascending price order.
+     */
+    public List<HouseholdObjects> findItemsByPrice(final String type,
+                                                   final double minPrice,
+                                                   final double maxPrice)
+    {
+        if(priceIndex != null)
+        {
+            return priceIndex.findInRange(type, minPrice, maxPrice);
+        }
+
+        final List<HouseholdObjects> matches = new ArrayList<>();
+
+        if(minPrice > maxPrice)
+        {
+            return matches;
+        }
+
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            final HouseholdObjects item = items[slot];
+
+            if(item != null && hasType(item, type) &&
+                    Double.compare(item.getPriceCAD(), minPrice) >= 0 && Double.compare(item.getPriceCAD(), maxPrice) <= 0)
+            {
+                matches.add(item);
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(HouseholdObjects::getPriceCAD));
+        return matches;
+    }
+
+    /**
+     * Finds the most expensive household object priced at or below the given price.
+     * Without the price index this is one pass over the stored items.
+     * @param type     The type to match, as returned by getType(), or null for every type.
+     * @param priceCAD The price in CAD to look up.
+     * @return The matching household object, or null if there is none.
+     */
+    public HouseholdObjects findFloorItem(final String type, final double priceCAD)
+    {
+        if(priceIndex != null)
+        {
+            return priceIndex.findFloor(type, priceCAD);
+        }
+
+        HouseholdObjects floor = null;
+
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            final HouseholdObjects item = items[slot];
+
+            if(item != null && hasType(item, type) && Double.compare(item.getPriceCAD(), priceCAD) <= 0 &&
+                    (floor == null || Double.compare(item.getPriceCAD(), floor.getPriceCAD()) >= 0))
+            {
+                floor = item;
+            }
+        }
+
+        return floor;
+    }
+
+    /**
+     * Finds the cheapest household object priced at or above the given price.
+     * Without the price index this is one pass over the stored items.
+     * @param type     The type to match, as returned by getType(), or null for every type.
+     * @param priceCAD The price in CAD to look up.
+     * @return The matching household object, or null if there is none.
+     */
+    public HouseholdObjects findCeilingItem(final String type, final double priceCAD)
+    {
+        if(priceIndex != null)
+        {
+            return priceIndex.findCeiling(type, priceCAD);
+        }
+
+        HouseholdObjects ceiling = null;
+
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            final HouseholdObjects item = items[slot];
+
+            if(item != null && hasType(item, type) && Double.compare(item.getPriceCAD(), priceCAD) >= 0 &&
+                    (ceiling == null || Double.compare(item.getPriceCAD(), ceiling.getPriceCAD()) < 0))
+            {
+                ceiling = item;
+            }
+        }
+
+        return ceiling;
+    }
+
+    /**
+     * Finds the cheapest household objects.
+     * Without the price index every stored item is checked against a heap of at most count items.
+     * @param type  The type to match, as returned by getType(), or null for every type.
+     * @param count The maximum number of items to return.
+     * @return The matching household objects in ascending price order.
+     */
+    public List<HouseholdObjects> findCheapestItems(final String type, final int count)
+    {
+        if(priceIndex != null)
+        {
+            return priceIndex.findTop(type, count, false);
+        }
+
+        return scanTop(type, count, false);
+    }
+
+    /**
+     * Finds the most expensive household objects.
+     * Without the price index every stored item is checked against a heap of at most count items.
+     * @param type  The type to match, as returned by getType(), or null for every type.
+     * @param count The maximum number of items to return.
+     * @return The matching household objects in descending price order.
+     */
+    public List<HouseholdObjects> findMostExpensiveItems(final String type, final int count)
+    {
+        if(priceIndex != null)
+        {
+            return priceIndex.findTop(type, count, true);
+        }
+
+        return scanTop(type, count, true);
+    }
+
+    /**
+     * Enables the aggregates grouped by type, brand and electric power.
+     * Aggregates that are already registered are kept.
+     */
+    public void enableStandardAggregates()
+    {
+        if(!aggregates.containsKey(AGGREGATE_BY_TYPE))
+        {
+            registerAggregate(AGGREGATE_BY_TYPE, HouseholdObjects::getType);
+        }
+
+        if(!aggregates.containsKey(AGGREGATE_BY_BRAND))
+        {
+            registerAggregate(AGGREGATE_BY_BRAND, HouseholdObjects::getHomeObjectBrand);
+        }
+
+        if(!aggregates.containsKey(AGGREGATE_BY_ELECTRIC))
+        {
+            registerAggregate(AGGREGATE_BY_ELECTRIC, HouseholdObjects::isElectric);
+        }
+    }
+
+    /**
+     * Registers a price aggregate grouped by a key.
+     * The aggregate is built from the current contents and maintained on every later change.
+     * Items whose key is null are left out, so the key function may ignore the items it does not apply to,
+     * for example by grouping televisions by resolution and returning null for every other item.
+     * @param name        The name of the aggregate.
+     * @param keyFunction The function giving the group key of an item.
+     * @param <K>         The type of the group keys.
+     * @return The registered aggregate.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If an aggregate with the same name is already registered.
+     */
+    public <K> PriceAggregate<K> registerAggregate(final String                                         name,
+                                                   final Function<? super HouseholdObjects, ? extends K> keyFunction)
+    {
+        final PriceAggregate<K> aggregate = new PriceAggregate<>(name, keyFunction);
+
+        if(aggregates.containsKey(name))
+        {
+            throw new IllegalArgumentException("Aggregate already registered: " + name);
+        }
+
+        registerIndex(aggregate);
+        aggregates.put(name, aggregate);
+        return aggregate;
+    }
+
+    /**
+     * Gets a registered price aggregate.
+     * @param name The name of the aggregate.
+     * @return The aggregate, or null if no aggregate has that name.
+     */
+    public PriceAggregate<?> getAggregate(final String name)
+    {
+        return aggregates.get(name);
+    }
+
+    /**
+     * Starts a query over every stored household object.
+     * The query is evaluated when a terminal operation is called, in parallel for large storages.
+     * The storage must not be modified while a query is being evaluated.
+     * @return A query producing every stored household object, in insertion order.
+     */
+    public ItemQuery<HouseholdObjects> query()
+    {
+        return ItemQuery.over(this);
+    }
+
+    /**
+     * Gets the publisher of the changes made to the storage.
+     * Subscribers receive every add and remove made after they subscribe, in batches, on the common fork-join pool.
+     * Publishing never blocks the storage; a subscriber that falls too far behind is cancelled with onError.
+     * @return The change publisher.
+     */
+    public InventoryChangePublisher changes()
+    {
+        if(changePublisher == null)
+        {
+            changePublisher = new InventoryChangePublisher(ForkJoinPool.commonPool());
+            indexes.add(changePublisher);
+        }
+
+        return changePublisher;
+    }
+
+    /**
+     * Enables the name index.
+     * The index is built from the current contents and maintained on every later change.
+     */
+    public void enableNameIndex()
+    {
+        if(nameIndex == null)
+        {
+            nameIndex = new NameIndex();
+            registerIndex(nameIndex);
+        }
+    }
+
+    /**
+     * Enables prefix and substring search on item names, together with the name index it is built on.
+     * The search is built from the current contents and maintained on every later change.
+     */
+    public void enableNameSearch()
+    {
+        enableNameIndex();
+        nameIndex.enableSearch();
+    }
+
+    /**
+     * Finds the household objects whose name starts with a prefix, ignoring case.
+     * Candidate names are found through the trigrams of the prefix, so the cost follows the number of names
+     * sharing its rarest trigram, not the size of the storage.
+     * Name search must be enabled first; the search never changes the storage, so it is safe under a read lock.
+     * @param prefix The prefix to look for.
+     * @param limit  The largest number of items to return.
+     * @return The matching household objects, grouped by name.
+     * @throws NullPointerException     If the prefix is null.
+     * @throws IllegalArgumentException If the limit is not positive.
+     * @throws IllegalStateException    If name search is not enabled.
+     */
+    public List<HouseholdObjects> findItemsByNamePrefix(final String prefix, final int limit)
+    {
+        checkSearch(prefix, limit);
+        return nameIndex.findByPrefix(prefix, limit);
+    }
+
+    /**
+     * Finds the household objects whose name contains a text, ignoring case.
+     * Candidate names are found through the trigrams of the text, so the cost follows the number of names
+     * sharing its rarest trigram, not the size of the storage.
+     * Name search must be enabled first; the search never changes the storage, so it is safe under a read lock.
+     * @param text  The text to look for.
+     * @param limit The largest number of items to return.
+     * @return The matching household objects, grouped by name.
+     * @throws NullPointerException     If the text is null.
+     * @throws IllegalArgumentException If the limit is not positive.
+     * @throws IllegalStateException    If name search is not enabled.
+     */
+    public List<HouseholdObjects> findItemsByNameSubstring(final String text, final int limit)
+    {
+        checkSearch(text, limit);
+        return nameIndex.findBySubstring(text, limit);
+    }
+
+    /**
+     * Fetches a page of household objects.
+     * Each fetch costs a logarithmic seek plus the size of the page, and nothing but the page is copied.
+     * The token records the last item returned, so it stays valid when items are added or removed between fetches.
+     * Fetching in price or name order needs the price or name index to be enabled first; a fetch never changes
+     * the storage, so it is safe under a read lock.
+     * @param order    The order of the items.
+     * @param token    The token returned with the previous page, or null for the first page.
+     * @param pageSize The largest number of items to return.
+     * @return The page, with the token of the next page if more items follow.
+     * @throws NullPointerException     If the order is null.
+     * @throws IllegalArgumentException If the page size is not positive, or the token is malformed or was issued for another order.
+     * @throws IllegalStateException    If the index behind the order is not enabled.
+     */
+    public ItemPage fetchPage(final PageOrder order, final String token, final int pageSize)
+    {
+        checkOrder(order);
+
+        if(pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+        }
+
+        final PageCursor                    after       = token == null ? null : PageCursor.decode(token, order);
+        final Iterator<HouseholdObjects>    following   = itemsAfter(order, after);
+        final List<HouseholdObjects>        page        = new ArrayList<>(Math.min(pageSize, numberOfItems));
+
+        while(page.size() < pageSize && following.hasNext())
+        {
+            page.add(following.next());
+        }
+
+        String nextToken = null;
+
+        if(!page.isEmpty() && following.hasNext())
+        {
+            final HouseholdObjects last = page.get(page.size() - 1);
+            nextToken = new PageCursor(order, getItemId(last), last).encode();
+        }
+
+        return new ItemPage(page, nextToken);
+    }
+
+    /**
+     * Gets the stored household objects in a given order, for lazy iteration.
+     * The iterator fetches one page at a time, so it never copies the whole storage, and it tolerates items
+     * being added or removed while it is in use: it continues after the last item it returned.
+     * Iterating in price or name order needs the price or name index to be enabled first.
+     * @param order The order of the items.
+     * @return An iterable over the stored household objects.
+     * @throws NullPointerException  If the order is null.
+     * @throws IllegalStateException If the index behind the order is not enabled.
+     */
+    public Iterable<HouseholdObjects> items(final PageOrder order)
+    {
+        checkOrder(order);
+
+        return () -> new PagedIterator(order);
+    }
+
+    /**
+     * Enables a cache of query results bounded to a number of entries, evicting the least recently used.
+     * Cached results are invalidated only by the adds and removes that can change them.
+     * @param maxEntries The largest number of results to keep.
+     * @return The query cache.
+     * @throws IllegalArgumentException If the maximum number of entries is not positive.
+     * @throws IllegalStateException    If the query cache is already enabled.
      */
-    public void removeItem(final HouseholdObjects item)
+    public QueryCache enableQueryCache(final int maxEntries)
     {
-        items.remove(item);
+        if(queryCache != null)
+        {
+            throw new IllegalStateException("Query cache already enabled");
+        }
+
+        queryCache = new QueryCache(this, maxEntries);
+        indexes.add(queryCache);
+        return queryCache;
+    }
+
+    /**
+     * Gets the query cache.
+     * @return The query cache, or null if it is not enabled.
+     */
+    public QueryCache getQueryCache()
+    {
+        return queryCache;
+    }
+
+    /**
+     * Enables operation metrics and publishes them as an MXBean on the platform MBean server,
+     * under the object name householdobjects:type=InventoryMetrics,name="name".
+     * Enabling the metrics again returns the metrics already enabled.
+     * @param name The name to publish the metrics under.
+     * @return The metrics.
+     * @throws NullPointerException     If the name is null.
+     * @throws IllegalArgumentException If the name cannot be used in a JMX object name.
+     * @throws IllegalStateException    If other metrics are already published under the name.
+     */
+    public InventoryMetrics enableMetrics(final String name)
+    {
+        if(name == null)
+        {
+            throw new NullPointerException("Invalid metrics name: null");
+        }
+
+        if(metrics == null)
+        {
+            final InventoryMetrics created = new InventoryMetrics(this, name);
+            created.register();
+            metrics = created;
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Disables operation metrics and removes them from the platform MBean server.
+     */
+    public void disableMetrics()
+    {
+        if(metrics != null)
+        {
+            metrics.unregister();
+            metrics = null;
+        }
+    }
+
+    /*
+     * Gets the enabled metrics, or null if metrics are not enabled.
+     */
+    InventoryMetrics getMetrics()
+    {
+        return metrics;
     }
 
     /**
@@ -45,10 +831,52 @@ public class StorageHouseholdObjects {
      */
     public void displayItems()
     {
-        for(final HouseholdObjects item : items)
+        try
+        {
+            writeReport(new InventoryReportWriter(System.out));
+        }
+        catch(final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the report line of every stored household object, in insertion order, then flushes the writer.
+     * @param writer The report writer to write to.
+     * @throws IOException If the report cannot be written.
+     */
+    public void writeReport(final InventoryReportWriter writer) throws IOException
+    {
+        final InventoryMetrics measured = metrics;
+
+        if(measured == null)
+        {
+            writeAll(writer);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        writeAll(writer);
+        measured.recordReport(System.nanoTime() - start);
+    }
+
+    /*
+     * Writes the report line of every stored item, then flushes the writer.
+     */
+    private void writeAll(final InventoryReportWriter writer) throws IOException
+    {
+        for(int slot = 0; slot < slotCount; slot++)
         {
-            System.out.println("Household Object Name: " + item.getHouseholdObjectName() + ", Household Object Type: " + item.getType());
+            final HouseholdObjects item = items[slot];
+
+            if(item != null)
+            {
+                writer.writeItem(item);
+            }
         }
+
+        writer.flush();
     }
 
     /**
@@ -57,7 +885,425 @@ public class StorageHouseholdObjects {
      */
     public int getNumberOfItems()
     {
-        return items.size();
+        return numberOfItems;
+    }
+
+    /*
+     * Grows the slot arrays and hash indexes once so that the given number of items can be added
+     * without further resizing.
+     */
+    void ensureCapacity(final int additionalItems)
+    {
+        final int expectedSize = numberOfItems + additionalItems;
+
+        if(slotCount + additionalItems > items.length)
+        {
+            growSlots(slotCount + additionalItems);
+        }
+
+        if(expectedSize > slotsById.size() * 2)
+        {
+            final int                           hashCapacity    = (int) (expectedSize / HASH_LOAD_FACTOR) + 1;
+            final Map<Long, Integer>            presizedSlots   = new HashMap<>(hashCapacity);
+            final Map<HouseholdObjects, Long>   presizedIds     = new IdentityHashMap<>(expectedSize);
+            presizedSlots.putAll(slotsById);
+            presizedIds.putAll(idsByItem);
+            slotsById   = presizedSlots;
+            idsByItem   = presizedIds;
+        }
+    }
+
+    /*
+     * Stores an item under an ID it was given earlier, for example in a snapshot.
+     * IDs must be restored in increasing order so that slots stay in insertion order.
+     */
+    void restoreItem(final long itemId, final HouseholdObjects item)
+    {
+        if(itemId < nextItemId)
+        {
+            throw new IllegalArgumentException("Invalid item ID: " + itemId);
+        }
+
+        if(idsByItem.containsKey(item))
+        {
+            throw new IllegalArgumentException("Invalid item: already stored");
+        }
+
+        appendSlot(itemId, item);
+        nextItemId = itemId + 1;
+    }
+
+    /*
+     * Restores the ID that the next added item will get, so that IDs are never reused.
+     */
+    void restoreNextItemId(final long itemId)
+    {
+        nextItemId = Math.max(nextItemId, itemId);
+    }
+
+    long getNextItemId()
+    {
+        return nextItemId;
+    }
+
+    int getSlotCount()
+    {
+        return slotCount;
+    }
+
+    HouseholdObjects getItemAtSlot(final int slot)
+    {
+        return items[slot];
+    }
+
+    long getItemIdAtSlot(final int slot)
+    {
+        return itemIds[slot];
+    }
+
+    /*
+     * Finds the first items in ascending or descending price order with one pass over the slots,
+     * keeping the best items seen so far in a heap whose head is the first one to drop.
+     * Slots hold increasing IDs, so ties are broken by slot as the price index breaks them by ID.
+     */
+    private List<HouseholdObjects> scanTop(final String type, final int count, final boolean descending)
+    {
+        final List<HouseholdObjects> top = new ArrayList<>();
+
+        if(count <= 0)
+        {
+            return top;
+        }
+
+        final Comparator<Integer>   ascending   = Comparator.<Integer>comparingDouble(slot -> items[slot].getPriceCAD())
+                                                            .thenComparingInt(slot -> slot);
+        final Comparator<Integer>   order       = descending ? ascending.reversed() : ascending;
+        final PriorityQueue<Integer> best       = new PriorityQueue<>(order.reversed());
+
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            if(items[slot] != null && hasType(items[slot], type))
+            {
+                best.add(slot);
+
+                if(best.size() > count)
+                {
+                    best.poll();
+                }
+            }
+        }
+
+        final List<Integer> slots = new ArrayList<>(best);
+        slots.sort(order);
+
+        for(final int slot : slots)
+        {
+            top.add(items[slot]);
+        }
+
+        return top;
+    }
+
+    /*
+     * Checks if an item has the given type, or if no type is given.
+     */
+    private static boolean hasType(final HouseholdObjects item, final String type)
+    {
+        return type == null || type.equals(item.getType());
+    }
+
+    /*
+     * Gets an iterator over the items that follow a position in the given order.
+     */
+    private Iterator<HouseholdObjects> itemsAfter(final PageOrder order, final PageCursor after)
+    {
+        switch(order)
+        {
+            case PRICE:
+                return after == null ? priceIndex.itemsAfter(Double.NEGATIVE_INFINITY, Long.MIN_VALUE)
+                                     : priceIndex.itemsAfter(after.getPriceCAD(), after.getItemId());
+            case NAME:
+                return after == null ? nameIndex.itemsAfter(null, 0L)
+                                     : nameIndex.itemsAfter(after.getName(), after.getItemId());
+            default:
+                return new SlotIterator(after == null ? 0 : firstSlotAfter(after.getItemId()));
+        }
+    }
+
+    /*
+     * Checks that a page order is given and that the index it is read from is enabled.
+     */
+    private void checkOrder(final PageOrder order)
+    {
+        if(order == null)
+        {
+            throw new NullPointerException("Invalid page order: null");
+        }
+
+        if(order == PageOrder.PRICE && priceIndex == null)
+        {
+            throw new IllegalStateException("Price index not enabled");
+        }
+
+        if(order == PageOrder.NAME && nameIndex == null)
+        {
+            throw new IllegalStateException("Name index not enabled");
+        }
+    }
+
+    /*
+     * Finds the first slot holding an ID greater than the given one. Slots hold increasing IDs, including
+     * the slots of removed items, so this is a binary search.
+     */
+    private int firstSlotAfter(final long itemId)
+    {
+        final int found = Arrays.binarySearch(itemIds, 0, slotCount, itemId);
+        return found >= 0 ? found + 1 : -(found + 1);
+    }
+
+    /*
+     * Attaches the journal that every later change is appended to. The journal is not filled with the items already stored.
+     */
+    void attachJournal(final InventoryJournal newJournal)
+    {
+        if(journal != null)
+        {
+            throw new IllegalStateException("Journal already attached");
+        }
+
+        journal = newJournal;
+        indexes.add(newJournal);
+    }
+
+    /*
+     * Waits until every journaled change is durable.
+     */
+    private void syncJournal()
+    {
+        if(journal != null)
+        {
+            try
+            {
+                journal.sync();
+            }
+            catch(final IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /*
+     * Checks the arguments of a name search and that name search is enabled.
+     */
+    private void checkSearch(final String text, final int limit)
+    {
+        if(text == null)
+        {
+            throw new NullPointerException("Invalid search text: null");
+        }
+
+        if(limit <= 0)
+        {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+
+        if(nameIndex == null || !nameIndex.isSearchEnabled())
+        {
+            throw new IllegalStateException("Name search not enabled");
+        }
+    }
+
+    /*
+     * Registers an index and fills it with the items already stored.
+     */
+    void registerIndex(final StorageIndex index)
+    {
+        fillIndex(index);
+        indexes.add(index);
+    }
+
+    /*
+     * Adds every stored item to an index.
+     */
+    private void fillIndex(final StorageIndex index)
+    {
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            if(items[slot] != null)
+            {
+                index.itemAdded(itemIds[slot], items[slot]);
+            }
+        }
+    }
+
+    /*
+     * Stores an item in the next free slot and indexes it under the given ID.
+     * If an index refuses the item, the indexes that accepted it are told it was removed and the slot is
+     * freed again before the failure is rethrown, so a failed add leaves the storage and its indexes unchanged.
+     */
+    private void appendSlot(final long itemId, final HouseholdObjects item)
+    {
+        if(slotCount == items.length)
+        {
+            growSlots(slotCount + 1);
+        }
+
+        items[slotCount]    = item;
+        itemIds[slotCount]  = itemId;
+        slotsById.put(itemId, slotCount);
+        idsByItem.put(item, itemId);
+        slotCount++;
+        numberOfItems++;
+
+        int notified = 0;
+
+        try
+        {
+            while(notified < indexes.size())
+            {
+                indexes.get(notified).itemAdded(itemId, item);
+                notified++;
+            }
+        }
+        catch(final RuntimeException e)
+        {
+            while(notified > 0)
+            {
+                notified--;
+                indexes.get(notified).itemRemoved(itemId, item);
+            }
+
+            slotCount--;
+            numberOfItems--;
+            items[slotCount] = null;
+            slotsById.remove(itemId);
+            idsByItem.remove(item);
+            throw e;
+        }
+    }
+
+    /*
+     * Grows the slot arrays to hold at least the given number of slots.
+     */
+    private void growSlots(final int minCapacity)
+    {
+        final int newCapacity = Math.max(minCapacity, items.length * 2);
+        items   = Arrays.copyOf(items, newCapacity);
+        itemIds = Arrays.copyOf(itemIds, newCapacity);
+    }
+
+    /*
+     * Closes the gaps left by removed items, keeping the remaining items in insertion order.
+     */
+    private void compact()
+    {
+        int target = 0;
+
+        for(int slot = 0; slot < slotCount; slot++)
+        {
+            final HouseholdObjects item = items[slot];
+
+            if(item != null)
+            {
+                if(target != slot)
+                {
+                    items[target]   = item;
+                    itemIds[target] = itemIds[slot];
+                    slotsById.put(itemIds[target], target);
+                }
+                target++;
+            }
+        }
+
+        Arrays.fill(items, target, slotCount, null);
+        slotCount = target;
+    }
+
+    /*
+     * Iterates over the stored items in slot order, starting at a given slot and skipping removed items.
+     */
+    private final class SlotIterator implements Iterator<HouseholdObjects>
+    {
+        private int slot;
+
+        private SlotIterator(final int firstSlot)
+        {
+            slot = firstSlot;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while(slot < slotCount && items[slot] == null)
+            {
+                slot++;
+            }
+
+            return slot < slotCount;
+        }
+
+        @Override
+        public HouseholdObjects next()
+        {
+            if(!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            return items[slot++];
+        }
+    }
+
+    /*
+     * Iterates over the stored items in a given order, fetching one page at a time.
+     */
+    private final class PagedIterator implements Iterator<HouseholdObjects>
+    {
+        private final PageOrder             order;
+        private Iterator<HouseholdObjects>  page;
+        private String                      nextToken;
+
+        private PagedIterator(final PageOrder order)
+        {
+            this.order = order;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(page == null)
+            {
+                fetch(null);
+            }
+
+            while(!page.hasNext() && nextToken != null)
+            {
+                fetch(nextToken);
+            }
+
+            return page.hasNext();
+        }
+
+        @Override
+        public HouseholdObjects next()
+        {
+            if(!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            return page.next();
+        }
+
+        /*
+         * Fetches the page that starts at a token.
+         */
+        private void fetch(final String token)
+        {
+            final ItemPage fetched = fetchPage(order, token, ITERATOR_PAGE_SIZE);
+            page        = fetched.getItems().iterator();
+            nextToken   = fetched.getNextToken();
+        }
     }
 }
-     
\ No newline at end of file
@@ -0,0 +1,24 @@
+/**
+ * Represents an index that is kept up to date by a StorageHouseholdObjects instance.
+ * The storage notifies every registered index whenever an item is added or removed.
+ * An index may refuse an added item by throwing; the indexes that already accepted it are then told it was removed.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+interface StorageIndex
+{
+    /**
+     * Called after an item has been added to the storage.
+     * @param itemId The ID of the added item.
+     * @param item   The added household object.
+     */
+    void itemAdded(long itemId, HouseholdObjects item);
+
+    /**
+     * Called after an item has been removed from the storage.
+     * @param itemId The ID of the removed item.
+     * @param item   The removed household object.
+     */
+    void itemRemoved(long itemId, HouseholdObjects item);
+}
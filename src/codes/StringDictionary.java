@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a dictionary that encodes repeated strings as small integer codes.
+ * Codes are handed out in the order strings are first seen, starting at zero.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+class StringDictionary
+{
+    /** The code used for a null string. */
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer>  codesByValue;
+    private final List<String>          values;
+
+    /**
+     * Constructs a new, empty StringDictionary instance.
+     */
+    StringDictionary()
+    {
+        codesByValue    = new HashMap<>();
+        values          = new ArrayList<>();
+    }
+
+    /**
+     * Gets the code of a string, adding the string to the dictionary if it is new.
+     * @param value The string to encode, or null.
+     * @return The code of the string, or NULL_CODE for null.
+     */
+    int encode(final String value)
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+
+        final Integer code = codesByValue.get(value);
+
+        if(code != null)
+        {
+            return code;
+        }
+
+        final int newCode = values.size();
+        codesByValue.put(value, newCode);
+        values.add(value);
+        return newCode;
+    }
+
+    /**
+     * Gets the code of a string without adding it to the dictionary.
+     * @param value The string to look up.
+     * @return The code of the string, or NULL_CODE if the string is null or not in the dictionary.
+     */
+    int find(final String value)
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+
+        return codesByValue.getOrDefault(value, NULL_CODE);
+    }
+
+    /**
+     * Gets the string with the given code.
+     * @param code The code of the string.
+     * @return The string, or null for NULL_CODE.
+     */
+    String decode(final int code)
+    {
+        if(code == NULL_CODE)
+        {
+            return null;
+        }
+
+        return values.get(code);
+    }
+
+    /**
+     * Gets the number of strings in the dictionary.
+     * @return The number of distinct strings.
+     */
+    int size()
+    {
+        return values.size();
+    }
+}
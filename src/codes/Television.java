@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Represents a television, an electronic household item, with specific attributes in addition to common household attributes.
  * This class extends Electronics class.
@@ -8,17 +10,15 @@
 
 public class Television extends Electronics
 {
-    private final double  screenSizeInches;
-    private final String  resolution;
-    private final int     refreshRateHz;
-    private final boolean isSmartTv;
+    private final double     screenSizeInches;
+    private final Resolution resolution;
+    private final int        refreshRateHz;
+    private final boolean    isSmartTv;
 
     private static final int MIN_SCREEN_SIZE_INCHES = 19;
     private static final int MAX_SCREEN_SIZE_INCHES = 300;
     private static final int MIN_REFRESH_RATE_HZ = 30;
     private static final int MAX_REFRESH_RATE_HZ = 600;
-    private static final String FULL_HD = "1080p";
-    private static final String ULTRA_HD = "4k";
 
     /**
      * Constructs a new Television instance.
@@ -52,26 +52,87 @@ public class Television extends Electronics
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric, voltageV, itemConnectivity, powerSource);
 
+        final ValidationResult result = checkAttributes(screenSizeInches, resolution, refreshRateHz);
+
+        if(!result.isValid())
+        {
+            result.enforce(screenSizeInches, resolution, refreshRateHz);
+        }
+
+        this.screenSizeInches   = screenSizeInches;
+        this.resolution         = Resolution.fromLabel(resolution);
+        this.refreshRateHz      = refreshRateHz;
+        this.isSmartTv          = isSmartTv;
+    }
+
+    /**
+     * Validates the attributes of a television without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param voltageV             The voltage requirement of the electronics.
+     * @param itemConnectivity     The type of connectivity of the electronics.
+     * @param powerSource          The type of power source for the electronics.
+     * @param screenSizeInches     The size of the television screen in inches.
+     * @param resolution           The resolution of the television screen.
+     * @param refreshRateHz        The refresh rate of the television screen.
+     * @param isSmartTv            True if the television is a smart TV.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String  householdObjectName,
+                                            final String  householdObjectBrand,
+                                            final double  priceCAD,
+                                            final String  householdObjectColor,
+                                            final boolean isElectric,
+                                            final int     voltageV,
+                                            final String  itemConnectivity,
+                                            final String  powerSource,
+                                            final double  screenSizeInches,
+                                            final String  resolution,
+                                            final int     refreshRateHz,
+                                            final boolean isSmartTv)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric,
+                                                 voltageV, itemConnectivity, powerSource);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(screenSizeInches, resolution, refreshRateHz);
+    }
+
+    /*
+     * Checks the attributes specific to televisions.
+     */
+    private static ValidationResult checkAttributes(final double screenSizeInches,
+                                                    final String resolution,
+                                                    final int    refreshRateHz)
+    {
         if(screenSizeInches < MIN_SCREEN_SIZE_INCHES || screenSizeInches > MAX_SCREEN_SIZE_INCHES)
         {
-            throw new IllegalArgumentException("Invalid screen size: " + screenSizeInches);
+            return ValidationResult.SCREEN_SIZE;
+        }
+
+        if(resolution == null)
+        {
+            return ValidationResult.RESOLUTION_NULL;
         }
 
-        if(!resolution.equalsIgnoreCase(FULL_HD) &&
-                !resolution.equalsIgnoreCase(ULTRA_HD))
+        if(Resolution.fromLabel(resolution) == null)
         {
-            throw new IllegalArgumentException("Invalid resolution: " + resolution);
+            return ValidationResult.RESOLUTION;
         }
 
         if(refreshRateHz < MIN_REFRESH_RATE_HZ || refreshRateHz > MAX_REFRESH_RATE_HZ)
         {
-            throw new IllegalArgumentException("Invalid refresh rate: " + refreshRateHz);
+            return ValidationResult.REFRESH_RATE;
         }
 
-        this.screenSizeInches   = screenSizeInches;
-        this.resolution         = resolution;
-        this.refreshRateHz      = refreshRateHz;
-        this.isSmartTv          = isSmartTv;
+        return ValidationResult.VALID;
     }
 
     /**
@@ -88,6 +149,15 @@ public class Television extends Electronics
      * @return The resolution of the television screen.
      */
     public String getResolution()
+    {
+        return resolution.getLabel();
+    }
+
+    /**
+     * Gets the canonical code of the resolution of the television screen.
+     * @return The resolution of the television screen.
+     */
+    public Resolution getResolutionCode()
     {
         return resolution;
     }
@@ -119,4 +189,41 @@ public class Television extends Electronics
     {
         return "Television";
     }
+
+    /**
+     * Checks if another object is a Television, and not a subclass of it, that matches this one on every
+     * electronics attribute as well as screen size, resolution, refresh rate and the smart TV flag.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Television that = (Television) other;
+
+        return Double.compare(screenSizeInches, that.screenSizeInches) == 0 &&
+               resolution == that.resolution &&
+               refreshRateHz == that.refreshRateHz &&
+               isSmartTv == that.isSmartTv;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + Double.hashCode(screenSizeInches);
+        result = 31 * result + Objects.hashCode(resolution);
+        result = 31 * result + refreshRateHz;
+        result = 31 * result + Boolean.hashCode(isSmartTv);
+        return result;
+    }
 }
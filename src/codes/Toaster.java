@@ -42,15 +42,66 @@ public class Toaster extends Electronics
     {
         super(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric, voltageV, itemConnectivity, powerSource);
 
-        if(toastBagelMinutes < MIN_TOASTING_MINUTES || toastBagelMinutes > MAX_TOASTING_MINUTES)
+        final ValidationResult result = checkAttributes(toastBagelMinutes);
+
+        if(!result.isValid())
         {
-            throw new IllegalArgumentException("Invalid minutes for toasting bagels: " + toastBagelMinutes);
+            result.enforce(toastBagelMinutes);
         }
 
         this.toastBagelMinutes      = toastBagelMinutes;
         this.hasDefrostFunction     = hasDefrostFunction;
     }
 
+    /**
+     * Validates the attributes of a toaster without throwing.
+     * @param householdObjectName  The name of the household object.
+     * @param householdObjectBrand The brand of the household object.
+     * @param priceCAD             The price of the household object in CAD.
+     * @param householdObjectColor The color of the household object.
+     * @param isElectric           Indicates if the household object is electrically powered.
+     * @param voltageV             The voltage requirement of the electronics.
+     * @param itemConnectivity     The type of connectivity of the electronics.
+     * @param powerSource          The type of power source for the electronics.
+     * @param toastBagelMinutes    The minutes required for toasting bagels.
+     * @param hasDefrostFunction   True if the toaster has a defrost function.
+     * @return VALID if the constructor would accept the attributes, otherwise the first rule they break.
+     */
+    public static ValidationResult validate(final String   householdObjectName,
+                                            final String   householdObjectBrand,
+                                            final double   priceCAD,
+                                            final String   householdObjectColor,
+                                            final boolean  isElectric,
+                                            final int      voltageV,
+                                            final String   itemConnectivity,
+                                            final String   powerSource,
+                                            final int      toastBagelMinutes,
+                                            final boolean  hasDefrostFunction)
+    {
+        final ValidationResult result = validate(householdObjectName, householdObjectBrand, priceCAD, householdObjectColor, isElectric,
+                                                 voltageV, itemConnectivity, powerSource);
+
+        if(!result.isValid())
+        {
+            return result;
+        }
+
+        return checkAttributes(toastBagelMinutes);
+    }
+
+    /*
+     * Checks the attributes specific to toasters.
+     */
+    private static ValidationResult checkAttributes(final int toastBagelMinutes)
+    {
+        if(toastBagelMinutes < MIN_TOASTING_MINUTES || toastBagelMinutes > MAX_TOASTING_MINUTES)
+        {
+            return ValidationResult.TOASTING_MINUTES;
+        }
+
+        return ValidationResult.VALID;
+    }
+
 
     /**
      * Gets the minutes required for toasting bagels.
@@ -79,4 +130,37 @@ public class Toaster extends Electronics
     {
         return "Toaster";
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if another object is exactly a Toaster (getClass() must match) with the same electronics attributes,
+     * toasting time for bagels and defrost function.
+     * @param other The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(final Object other)
+    {
+        if(!super.equals(other))
+        {
+            return false;
+        }
+
+        final Toaster that = (Toaster) other;
+
+        return toastBagelMinutes == that.toastBagelMinutes &&
+               hasDefrostFunction == that.hasDefrostFunction;
+    }
+
+    /**
+     * Gets a hash code consistent with equals.
+     * @return The hash code of the attributes.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = super.hashCode();
+        result = 31 * result + toastBagelMinutes;
+        result = 31 * result + Boolean.hashCode(hasDefrostFunction);
+        return result;
+    }
+}
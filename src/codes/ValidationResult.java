@@ -0,0 +1,129 @@
+/**
+ * Represents the outcome of validating the attributes of a household object.
+ * Every rule that an attribute can break has its own value, which names the attribute and carries
+ * the message used when the rule is enforced by a constructor. Validating returns one of these values
+ * without building a message or an exception, so rejecting a record costs no more than accepting it.
+ * The argument index of a value is the position of the attribute among the attributes checked by its class.
+ * Records that cannot be read as an item spec at all are reported with an IngestError.Reason instead.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public enum ValidationResult
+{
+    VALID(null, -1, false, null, "", ""),
+
+    ITEM_TYPE("type", -1, false, "Invalid item type", ": ", ""),
+
+    NAME_NULL("householdObjectName", 0, true, "Invalid item name", ": ", ""),
+    NAME_LENGTH("householdObjectName", 0, false, "Invalid item name", ": ", ""),
+    BRAND_NULL("householdObjectBrand", 1, true, "Invalid item brand", ": ", ""),
+    BRAND_LENGTH("householdObjectBrand", 1, false, "Invalid item brand", ": ", ""),
+    PRICE("priceCAD", 2, false, "Invalid price", ": ", ""),
+    COLOR_NULL("householdObjectColor", 3, true, "Invalid item color", ": ", ""),
+    COLOR_LENGTH("householdObjectColor", 3, false, "Invalid item color", ": ", ""),
+
+    VOLTAGE("voltageV", 0, false, "Invalid voltage", ": ", ""),
+    CONNECTIVITY("itemConnectivity", 1, false, "Invalid electronic connectivity", ": ", ""),
+    POWER_SOURCE("powerSource", 2, false, "Invalid power source", "", ""),
+
+    FRAME_MATERIAL("frameMaterial", 0, false, "Invalid frame material", ": ", ""),
+
+    SCREEN_SIZE("screenSizeInches", 0, false, "Invalid screen size", ": ", ""),
+    RESOLUTION_NULL("resolution", 1, true, "Invalid resolution", ": ", ""),
+    RESOLUTION("resolution", 1, false, "Invalid resolution", ": ", ""),
+    REFRESH_RATE("refreshRateHz", 2, false, "Invalid refresh rate", ": ", ""),
+
+    DISHWASHER_WIDTH("dishwasherWidthInches", 0, false, "Invalid dishwasher width", ": ", " inches"),
+    RACK_COUNT("numberOfRacks", 1, false, "Invalid number of racks", ": ", ""),
+    DISHWASHER_TYPE_NULL("dishwasherType", 2, true, "Invalid dishwasher type", ": ", ""),
+    DISHWASHER_TYPE("dishwasherType", 2, false, "Invalid dishwasher type", ": ", ""),
+
+    TOASTING_MINUTES("toastBagelMinutes", 0, false, "Invalid minutes for toasting bagels", ": ", ""),
+
+    SHELF_COUNT("shelfCount", 0, false, "Invalid shelf count", ": ", ""),
+    SHELF_MATERIAL("shelfMaterial", 1, false, "Invalid shelf material", ": ", ""),
+
+    TABLE_SHAPE("tableShape", 0, false, "Invalid coffee table shape", ": ", ""),
+    LEG_COUNT("legCount", 1, false, "Invalid coffee table leg count", ": ", "");
+
+    private final String    field;
+    private final int       argumentIndex;
+    private final boolean   missingValue;
+    private final String    description;
+    private final String    separator;
+    private final String    suffix;
+
+    ValidationResult(final String  field,
+                     final int     argumentIndex,
+                     final boolean missingValue,
+                     final String  description,
+                     final String  separator,
+                     final String  suffix)
+    {
+        this.field          = field;
+        this.argumentIndex  = argumentIndex;
+        this.missingValue   = missingValue;
+        this.description    = description;
+        this.separator      = separator;
+        this.suffix         = suffix;
+    }
+
+    /**
+     * Checks if the validated attributes are all valid.
+     * @return True if no rule was broken, false otherwise.
+     */
+    public boolean isValid()
+    {
+        return this == VALID;
+    }
+
+    /**
+     * Gets the name of the attribute that broke a rule, as named in the constructor.
+     * @return The attribute name, or null if the attributes are valid.
+     */
+    public String getField()
+    {
+        return field;
+    }
+
+    /**
+     * Checks if the rule broken is a missing required attribute.
+     * @return True if a required attribute is null, false otherwise.
+     */
+    public boolean isMissingValue()
+    {
+        return missingValue;
+    }
+
+    /**
+     * Gets a short description of the broken rule, without the offending value.
+     * @return The description, or null if the attributes are valid.
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+    /*
+     * Throws the exception a constructor reports for this result, taking the offending value from
+     * the attributes checked by the constructor's class, in the order the class checks them.
+     * Does nothing if the result is VALID.
+     */
+    void enforce(final Object... attributes)
+    {
+        if(this == VALID)
+        {
+            return;
+        }
+
+        final String message = description + separator + attributes[argumentIndex] + suffix;
+
+        if(missingValue)
+        {
+            throw new NullPointerException(message);
+        }
+
+        throw new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests the bulk adds of StorageHouseholdObjects: addAll, and ingest of raw item specs built in parallel.
+ * This covers a batch large enough to be split across the pool, which must still be stored in batch order,
+ * and rejected records of every kind, which must be reported at their position without aborting the batch.
+ *
+ * Usage: java BulkIngestTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class BulkIngestTest
+{
+    private static final String RECORD_FORMAT = "Toaster|%s|Brand|%s|Silver|true|120|Bluetooth|AC|3|true";
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        checkAddAll();
+        checkIngest();
+        System.out.println("BulkIngestTest passed");
+    }
+
+    /*
+     * Checks that addAll stores every item in the order of the batch, after the items already stored.
+     */
+    private static void checkAddAll()
+    {
+        final StorageHouseholdObjects   storage = new StorageHouseholdObjects();
+        final List<HouseholdObjects>    batch   = new ArrayList<>();
+
+        storage.addItem(createItem(0));
+
+        for(int i = 1; i <= 3000; i++)
+        {
+            batch.add(createItem(i));
+        }
+
+        storage.addAll(batch);
+        check(storage.getNumberOfItems() == 3001, "stored " + storage.getNumberOfItems() + " of 3001 items");
+
+        for(int i = 0; i < batch.size(); i++)
+        {
+            check(storage.getItemById(i + 1) == batch.get(i), "item " + i + " of the batch not stored in order");
+        }
+    }
+
+    /*
+     * Checks that ingest stores the valid records in batch order and reports every other record at its position.
+     */
+    private static void checkIngest()
+    {
+        final StorageHouseholdObjects   storage         = new StorageHouseholdObjects();
+        final List<ItemSpec>            specs           = new ArrayList<>();
+        final List<IngestError.Reason>  expectedReasons = new ArrayList<>();
+        final List<Integer>             expectedIndexes = new ArrayList<>();
+        final List<String>              expectedNames   = new ArrayList<>();
+
+        for(int i = 0; i < 5000; i++)
+        {
+            final IngestError.Reason reason = i % 997 == 0 ? IngestError.Reason.SPEC_NULL
+                                              : i % 401 == 0 ? IngestError.Reason.NUMBER
+                                              : i % 503 == 0 ? IngestError.Reason.FIELD_COUNT
+                                              : i % 211 == 0 ? IngestError.Reason.INVALID_ITEM
+                                              : null;
+            specs.add(createSpec(i, reason));
+
+            if(reason == null)
+            {
+                expectedNames.add("Toaster" + i);
+            }
+            else
+            {
+                expectedReasons.add(reason);
+                expectedIndexes.add(i);
+            }
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try
+        {
+            final IngestResult result = storage.ingest(specs, pool);
+            check(result.getAddedCount() == expectedNames.size(), "added " + result.getAddedCount() + " of " + expectedNames.size());
+            check(result.getErrors().size() == expectedReasons.size(), "rejected " + result.getErrors().size()
+                                                                       + " of " + expectedReasons.size());
+
+            for(int i = 0; i < expectedReasons.size(); i++)
+            {
+                final IngestError error = result.getErrors().get(i);
+                check(error.getRecordIndex() == expectedIndexes.get(i), "error " + i + " at record " + error.getRecordIndex());
+                check(error.getReason() == expectedReasons.get(i), "record " + error.getRecordIndex() + " rejected as " + error.getReason());
+                check((error.getResult() == ValidationResult.PRICE) == (error.getReason() == IngestError.Reason.INVALID_ITEM),
+                      "record " + error.getRecordIndex() + " broke " + error.getResult());
+                check(error.getMessage() != null, "record " + error.getRecordIndex() + " without a message");
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        for(int i = 0; i < expectedNames.size(); i++)
+        {
+            check(storage.getItemById(i).getHouseholdObjectName().equals(expectedNames.get(i)), "item " + i + " not stored in batch order");
+        }
+
+        final List<ItemSpec> unknown = new ArrayList<>();
+        unknown.add(ItemSpec.parse("Lamp|Lamp1|Brand|20"));
+        check(storage.ingest(unknown).getErrors().get(0).getResult() == ValidationResult.ITEM_TYPE, "unknown type not rejected");
+    }
+
+    /*
+     * Creates the spec of a toaster, broken for the given reason, or valid if no reason is given.
+     */
+    private static ItemSpec createSpec(final int i, final IngestError.Reason reason)
+    {
+        if(reason == null)
+        {
+            return ItemSpec.parse(String.format(RECORD_FORMAT, "Toaster" + i, "20"));
+        }
+
+        switch(reason)
+        {
+            case SPEC_NULL:
+                return null;
+            case NUMBER:
+                return ItemSpec.parse(String.format(RECORD_FORMAT, "Toaster" + i, "cheap"));
+            case FIELD_COUNT:
+                return ItemSpec.parse("Toaster|Toaster" + i + "|Brand|20");
+            default:
+                return ItemSpec.parse(String.format(RECORD_FORMAT, "Toaster" + i, "-20"));
+        }
+    }
+
+    /*
+     * Creates a toaster with the given number.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        return new Toaster("Toaster" + i, "Brand", 10.0 + i % 50, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tests that ColumnarStorageHouseholdObjects reads back every stored item unchanged.
+ * This covers items of every class, removes that leave gaps in the columns, the compaction that closes them,
+ * and adds made after a compaction, which must keep insertion order and new item IDs.
+ *
+ * Usage: java ColumnarStorageTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ColumnarStorageTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        final ColumnarStorageHouseholdObjects   storage     = new ColumnarStorageHouseholdObjects();
+        final Map<Long, HouseholdObjects>       expected    = new TreeMap<>();
+
+        for(int i = 0; i < 200; i++)
+        {
+            add(storage, expected, i);
+        }
+
+        checkSameContents(storage, expected, "after adds");
+
+        for(long itemId = 0; itemId < 200; itemId++)
+        {
+            if(itemId % 3 != 0)
+            {
+                check(storage.removeItemById(itemId), "item " + itemId + " not removed");
+                expected.remove(itemId);
+            }
+        }
+
+        check(!storage.removeItemById(1), "removed item removed again");
+        checkSameContents(storage, expected, "after compaction");
+
+        for(int i = 200; i < 260; i++)
+        {
+            check(add(storage, expected, i) == i, "item ID reused after compaction");
+        }
+
+        for(long itemId = 0; itemId < 260; itemId += 6)
+        {
+            storage.removeItemById(itemId);
+            expected.remove(itemId);
+        }
+
+        checkSameContents(storage, expected, "after adds and removes following compaction");
+        System.out.println("ColumnarStorageTest passed");
+    }
+
+    /*
+     * Adds an item to the storage and records it under its item ID.
+     */
+    private static long add(final ColumnarStorageHouseholdObjects storage, final Map<Long, HouseholdObjects> expected, final int i)
+    {
+        final HouseholdObjects  item    = createItem(i);
+        final long              itemId  = storage.addItem(item);
+        expected.put(itemId, item);
+        return itemId;
+    }
+
+    /*
+     * Checks that the storage holds the expected items, read by ID and in insertion order,
+     * and that the column totals agree with them.
+     */
+    private static void checkSameContents(final ColumnarStorageHouseholdObjects storage,
+                                          final Map<Long, HouseholdObjects> expected,
+                                          final String stage)
+    {
+        check(storage.getNumberOfItems() == expected.size(), stage + ": " + storage.getNumberOfItems()
+                                                             + " items but expected " + expected.size());
+
+        double  total       = 0.0;
+        int     electrics   = 0;
+
+        for(final Map.Entry<Long, HouseholdObjects> entry : expected.entrySet())
+        {
+            final ColumnarItemView view = storage.findItem(entry.getKey());
+            check(view != null && entry.getValue().equals(view.toHouseholdObject()), stage + ": item " + entry.getKey() + " differs");
+            total += entry.getValue().getPriceCAD();
+            electrics += entry.getValue().isElectric() ? 1 : 0;
+        }
+
+        final List<Long> order = new ArrayList<>();
+        storage.forEachItem(view -> order.add(view.getItemId()));
+        check(order.equals(new ArrayList<>(expected.keySet())), stage + ": items not in insertion order");
+        check(Math.abs(storage.getTotalPriceCAD() - total) < 1e-6, stage + ": total price " + storage.getTotalPriceCAD());
+        check(storage.countElectricItems() == electrics, stage + ": " + storage.countElectricItems() + " electric items");
+
+        for(long itemId = 0; itemId < 300; itemId++)
+        {
+            check(expected.containsKey(itemId) == (storage.findItem(itemId) != null), stage + ": removed item " + itemId + " found");
+        }
+    }
+
+    /*
+     * Creates an item of one of the seven known classes.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        final double price = 10.0 + i;
+
+        switch(i % 7)
+        {
+            case 0:
+                return new Television("Television" + i, "Brand" + i % 3, price, "Black", true, 240, "WiFi", "AC", 50.0, "4k", 120, true);
+            case 1:
+                return new Dishwasher("Dishwasher" + i, "Brand" + i % 3, price, "White", true, 120, "WiFi", "AC", 30, 3, "builtin");
+            case 2:
+                return new Toaster("Toaster" + i, "Brand" + i % 3, price, "Silver", true, 120, "Bluetooth", "AC", 3, i % 2 == 0);
+            case 3:
+                return new Bookshelf("Bookshelf" + i, "Brand" + i % 3, price, "Brown", false, true, "Wood", 5, "Oak");
+            case 4:
+                return new CoffeeTable("CoffeeTable" + i, "Brand" + i % 3, price, "Black", false, true, "Metal", true, "Rectangle", 4, false);
+            case 5:
+                return new Electronics("Electronics" + i, "Brand" + i % 3, price, "Grey", true, 120, "WiFi", "AC");
+            default:
+                return new Furniture("Furniture" + i, "Brand" + i % 3, price, "Brown", false, false, "Wood");
+        }
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
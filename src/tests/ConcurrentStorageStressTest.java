@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress tests ConcurrentStorageHouseholdObjects with many threads adding and removing the same few items at once.
+ * While the threads run, every ID returned by addItem must belong to the item that was added and must never be
+ * seen holding another item, and since IDs are never reused, an add must not return an ID already seen removed.
+ * Once they stop, the item and ID maps must agree, every ID ever handed out must have been removed exactly once
+ * or still be stored, and a storage recovered from the journal must hold the same items under the same IDs.
+ *
+ * Usage: java ConcurrentStorageStressTest [operations per thread]
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ConcurrentStorageStressTest
+{
+    private static final int THREADS                = 8;
+    private static final int ITEMS                  = 4;
+    private static final int DEFAULT_OPERATIONS     = 200_000;
+
+    /**
+     * Runs the stress test without and then with a journal.
+     * @param args The number of operations per thread.
+     * @throws Exception If the test fails or the journal cannot be used.
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        final int operations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OPERATIONS;
+
+        stress(new ConcurrentStorageHouseholdObjects(), operations);
+
+        final Path directory = Files.createTempDirectory("concurrent-storage-stress");
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final ConcurrentStorageHouseholdObjects storage = journal.recoverConcurrent();
+            stress(storage, operations / 10);
+
+            try(InventoryJournal reopened = InventoryJournal.open(directory))
+            {
+                checkSameContents(storage, reopened.recoverConcurrent());
+            }
+        }
+
+        System.out.println("ConcurrentStorageStressTest passed");
+    }
+
+    /*
+     * Runs the threads against one storage, then checks its final state.
+     */
+    private static void stress(final ConcurrentStorageHouseholdObjects storage, final int operations) throws InterruptedException
+    {
+        final HouseholdObjects[]                        items       = createItems();
+        final ConcurrentMap<Long, HouseholdObjects>     idOwners    = new ConcurrentHashMap<>();
+        final AtomicLong[]                              lastIds     = new AtomicLong[ITEMS];
+        final AtomicLong                                removals    = new AtomicLong();
+        final CountDownLatch                            start       = new CountDownLatch(1);
+        final Thread[]                                  threads     = new Thread[THREADS];
+        final Throwable[]                               failure     = new Throwable[1];
+
+        for(int i = 0; i < ITEMS; i++)
+        {
+            lastIds[i] = new AtomicLong(StorageHouseholdObjects.NO_ITEM_ID);
+        }
+
+        for(int t = 0; t < THREADS; t++)
+        {
+            threads[t] = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                    run(storage, items, lastIds, idOwners, removals, operations);
+                }
+                catch(final Throwable e)
+                {
+                    failure[0] = e;
+                }
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+
+        for(final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        if(failure[0] != null)
+        {
+            throw new AssertionError("Stress thread failed", failure[0]);
+        }
+
+        int stored = 0;
+
+        for(final HouseholdObjects item : items)
+        {
+            final long itemId = storage.getItemId(item);
+            check(storage.containsItem(item) == (itemId != StorageHouseholdObjects.NO_ITEM_ID), "containsItem disagrees with getItemId");
+
+            if(itemId != StorageHouseholdObjects.NO_ITEM_ID)
+            {
+                check(storage.getItemById(itemId) == item, "ID " + itemId + " does not hold its item");
+                check(idOwners.get(itemId) == item, "ID " + itemId + " was never returned for its item");
+                stored++;
+            }
+        }
+
+        check(storage.getNumberOfItems() == stored, "count " + storage.getNumberOfItems() + " but " + stored + " items stored");
+        check(storage.snapshot().size() == stored, "snapshot size " + storage.snapshot().size() + " but " + stored + " items stored");
+        check(idOwners.size() == removals.get() + stored,
+              idOwners.size() + " IDs handed out but " + removals.get() + " removed and " + stored + " stored");
+    }
+
+    /*
+     * Adds, removes by item and removes by ID at random, checking every ID handed out.
+     */
+    private static void run(final ConcurrentStorageHouseholdObjects     storage,
+                            final HouseholdObjects[]                    items,
+                            final AtomicLong[]                          lastIds,
+                            final ConcurrentMap<Long, HouseholdObjects> idOwners,
+                            final AtomicLong                            removals,
+                            final int                                   operations)
+    {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for(int i = 0; i < operations; i++)
+        {
+            final int               index   = random.nextInt(items.length);
+            final HouseholdObjects  item    = items[index];
+
+            switch(random.nextInt(3))
+            {
+                case 0:
+                {
+                    final long      lastId  = lastIds[index].get();
+                    final boolean   removed = lastId != StorageHouseholdObjects.NO_ITEM_ID && storage.getItemById(lastId) == null;
+                    final long      itemId  = storage.addItem(item);
+                    check(!removed || itemId != lastId, "addItem returned the removed ID " + itemId);
+                    lastIds[index].accumulateAndGet(itemId, Math::max);
+
+                    final HouseholdObjects owner = idOwners.putIfAbsent(itemId, item);
+                    check(owner == null || owner == item, "ID " + itemId + " returned for two items");
+
+                    final HouseholdObjects stored = storage.getItemById(itemId);
+                    check(stored == null || stored == item, "ID " + itemId + " holds another item");
+                    break;
+                }
+                case 1:
+                    if(storage.removeItem(item))
+                    {
+                        removals.incrementAndGet();
+                    }
+                    break;
+                default:
+                {
+                    final long itemId = storage.getItemId(item);
+
+                    if(itemId != StorageHouseholdObjects.NO_ITEM_ID && storage.removeItemById(itemId))
+                    {
+                        removals.incrementAndGet();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /*
+     * Checks that two storages hold the same items under the same IDs, in the same order.
+     */
+    private static void checkSameContents(final ConcurrentStorageHouseholdObjects expected,
+                                          final ConcurrentStorageHouseholdObjects actual)
+    {
+        final List<HouseholdObjects> expectedItems  = expected.snapshot();
+        final List<HouseholdObjects> actualItems    = actual.snapshot();
+
+        check(expectedItems.equals(actualItems), "recovered " + actualItems + " but stored " + expectedItems);
+
+        for(int i = 0; i < expectedItems.size(); i++)
+        {
+            check(expected.getItemId(expectedItems.get(i)) == actual.getItemId(actualItems.get(i)), "recovered item " + i + " under another ID");
+        }
+    }
+
+    /*
+     * Creates the few items all threads contend on.
+     */
+    private static HouseholdObjects[] createItems()
+    {
+        final HouseholdObjects[] items = new HouseholdObjects[ITEMS];
+
+        for(int i = 0; i < ITEMS; i++)
+        {
+            items[i] = new Toaster("Toaster" + i, "Brand" + i, 20.0 + i, "Silver", true, 120, "Bluetooth", "AC", 3, i % 2 == 0);
+        }
+
+        return items;
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
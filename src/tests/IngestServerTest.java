@@ -0,0 +1,181 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tests that every record sent to an IngestServer is either stored or answered with an ERR line, so the totals of
+ * each DONE answer add up to the records the client sent. This covers a last record without a trailing newline,
+ * a record longer than the line buffer, which must also be counted in the rejection metrics, and a storage that
+ * fails partway through a batch.
+ *
+ * Usage: java IngestServerTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class IngestServerTest
+{
+    private static final String RECORD_FORMAT = "Toaster|%s|Brand|50|Silver|true|120|Bluetooth|AC|3|true";
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If the server cannot be started or reached.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        checkRecordEdges();
+        checkStorageFailure();
+        System.out.println("IngestServerTest passed");
+    }
+
+    /*
+     * Checks a rejected record, a record too long for the line buffer and a last record without a newline.
+     */
+    private static void checkRecordEdges() throws IOException
+    {
+        final StorageHouseholdObjects   storage = new StorageHouseholdObjects();
+        final InventoryMetrics          metrics = storage.enableMetrics("ingest-server-test");
+        final String                    key     = IngestError.Reason.RECORD_LENGTH.getDescription() + " ("
+                                                  + IngestError.Reason.RECORD_LENGTH.getField() + ")";
+
+        try(IngestServer server = new IngestServer(storage, 0))
+        {
+            final String payload = record("Toaster1") + "\n"
+                                   + record("X") + "\n"
+                                   + "x".repeat(IngestServer.MAX_RECORD_BYTES * 2) + "\n"
+                                   + record("Toaster4");
+            final List<String> answers = send(server.getPort(), payload);
+
+            check(answers.size() == 3, "answers " + answers);
+            check(answers.get(0).startsWith("ERR 2 "), "record 2 not rejected: " + answers);
+            check(answers.get(1).equals("ERR 3 " + IngestError.Reason.RECORD_LENGTH.getDescription()), "record 3 not rejected: " + answers);
+            check(answers.get(2).equals("DONE 2 2"), "totals " + answers.get(2));
+            check(server.read(StorageHouseholdObjects::getNumberOfItems) == 2, "items not stored");
+            check(!server.read(s -> s.findItems("Toaster", null, null)).stream()
+                         .filter(item -> item.getHouseholdObjectName().equals("Toaster4")).toList().isEmpty(),
+                  "last record without a newline not stored");
+            check(metrics.getRejectionCounts().getOrDefault(key, 0L) == 1, "record too long not counted in the metrics");
+        }
+        finally
+        {
+            storage.disableMetrics();
+        }
+    }
+
+    /*
+     * Checks that the items of a batch the storage failed to store are answered as rejected,
+     * while the items it did store are counted as stored.
+     */
+    private static void checkStorageFailure() throws IOException
+    {
+        final FailingStorage    storage = new FailingStorage();
+        final StringBuilder     payload = new StringBuilder();
+        final int               records = 50;
+
+        for(int i = 1; i <= records; i++)
+        {
+            payload.append(record("Toaster" + i)).append('\n');
+        }
+
+        try(IngestServer server = new IngestServer(storage, 0))
+        {
+            final List<String>  answers = send(server.getPort(), payload.toString());
+            final String[]      done    = answers.get(answers.size() - 1).split(" ");
+            final int           stored  = Integer.parseInt(done[1]);
+            final int           failed  = Integer.parseInt(done[2]);
+
+            check(done[0].equals("DONE"), "no totals: " + answers);
+            check(failed > 0 && answers.get(0).contains("Storage failed"), "storage failure not answered: " + answers);
+            check(answers.size() - 1 == failed, failed + " rejected but " + (answers.size() - 1) + " ERR answers");
+            check(stored + failed == records, stored + " stored and " + failed + " rejected of " + records + " records");
+            check(server.read(StorageHouseholdObjects::getNumberOfItems) == stored, "storage count differs from the stored total");
+            check(server.getStoredCount() == stored && server.getRejectedCount() == failed, "server totals differ from the answer");
+        }
+    }
+
+    /*
+     * Sends records on a new connection, closes its output, and reads every answer until the server closes it.
+     */
+    private static List<String> send(final int port, final String payload) throws IOException
+    {
+        final List<String> answers = new ArrayList<>();
+
+        try(SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)))
+        {
+            final ByteBuffer out = ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8));
+
+            while(out.hasRemaining())
+            {
+                channel.write(out);
+            }
+
+            channel.shutdownOutput();
+
+            final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+
+            while(channel.read(in) >= 0)
+            {
+                if(!in.hasRemaining())
+                {
+                    throw new AssertionError("Answer too long");
+                }
+            }
+
+            for(final String line : new String(in.array(), 0, in.position(), StandardCharsets.UTF_8).split("\n"))
+            {
+                answers.add(line);
+            }
+        }
+
+        return answers;
+    }
+
+    /*
+     * Builds the ItemSpec line of a toaster with the given name.
+     */
+    private static String record(final String name)
+    {
+        return String.format(RECORD_FORMAT, name);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+
+    /*
+     * A storage whose first batch stores only its first item and then fails.
+     */
+    private static final class FailingStorage extends StorageHouseholdObjects
+    {
+        private boolean failed;
+
+        @Override
+        public void addAll(final Collection<? extends HouseholdObjects> newItems)
+        {
+            if(failed)
+            {
+                super.addAll(newItems);
+                return;
+            }
+
+            failed = true;
+            addItem(newItems.iterator().next());
+            throw new IllegalStateException("disk full");
+        }
+    }
+}
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tests that a storage recovered from an InventoryJournal holds every change made before the journal was closed.
+ * This covers adds and removes replayed from the journal, an add the journal refuses followed by good adds,
+ * a torn record at the end of the journal, and changes made after a compaction.
+ *
+ * Usage: java InventoryJournalTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class InventoryJournalTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If the journal directory cannot be used.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Path directory = Files.createTempDirectory("inventory-journal-test");
+
+        try
+        {
+            checkRecovery(directory.resolve("recovery"));
+            checkFailedAdd(directory.resolve("failed-add"));
+            checkTornRecord(directory.resolve("torn"));
+            checkCompaction(directory.resolve("compaction"));
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+
+        System.out.println("InventoryJournalTest passed");
+    }
+
+    /*
+     * Checks that adds and removes are recovered with their IDs, and that new IDs continue after the recovered ones.
+     */
+    private static void checkRecovery(final Path directory) throws IOException
+    {
+        final StorageHouseholdObjects expected = new StorageHouseholdObjects();
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects storage = journal.recover();
+
+            for(int i = 0; i < 20; i++)
+            {
+                expected.addItem(createItem(i));
+                storage.addItem(createItem(i));
+            }
+
+            for(int i = 0; i < 20; i += 3)
+            {
+                expected.removeItemById(i);
+                storage.removeItemById(i);
+            }
+        }
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects recovered = journal.recover();
+            checkSameContents(expected, recovered);
+            check(recovered.addItem(createItem(20)) == 20, "recovered storage reused an item ID");
+        }
+    }
+
+    /*
+     * Checks that an item the journal cannot record is refused without damaging the journal,
+     * so the good adds that follow it are still recovered.
+     */
+    private static void checkFailedAdd(final Path directory) throws IOException
+    {
+        final StorageHouseholdObjects expected = new StorageHouseholdObjects();
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects storage = journal.recover();
+
+            for(int i = 0; i < 2; i++)
+            {
+                expected.restoreItem(storage.addItem(createItem(i)), createItem(i));
+            }
+
+            try
+            {
+                storage.addItem(new Toaster("Subclassed", "Brand", 20.0, "Silver", true, 120, "Bluetooth", "AC", 3, true)
+                {
+                });
+                check(false, "unsupported item class journaled");
+            }
+            catch(final IllegalArgumentException e)
+            {
+                check(e.getMessage().startsWith("Unsupported item class"), "unexpected failure: " + e.getMessage());
+            }
+
+            check(storage.getNumberOfItems() == 2, "count " + storage.getNumberOfItems() + " after a refused add");
+
+            for(int i = 2; i < 4; i++)
+            {
+                expected.restoreItem(storage.addItem(createItem(i)), createItem(i));
+            }
+        }
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects recovered = journal.recover();
+            check(recovered.getNumberOfItems() == 4, "recovered " + recovered.getNumberOfItems() + " of 4 journaled items");
+            checkSameContents(expected, recovered);
+        }
+    }
+
+    /*
+     * Checks that a record torn at the end of the journal is dropped and the records before it are recovered.
+     */
+    private static void checkTornRecord(final Path directory) throws IOException
+    {
+        final StorageHouseholdObjects expected = new StorageHouseholdObjects();
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects storage = journal.recover();
+
+            for(int i = 0; i < 5; i++)
+            {
+                expected.addItem(createItem(i));
+                storage.addItem(createItem(i));
+            }
+        }
+
+        try(FileChannel channel = FileChannel.open(directory.resolve(InventoryJournal.JOURNAL_FILE), StandardOpenOption.APPEND))
+        {
+            final ByteBuffer torn = ByteBuffer.allocate(Integer.BYTES * 2 + 3);
+            torn.putInt(64).putInt(0x12345678).put((byte) 1).put((byte) 0).put((byte) 0);
+            torn.flip();
+            channel.write(torn);
+        }
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            checkSameContents(expected, journal.recover());
+        }
+    }
+
+    /*
+     * Checks that the changes made after a compaction are journaled over the new snapshot.
+     */
+    private static void checkCompaction(final Path directory) throws IOException
+    {
+        final StorageHouseholdObjects expected = new StorageHouseholdObjects();
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects storage = journal.recover();
+
+            for(int i = 0; i < 10; i++)
+            {
+                expected.addItem(createItem(i));
+                storage.addItem(createItem(i));
+            }
+
+            journal.compact();
+            check(Files.size(directory.resolve(InventoryJournal.JOURNAL_FILE)) < 16, "journal not emptied by compaction");
+
+            expected.removeItemById(4);
+            storage.removeItemById(4);
+            expected.addItem(createItem(10));
+            storage.addItem(createItem(10));
+        }
+
+        try(InventoryJournal journal = InventoryJournal.open(directory))
+        {
+            checkSameContents(expected, journal.recover());
+        }
+    }
+
+    /*
+     * Checks that two storages hold equal items under the same IDs, in the same order.
+     */
+    private static void checkSameContents(final StorageHouseholdObjects expected, final StorageHouseholdObjects actual)
+    {
+        check(expected.getNumberOfItems() == actual.getNumberOfItems(),
+              "recovered " + actual.getNumberOfItems() + " items but expected " + expected.getNumberOfItems());
+        check(expected.getNextItemId() == actual.getNextItemId(), "next item ID " + actual.getNextItemId()
+                                                                  + " but expected " + expected.getNextItemId());
+
+        for(int slot = 0; slot < expected.getSlotCount(); slot++)
+        {
+            final HouseholdObjects item = expected.getItemAtSlot(slot);
+
+            if(item != null)
+            {
+                final long itemId = expected.getItemIdAtSlot(slot);
+                check(item.equals(actual.getItemById(itemId)), "item " + itemId + " not recovered");
+            }
+        }
+    }
+
+    /*
+     * Creates an item of one of the five concrete classes.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        final double price = 10.0 + i;
+
+        switch(i % 5)
+        {
+            case 0:
+                return new Television("Television" + i, "Brand", price, "Black", true, 240, "WiFi", "AC", 50.0, "4k", 120, true);
+            case 1:
+                return new Dishwasher("Dishwasher" + i, "Brand", price, "White", true, 120, "WiFi", "AC", 30, 3, "builtin");
+            case 2:
+                return new Toaster("Toaster" + i, "Brand", price, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+            case 3:
+                return new Bookshelf("Bookshelf" + i, "Brand", price, "Brown", false, true, "Wood", 5, "Oak");
+            default:
+                return new CoffeeTable("CoffeeTable" + i, "Brand", price, "Black", false, true, "Metal", true, "Rectangle", 4, false);
+        }
+    }
+
+    /*
+     * Deletes a directory and everything in it.
+     */
+    private static void deleteAll(final Path directory) throws IOException
+    {
+        try(Stream<Path> paths = Files.walk(directory))
+        {
+            for(final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
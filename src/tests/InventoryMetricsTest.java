@@ -0,0 +1,119 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the rejection counters of InventoryMetrics.
+ * This covers counters kept apart for each storage, records that cannot be read counted apart from broken rules,
+ * and a storage whose metrics fail to register, which must be left without metrics.
+ *
+ * Usage: java InventoryMetricsTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class InventoryMetricsTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        final StorageHouseholdObjects   first   = new StorageHouseholdObjects();
+        final StorageHouseholdObjects   second  = new StorageHouseholdObjects();
+        final StorageHouseholdObjects   clash   = new StorageHouseholdObjects();
+
+        try
+        {
+            checkSeparateCounters(first, second);
+            checkFailedRegistration(first, clash);
+        }
+        finally
+        {
+            first.disableMetrics();
+            second.disableMetrics();
+            clash.disableMetrics();
+        }
+
+        System.out.println("InventoryMetricsTest passed");
+    }
+
+    /*
+     * Checks that each storage counts only the records rejected while ingesting into it.
+     */
+    private static void checkSeparateCounters(final StorageHouseholdObjects first, final StorageHouseholdObjects second)
+    {
+        final InventoryMetrics  firstMetrics    = first.enableMetrics("inventory-metrics-test-first");
+        final InventoryMetrics  secondMetrics   = second.enableMetrics("inventory-metrics-test-second");
+        final List<ItemSpec>    specs           = new ArrayList<>();
+
+        specs.add(ItemSpec.parse("Toaster|Toaster1|Brand|50|Silver|true|120|Bluetooth|AC|3|true"));
+        specs.add(ItemSpec.parse("Toaster|Toaster2|Brand|-5|Silver|true|120|Bluetooth|AC|3|true"));
+        specs.add(ItemSpec.parse("Toaster|Toaster3|Brand|cheap|Silver|true|120|Bluetooth|AC|3|true"));
+        specs.add(ItemSpec.parse("Toaster|Toaster4|Brand|50"));
+        specs.add(null);
+
+        final IngestResult result = first.ingest(specs);
+        check(result.getAddedCount() == 1, "added " + result.getAddedCount() + " of 1 valid records");
+        check(result.getErrors().size() == 4, "rejected " + result.getErrors().size() + " of 4 bad records");
+        check(result.getErrors().get(0).getResult() == ValidationResult.PRICE, "negative price not a broken rule");
+        check(result.getErrors().get(1).getReason() == IngestError.Reason.NUMBER, "text price not unreadable");
+        check(result.getErrors().get(2).getReason() == IngestError.Reason.FIELD_COUNT, "short record not unreadable");
+        check(result.getErrors().get(3).getReason() == IngestError.Reason.SPEC_NULL, "null spec not unreadable");
+
+        final Map<String, Long> counts = firstMetrics.getRejectionCounts();
+        check(counts.size() == 4, "rejection counts " + counts);
+        check(counts.get(key(ValidationResult.PRICE.getDescription(), ValidationResult.PRICE.getField())) == 1,
+              "broken rule not counted: " + counts);
+        check(counts.get(key(IngestError.Reason.NUMBER.getDescription(), IngestError.Reason.NUMBER.getField())) == 1,
+              "unreadable number not counted: " + counts);
+        check(secondMetrics.getRejectionCounts().isEmpty(), "other storage counted the rejections: " + secondMetrics.getRejectionCounts());
+
+        second.ingest(specs.subList(1, 2));
+        check(secondMetrics.getRejectionCounts().size() == 1, "own rejection not counted: " + secondMetrics.getRejectionCounts());
+        check(firstMetrics.getRejectionCounts().equals(counts), "first storage counted another storage's rejection");
+    }
+
+    /*
+     * Checks that metrics which cannot be registered are not enabled, and that the storage then counts nothing.
+     */
+    private static void checkFailedRegistration(final StorageHouseholdObjects first, final StorageHouseholdObjects clash)
+    {
+        final Map<String, Long> before = first.enableMetrics("inventory-metrics-test-first").getRejectionCounts();
+
+        try
+        {
+            clash.enableMetrics("inventory-metrics-test-first");
+            check(false, "metrics registered twice under one name");
+        }
+        catch(final IllegalStateException e)
+        {
+            // The name is taken by the first storage.
+        }
+
+        check(clash.getMetrics() == null, "metrics enabled although registration failed");
+        clash.ingest(List.of(ItemSpec.parse("Toaster|Toaster1|Brand|-5|Silver|true|120|Bluetooth|AC|3|true")));
+        check(first.getMetrics().getRejectionCounts().equals(before), "rejection counted by the storage owning the name");
+    }
+
+    /*
+     * Builds the key a rejection is counted under.
+     */
+    private static String key(final String description, final String field)
+    {
+        return description + " (" + field + ")";
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
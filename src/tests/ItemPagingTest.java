@@ -0,0 +1,279 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tests the paged reads of StorageHouseholdObjects in each PageOrder.
+ * This covers paging through every item while items are added and removed between fetches, tokens that are
+ * malformed or were issued for another order, and reads in an order whose index is not enabled, which must fail
+ * without enabling the index.
+ *
+ * Usage: java ItemPagingTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ItemPagingTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        for(final PageOrder order : PageOrder.values())
+        {
+            checkPaging(order);
+            checkChangesBetweenPages(order);
+        }
+
+        checkBadTokens();
+        checkIndexNotEnabled();
+        System.out.println("ItemPagingTest passed");
+    }
+
+    /*
+     * Checks that paging returns every item once, in the order's sequence, for several page sizes.
+     */
+    private static void checkPaging(final PageOrder order)
+    {
+        final StorageHouseholdObjects   storage     = createStorage(100);
+        final List<HouseholdObjects>    expected    = sorted(storage, order);
+
+        for(final int pageSize : new int[] {1, 7, 100, 1000})
+        {
+            final List<HouseholdObjects>    fetched = new ArrayList<>();
+            String                          token   = null;
+
+            do
+            {
+                final ItemPage page = storage.fetchPage(order, token, pageSize);
+                check(page.getItems().size() <= pageSize, order + ": page of " + page.getItems().size() + " items");
+                fetched.addAll(page.getItems());
+                token = page.getNextToken();
+            }
+            while(token != null);
+
+            checkSameItems(fetched, expected, order + " pages of " + pageSize);
+        }
+
+        final List<HouseholdObjects> iterated = new ArrayList<>();
+
+        for(final HouseholdObjects item : storage.items(order))
+        {
+            iterated.add(item);
+        }
+
+        checkSameItems(iterated, expected, order + " iteration");
+    }
+
+    /*
+     * Checks that a token stays valid when items are added and removed between fetches: the next page continues
+     * after the last item returned, skips removed items and includes added items that sort after it.
+     */
+    private static void checkChangesBetweenPages(final PageOrder order)
+    {
+        final StorageHouseholdObjects   storage = createStorage(40);
+        final ItemPage                  first   = storage.fetchPage(order, null, 10);
+        final HouseholdObjects          last    = first.getItems().get(9);
+
+        for(int itemId = 0; itemId < 40; itemId += 4)
+        {
+            storage.removeItemById(itemId);
+        }
+
+        for(int i = 40; i < 50; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        final List<HouseholdObjects>    expected    = sorted(storage, order);
+        final List<HouseholdObjects>    fetched     = new ArrayList<>();
+        String                          token       = first.getNextToken();
+
+        while(token != null)
+        {
+            final ItemPage page = storage.fetchPage(order, token, 10);
+            fetched.addAll(page.getItems());
+            token = page.getNextToken();
+        }
+
+        final Comparator<HouseholdObjects> comparator = comparator(storage, order);
+        final List<HouseholdObjects> following = expected.stream().filter(item -> comparator.compare(item, last) > 0).toList();
+        checkSameItems(fetched, following, order + " after changes");
+    }
+
+    /*
+     * Checks that malformed tokens and tokens issued for another order are refused.
+     */
+    private static void checkBadTokens()
+    {
+        final StorageHouseholdObjects   storage = createStorage(20);
+        final String                    token   = storage.fetchPage(PageOrder.PRICE, null, 5).getNextToken();
+
+        for(final String bad : new String[] {"", "not a token", token.substring(0, token.length() / 2)})
+        {
+            checkRefused(storage, PageOrder.PRICE, bad);
+        }
+
+        checkRefused(storage, PageOrder.NAME, token);
+        checkRefused(storage, PageOrder.INSERTION, token);
+    }
+
+    /*
+     * Checks that reading in an order, or searching names, without the index fails and leaves the indexes disabled,
+     * so concurrent readers under a read lock never change the storage.
+     */
+    private static void checkIndexNotEnabled()
+    {
+        final StorageHouseholdObjects storage = new StorageHouseholdObjects();
+
+        for(int i = 0; i < 10; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        for(final PageOrder order : new PageOrder[] {PageOrder.PRICE, PageOrder.NAME})
+        {
+            try
+            {
+                storage.fetchPage(order, null, 5);
+                check(false, order + " page fetched without its index");
+            }
+            catch(final IllegalStateException e)
+            {
+                // The index is not enabled.
+            }
+
+            try
+            {
+                storage.items(order);
+                check(false, order + " iteration without its index");
+            }
+            catch(final IllegalStateException e)
+            {
+                // The index is not enabled.
+            }
+        }
+
+        storage.enableNameIndex();
+
+        try
+        {
+            storage.findItemsByNamePrefix("Toaster", 5);
+            check(false, "name search without search enabled");
+        }
+        catch(final IllegalStateException e)
+        {
+            // Name search is not enabled.
+        }
+
+        storage.enablePriceIndex();
+        check(storage.fetchPage(PageOrder.PRICE, null, 20).getItems().size() == 10, "price page after enabling the index");
+        storage.enableNameSearch();
+        check(storage.findItemsByNamePrefix("Toaster", 20).size() == 10, "name search after enabling it");
+    }
+
+    /*
+     * Checks that fetching a page with the given token is refused.
+     */
+    private static void checkRefused(final StorageHouseholdObjects storage, final PageOrder order, final String token)
+    {
+        try
+        {
+            storage.fetchPage(order, token, 5);
+            check(false, order + " token accepted: " + token);
+        }
+        catch(final IllegalArgumentException e)
+        {
+            // The token does not belong to this order.
+        }
+    }
+
+    /*
+     * Creates a storage with the price and name indexes enabled, holding toasters with repeated names and prices.
+     */
+    private static StorageHouseholdObjects createStorage(final int count)
+    {
+        final StorageHouseholdObjects storage = new StorageHouseholdObjects();
+        storage.enablePriceIndex();
+        storage.enableNameIndex();
+
+        for(int i = 0; i < count; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        return storage;
+    }
+
+    /*
+     * Gets the stored items sorted in the given order.
+     */
+    private static List<HouseholdObjects> sorted(final StorageHouseholdObjects storage, final PageOrder order)
+    {
+        final List<HouseholdObjects> items = new ArrayList<>();
+
+        for(int slot = 0; slot < storage.getSlotCount(); slot++)
+        {
+            if(storage.getItemAtSlot(slot) != null)
+            {
+                items.add(storage.getItemAtSlot(slot));
+            }
+        }
+
+        items.sort(comparator(storage, order));
+        return items;
+    }
+
+    /*
+     * Gets the comparator of an order, breaking ties by item ID.
+     */
+    private static Comparator<HouseholdObjects> comparator(final StorageHouseholdObjects storage, final PageOrder order)
+    {
+        final Comparator<HouseholdObjects> byId = Comparator.comparingLong(storage::getItemId);
+
+        switch(order)
+        {
+            case PRICE:
+                return Comparator.comparingDouble(HouseholdObjects::getPriceCAD).thenComparing(byId);
+            case NAME:
+                return Comparator.comparing(HouseholdObjects::getHouseholdObjectName).thenComparing(byId);
+            default:
+                return byId;
+        }
+    }
+
+    /*
+     * Checks that two lists hold the same items in the same order.
+     */
+    private static void checkSameItems(final List<HouseholdObjects> actual, final List<HouseholdObjects> expected, final String query)
+    {
+        check(actual.size() == expected.size(), query + ": " + actual.size() + " items but expected " + expected.size());
+
+        for(int i = 0; i < expected.size(); i++)
+        {
+            check(actual.get(i) == expected.get(i), query + ": item " + i + " differs");
+        }
+    }
+
+    /*
+     * Creates a toaster whose name and price repeat every few items.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        return new Toaster("Toaster" + (i * 7 % 13), "Brand", 10.0 + i % 5, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
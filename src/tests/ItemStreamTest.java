@@ -0,0 +1,215 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests that household objects written by an ItemStreamWriter are read back equal by an ItemStreamReader.
+ * This covers items of every class across many buffer refills, names and brands at the longest length in
+ * multi-byte characters, enough distinct brands for their references to take several varint bytes, reading
+ * in batches, and streams that are truncated, corrupted or not item streams at all.
+ *
+ * Usage: java ItemStreamTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ItemStreamTest
+{
+    private static final int ITEMS = 30000;
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If a stream cannot be written or read.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final List<HouseholdObjects>    items   = createItems();
+        final byte[]                    bytes   = write(items);
+
+        checkRoundTrip(items, bytes);
+        checkBatches(items, bytes);
+        checkTruncated(bytes);
+        checkCorrupted(bytes);
+        System.out.println("ItemStreamTest passed");
+    }
+
+    /*
+     * Checks that every item is read back equal and in order, and that the end of the stream is reported.
+     */
+    private static void checkRoundTrip(final List<HouseholdObjects> items, final byte[] bytes) throws IOException
+    {
+        try(ItemStreamReader reader = new ItemStreamReader(new ByteArrayInputStream(bytes)))
+        {
+            for(int i = 0; i < items.size(); i++)
+            {
+                final HouseholdObjects item = reader.read();
+                check(items.get(i).equals(item), "item " + i + " read back as " + item);
+            }
+
+            check(reader.read() == null, "item read past the end of the stream");
+            check(reader.getItemCount() == items.size(), "read " + reader.getItemCount() + " items");
+        }
+    }
+
+    /*
+     * Checks that reading in batches of several sizes gives the same items.
+     */
+    private static void checkBatches(final List<HouseholdObjects> items, final byte[] bytes) throws IOException
+    {
+        for(final int batchSize : new int[] {1, 999, ITEMS, ITEMS * 2})
+        {
+            final List<HouseholdObjects> read = new ArrayList<>();
+
+            try(ItemStreamReader reader = new ItemStreamReader(new ByteArrayInputStream(bytes)))
+            {
+                List<HouseholdObjects> batch;
+
+                while(!(batch = reader.readBatch(batchSize)).isEmpty())
+                {
+                    check(batch.size() <= batchSize, "batch of " + batch.size() + " items");
+                    read.addAll(batch);
+                }
+            }
+
+            check(read.equals(items), "items read in batches of " + batchSize + " differ");
+        }
+    }
+
+    /*
+     * Checks that a stream cut within its last record fails with an EOFException after the whole records.
+     */
+    private static void checkTruncated(final byte[] bytes) throws IOException
+    {
+        try(ItemStreamReader reader = new ItemStreamReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))))
+        {
+            while(reader.read() != null)
+            {
+                // Read every whole record.
+            }
+
+            check(false, "truncated stream read to the end");
+        }
+        catch(final EOFException e)
+        {
+            check(e.getMessage().contains("after " + (ITEMS - 1) + " items"), "truncated at the wrong record: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Checks that streams with a wrong header or an unknown item kind are refused with an IOException.
+     */
+    private static void checkCorrupted(final byte[] bytes) throws IOException
+    {
+        final byte[] magic = bytes.clone();
+        magic[0] ^= 1;
+        checkRefused(magic, "wrong magic number");
+
+        final byte[] version = bytes.clone();
+        version[Integer.BYTES + 1]++;
+        checkRefused(version, "unknown version");
+
+        final byte[] kind = bytes.clone();
+        kind[Integer.BYTES + Short.BYTES] = 0x7F;
+        checkRefused(kind, "unknown item kind");
+
+        checkRefused(new byte[3], "short header");
+    }
+
+    /*
+     * Checks that reading a stream fails with an IOException that is not an EOFException.
+     */
+    private static void checkRefused(final byte[] bytes, final String what) throws IOException
+    {
+        try(ItemStreamReader reader = new ItemStreamReader(new ByteArrayInputStream(bytes)))
+        {
+            reader.read();
+            check(false, "stream with " + what + " read");
+        }
+        catch(final EOFException e)
+        {
+            throw new AssertionError("stream with " + what + " taken as truncated", e);
+        }
+        catch(final IOException e)
+        {
+            // The stream is refused.
+        }
+    }
+
+    /*
+     * Writes items to a new stream and gets its bytes.
+     */
+    private static byte[] write(final List<HouseholdObjects> items) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ItemStreamWriter writer = new ItemStreamWriter(out))
+        {
+            writer.writeAll(items);
+            check(writer.getItemCount() == items.size(), "wrote " + writer.getItemCount() + " items");
+        }
+
+        return out.toByteArray();
+    }
+
+    /*
+     * Creates items of every class, with whole-number attributes spanning their valid ranges. Brands are distinct
+     * for the first twenty thousand items and repeat afterwards, and every hundredth item has a name and brand
+     * of thirty multi-byte characters.
+     */
+    private static List<HouseholdObjects> createItems()
+    {
+        final List<HouseholdObjects> items = new ArrayList<>();
+
+        for(int i = 0; i < ITEMS; i++)
+        {
+            final boolean   longest = i % 100 == 0;
+            final String    name    = longest ? (i % 200 == 0 ? "€".repeat(30) : "😀".repeat(15)) : "Item" + i;
+            final String    brand   = longest ? "é".repeat(29) + (char) ('a' + i % 26) : "Brand" + i % 20000;
+            final double    price   = 0.01 + i * 1.5;
+
+            switch(i % 7)
+            {
+                case 0:
+                    items.add(new Television(name, brand, price, "Black", true, 240, "WiFi", "AC", 19.0 + i % 282, "4k", 30 + i % 571, i % 2 == 0));
+                    break;
+                case 1:
+                    items.add(new Dishwasher(name, brand, price, "White", true, 120, "WiFi", "AC", 24 + i % 19, 2 + i % 2, "builtin"));
+                    break;
+                case 2:
+                    items.add(new Toaster(name, brand, price, "Silver", true, 120, "Bluetooth", "Battery", 1 + i % 5, i % 2 == 0));
+                    break;
+                case 3:
+                    items.add(new Bookshelf(name, brand, price, "Brown", false, i % 2 == 0, "Wood", 1 + i % 8, "Oak"));
+                    break;
+                case 4:
+                    items.add(new CoffeeTable(name, brand, price, "Black", false, true, "Metal", i % 2 == 0, "Square", 1 + i % 4, i % 3 == 0));
+                    break;
+                case 5:
+                    items.add(new Electronics(name, brand, price, "Grey", true, i % 251, "WiFi", "AC"));
+                    break;
+                default:
+                    items.add(new Furniture(name, brand, price, "Brown", false, i % 2 == 0, "Wood"));
+                    break;
+            }
+        }
+
+        return items;
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
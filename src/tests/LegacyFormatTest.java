@@ -0,0 +1,360 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Tests that snapshots and journals written in version 1 of the formats, before whole numbers and string codes
+ * became varints, can still be loaded, and that recovering a journal directory of version 1 migrates it.
+ * The version 1 files are encoded by this test, field by field, as the version 1 writers laid them out.
+ *
+ * Usage: java LegacyFormatTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class LegacyFormatTest
+{
+    private static final int    SNAPSHOT_MAGIC  = 0x48484F53;
+    private static final int    JOURNAL_MAGIC   = 0x48484F4A;
+    private static final short  LEGACY_VERSION  = 1;
+    private static final byte   OP_ADD          = 1;
+    private static final byte   OP_REMOVE       = 2;
+    private static final int    NULL_STRING     = -1;
+    private static final int    NEW_STRING      = -2;
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If the test files cannot be written or read.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Path directory = Files.createTempDirectory("legacy-format-test");
+
+        try
+        {
+            checkLegacySnapshot(directory.resolve("legacy.snapshot"));
+            checkLegacyJournal(directory.resolve("journal"));
+            checkUnknownVersion(directory.resolve("future.snapshot"));
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+
+        System.out.println("LegacyFormatTest passed");
+    }
+
+    /*
+     * Checks that a version 1 snapshot loads with its IDs, and is saved again in the current version.
+     */
+    private static void checkLegacySnapshot(final Path file) throws IOException
+    {
+        final List<HouseholdObjects>    items   = createItems();
+        final ByteBuffer                buffer  = ByteBuffer.allocate(64 * 1024);
+        final List<String>              shared  = new ArrayList<>();
+
+        buffer.putInt(SNAPSHOT_MAGIC).putShort(LEGACY_VERSION).putInt(items.size()).putLong(items.size() * 2L + 5);
+
+        for(int i = 0; i < items.size(); i++)
+        {
+            buffer.putLong(i * 2L);
+            putLegacyRecord(buffer, items.get(i), shared);
+        }
+
+        write(file, buffer);
+
+        final StorageHouseholdObjects loaded = InventorySnapshot.read(file);
+        check(loaded.getNumberOfItems() == items.size(), "loaded " + loaded.getNumberOfItems() + " of " + items.size() + " items");
+        check(loaded.getNextItemId() == items.size() * 2L + 5, "next item ID not loaded");
+
+        for(int i = 0; i < items.size(); i++)
+        {
+            check(items.get(i).equals(loaded.getItemById(i * 2L)), "item " + i + " loaded as " + loaded.getItemById(i * 2L));
+        }
+
+        InventorySnapshot.write(loaded, file);
+        check(ByteBuffer.wrap(Files.readAllBytes(file)).getShort(Integer.BYTES) == InventorySnapshot.FORMAT_VERSION,
+              "snapshot not saved in the current version");
+
+        final StorageHouseholdObjects reloaded = InventorySnapshot.read(file);
+
+        for(int i = 0; i < items.size(); i++)
+        {
+            check(items.get(i).equals(reloaded.getItemById(i * 2L)), "item " + i + " lost when saved again");
+        }
+    }
+
+    /*
+     * Checks that a journal directory holding a version 1 snapshot and journal is recovered and rewritten
+     * in the current version, and that later changes recover over the migrated files.
+     */
+    private static void checkLegacyJournal(final Path directory) throws IOException
+    {
+        final List<HouseholdObjects>    items       = createItems();
+        final ByteBuffer                snapshot    = ByteBuffer.allocate(64 * 1024);
+        final ByteBuffer                journal     = ByteBuffer.allocate(64 * 1024);
+        final int                       saved       = 3;
+
+        snapshot.putInt(SNAPSHOT_MAGIC).putShort(LEGACY_VERSION).putInt(saved).putLong(saved);
+        final List<String> shared = new ArrayList<>();
+
+        for(int i = 0; i < saved; i++)
+        {
+            snapshot.putLong(i);
+            putLegacyRecord(snapshot, items.get(i), shared);
+        }
+
+        journal.putInt(JOURNAL_MAGIC).putShort(LEGACY_VERSION);
+
+        for(int i = saved; i < items.size(); i++)
+        {
+            final ByteBuffer payload = ByteBuffer.allocate(2048);
+            payload.put(OP_ADD).putLong(i);
+            putLegacyRecord(payload, items.get(i), null);
+            putJournalRecord(journal, payload);
+        }
+
+        putJournalRecord(journal, ByteBuffer.allocate(Byte.BYTES + Long.BYTES).put(OP_REMOVE).putLong(1));
+
+        Files.createDirectories(directory);
+        write(directory.resolve(InventoryJournal.SNAPSHOT_FILE), snapshot);
+        write(directory.resolve(InventoryJournal.JOURNAL_FILE), journal);
+
+        try(InventoryJournal opened = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects recovered = opened.recover();
+            checkLegacyItems(recovered, items);
+            check(ByteBuffer.wrap(Files.readAllBytes(directory.resolve(InventoryJournal.JOURNAL_FILE))).getShort(Integer.BYTES) != LEGACY_VERSION,
+                  "journal not migrated");
+            check(ByteBuffer.wrap(Files.readAllBytes(directory.resolve(InventoryJournal.SNAPSHOT_FILE))).getShort(Integer.BYTES)
+                  == InventorySnapshot.FORMAT_VERSION, "snapshot not migrated");
+            check(recovered.removeItemById(0), "recovered item not removed");
+        }
+
+        try(InventoryJournal opened = InventoryJournal.open(directory))
+        {
+            final StorageHouseholdObjects recovered = opened.recover();
+            check(recovered.getItemById(0) == null, "remove after migration not recovered");
+            check(recovered.getNumberOfItems() == items.size() - 2, "count " + recovered.getNumberOfItems() + " after migration");
+        }
+    }
+
+    /*
+     * Checks that a snapshot of a version newer than the current one is refused.
+     */
+    private static void checkUnknownVersion(final Path file) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(32);
+        buffer.putInt(SNAPSHOT_MAGIC).putShort((short) (InventorySnapshot.FORMAT_VERSION + 1)).putInt(0).putLong(0);
+        write(file, buffer);
+
+        try
+        {
+            InventorySnapshot.read(file);
+            check(false, "snapshot of an unknown version loaded");
+        }
+        catch(final IOException e)
+        {
+            check(e.getMessage().startsWith("Invalid snapshot version"), "unexpected failure: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Checks that a storage recovered from the version 1 journal directory holds every item but the removed one.
+     */
+    private static void checkLegacyItems(final StorageHouseholdObjects recovered, final List<HouseholdObjects> items)
+    {
+        check(recovered.getNumberOfItems() == items.size() - 1, "recovered " + recovered.getNumberOfItems() + " items");
+        check(recovered.getItemById(1) == null, "removed item recovered");
+
+        for(int i = 0; i < items.size(); i++)
+        {
+            if(i != 1)
+            {
+                check(items.get(i).equals(recovered.getItemById(i)), "item " + i + " recovered as " + recovered.getItemById(i));
+            }
+        }
+    }
+
+    /*
+     * Writes an item as a version 1 record: fixed-width numbers, four-byte string codes and one-byte string lengths.
+     * Brands and colors are shared through the given dictionary, or written in full when it is null.
+     */
+    private static void putLegacyRecord(final ByteBuffer out, final HouseholdObjects item, final List<String> shared)
+    {
+        final ItemKind kind = ItemKind.of(item);
+        int flags = item.isElectric() ? 1 : 0;
+
+        out.put((byte) kind.ordinal());
+        putLegacyString(out, item.getHouseholdObjectName(), null);
+        putLegacyString(out, item.getHomeObjectBrand(), shared);
+        out.putDouble(item.getPriceCAD());
+        putLegacyString(out, item.getHouseholdObjectColor(), shared);
+
+        if(item instanceof Electronics)
+        {
+            final Electronics electronics = (Electronics) item;
+            out.putShort((short) electronics.getVoltageV());
+            out.put(LabelDictionary.codeOf(electronics.getItemConnectivityCode()));
+            out.put(LabelDictionary.codeOf(electronics.getPowerSourceCode()));
+        }
+
+        if(item instanceof Furniture)
+        {
+            final Furniture furniture = (Furniture) item;
+            flags |= furniture.isAssemblyRequired() ? 1 << 1 : 0;
+            out.put(LabelDictionary.codeOf(furniture.getFrameMaterialCode()));
+        }
+
+        if(item instanceof Television)
+        {
+            final Television television = (Television) item;
+            flags |= television.isSmartTv() ? 1 << 2 : 0;
+            out.putDouble(television.getScreenSizeInches());
+            out.put(LabelDictionary.codeOf(television.getResolutionCode()));
+            out.putShort((short) television.getRefreshRateHz());
+        }
+        else if(item instanceof Dishwasher)
+        {
+            final Dishwasher dishwasher = (Dishwasher) item;
+            out.put((byte) dishwasher.getDishwasherWidthInches());
+            out.put((byte) dishwasher.getNumberOfRacks());
+            out.put(LabelDictionary.codeOf(dishwasher.getDishwasherTypeCode()));
+        }
+        else if(item instanceof Toaster)
+        {
+            final Toaster toaster = (Toaster) item;
+            flags |= toaster.isHasDefrostFunction() ? 1 << 3 : 0;
+            out.put((byte) toaster.getToastBagelMinutes());
+        }
+        else if(item instanceof Bookshelf)
+        {
+            final Bookshelf bookshelf = (Bookshelf) item;
+            out.put((byte) bookshelf.getShelfCount());
+            out.put(LabelDictionary.codeOf(bookshelf.getShelfMaterialCode()));
+        }
+        else if(item instanceof CoffeeTable)
+        {
+            final CoffeeTable coffeeTable = (CoffeeTable) item;
+            flags |= coffeeTable.hasStorage() ? 1 << 4 : 0;
+            flags |= coffeeTable.isExtendable() ? 1 << 5 : 0;
+            out.put(LabelDictionary.codeOf(coffeeTable.getTableShapeCode()));
+            out.put((byte) coffeeTable.getLegCount());
+        }
+
+        out.put((byte) flags);
+    }
+
+    /*
+     * Writes a version 1 string: a reference to an earlier shared string, or -2 followed by the UTF-8 bytes.
+     */
+    private static void putLegacyString(final ByteBuffer out, final String value, final List<String> shared)
+    {
+        if(value == null)
+        {
+            out.putInt(NULL_STRING);
+            return;
+        }
+
+        if(shared != null)
+        {
+            final int index = shared.indexOf(value);
+
+            if(index >= 0)
+            {
+                out.putInt(index);
+                return;
+            }
+
+            shared.add(value);
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(NEW_STRING);
+        out.put((byte) bytes.length);
+        out.put(bytes);
+    }
+
+    /*
+     * Appends a journal record: the payload length and checksum followed by the payload.
+     */
+    private static void putJournalRecord(final ByteBuffer out, final ByteBuffer payload)
+    {
+        final CRC32 checksum = new CRC32();
+        payload.flip();
+        checksum.update(payload.duplicate());
+        out.putInt(payload.remaining());
+        out.putInt((int) checksum.getValue());
+        out.put(payload);
+    }
+
+    /*
+     * Creates one item of each of the eight classes, sharing some brands and colors.
+     */
+    private static List<HouseholdObjects> createItems()
+    {
+        final List<HouseholdObjects> items = new ArrayList<>();
+        items.add(new Television("Télévision", "Brand1", 499.99, "Black", true, 240, "WiFi", "AC", 55.0, "4k", 120, true));
+        items.add(new Dishwasher("Dishwasher", "Brand2", 799.0, "White", true, 120, "WiFi", "AC", 24, 3, "builtin"));
+        items.add(new Toaster("Toaster", "Brand1", 39.5, "Silver", true, 120, "Bluetooth", "AC", 3, true));
+        items.add(new Bookshelf("Bookshelf", "Brand3", 120.0, "Black", false, true, "Wood", 5, "Oak"));
+        items.add(new CoffeeTable("CoffeeTable", "Brand2", 230.0, "White", false, false, "Metal", true, "Rectangle", 4, false));
+        items.add(new Electronics("Radio", "Brand1", 25.0, "Silver", true, 220, "Bluetooth", "Battery"));
+        items.add(new Furniture("Stool", "Brand3", 15.0, "Black", false, true, "Wood"));
+        items.add(new HouseholdObjects("Vase", "Brand2", 12.0, "White", false));
+        return items;
+    }
+
+    /*
+     * Writes the bytes put into a buffer to a file.
+     */
+    private static void write(final Path file, final ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while(buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /*
+     * Deletes a directory and everything in it.
+     */
+    private static void deleteAll(final Path directory) throws IOException
+    {
+        try(Stream<Path> paths = Files.walk(directory))
+        {
+            for(final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tests the prefix and substring name search of StorageHouseholdObjects against a scan of every item.
+ * This covers search enabled on a storage that already holds items, names differing only in case, the limit
+ * on the number of results, and enough removed names to make the index rebuild its trigram lists.
+ *
+ * Usage: java NameSearchTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class NameSearchTest
+{
+    private static final String[] PATTERNS = {"", "i", "IT", "item1", "Item12", "m12", "3", "tem2", "toast", "TOASTER", "zz", "1234"};
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        final StorageHouseholdObjects storage = new StorageHouseholdObjects();
+
+        for(int i = 0; i < 100; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        storage.enableNameSearch();
+        checkSearches(storage, "after enabling search");
+
+        for(int i = 100; i < 3000; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        storage.addItem(createItem("Toaster"));
+        storage.addItem(createItem("TOASTER"));
+        storage.addItem(createItem("toaster"));
+        checkSearches(storage, "after adds");
+
+        for(long itemId = 0; itemId < 3000; itemId++)
+        {
+            if(itemId % 6 != 0)
+            {
+                storage.removeItemById(itemId);
+            }
+        }
+
+        storage.removeItemById(3001);
+        checkSearches(storage, "after the trigram lists were rebuilt");
+
+        for(int i = 3000; i < 3500; i++)
+        {
+            storage.addItem(createItem(i));
+        }
+
+        checkSearches(storage, "after adds following the rebuild");
+
+        try
+        {
+            storage.findItemsByNameSubstring("item", 0);
+            check(false, "search with no limit accepted");
+        }
+        catch(final IllegalArgumentException e)
+        {
+            // The limit must be positive.
+        }
+
+        System.out.println("NameSearchTest passed");
+    }
+
+    /*
+     * Checks every pattern as a prefix and as a substring, with and without a limit.
+     */
+    private static void checkSearches(final StorageHouseholdObjects storage, final String stage)
+    {
+        for(final String pattern : PATTERNS)
+        {
+            checkSearch(storage, pattern, true, stage);
+            checkSearch(storage, pattern, false, stage);
+        }
+    }
+
+    /*
+     * Checks that a search finds exactly the items a scan finds, and that a limit keeps that many of them.
+     */
+    private static void checkSearch(final StorageHouseholdObjects storage, final String pattern, final boolean prefix, final String stage)
+    {
+        final String                what        = stage + ": " + (prefix ? "prefix " : "substring ") + "\"" + pattern + "\"";
+        final String                folded      = pattern.toLowerCase(Locale.ROOT);
+        final Set<HouseholdObjects> expected    = new HashSet<>();
+
+        for(int slot = 0; slot < storage.getSlotCount(); slot++)
+        {
+            final HouseholdObjects item = storage.getItemAtSlot(slot);
+
+            if(item != null)
+            {
+                final String name = item.getHouseholdObjectName().toLowerCase(Locale.ROOT);
+
+                if(prefix ? name.startsWith(folded) : name.contains(folded))
+                {
+                    expected.add(item);
+                }
+            }
+        }
+
+        final List<HouseholdObjects> found = search(storage, pattern, prefix, Integer.MAX_VALUE);
+        check(found.size() == expected.size() && expected.equals(new HashSet<>(found)),
+              what + ": found " + found.size() + " items but expected " + expected.size());
+
+        final List<HouseholdObjects> limited = search(storage, pattern, prefix, 5);
+        check(limited.size() == Math.min(5, expected.size()) && expected.containsAll(limited), what + ": limited to " + limited.size());
+    }
+
+    /*
+     * Searches names by prefix or by substring.
+     */
+    private static List<HouseholdObjects> search(final StorageHouseholdObjects storage, final String pattern, final boolean prefix, final int limit)
+    {
+        return prefix ? storage.findItemsByNamePrefix(pattern, limit) : storage.findItemsByNameSubstring(pattern, limit);
+    }
+
+    /*
+     * Creates a toaster whose name has the given number, in one of three cases.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        final String name = i % 3 == 0 ? "Item" + i : i % 3 == 1 ? "ITEM" + i : "item" + i;
+        return createItem(name);
+    }
+
+    /*
+     * Creates a toaster with the given name.
+     */
+    private static HouseholdObjects createItem(final String name)
+    {
+        return new Toaster(name, "Brand", 20.0, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
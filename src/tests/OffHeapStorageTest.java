@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Tests that OffHeapStorageHouseholdObjects reads back every attribute of every stored item.
+ * This covers items of every class in direct and in memory-mapped segments, enough items to fill more
+ * than one record segment, and removed items, which must no longer be found or listed.
+ *
+ * Usage: java OffHeapStorageTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class OffHeapStorageTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If the segment directory cannot be used.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        try(OffHeapStorageHouseholdObjects storage = new OffHeapStorageHouseholdObjects())
+        {
+            checkRoundTrip(storage, 70000);
+        }
+
+        final Path directory = Files.createTempDirectory("off-heap-storage-test");
+
+        try
+        {
+            try(OffHeapStorageHouseholdObjects storage = new OffHeapStorageHouseholdObjects(directory))
+            {
+                checkRoundTrip(storage, 2000);
+            }
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+
+        System.out.println("OffHeapStorageTest passed");
+    }
+
+    /*
+     * Adds a number of items, removes some of them, and checks that the rest are read back unchanged.
+     */
+    private static void checkRoundTrip(final OffHeapStorageHouseholdObjects storage, final int count)
+    {
+        final Map<Long, HouseholdObjects> expected = new TreeMap<>();
+
+        for(int i = 0; i < count; i++)
+        {
+            final HouseholdObjects item = createItem(i);
+            expected.put(storage.addItem(item), item);
+        }
+
+        for(long itemId = 0; itemId < count; itemId += 5)
+        {
+            check(storage.removeItemById(itemId), "item " + itemId + " not removed");
+            check(!storage.removeItemById(itemId), "item " + itemId + " removed twice");
+            check(storage.findItem(itemId) == null, "removed item " + itemId + " found");
+            expected.remove(itemId);
+        }
+
+        check(storage.getNumberOfItems() == expected.size(), storage.getNumberOfItems() + " items but expected " + expected.size());
+
+        double total = 0.0;
+
+        for(final Map.Entry<Long, HouseholdObjects> entry : expected.entrySet())
+        {
+            final OffHeapItemView view = storage.findItem(entry.getKey());
+            check(view != null, "item " + entry.getKey() + " not found");
+            checkSameItem(view, entry.getValue());
+            total += entry.getValue().getPriceCAD();
+        }
+
+        final List<Long> order = new ArrayList<>();
+        storage.forEachItem(view -> order.add(view.getItemId()));
+        check(order.equals(new ArrayList<>(expected.keySet())), "items not listed in insertion order");
+        check(Math.abs(storage.getTotalPriceCAD() - total) < 1e-3, "total price " + storage.getTotalPriceCAD() + " but expected " + total);
+    }
+
+    /*
+     * Checks that a view shows every attribute of an item, including those of its class.
+     */
+    private static void checkSameItem(final OffHeapItemView view, final HouseholdObjects item)
+    {
+        final String what = "item " + view.getItemId();
+
+        check(view.getType().equals(item.getType()), what + ": type " + view.getType());
+        check(view.getHouseholdObjectName().equals(item.getHouseholdObjectName()), what + ": name " + view.getHouseholdObjectName());
+        check(view.getHomeObjectBrand().equals(item.getHomeObjectBrand()), what + ": brand " + view.getHomeObjectBrand());
+        check(view.getPriceCAD() == item.getPriceCAD(), what + ": price " + view.getPriceCAD());
+        check(view.getHouseholdObjectColor().equals(item.getHouseholdObjectColor()), what + ": color " + view.getHouseholdObjectColor());
+        check(view.isElectric() == item.isElectric(), what + ": electric " + view.isElectric());
+
+        if(item instanceof Electronics electronics)
+        {
+            check(view.getVoltageV() == electronics.getVoltageV(), what + ": voltage " + view.getVoltageV());
+            check(view.getItemConnectivity().equals(electronics.getItemConnectivity()), what + ": connectivity " + view.getItemConnectivity());
+            check(view.getPowerSource().equals(electronics.getPowerSource()), what + ": power source " + view.getPowerSource());
+        }
+
+        if(item instanceof Furniture furniture)
+        {
+            check(view.isAssemblyRequired() == furniture.isAssemblyRequired(), what + ": assembly " + view.isAssemblyRequired());
+            check(view.getFrameMaterial().equals(furniture.getFrameMaterial()), what + ": frame material " + view.getFrameMaterial());
+        }
+
+        if(item instanceof Television television)
+        {
+            check(view.getScreenSizeInches() == television.getScreenSizeInches(), what + ": screen size " + view.getScreenSizeInches());
+            check(view.getResolution().equals(television.getResolution()), what + ": resolution " + view.getResolution());
+            check(view.getRefreshRateHz() == television.getRefreshRateHz(), what + ": refresh rate " + view.getRefreshRateHz());
+            check(view.isSmartTv() == television.isSmartTv(), what + ": smart " + view.isSmartTv());
+        }
+        else if(item instanceof Dishwasher dishwasher)
+        {
+            check(view.getDishwasherWidthInches() == dishwasher.getDishwasherWidthInches(), what + ": width " + view.getDishwasherWidthInches());
+            check(view.getNumberOfRacks() == dishwasher.getNumberOfRacks(), what + ": racks " + view.getNumberOfRacks());
+            check(view.getDishwasherType().equals(dishwasher.getDishwasherType()), what + ": dishwasher type " + view.getDishwasherType());
+        }
+        else if(item instanceof Toaster toaster)
+        {
+            check(view.getToastBagelMinutes() == toaster.getToastBagelMinutes(), what + ": minutes " + view.getToastBagelMinutes());
+            check(view.isHasDefrostFunction() == toaster.isHasDefrostFunction(), what + ": defrost " + view.isHasDefrostFunction());
+        }
+        else if(item instanceof Bookshelf bookshelf)
+        {
+            check(view.getShelfCount() == bookshelf.getShelfCount(), what + ": shelves " + view.getShelfCount());
+            check(view.getShelfMaterial().equals(bookshelf.getShelfMaterial()), what + ": shelf material " + view.getShelfMaterial());
+        }
+        else if(item instanceof CoffeeTable table)
+        {
+            check(view.hasStorage() == table.hasStorage(), what + ": storage " + view.hasStorage());
+            check(view.getTableShape().equals(table.getTableShape()), what + ": shape " + view.getTableShape());
+            check(view.getLegCount() == table.getLegCount(), what + ": legs " + view.getLegCount());
+            check(view.isExtendable() == table.isExtendable(), what + ": extendable " + view.isExtendable());
+        }
+    }
+
+    /*
+     * Creates an item of one of the seven known classes, with attributes that vary with the number.
+     */
+    private static HouseholdObjects createItem(final int i)
+    {
+        final double    price   = 10.0 + i % 1000 + 0.25;
+        final boolean   flag    = i % 2 == 0;
+
+        switch(i % 7)
+        {
+            case 0:
+                return new Television("Television" + i, "Brand" + i % 3, price, "Black", true, 240, "WiFi", "AC", 40.0 + i % 30, "4k", 120, flag);
+            case 1:
+                return new Dishwasher("Dishwasher" + i, "Brand" + i % 3, price, "White", true, 120, "WiFi", "AC", 24 + i % 10, 3, "builtin");
+            case 2:
+                return new Toaster("Toaster" + i, "Brand" + i % 3, price, "Silver", true, 120, "Bluetooth", "Battery", 1 + i % 5, flag);
+            case 3:
+                return new Bookshelf("Bookshelf" + i, "Brand" + i % 3, price, "Brown", false, flag, "Wood", 1 + i % 8, "Oak");
+            case 4:
+                return new CoffeeTable("CoffeeTable" + i, "Brand" + i % 3, price, "Black", false, true, "Metal", flag, "Circle", 1 + i % 4, !flag);
+            case 5:
+                return new Electronics("Electronics" + i, "Brand" + i % 3, price, "Grey", true, 110 + i % 10, "WiFi", "AC");
+            default:
+                return new Furniture("Furniture" + i, "Brand" + i % 3, price, "Brown", false, flag, "Wood");
+        }
+    }
+
+    /*
+     * Deletes a directory and everything in it.
+     */
+    private static void deleteAll(final Path directory) throws IOException
+    {
+        try(Stream<Path> paths = Files.walk(directory))
+        {
+            for(final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests a partitioned inventory of PartitionServers started in this process on free ports, through a PartitionRouter.
+ * Every result merged by the router is checked against one StorageHouseholdObjects holding the same items:
+ * counts, gets by global ID, finds, the standard aggregates and batched removes. It also checks that a partition
+ * failing partway through a batch reports the IDs of the items it stored and keeps its connection in step, that
+ * a batch holding an item no partition can decode is refused before it is sent, and that a router whose connection
+ * broke refuses every later call.
+ *
+ * Usage: java PartitionedInventoryTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class PartitionedInventoryTest
+{
+    private static final int        PARTITIONS  = 3;
+    private static final int        ITEMS       = 3000;
+    private static final int        BATCH_SIZE  = 500;
+    private static final String[]   COLORS      = {"Black", "White", "Silver"};
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws IOException If a server cannot be started or reached.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        checkMergedResults();
+        checkPartialBatch();
+        checkUnsupportedItem();
+        checkBrokenRouter();
+        System.out.println("PartitionedInventoryTest passed");
+    }
+
+    /*
+     * Checks counts, gets, finds, aggregates and removes against a single storage holding the same items.
+     */
+    private static void checkMergedResults() throws IOException
+    {
+        final PartitionServer[]         servers     = startServers(new StorageHouseholdObjects(), new StorageHouseholdObjects(),
+                                                                   new StorageHouseholdObjects());
+        final StorageHouseholdObjects   reference   = new StorageHouseholdObjects();
+        final List<HouseholdObjects>    items       = createItems(0, ITEMS, "Brand");
+        final long[]                    itemIds     = new long[ITEMS];
+
+        try(PartitionRouter router = new PartitionRouter(addressesOf(servers)))
+        {
+            for(int start = 0; start < ITEMS; start += BATCH_SIZE)
+            {
+                final long[] batchIds = router.addAll(items.subList(start, start + BATCH_SIZE));
+                System.arraycopy(batchIds, 0, itemIds, start, BATCH_SIZE);
+            }
+
+            reference.addAll(items);
+
+            final Set<Long> distinctIds = new HashSet<>();
+
+            for(int i = 0; i < ITEMS; i++)
+            {
+                check(distinctIds.add(itemIds[i]), "ID " + itemIds[i] + " given twice");
+                check(items.get(i).equals(router.getItemById(itemIds[i])), "item " + i + " not stored under its ID");
+            }
+
+            check(router.getNumberOfItems() == ITEMS, "count " + router.getNumberOfItems() + " but " + ITEMS + " added");
+            check(router.getItemById(ITEMS * PARTITIONS * 2L) == null, "unknown ID found");
+
+            checkFind(router, reference, null, null, null);
+            checkFind(router, reference, "Toaster", null, null);
+            checkFind(router, reference, null, "Brand3", null);
+            checkFind(router, reference, "Television", "Brand1", "Black");
+            checkFind(router, reference, "Bookshelf", "NoSuchBrand", null);
+
+            reference.enableStandardAggregates();
+            checkAggregate(router, reference, StorageHouseholdObjects.AGGREGATE_BY_TYPE);
+            checkAggregate(router, reference, StorageHouseholdObjects.AGGREGATE_BY_BRAND);
+            checkAggregate(router, reference, StorageHouseholdObjects.AGGREGATE_BY_ELECTRIC);
+
+            final long[] removedIds = new long[ITEMS / 3];
+
+            for(int i = 0; i < removedIds.length; i++)
+            {
+                removedIds[i] = itemIds[i * 3];
+                reference.removeItem(items.get(i * 3));
+            }
+
+            for(final boolean removed : router.removeAllById(removedIds))
+            {
+                check(removed, "stored item not removed");
+            }
+
+            for(final boolean removed : router.removeAllById(removedIds))
+            {
+                check(!removed, "removed item removed again");
+            }
+
+            check(router.getNumberOfItems() == reference.getNumberOfItems(), "count " + router.getNumberOfItems() + " after removes");
+            check(router.getItemById(removedIds[0]) == null, "removed item still found");
+            checkFind(router, reference, null, "Brand3", null);
+            checkAggregate(router, reference, StorageHouseholdObjects.AGGREGATE_BY_TYPE);
+        }
+        finally
+        {
+            stopServers(servers);
+        }
+    }
+
+    /*
+     * Checks that a partition failing partway through a batch answers with the IDs of the items it stored,
+     * and that its connection still decodes the strings first sent in the failed batch.
+     */
+    private static void checkPartialBatch() throws IOException
+    {
+        final FailingStorage        failing = new FailingStorage(10);
+        final PartitionServer[]     servers = startServers(failing);
+        final List<HouseholdObjects> items  = createItems(0, 40, "Maker");
+
+        try(PartitionRouter router = new PartitionRouter(addressesOf(servers)))
+        {
+            long[] itemIds = null;
+
+            try
+            {
+                router.addAll(items);
+                check(false, "partial batch not reported");
+            }
+            catch(final PartitionBatchException e)
+            {
+                itemIds = e.getItemIds();
+            }
+
+            final List<HouseholdObjects> notStored = new ArrayList<>();
+
+            for(int i = 0; i < items.size(); i++)
+            {
+                if(i < 10)
+                {
+                    check(items.get(i).equals(router.getItemById(itemIds[i])), "stored item " + i + " not under its ID");
+                }
+                else
+                {
+                    check(itemIds[i] == StorageHouseholdObjects.NO_ITEM_ID, "item " + i + " given an ID but not stored");
+                    notStored.add(items.get(i));
+                }
+            }
+
+            check(router.getNumberOfItems() == 10, "count " + router.getNumberOfItems() + " after a partial batch");
+
+            final long[] retriedIds = router.addAll(notStored);
+
+            for(int i = 0; i < notStored.size(); i++)
+            {
+                check(notStored.get(i).equals(router.getItemById(retriedIds[i])), "retried item " + i + " decoded wrong");
+            }
+
+            check(router.getNumberOfItems() == items.size(), "count " + router.getNumberOfItems() + " after the retry");
+        }
+        finally
+        {
+            stopServers(servers);
+        }
+    }
+
+    /*
+     * Checks that a batch holding an item of an unknown class is refused before anything is sent,
+     * and that the router stays usable afterwards.
+     */
+    private static void checkUnsupportedItem() throws IOException
+    {
+        final PartitionServer[] servers = startServers(new StorageHouseholdObjects(), new StorageHouseholdObjects());
+
+        try(PartitionRouter router = new PartitionRouter(addressesOf(servers)))
+        {
+            final List<HouseholdObjects> batch = createItems(0, 10, "Brand");
+            batch.add(new Toaster("Subclassed", "Brand", 20.0, "Silver", true, 120, "Bluetooth", "AC", 3, true)
+            {
+            });
+
+            try
+            {
+                router.addAll(batch);
+                check(false, "unsupported item class sent");
+            }
+            catch(final IllegalArgumentException e)
+            {
+                check(e.getMessage().startsWith("Unsupported item class"), "unexpected failure: " + e.getMessage());
+            }
+
+            check(router.getNumberOfItems() == 0, "refused batch partly stored");
+            router.addAll(batch.subList(0, 10));
+            check(router.getNumberOfItems() == 10, "count " + router.getNumberOfItems() + " after a refused batch");
+        }
+        finally
+        {
+            stopServers(servers);
+        }
+    }
+
+    /*
+     * Checks that once a connection fails, the router closes every connection and refuses every later call.
+     */
+    private static void checkBrokenRouter() throws IOException
+    {
+        final PartitionServer[] servers = startServers(new StorageHouseholdObjects(), new StorageHouseholdObjects());
+
+        try(PartitionRouter router = new PartitionRouter(addressesOf(servers)))
+        {
+            router.addAll(createItems(0, 10, "Brand"));
+            servers[1].close();
+
+            try
+            {
+                router.getNumberOfItems();
+                check(false, "call on a closed partition succeeded");
+            }
+            catch(final IOException e)
+            {
+                // The connection to the closed partition failed.
+            }
+
+            for(int i = 0; i < 2; i++)
+            {
+                try
+                {
+                    router.getItemById(0);
+                    check(false, "call on a broken router succeeded");
+                }
+                catch(final IOException e)
+                {
+                    check(e.getMessage().startsWith("Partition router unusable"), "unexpected failure: " + e.getMessage());
+                }
+            }
+        }
+        finally
+        {
+            stopServers(servers);
+        }
+    }
+
+    /*
+     * Checks that a find through the router matches the same find on the reference storage, in any order.
+     */
+    private static void checkFind(final PartitionRouter         router,
+                                  final StorageHouseholdObjects reference,
+                                  final String                  type,
+                                  final String                  brand,
+                                  final String                  color) throws IOException
+    {
+        final List<HouseholdObjects> expected   = reference.findItems(type, brand, color);
+        final List<HouseholdObjects> actual     = router.findItems(type, brand, color);
+
+        check(expected.size() == actual.size(), "find " + type + "/" + brand + "/" + color + " found " + actual.size()
+                                                + " but expected " + expected.size());
+        check(new HashSet<>(expected).equals(new HashSet<>(actual)), "find " + type + "/" + brand + "/" + color + " found other items");
+    }
+
+    /*
+     * Checks that an aggregate merged by the router matches the same aggregate on the reference storage.
+     */
+    private static void checkAggregate(final PartitionRouter         router,
+                                       final StorageHouseholdObjects reference,
+                                       final String                  name) throws IOException
+    {
+        final PriceAggregate<?>         expected    = reference.getAggregate(name);
+        final Map<String, GroupTotals>  actual      = router.aggregate(name);
+        final Map<String, Object>       keys        = new HashMap<>();
+
+        for(final Object key : expected.getKeys())
+        {
+            keys.put(String.valueOf(key), key);
+        }
+
+        check(keys.keySet().equals(actual.keySet()), "aggregate " + name + " has groups " + actual.keySet() + " but expected " + keys.keySet());
+
+        for(final Map.Entry<String, Object> group : keys.entrySet())
+        {
+            final GroupTotals totals = actual.get(group.getKey());
+            check(totals.getCount() == expected.getCount(group.getValue()), "aggregate " + name + " count of " + group.getKey());
+            check(Math.abs(totals.getTotalPriceCAD() - expected.getTotalPriceCAD(group.getValue())) < 1e-6,
+                  "aggregate " + name + " total of " + group.getKey());
+        }
+    }
+
+    /*
+     * Starts one server per storage on a free port.
+     */
+    private static PartitionServer[] startServers(final StorageHouseholdObjects... storages) throws IOException
+    {
+        final PartitionServer[] servers = new PartitionServer[storages.length];
+
+        for(int i = 0; i < storages.length; i++)
+        {
+            servers[i] = new PartitionServer(storages[i], 0);
+        }
+
+        return servers;
+    }
+
+    /*
+     * Stops every server.
+     */
+    private static void stopServers(final PartitionServer[] servers) throws IOException
+    {
+        for(final PartitionServer server : servers)
+        {
+            server.close();
+        }
+    }
+
+    /*
+     * Gets the loopback addresses of the servers, in partition order.
+     */
+    private static List<InetSocketAddress> addressesOf(final PartitionServer[] servers)
+    {
+        final List<InetSocketAddress> addresses = new ArrayList<>();
+
+        for(final PartitionServer server : servers)
+        {
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        }
+
+        return addresses;
+    }
+
+    /*
+     * Creates items mixing the five concrete classes, ten brands with the given prefix and three colors.
+     */
+    private static List<HouseholdObjects> createItems(final int first, final int count, final String brandPrefix)
+    {
+        final List<HouseholdObjects> items = new ArrayList<>();
+
+        for(int i = first; i < first + count; i++)
+        {
+            final String brand = brandPrefix + (i % 10);
+            final String color = COLORS[i % COLORS.length];
+            final double price = 10.0 + (i % 97);
+
+            switch(i % 5)
+            {
+                case 0:
+                    items.add(new Television("Television" + i, brand, price, color, true, 240, "WiFi", "AC", 50.0, "4k", 120, i % 2 == 0));
+                    break;
+                case 1:
+                    items.add(new Dishwasher("Dishwasher" + i, brand, price, color, true, 120, "WiFi", "AC", 30, 3, "builtin"));
+                    break;
+                case 2:
+                    items.add(new Toaster("Toaster" + i, brand, price, color, true, 120, "Bluetooth", "AC", 3, true));
+                    break;
+                case 3:
+                    items.add(new Bookshelf("Bookshelf" + i, brand, price, color, false, true, "Wood", 5, "Oak"));
+                    break;
+                default:
+                    items.add(new CoffeeTable("CoffeeTable" + i, brand, price, color, false, true, "Metal", true, "Rectangle", 4, false));
+                    break;
+            }
+        }
+
+        return items;
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+
+    /*
+     * A storage whose addItem fails once, after a given number of items have been added.
+     */
+    private static final class FailingStorage extends StorageHouseholdObjects
+    {
+        private int addsBeforeFailure;
+
+        private FailingStorage(final int addsBeforeFailure)
+        {
+            this.addsBeforeFailure = addsBeforeFailure;
+        }
+
+        @Override
+        public long addItem(final HouseholdObjects item)
+        {
+            if(addsBeforeFailure-- == 0)
+            {
+                throw new IllegalStateException("Storage failed");
+            }
+
+            return super.addItem(item);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.List;
+
+/**
+ * Tests that a QueryCache returns cached results only while they are still correct.
+ * This covers adds and removes that must invalidate a result, changes that must leave it cached, queries on a
+ * superclass invalidated by an item of a subclass, and the eviction of the least recently used result.
+ *
+ * Usage: java QueryCacheTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class QueryCacheTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        checkInvalidation();
+        checkEviction();
+        System.out.println("QueryCacheTest passed");
+    }
+
+    /*
+     * Checks that only the changes matching a cached query invalidate it, and that the next result sees the change.
+     */
+    private static void checkInvalidation()
+    {
+        final StorageHouseholdObjects   storage = new StorageHouseholdObjects();
+        final QueryCache                cache   = storage.enableQueryCache(10);
+
+        for(int i = 0; i < 20; i++)
+        {
+            storage.addItem(createToaster(i, 10.0 + i));
+        }
+
+        final List<Toaster> cheap = cheapToasters(cache);
+        check(cheap.size() == 10, cheap.size() + " cheap toasters");
+        check(cheapToasters(cache) == cheap, "second query not served from the cache");
+        check(cache.getHitCount() == 1 && cache.getMissCount() == 1, "hits " + cache.getHitCount() + ", misses " + cache.getMissCount());
+
+        final List<Electronics> electronics = cache.find("electronics", Electronics.class, item -> true);
+
+        storage.addItem(createToaster(20, 50.0));
+        check(cheapToasters(cache) == cheap, "expensive toaster invalidated the cheap toasters");
+        storage.addItem(new Bookshelf("Bookshelf1", "Brand", 5.0, "Brown", false, true, "Wood", 5, "Oak"));
+        check(cheapToasters(cache) == cheap, "bookshelf invalidated the cheap toasters");
+        check(cache.find("electronics", Electronics.class, item -> true) != electronics, "toaster did not invalidate the electronics");
+
+        final HouseholdObjects added = createToaster(21, 5.0);
+        final long addedId = storage.addItem(added);
+        final List<Toaster> afterAdd = cheapToasters(cache);
+        check(afterAdd != cheap && afterAdd.size() == 11 && afterAdd.contains(added), "cheap toaster add not seen: " + afterAdd.size());
+
+        storage.removeItemById(addedId);
+        final List<Toaster> afterRemove = cheapToasters(cache);
+        check(afterRemove != afterAdd && afterRemove.equals(cheap), "cheap toaster remove not seen: " + afterRemove.size());
+
+        storage.removeItemById(19);
+        check(cheapToasters(cache) == afterRemove, "expensive toaster remove invalidated the cheap toasters");
+        check(cache.getInvalidationCount() == 4, cache.getInvalidationCount() + " invalidations");
+
+        try
+        {
+            cache.find("cheap toasters", Bookshelf.class, item -> true);
+            check(false, "key reused for another type");
+        }
+        catch(final IllegalArgumentException e)
+        {
+            // The key already names a query on toasters.
+        }
+    }
+
+    /*
+     * Checks that a full cache evicts the least recently used result, not the least recently added.
+     */
+    private static void checkEviction()
+    {
+        final StorageHouseholdObjects   storage = new StorageHouseholdObjects();
+        final QueryCache                cache   = storage.enableQueryCache(2);
+
+        storage.addItem(createToaster(0, 10.0));
+
+        final List<Toaster> first   = cache.find("first", Toaster.class, item -> true);
+        final List<Toaster> second  = cache.find("second", Toaster.class, item -> true);
+
+        check(cache.find("first", Toaster.class, item -> true) == first, "first result not cached");
+        cache.find("third", Toaster.class, item -> true);
+
+        check(cache.getNumberOfEntries() == 2 && cache.getEvictionCount() == 1, cache.getNumberOfEntries() + " entries, "
+                                                                                + cache.getEvictionCount() + " evictions");
+        check(cache.find("first", Toaster.class, item -> true) == first, "recently used result evicted");
+        check(cache.find("second", Toaster.class, item -> true) != second, "least recently used result kept");
+    }
+
+    /*
+     * Gets the toasters cheaper than 20 through the cache.
+     */
+    private static List<Toaster> cheapToasters(final QueryCache cache)
+    {
+        return cache.find("cheap toasters", Toaster.class, item -> item.getPriceCAD() < 20.0);
+    }
+
+    /*
+     * Creates a toaster with the given number and price.
+     */
+    private static HouseholdObjects createToaster(final int i, final double price)
+    {
+        return new Toaster("Toaster" + i, "Brand", price, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests ShardedStorageHouseholdObjects.
+ * This covers writers adding and removing on their own shards at the same time as queries over every shard,
+ * item IDs given by each shard, and shards dropped and loaded, which must get the shard setup.
+ *
+ * Usage: java ShardedStorageTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class ShardedStorageTest
+{
+    private static final int SHARDS             = 4;
+    private static final int ITEMS_PER_SHARD    = 2000;
+
+    /**
+     * Runs every check.
+     * @param args Not used.
+     * @throws InterruptedException If the test is interrupted while waiting for the writers.
+     */
+    public static void main(final String[] args) throws InterruptedException
+    {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try
+        {
+            final ShardedStorageHouseholdObjects<String> storage = new ShardedStorageHouseholdObjects<>(shard ->
+            {
+                shard.enableAttributeIndexes();
+                shard.enableNameSearch();
+            }, pool);
+
+            checkConcurrentShards(storage);
+            checkDropAndLoad(storage);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        System.out.println("ShardedStorageTest passed");
+    }
+
+    /*
+     * Checks that writers on separate shards, running beside queries over every shard, leave each shard with
+     * exactly its own items, numbered from 0 within the shard.
+     */
+    private static void checkConcurrentShards(final ShardedStorageHouseholdObjects<String> storage) throws InterruptedException
+    {
+        final List<Thread>  writers = new ArrayList<>();
+        final Throwable[]   failure = new Throwable[1];
+        final Thread        reader  = start(failure, () ->
+        {
+            for(int i = 0; i < 200; i++)
+            {
+                final Map<String, Integer> counts = storage.gather(shard -> shard.findItemsByNamePrefix("shard", Integer.MAX_VALUE).size());
+
+                for(final Map.Entry<String, Integer> entry : counts.entrySet())
+                {
+                    check(entry.getValue() <= ITEMS_PER_SHARD, entry.getKey() + " holds " + entry.getValue() + " items");
+                }
+            }
+        });
+
+        for(int s = 0; s < SHARDS; s++)
+        {
+            final String shardKey = "shard" + s;
+
+            writers.add(start(failure, () ->
+            {
+                for(int i = 0; i < ITEMS_PER_SHARD; i++)
+                {
+                    check(storage.addItem(shardKey, createItem(shardKey, i)) == i, shardKey + ": item " + i + " given another ID");
+                }
+
+                for(long itemId = 0; itemId < ITEMS_PER_SHARD; itemId += 2)
+                {
+                    check(storage.removeItemById(shardKey, itemId), shardKey + ": item " + itemId + " not removed");
+                }
+            }));
+        }
+
+        for(final Thread writer : writers)
+        {
+            writer.join();
+        }
+
+        reader.join();
+
+        if(failure[0] != null)
+        {
+            throw new AssertionError("Shard thread failed", failure[0]);
+        }
+
+        check(storage.getShardKeys().size() == SHARDS, storage.getShardKeys().size() + " shards");
+        check(storage.getNumberOfItems() == SHARDS * ITEMS_PER_SHARD / 2, storage.getNumberOfItems() + " items in every shard");
+
+        for(int s = 0; s < SHARDS; s++)
+        {
+            final String shardKey = "shard" + s;
+            check(storage.getNumberOfItems(shardKey) == ITEMS_PER_SHARD / 2, shardKey + ": " + storage.getNumberOfItems(shardKey) + " items");
+            check(storage.getItemById(shardKey, 0) == null, shardKey + ": removed item found");
+            check(storage.getItemById(shardKey, 1).getHouseholdObjectName().equals(shardKey + "item1"), shardKey + ": item 1 differs");
+        }
+
+        check(storage.findItems(null, "Brand", null).size() == SHARDS * ITEMS_PER_SHARD / 2, "items not found in every shard");
+        check(storage.findItems(null, "Brand", "Silver").size() == SHARDS * ITEMS_PER_SHARD / 4, "silver items not found in every shard");
+    }
+
+    /*
+     * Checks that a dropped shard is gone and that a loaded shard replaces the old one with the shard setup applied.
+     */
+    private static void checkDropAndLoad(final ShardedStorageHouseholdObjects<String> storage)
+    {
+        final StorageHouseholdObjects dropped = storage.dropShard("shard0");
+        check(dropped != null && dropped.getNumberOfItems() == ITEMS_PER_SHARD / 2, "dropped shard not returned");
+        check(!storage.getShardKeys().contains("shard0") && storage.getNumberOfItems("shard0") == 0, "dropped shard still used");
+        check(storage.dropShard("shard0") == null, "shard dropped twice");
+        check(storage.addItem("shard0", createItem("shard0", 0)) == 0, "write after a drop not given a new shard");
+
+        final StorageHouseholdObjects contents = new StorageHouseholdObjects();
+        contents.addItem(createItem("loaded", 0));
+        contents.addItem(createItem("loaded", 1));
+
+        check(storage.loadShard("shard1", contents) != null, "replaced shard not returned");
+        check(storage.getNumberOfItems("shard1") == 2, "loaded shard holds " + storage.getNumberOfItems("shard1") + " items");
+
+        final Map<String, List<HouseholdObjects>> found = storage.gather(shard -> shard.findItemsByNamePrefix("loaded", 10));
+        check(found.get("shard1").size() == 2, "shard setup not applied to the loaded shard");
+        check(found.get("shard2").isEmpty(), "loaded items found in another shard");
+    }
+
+    /*
+     * Starts a thread running a task, keeping the failure of the task if it fails.
+     */
+    private static Thread start(final Throwable[] failure, final Runnable task)
+    {
+        final Thread thread = new Thread(() ->
+        {
+            try
+            {
+                task.run();
+            }
+            catch(final Throwable e)
+            {
+                failure[0] = e;
+            }
+        });
+
+        thread.start();
+        return thread;
+    }
+
+    /*
+     * Creates a toaster named after its shard, half of them silver and half black.
+     */
+    private static HouseholdObjects createItem(final String shardKey, final int i)
+    {
+        return new Toaster(shardKey + "item" + i, "Brand", 10.0 + i % 50, i % 4 < 2 ? "Silver" : "Black",
+                           true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+}
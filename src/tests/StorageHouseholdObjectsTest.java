@@ -0,0 +1,266 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests StorageHouseholdObjects together with its optional indexes.
+ * This covers an add refused by one of the indexes, which must leave the storage and every index unchanged,
+ * the price queries answered by scanning when the price index is not enabled, which must match the index,
+ * and queries evaluated in parallel, which must give the same results, in the same order, as sequential ones.
+ *
+ * Usage: java StorageHouseholdObjectsTest
+ * The test exits with an AssertionError on the first failed check.
+ *
+ * @author Emma, Chris Helmhold, Vandna, Samson Ordonez
+ * @version 1.0
+ */
+public class StorageHouseholdObjectsTest
+{
+    /**
+     * Runs every check.
+     * @param args Not used.
+     */
+    public static void main(final String[] args)
+    {
+        checkRefusedAdd();
+        checkPriceScan();
+        checkParallelQuery();
+        System.out.println("StorageHouseholdObjectsTest passed");
+    }
+
+    /*
+     * Checks that an item refused by an index is neither stored nor left in the indexes registered before or after it.
+     */
+    private static void checkRefusedAdd()
+    {
+        final StorageHouseholdObjects   storage     = new StorageHouseholdObjects();
+        final CountingIndex             counted     = new CountingIndex();
+        final HouseholdObjects          refused     = createItem(99, "Refused");
+
+        storage.enableAttributeIndexes();
+        storage.enablePriceIndex();
+        storage.enableStandardAggregates();
+        storage.registerIndex(new RefusingIndex());
+        storage.registerIndex(counted);
+
+        for(int i = 0; i < 10; i++)
+        {
+            storage.addItem(createItem(i, "Brand"));
+        }
+
+        try
+        {
+            storage.addItem(refused);
+            check(false, "refused item added");
+        }
+        catch(final IllegalStateException e)
+        {
+            // The refusing index failed the add.
+        }
+
+        checkNotStored(storage, refused, 10);
+        check(counted.count == 10, "index after the refusing one saw " + counted.count + " items");
+
+        final List<HouseholdObjects> batch = new ArrayList<>();
+        batch.add(createItem(10, "Brand"));
+        batch.add(refused);
+        batch.add(createItem(11, "Brand"));
+
+        try
+        {
+            storage.addAll(batch);
+            check(false, "batch with a refused item added");
+        }
+        catch(final IllegalStateException e)
+        {
+            // The refusing index failed the batch.
+        }
+
+        checkNotStored(storage, refused, 11);
+        check(storage.containsItem(batch.get(0)), "item before the refused one not kept");
+        check(!storage.containsItem(batch.get(2)), "item after the refused one added");
+        check(counted.count == 11, "index after the refusing one saw " + counted.count + " items");
+    }
+
+    /*
+     * Checks that every price query gives the same items, in the same order, with and without the price index,
+     * on a storage with repeated prices and removed items.
+     */
+    private static void checkPriceScan()
+    {
+        final StorageHouseholdObjects   scanned = new StorageHouseholdObjects();
+        final StorageHouseholdObjects   indexed = new StorageHouseholdObjects();
+        final Random                    random  = new Random(7L);
+        final String[]                  types   = {null, "Toaster", "Bookshelf", "Television"};
+
+        indexed.enablePriceIndex();
+
+        for(int i = 0; i < 500; i++)
+        {
+            final double            price   = 10.0 + random.nextInt(50);
+            final HouseholdObjects  item    = i % 2 == 0
+                                              ? new Toaster("Toaster" + i, "Brand", price, "Silver", true, 120, "Bluetooth", "AC", 3, true)
+                                              : new Bookshelf("Bookshelf" + i, "Brand", price, "Brown", false, true, "Wood", 5, "Oak");
+            scanned.addItem(item);
+            indexed.addItem(item);
+        }
+
+        for(int itemId = 0; itemId < 500; itemId += 7)
+        {
+            scanned.removeItemById(itemId);
+            indexed.removeItemById(itemId);
+        }
+
+        for(final String type : types)
+        {
+            for(double price = 5.0; price <= 65.0; price += 2.5)
+            {
+                check(scanned.findFloorItem(type, price) == indexed.findFloorItem(type, price), "floor of " + price + " for " + type);
+                check(scanned.findCeilingItem(type, price) == indexed.findCeilingItem(type, price), "ceiling of " + price + " for " + type);
+                checkSameItems(scanned.findItemsByPrice(type, price, price + 7.0), indexed.findItemsByPrice(type, price, price + 7.0),
+                               "range from " + price + " for " + type);
+            }
+
+            checkSameItems(scanned.findItemsByPrice(type, 30.0, 20.0), indexed.findItemsByPrice(type, 30.0, 20.0), "empty range for " + type);
+
+            for(final int count : new int[] {0, 1, 10, 1000})
+            {
+                checkSameItems(scanned.findCheapestItems(type, count), indexed.findCheapestItems(type, count),
+                               count + " cheapest for " + type);
+                checkSameItems(scanned.findMostExpensiveItems(type, count), indexed.findMostExpensiveItems(type, count),
+                               count + " most expensive for " + type);
+            }
+        }
+    }
+
+    /*
+     * Checks that a query split across a pool gives the same results as the same query evaluated on one thread,
+     * on a storage large enough to be split and with removed items leaving empty slots.
+     */
+    private static void checkParallelQuery()
+    {
+        final StorageHouseholdObjects   storage     = new StorageHouseholdObjects();
+        final ForkJoinPool              parallel    = new ForkJoinPool(4);
+        final ForkJoinPool              sequential  = new ForkJoinPool(1);
+
+        for(int i = 0; i < 40000; i++)
+        {
+            storage.addItem(i % 3 == 0 ? createItem(i, "Brand" + i % 7)
+                                       : new Bookshelf("Bookshelf" + i, "Brand", 10.0 + i % 90, "Brown", false, true, "Wood", 5, "Oak"));
+        }
+
+        for(int itemId = 0; itemId < 40000; itemId += 11)
+        {
+            storage.removeItemById(itemId);
+        }
+
+        try
+        {
+            final ItemQuery<Toaster> toasters = storage.query().filter(item -> item.getPriceCAD() > 20.0).ofType(Toaster.class);
+            final List<String> expected = toasters.withPool(sequential).map(Toaster::getHouseholdObjectName).toList();
+
+            check(!expected.isEmpty(), "sequential query found nothing");
+            check(toasters.withPool(parallel).map(Toaster::getHouseholdObjectName).toList().equals(expected), "parallel list differs");
+            check(toasters.withPool(parallel).count() == expected.size(), "parallel count differs");
+            check(Math.abs(toasters.withPool(parallel).sum(Toaster::getPriceCAD) - toasters.withPool(sequential).sum(Toaster::getPriceCAD)) < 1e-6,
+                  "parallel sum differs");
+            check(storage.query().withPool(parallel).count() == storage.getNumberOfItems(), "parallel count of every item differs");
+        }
+        finally
+        {
+            parallel.shutdown();
+            sequential.shutdown();
+        }
+    }
+
+    /*
+     * Checks that two lists hold the same items in the same order.
+     */
+    private static void checkSameItems(final List<HouseholdObjects> actual, final List<HouseholdObjects> expected, final String query)
+    {
+        check(actual.size() == expected.size(), query + ": " + actual.size() + " items but expected " + expected.size());
+
+        for(int i = 0; i < expected.size(); i++)
+        {
+            check(actual.get(i) == expected.get(i), query + ": item " + i + " differs");
+        }
+    }
+
+    /*
+     * Checks that an item is missing from the storage and from every index, and that the storage holds the given count.
+     */
+    private static void checkNotStored(final StorageHouseholdObjects storage, final HouseholdObjects item, final int count)
+    {
+        check(storage.getNumberOfItems() == count, "count " + storage.getNumberOfItems() + " after a refused add");
+        check(!storage.containsItem(item), "refused item stored");
+        check(storage.getItemId(item) == StorageHouseholdObjects.NO_ITEM_ID, "refused item given an ID");
+        check(storage.findItems(null, "Refused", null).isEmpty(), "refused item in the attribute index");
+        check(!storage.findItemsByPrice(null, 0.0, 1000.0).contains(item), "refused item in the price index");
+        check(storage.findItemsByPrice(null, 0.0, 1000.0).size() == count, "price index holds other items");
+        check(storage.getAggregate(StorageHouseholdObjects.AGGREGATE_BY_BRAND).getCount("Refused") == 0,
+              "refused item in the brand aggregate");
+        check(storage.getAggregate(StorageHouseholdObjects.AGGREGATE_BY_TYPE).getCount("Toaster") == count,
+              "type aggregate holds other items");
+    }
+
+    /*
+     * Creates a toaster with the given number and brand.
+     */
+    private static HouseholdObjects createItem(final int i, final String brand)
+    {
+        return new Toaster("Toaster" + i, brand, 10.0 + i, "Silver", true, 120, "Bluetooth", "AC", 3, true);
+    }
+
+    /*
+     * Throws an AssertionError with the given message if the condition does not hold.
+     */
+    private static void check(final boolean condition, final String message)
+    {
+        if(!condition)
+        {
+            throw new AssertionError(message);
+        }
+    }
+
+    /*
+     * An index refusing every item of the brand "Refused".
+     */
+    private static final class RefusingIndex implements StorageIndex
+    {
+        @Override
+        public void itemAdded(final long itemId, final HouseholdObjects item)
+        {
+            if(item.getHomeObjectBrand().equals("Refused"))
+            {
+                throw new IllegalStateException("Refused item: " + itemId);
+            }
+        }
+
+        @Override
+        public void itemRemoved(final long itemId, final HouseholdObjects item)
+        {
+            // Nothing is kept.
+        }
+    }
+
+    /*
+     * An index counting the items it holds.
+     */
+    private static final class CountingIndex implements StorageIndex
+    {
+        private int count;
+
+        @Override
+        public void itemAdded(final long itemId, final HouseholdObjects item)
+        {
+            count++;
+        }
+
+        @Override
+        public void itemRemoved(final long itemId, final HouseholdObjects item)
+        {
+            count--;
+        }
+    }
+}